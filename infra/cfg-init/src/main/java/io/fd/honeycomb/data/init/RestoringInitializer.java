@@ -19,11 +19,13 @@ package io.fd.honeycomb.data.init;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.VisibleForTesting;
-import io.fd.honeycomb.translate.util.JsonUtils;
+import io.fd.honeycomb.translate.util.persist.BinarySnapshot;
+import io.fd.honeycomb.translate.util.persist.DataJournal;
+import io.fd.honeycomb.translate.util.persist.PersistedDataFormat;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.util.List;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -31,35 +33,76 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Restores data persisted by PersistingDataTreeAdapter in any of the {@link PersistedDataFormat}s (detected from
+ * the persisted file). Persisted data are restored first, then modifications from the journal (if present and started
+ * from the persisted data, see {@link DataJournal}) are replayed on top of them.
+ *
+ * Persisted data are streamed (binary data from a memory-mapped file, JSON data one top level member at a time) and
+ * restored in chunks of top level nodes, each chunk (bounded by the serialized size of its nodes) in a separate
+ * transaction, so that the entire persisted data are never in memory at once. Journal is then replayed in a separate
+ * transaction.
+ */
 public class RestoringInitializer implements DataTreeInitializer {
 
     private static final Logger LOG = LoggerFactory.getLogger(RestoringInitializer.class);
 
+    @VisibleForTesting
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
     private final SchemaService schemaService;
     private final Path path;
     private final DOMDataBroker dataTree;
     private final RestorationType restorationType;
     private final LogicalDatastoreType datastoreType;
-    private final JsonReader jsonReader;
+    private final DataReader dataReader;
+    private final DataJournal journal;
+    private final int chunkSize;
+
+    /**
+     * @param chunkSize maximum serialized size (in bytes) of top level nodes restored in a single transaction when
+     *                  streaming. A node bigger than chunkSize is restored in a transaction of its own
+     */
+    public RestoringInitializer(@Nonnull final SchemaService schemaService,
+                                @Nonnull final Path path,
+                                @Nonnull final DOMDataBroker dataTree,
+                                @Nonnull final RestorationType restorationType,
+                                @Nonnull final LogicalDatastoreType datastoreType,
+                                final int chunkSize) {
+        this(schemaService, path, dataTree, restorationType, datastoreType, new DataReader(), chunkSize);
+    }
 
     public RestoringInitializer(@Nonnull final SchemaService schemaService,
                                 @Nonnull final Path path,
                                 @Nonnull final DOMDataBroker dataTree,
                                 @Nonnull final RestorationType restorationType,
                                 @Nonnull final LogicalDatastoreType datastoreType,
-                                @Nonnull final JsonReader jsonReader) {
+                                @Nonnull final DataReader dataReader) {
+        this(schemaService, path, dataTree, restorationType, datastoreType, dataReader, DEFAULT_CHUNK_SIZE);
+    }
+
+    @VisibleForTesting
+    RestoringInitializer(@Nonnull final SchemaService schemaService,
+                         @Nonnull final Path path,
+                         @Nonnull final DOMDataBroker dataTree,
+                         @Nonnull final RestorationType restorationType,
+                         @Nonnull final LogicalDatastoreType datastoreType,
+                         @Nonnull final DataReader dataReader,
+                         final int chunkSize) {
+        checkArgument(chunkSize > 0, "chunkSize should be positive, but was %s", chunkSize);
+        this.chunkSize = chunkSize;
         this.schemaService = schemaService;
         this.datastoreType = datastoreType;
         this.path = checkStorage(path);
         this.dataTree = dataTree;
         this.restorationType = restorationType;
-        this.jsonReader = jsonReader;
+        this.dataReader = dataReader;
+        this.journal = DataJournal.forSnapshot(path);
     }
 
     public RestoringInitializer(@Nonnull final SchemaService schemaService,
@@ -67,7 +110,7 @@ public class RestoringInitializer implements DataTreeInitializer {
                                 @Nonnull final DOMDataBroker dataTree,
                                 @Nonnull final RestorationType restorationType,
                                 @Nonnull final LogicalDatastoreType datastoreType) {
-        this(schemaService, path, dataTree, restorationType, datastoreType, new JsonReader());
+        this(schemaService, path, dataTree, restorationType, datastoreType, new DataReader());
     }
 
     private Path checkStorage(final Path path) {
@@ -82,42 +125,113 @@ public class RestoringInitializer implements DataTreeInitializer {
     @Override
     public void initialize() throws InitializeException {
         LOG.debug("Starting restoration of {} from {} using {}", dataTree, path, restorationType);
-        if (!Files.exists(path)) {
+        final boolean journalExists = Files.exists(journal.getPath());
+        if (!Files.exists(path) && !journalExists) {
             LOG.debug("Persist file {} does not exist. Skipping restoration", path);
             return;
         }
 
         try {
-            final ContainerNode containerNode = jsonReader.readData(schemaService.getGlobalContext(), path);
-
-            final DOMDataWriteTransaction domDataWriteTransaction = dataTree.newWriteOnlyTransaction();
-            for (DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> dataContainerChild : containerNode
-                .getValue()) {
-                final YangInstanceIdentifier iid = YangInstanceIdentifier.create(dataContainerChild.getIdentifier());
-                LOG.trace("Restoring {} from {}", iid, path);
-
-                switch (restorationType) {
-                    case Merge:
-                        domDataWriteTransaction.merge(datastoreType, iid, dataContainerChild);
-                        break;
-                    case Put:
-                        domDataWriteTransaction.put(datastoreType, iid, dataContainerChild);
-                        break;
-                    default:
-                        throw new InitializeException(
-                            "Unable to initialize data using " + restorationType + " restoration strategy. Unsupported");
-                }
+            if (Files.exists(path)) {
+                restorePersistedDataInChunks();
+            }
+            if (journalExists) {
+                replayJournal();
             }
-
-            // Block here to prevent subsequent initializers processing before context is fully restored
-            domDataWriteTransaction.submit().checkedGet();
             LOG.debug("Data from {} restored successfully", path);
-
         } catch (IOException | TransactionCommitFailedException e) {
             throw new InitializeException("Unable to restore data from " + path, e);
         }
     }
 
+    private void restorePersistedDataInChunks() throws IOException, InitializeException {
+        final ChunkedRestore chunkedRestore = new ChunkedRestore();
+        dataReader.streamData(schemaService.getGlobalContext(), path, chunkedRestore::restore);
+        chunkedRestore.submit();
+        LOG.debug("Data from {} restored in {} chunk(s)", path, chunkedRestore.chunks);
+    }
+
+    private void restoreNode(final DOMDataWriteTransaction domDataWriteTransaction,
+                             final DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> node)
+        throws InitializeException {
+        final YangInstanceIdentifier iid = YangInstanceIdentifier.create(node.getIdentifier());
+        LOG.trace("Restoring {} from {}", iid, path);
+
+        switch (restorationType) {
+            case Merge:
+                domDataWriteTransaction.merge(datastoreType, iid, node);
+                break;
+            case Put:
+                domDataWriteTransaction.put(datastoreType, iid, node);
+                break;
+            default:
+                throw new InitializeException(
+                    "Unable to initialize data using " + restorationType + " restoration strategy. Unsupported");
+        }
+    }
+
+    private void replayJournal() throws IOException, TransactionCommitFailedException {
+        final List<DataJournal.Entry> entries = journal.read();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        final DOMDataWriteTransaction domDataWriteTransaction = dataTree.newWriteOnlyTransaction();
+        for (DataJournal.Entry entry : entries) {
+            LOG.trace("Replaying {} from {}", entry, journal);
+            switch (entry.getOperation()) {
+                case WRITE:
+                    domDataWriteTransaction.put(datastoreType, entry.getPath(), entry.getData());
+                    break;
+                case DELETE:
+                    domDataWriteTransaction.delete(datastoreType, entry.getPath());
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported journal operation " + entry.getOperation());
+            }
+        }
+        // Block here to prevent subsequent initializers processing before context is fully restored
+        domDataWriteTransaction.submit().checkedGet();
+    }
+
+    /**
+     * Collects streamed top level nodes into a transaction, submitting it once chunkSize is reached.
+     */
+    private final class ChunkedRestore {
+
+        private DOMDataWriteTransaction transaction;
+        private long currentChunkSize;
+        private int chunks;
+
+        void restore(final DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> node,
+                     final long serializedSize) throws InitializeException {
+            if (transaction == null) {
+                transaction = dataTree.newWriteOnlyTransaction();
+            }
+            restoreNode(transaction, node);
+            currentChunkSize += serializedSize;
+            if (currentChunkSize >= chunkSize) {
+                submit();
+            }
+        }
+
+        void submit() throws InitializeException {
+            if (transaction == null) {
+                return;
+            }
+            try {
+                // Block here to prevent subsequent initializers processing before context is fully restored
+                transaction.submit().checkedGet();
+            } catch (TransactionCommitFailedException e) {
+                throw new InitializeException("Unable to restore data chunk from " + path, e);
+            }
+            LOG.trace("Chunk of {} bytes restored from {}", currentChunkSize, path);
+            transaction = null;
+            currentChunkSize = 0;
+            chunks++;
+        }
+    }
+
     /**
      * Type of operation to use when writing restored data.
      */
@@ -126,10 +240,13 @@ public class RestoringInitializer implements DataTreeInitializer {
     }
 
     @VisibleForTesting
-    static class JsonReader {
+    static class DataReader {
 
-        public ContainerNode readData(final SchemaContext globalContext, final Path path) throws IOException {
-            return JsonUtils.readJsonRoot(globalContext, Files.newInputStream(path, StandardOpenOption.READ));
+        public <E extends Exception> void streamData(final SchemaContext globalContext,
+                                                     final Path path,
+                                                     final BinarySnapshot.TopLevelNodeHandler<E> handler)
+            throws IOException, E {
+            PersistedDataFormat.stream(globalContext, path, handler);
         }
     }
 }
@@ -16,12 +16,21 @@
 
 package io.fd.honeycomb.data.init;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.util.concurrent.Futures;
+import io.fd.honeycomb.translate.util.persist.BinarySnapshot;
+import io.fd.honeycomb.translate.util.persist.DataJournal;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
@@ -38,6 +47,11 @@ import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public class RestoringInitializerTest {
@@ -49,7 +63,7 @@ public class RestoringInitializerTest {
     @Mock
     private DOMDataBroker dataTree;
     @Mock
-    private RestoringInitializer.JsonReader jsonReader;
+    private RestoringInitializer.DataReader dataReader;
     @Mock
     private ContainerNode data;
     @Mock
@@ -57,16 +71,20 @@ public class RestoringInitializerTest {
     private Path path;
     private YangInstanceIdentifier.NodeIdentifier nodeId =
             new YangInstanceIdentifier.NodeIdentifier(QName.create("namespace", "data"));
+    private static final QName LEAF = QName.create("namespace", "leaf");
+    private static final QName LEAF2 = QName.create("namespace", "leaf2");
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         path = Files.createTempFile("hc", "restoretest");
         when(schemaService.getGlobalContext()).thenReturn(schemaContext);
-        when(jsonReader.readData(schemaContext, path)).thenReturn(data);
+        doAnswer(invocation -> {
+            ((BinarySnapshot.TopLevelNodeHandler<?>) invocation.getArguments()[2]).handle(data, 1);
+            return null;
+        }).when(dataReader).streamData(eq(schemaContext), eq(path), any());
         when(dataTree.newWriteOnlyTransaction()).thenReturn(writeTx);
         when(writeTx.submit()).thenReturn(Futures.immediateCheckedFuture(null));
-        when(data.getValue()).thenReturn(Collections.singleton(data));
         when(data.getIdentifier()).thenReturn(nodeId);
     }
 
@@ -77,18 +95,19 @@ public class RestoringInitializerTest {
         } catch (NoSuchFileException e) {
             // ignoring, if the file does not exist already, never mind
         }
+        Files.deleteIfExists(DataJournal.journalPathFor(path));
     }
 
     @Test
     public void testPutOper() throws Exception {
         final RestoringInitializer init =
                 new RestoringInitializer(schemaService, path, dataTree,
-                        RestoringInitializer.RestorationType.Put, LogicalDatastoreType.OPERATIONAL, jsonReader);
+                        RestoringInitializer.RestorationType.Put, LogicalDatastoreType.OPERATIONAL, dataReader);
 
         init.initialize();
 
         verify(schemaService).getGlobalContext();
-        verify(jsonReader).readData(schemaContext, path);
+        verify(dataReader).streamData(eq(schemaContext), eq(path), any());
 
         verify(dataTree).newWriteOnlyTransaction();
         verify(writeTx).put(LogicalDatastoreType.OPERATIONAL, YangInstanceIdentifier.create(nodeId), data);
@@ -99,7 +118,7 @@ public class RestoringInitializerTest {
     public void testMergeConfig() throws Exception {
         final RestoringInitializer init =
                 new RestoringInitializer(schemaService, path, dataTree,
-                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, jsonReader);
+                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, dataReader);
 
         init.initialize();
 
@@ -111,20 +130,118 @@ public class RestoringInitializerTest {
         Files.delete(path);
         final RestoringInitializer init =
                 new RestoringInitializer(schemaService, path, dataTree,
-                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, jsonReader);
+                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, dataReader);
 
         init.initialize();
 
         verifyZeroInteractions(writeTx);
     }
 
+    @Test
+    public void testJournalReplay() throws Exception {
+        Files.delete(path);
+        final DataJournal journal = DataJournal.forSnapshot(path);
+        journal.restart();
+        journal.append(deleteCandidate());
+
+        final RestoringInitializer init =
+                new RestoringInitializer(schemaService, path, dataTree,
+                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, dataReader);
+
+        init.initialize();
+
+        verifyZeroInteractions(dataReader);
+        verify(writeTx).delete(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.create(nodeId));
+        verify(writeTx).submit();
+    }
+
+    @Test
+    public void testJournalNotReplayedOverNewerSnapshot() throws Exception {
+        Files.write(path, "old data".getBytes());
+        final DataJournal journal = DataJournal.forSnapshot(path);
+        journal.restart();
+        journal.append(deleteCandidate());
+        // compaction persisted new data, but crashed before the journal was restarted
+        Files.write(path, "compacted data".getBytes());
+
+        final RestoringInitializer init =
+                new RestoringInitializer(schemaService, path, dataTree,
+                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, dataReader);
+
+        init.initialize();
+
+        verify(writeTx).merge(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.create(nodeId), data);
+        verify(writeTx, times(0)).delete(any(), any());
+        verify(writeTx).submit();
+    }
+
+    private DataTreeCandidate deleteCandidate() {
+        final DataTreeCandidateNode deleted = mock(DataTreeCandidateNode.class);
+        when(deleted.getModificationType()).thenReturn(ModificationType.DELETE);
+        when(deleted.getIdentifier()).thenReturn(nodeId);
+        final DataTreeCandidateNode root = mock(DataTreeCandidateNode.class);
+        when(root.getModificationType()).thenReturn(ModificationType.SUBTREE_MODIFIED);
+        when(root.getChildNodes()).thenReturn(Collections.singleton(deleted));
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(candidate.getRootPath()).thenReturn(YangInstanceIdentifier.EMPTY);
+        when(candidate.getRootNode()).thenReturn(root);
+        return candidate;
+    }
+
+    @Test
+    public void testStreamedRestoreInChunks() throws Exception {
+        doAnswer(invocation -> {
+            final BinarySnapshot.TopLevelNodeHandler<?> handler =
+                    (BinarySnapshot.TopLevelNodeHandler<?>) invocation.getArguments()[2];
+            // first chunk holds first two nodes, second chunk the last one
+            handler.handle(data, 6);
+            handler.handle(data, 6);
+            handler.handle(data, 6);
+            return null;
+        }).when(dataReader).streamData(eq(schemaContext), eq(path), any());
+
+        final RestoringInitializer init =
+                new RestoringInitializer(schemaService, path, dataTree, RestoringInitializer.RestorationType.Put,
+                        LogicalDatastoreType.CONFIGURATION, dataReader, 10);
+
+        init.initialize();
+
+        verify(dataTree, times(2)).newWriteOnlyTransaction();
+        verify(writeTx, times(3)).put(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.create(nodeId), data);
+        verify(writeTx, times(2)).submit();
+    }
+
+    @Test
+    public void testStreamedRestoreFromFile() throws Exception {
+        try (final OutputStream outputStream = Files.newOutputStream(path)) {
+            BinarySnapshot.writeBinaryRoot(Builders.containerBuilder()
+                    .withNodeIdentifier(nodeId)
+                    .withChild(ImmutableNodes.leafNode(LEAF, "first"))
+                    .withChild(ImmutableNodes.leafNode(LEAF2, "second"))
+                    .build(), outputStream, BinarySnapshot.Compression.DEFLATE);
+        }
+
+        final RestoringInitializer init =
+                new RestoringInitializer(schemaService, path, dataTree, RestoringInitializer.RestorationType.Merge,
+                        LogicalDatastoreType.CONFIGURATION, 1);
+
+        init.initialize();
+
+        verify(dataTree, times(2)).newWriteOnlyTransaction();
+        verify(writeTx).merge(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.of(LEAF),
+                ImmutableNodes.leafNode(LEAF, "first"));
+        verify(writeTx).merge(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.of(LEAF2),
+                ImmutableNodes.leafNode(LEAF2, "second"));
+        verify(writeTx, times(2)).submit();
+    }
+
     @Test(expected = DataTreeInitializer.InitializeException.class)
     public void testFail() throws Exception {
-        when(jsonReader.readData(schemaContext, path)).thenThrow(new IOException("t"));
+        doThrow(new IOException("t")).when(dataReader).streamData(eq(schemaContext), eq(path), any());
 
         final RestoringInitializer init =
                 new RestoringInitializer(schemaService, path, dataTree,
-                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, jsonReader);
+                        RestoringInitializer.RestorationType.Merge, LogicalDatastoreType.CONFIGURATION, dataReader);
 
         init.initialize();
     }
@@ -30,4 +30,14 @@ public interface ModifiableDataManager extends ReadableDataManager {
      * @return modification
      */
     DataModification newModification();
+
+    /**
+     * Creates read-only snapshot of current data. Unlike {@link #newModification()}, the snapshot cannot be modified,
+     * which allows implementations to serve reads without creating and tracking a modification.
+     *
+     * @return snapshot of current data
+     */
+    default ReadableDataManager newSnapshot() {
+        return newModification();
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data;
+
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Facade over data tree that allows reading tree nodes directly into a {@link NormalizedNodeStreamWriter}, so that
+ * large lists can be serialized entry by entry, without building the whole tree in memory first.
+ */
+@Beta
+public interface StreamingReadableDataManager extends ReadableDataManager {
+
+    /**
+     * Reads a particular node from the data tree and writes it into provided writer. Nothing is written if the node
+     * does not exist. Blocks until the node is written.
+     *
+     * @param path   Path of the node
+     * @param writer writer receiving the node, not flushed nor closed by this method
+     * @throws ReadFailedException if the read or write of the node failed
+     */
+    void read(@Nonnull final YangInstanceIdentifier path, @Nonnull final NormalizedNodeStreamWriter writer)
+            throws ReadFailedException;
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Executes reads on a bounded pool of threads, so that callers are not blocked while the readers are invoked.
+ *
+ * Reads are rejected once all the threads are busy and the queue of pending reads is full. Every read has a deadline,
+ * read not finished in time (including the time spent in the queue) fails with {@link TimeoutException} and its
+ * thread is interrupted. Reads can be either submitted asynchronously ({@link #submit(Callable)}) or executed while
+ * the caller waits ({@link #execute(Callable)}).
+ */
+public final class BoundedReadExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService deadlineScheduler;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    /**
+     * @param threads    maximum number of concurrently executed reads
+     * @param queueDepth maximum number of reads waiting for a free thread
+     * @param timeout    deadline of a single read
+     * @param timeUnit   unit of the timeout
+     */
+    public BoundedReadExecutor(final int threads, final int queueDepth, final long timeout,
+                               @Nonnull final TimeUnit timeUnit) {
+        checkArgument(threads > 0, "threads should be positive");
+        checkArgument(queueDepth > 0, "queueDepth should be positive");
+        checkArgument(timeout > 0, "timeout should be positive");
+        this.timeout = timeout;
+        this.timeUnit = checkNotNull(timeUnit, "timeUnit should not be null");
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("honeycomb-oper-read-%d").build());
+        this.deadlineScheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("honeycomb-oper-read-deadline").build());
+    }
+
+    /**
+     * Submits read for execution.
+     *
+     * @param read read to be invoked, returning future that completes once the read is finished
+     * @return future of the read result, failed with {@link RejectedExecutionException} if there are too many pending
+     * reads, or with {@link TimeoutException} if the read did not finish before its deadline
+     */
+    @Nonnull
+    public <T> ListenableFuture<T> submit(@Nonnull final Callable<ListenableFuture<T>> read) {
+        final SettableFuture<T> result = SettableFuture.create();
+        final Future<?> running;
+        try {
+            running = executor.submit(() -> execute(read, result));
+        } catch (RejectedExecutionException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+
+        final Future<?> deadline = deadlineScheduler.schedule(() -> {
+            if (result.setException(new TimeoutException("Read did not finish in " + timeout + " " + timeUnit))) {
+                running.cancel(true);
+            }
+        }, timeout, timeUnit);
+        result.addListener(() -> deadline.cancel(false), MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * Executes read and blocks the caller until it finishes. Meant for reads handing their results to the caller as
+     * they go (e.g. into a stream writer), so the read must not outlive this method: read not finished before its
+     * deadline is interrupted and this method returns only once the read stops.
+     *
+     * @param read read to be invoked
+     * @return result of the read
+     * @throws RejectedExecutionException if there are too many pending reads
+     * @throws TimeoutException           if the read did not finish before its deadline
+     * @throws ExecutionException         if the read failed
+     * @throws InterruptedException       if the caller was interrupted while waiting, the read is interrupted as well
+     */
+    public <T> T execute(@Nonnull final Callable<T> read)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        final AtomicBoolean started = new AtomicBoolean();
+        final CountDownLatch stopped = new CountDownLatch(1);
+        final Future<T> running = executor.submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                // deadline passed while waiting in the queue
+                return null;
+            }
+            try {
+                return read.call();
+            } finally {
+                stopped.countDown();
+            }
+        });
+
+        try {
+            return running.get(timeout, timeUnit);
+        } catch (TimeoutException | InterruptedException e) {
+            running.cancel(true);
+            if (!started.compareAndSet(false, true)) {
+                // read is running, wait until it stops using whatever the caller provided
+                Uninterruptibles.awaitUninterruptibly(stopped);
+            }
+            if (e instanceof TimeoutException) {
+                throw new TimeoutException("Read did not finish in " + timeout + " " + timeUnit);
+            }
+            throw e;
+        }
+    }
+
+    private static <T> void execute(final Callable<ListenableFuture<T>> read, final SettableFuture<T> result) {
+        if (result.isDone()) {
+            // deadline passed while waiting in the queue
+            return;
+        }
+        final ListenableFuture<T> readFuture;
+        try {
+            readFuture = read.call();
+        } catch (Exception e) {
+            result.setException(e);
+            return;
+        }
+        Futures.addCallback(readFuture, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(@Nullable final T value) {
+                result.set(value);
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable cause) {
+                result.setException(cause);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        deadlineScheduler.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("threads", executor.getMaximumPoolSize())
+                .add("timeout", timeout)
+                .add("timeUnit", timeUnit)
+                .toString();
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import io.fd.honeycomb.data.ReadableDataManager;
+import io.fd.honeycomb.data.StreamingReadableDataManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.NormalizedNodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Operational data manager caching results of reads for a limited time, so that frequent polling of the same subtree
+ * does not invoke the readers every time.
+ *
+ * Results are cached per {@link YangInstanceIdentifier}, a read is also served from a cached result of any of its
+ * ancestors. Time to live can be configured per subtree, using schema paths (without list keys and augmentations),
+ * the closest configured ancestor applies. Zero time to live disables caching of the subtree, reads of such subtree
+ * are always delegated, even if a result of its ancestor is cached.
+ *
+ * Registered as a config {@link DOMDataTreeChangeListener}, the cache drops results of the same YANG modules as
+ * the top level config nodes modified by a commit, since operational data of a module are the ones affected by its
+ * writers. Invalidation is only as timely as the notification: config data tree notifies its listeners
+ * asynchronously, so a read issued right after a commit completes might still be served with data cached before
+ * the commit.
+ *
+ * Streamed reads are served from the cache as well, but results of streamed reads are not cached, since streaming is
+ * meant for data too big to be built in memory. Streamed reads not served from the cache are passed to the delegate,
+ * if it supports streaming.
+ */
+public final class CachingReadableDataManager implements StreamingReadableDataManager, DOMDataTreeChangeListener,
+        CachingReadableDataManagerMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingReadableDataManager.class);
+
+    private final ReadableDataManager delegate;
+    private final Map<YangInstanceIdentifier, Long> subtreeTtls;
+    private final long defaultTtlNanos;
+    private final int maximumSize;
+    private final Ticker ticker;
+    private final Map<YangInstanceIdentifier, CachedResult> cache = new ConcurrentHashMap<>();
+    // Incremented with every invalidation, reads started before an invalidation are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param delegate    operational data manager invoking the readers
+     * @param defaultTtl  time to live of results, not covered by subtree specific configuration
+     * @param subtreeTtls time to live per subtree, keyed by schema path (node identifiers without list keys and
+     *                    augmentations)
+     * @param timeUnit    unit of the times to live
+     * @param maximumSize maximum number of cached results
+     */
+    public CachingReadableDataManager(@Nonnull final ReadableDataManager delegate, final long defaultTtl,
+                                      @Nonnull final Map<YangInstanceIdentifier, Long> subtreeTtls,
+                                      @Nonnull final TimeUnit timeUnit, final int maximumSize) {
+        this(delegate, defaultTtl, subtreeTtls, timeUnit, maximumSize, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    CachingReadableDataManager(@Nonnull final ReadableDataManager delegate, final long defaultTtl,
+                               @Nonnull final Map<YangInstanceIdentifier, Long> subtreeTtls,
+                               @Nonnull final TimeUnit timeUnit, final int maximumSize,
+                               @Nonnull final Ticker ticker) {
+        checkArgument(defaultTtl >= 0, "defaultTtl should not be negative");
+        checkArgument(maximumSize > 0, "maximumSize should be positive");
+        this.delegate = checkNotNull(delegate, "delegate should not be null");
+        checkNotNull(timeUnit, "timeUnit should not be null");
+        final ImmutableMap.Builder<YangInstanceIdentifier, Long> ttls = ImmutableMap.builder();
+        checkNotNull(subtreeTtls, "subtreeTtls should not be null")
+                .forEach((path, ttl) -> ttls.put(toSchemaPath(path), timeUnit.toNanos(ttl)));
+        this.subtreeTtls = ttls.build();
+        this.defaultTtlNanos = timeUnit.toNanos(defaultTtl);
+        this.maximumSize = maximumSize;
+        this.ticker = checkNotNull(ticker, "ticker should not be null");
+    }
+
+    @Override
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+            @Nonnull final YangInstanceIdentifier path) {
+        final long ttl = getTtl(path);
+        if (ttl == 0) {
+            // caching disabled for the subtree, cached results of its ancestors are not used either
+            misses.increment();
+            return delegate.read(path);
+        }
+
+        final long now = ticker.read();
+        final Optional<NormalizedNode<?, ?>> cached = readCached(path, now);
+        if (cached != null) {
+            hits.increment();
+            return Futures.immediateCheckedFuture(cached);
+        }
+        misses.increment();
+
+        final long readGeneration = generation.get();
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> result = delegate.read(path);
+        Futures.addCallback(result, new FutureCallback<Optional<NormalizedNode<?, ?>>>() {
+            @Override
+            public void onSuccess(@Nullable final Optional<NormalizedNode<?, ?>> value) {
+                if (value != null) {
+                    store(path, value, now + ttl, readGeneration);
+                }
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable cause) {
+                // failures are not cached
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void read(@Nonnull final YangInstanceIdentifier path, @Nonnull final NormalizedNodeStreamWriter writer)
+            throws ReadFailedException {
+        final Optional<NormalizedNode<?, ?>> cached = getTtl(path) == 0
+                ? null
+                : readCached(path, ticker.read());
+        if (cached != null) {
+            hits.increment();
+            write(path, cached, writer);
+            return;
+        }
+
+        misses.increment();
+        if (delegate instanceof StreamingReadableDataManager) {
+            ((StreamingReadableDataManager) delegate).read(path, writer);
+        } else {
+            write(path, delegate.read(path).checkedGet(), writer);
+        }
+    }
+
+    private static void write(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> value,
+                              final NormalizedNodeStreamWriter writer) throws ReadFailedException {
+        if (!value.isPresent()) {
+            return;
+        }
+        try {
+            NormalizedNodeWriter.forStreamWriter(writer).write(value.get());
+        } catch (IOException e) {
+            throw new ReadFailedException("Failed to write " + path, e);
+        }
+    }
+
+    /**
+     * Finds result of the path or any of its ancestors.
+     *
+     * @return cached result or null if there is none
+     */
+    @Nullable
+    private Optional<NormalizedNode<?, ?>> readCached(final YangInstanceIdentifier path, final long now) {
+        for (YangInstanceIdentifier ancestor = path; ancestor != null; ancestor = ancestor.getParent()) {
+            final CachedResult cached = cache.get(ancestor);
+            if (cached == null) {
+                continue;
+            }
+            if (cached.expiresAt - now <= 0) {
+                cache.remove(ancestor, cached);
+                continue;
+            }
+            if (ancestor == path) {
+                return cached.value;
+            }
+            if (!cached.value.isPresent()) {
+                // no data in the ancestor, so there is nothing in its subtree
+                return cached.value;
+            }
+            return NormalizedNodes.findNode(cached.value.get(), path.relativeTo(ancestor).get().getPathArguments());
+        }
+        return null;
+    }
+
+    private void store(final YangInstanceIdentifier path, final Optional<NormalizedNode<?, ?>> value,
+                       final long expiresAt, final long readGeneration) {
+        if (cache.size() >= maximumSize) {
+            purgeExpired();
+            if (cache.size() >= maximumSize) {
+                LOG.debug("Cache is full, not caching result of {}", path);
+                return;
+            }
+        }
+        final CachedResult cached = new CachedResult(value, expiresAt);
+        cache.put(path, cached);
+        if (generation.get() != readGeneration) {
+            // cache was invalidated while the read was in progress, the result might be stale
+            cache.remove(path, cached);
+        }
+    }
+
+    private void purgeExpired() {
+        final long now = ticker.read();
+        cache.entrySet().removeIf(entry -> entry.getValue().expiresAt - now <= 0);
+    }
+
+    private long getTtl(final YangInstanceIdentifier path) {
+        for (YangInstanceIdentifier subtree = toSchemaPath(path); subtree != null; subtree = subtree.getParent()) {
+            final Long ttl = subtreeTtls.get(subtree);
+            if (ttl != null) {
+                return ttl;
+            }
+        }
+        return defaultTtlNanos;
+    }
+
+    /**
+     * Transforms instance identifier into path of node identifiers, without list keys and augmentations.
+     */
+    @VisibleForTesting
+    static YangInstanceIdentifier toSchemaPath(final YangInstanceIdentifier path) {
+        final List<YangInstanceIdentifier.PathArgument> schemaPath = new ArrayList<>();
+        YangInstanceIdentifier.NodeIdentifier previous = null;
+        for (final YangInstanceIdentifier.PathArgument pathArgument : path.getPathArguments()) {
+            if (pathArgument instanceof YangInstanceIdentifier.AugmentationIdentifier) {
+                continue;
+            }
+            final YangInstanceIdentifier.NodeIdentifier nodeId =
+                    new YangInstanceIdentifier.NodeIdentifier(pathArgument.getNodeType());
+            // list node and its entries have the same node type
+            if (!nodeId.equals(previous)) {
+                schemaPath.add(nodeId);
+            }
+            previous = nodeId;
+        }
+        return YangInstanceIdentifier.create(schemaPath);
+    }
+
+    @Override
+    public void onDataTreeChanged(@Nonnull final Collection<DataTreeCandidate> changes) {
+        final Set<QNameModule> modifiedModules = new HashSet<>();
+        for (final DataTreeCandidate change : changes) {
+            collectModifiedModules(change, modifiedModules);
+        }
+        if (modifiedModules.isEmpty()) {
+            return;
+        }
+        LOG.debug("Config of modules {} changed, invalidating cached operational data", modifiedModules);
+        generation.incrementAndGet();
+        final Iterator<YangInstanceIdentifier> cachedPaths = cache.keySet().iterator();
+        while (cachedPaths.hasNext()) {
+            final YangInstanceIdentifier cachedPath = cachedPaths.next();
+            if (cachedPath.equals(YangInstanceIdentifier.EMPTY) || modifiedModules.contains(getModule(cachedPath))) {
+                cachedPaths.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private static void collectModifiedModules(final DataTreeCandidate change, final Set<QNameModule> modules) {
+        final DataTreeCandidateNode root = change.getRootNode();
+        if (root.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+        if (!change.getRootPath().equals(YangInstanceIdentifier.EMPTY)) {
+            modules.add(getModule(change.getRootPath()));
+            return;
+        }
+        for (final DataTreeCandidateNode topLevelNode : root.getChildNodes()) {
+            if (topLevelNode.getModificationType() != ModificationType.UNMODIFIED) {
+                modules.add(topLevelNode.getIdentifier().getNodeType().getModule());
+            }
+        }
+    }
+
+    private static QNameModule getModule(final YangInstanceIdentifier path) {
+        return path.getPathArguments().get(0).getNodeType().getModule();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("size", getSize())
+                .add("hits", getHits())
+                .add("misses", getMisses())
+                .add("invalidations", getInvalidations())
+                .toString();
+    }
+
+    private static final class CachedResult {
+        private final Optional<NormalizedNode<?, ?>> value;
+        private final long expiresAt;
+
+        private CachedResult(final Optional<NormalizedNode<?, ?>> value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
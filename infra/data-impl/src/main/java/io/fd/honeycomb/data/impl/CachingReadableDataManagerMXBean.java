@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.data.impl;
+
+/**
+ * Cache statistics of {@link CachingReadableDataManager}, exposed over JMX.
+ */
+public interface CachingReadableDataManagerMXBean {
+
+    /**
+     * @return number of reads served from the cache
+     */
+    long getHits();
+
+    /**
+     * @return number of reads delegated to the readers
+     */
+    long getMisses();
+
+    /**
+     * @return number of cached results dropped, because config of their module changed
+     */
+    long getInvalidations();
+
+    /**
+     * @return number of currently cached results, including the expired ones not purged yet
+     */
+    int getSize();
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.fd.honeycomb.translate.TranslationException;
+import io.fd.honeycomb.translate.write.registry.WriterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Group commit for {@link ModifiableDataTreeManager}. Transactions committed concurrently are collected into a batch
+ * and non-conflicting ones (not touching the same or nested paths) are committed as a single modification, so that
+ * the candidate is prepared, processed (e.g. by writers) and persisted just once for the whole group.
+ *
+ * The first committer becomes the leader of a batch, waits for the commit window (or until the batch is full) and
+ * commits the batch on behalf of all its members, the others just wait for their own result. Batches are committed
+ * one after another, transactions arriving while a batch is being committed form the next one.
+ *
+ * Conflicting transactions as well as members of a group that failed validation or whose changes were successfully
+ * reverted are committed one by one in the order of arrival, so every transaction ends up with the same result as if
+ * there was no grouping. Any other failure of a group (e.g. failed revert or mapping context update) fails all its
+ * members, since the changes might have been applied already. Single instance is meant to be used by a single
+ * {@link ModifiableDataTreeManager}.
+ */
+public final class CommitSequencer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommitSequencer.class);
+
+    private final int maxBatchSize;
+    private final long windowNanos;
+
+    private final Object pendingLock = new Object();
+    @GuardedBy("pendingLock")
+    private List<PendingCommit> pending = new ArrayList<>();
+    @GuardedBy("pendingLock")
+    private boolean leaderElected;
+
+    // Held by the leader while committing a batch, so that batches are committed sequentially
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    private final AtomicLong committedGroups = new AtomicLong();
+    private final AtomicLong groupedTransactions = new AtomicLong();
+
+    /**
+     * @param maxBatchSize number of pending transactions that ends the commit window early
+     * @param window       maximum time a leader waits for other transactions to join its batch, 0 to batch just
+     *                     the transactions that piled up while the previous batch was being committed
+     */
+    public CommitSequencer(final int maxBatchSize, final long window, @Nonnull final TimeUnit unit) {
+        checkArgument(maxBatchSize > 0, "maxBatchSize should be positive, but was %s", maxBatchSize);
+        checkArgument(window >= 0, "window should not be negative, but was %s", window);
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    /**
+     * Commit validated snapshot, possibly together with other concurrently committed snapshots. Blocks until the
+     * snapshot is committed.
+     */
+    void commit(@Nonnull final ModifiableDataTreeManager.ConfigSnapshot snapshot)
+            throws DataValidationFailedException, TranslationException {
+        final PendingCommit commit = new PendingCommit(snapshot);
+        final boolean leader;
+        synchronized (pendingLock) {
+            pending.add(commit);
+            leader = !leaderElected;
+            leaderElected = true;
+            if (pending.size() >= maxBatchSize) {
+                pendingLock.notifyAll();
+            }
+        }
+
+        if (leader) {
+            lead();
+        }
+        commit.await();
+    }
+
+    private void lead() {
+        commitLock.lock();
+        List<PendingCommit> batch = null;
+        try {
+            batch = collectBatch();
+            commitBatch(batch);
+        } catch (RuntimeException e) {
+            LOG.error("Group commit failed unexpectedly", e);
+            if (batch != null) {
+                batch.forEach(commit -> commit.fail(e));
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private List<PendingCommit> collectBatch() {
+        synchronized (pendingLock) {
+            final long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while (pending.size() < maxBatchSize && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(pendingLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            // Hand over leadership, transactions arriving from now on form the next batch
+            final List<PendingCommit> batch = pending;
+            pending = new ArrayList<>();
+            leaderElected = false;
+            return batch;
+        }
+    }
+
+    private void commitBatch(final List<PendingCommit> batch) {
+        if (batch.size() == 1) {
+            commitAlone(batch.get(0));
+            return;
+        }
+
+        final List<PendingCommit> group = new ArrayList<>(batch.size());
+        final List<PendingCommit> deferred = new ArrayList<>();
+        for (final PendingCommit commit : batch) {
+            try {
+                // Detect conflicts with transactions committed since the snapshot was validated
+                commit.snapshot.revalidate();
+            } catch (DataValidationFailedException e) {
+                commit.fail(e);
+                continue;
+            }
+
+            // Defer also transactions conflicting with deferred ones, to preserve the order of conflicting commits
+            if (conflictsWithAny(commit, group) || conflictsWithAny(commit, deferred)) {
+                deferred.add(commit);
+            } else {
+                group.add(commit);
+            }
+        }
+
+        commitGroup(group);
+        deferred.forEach(CommitSequencer::commitAlone);
+    }
+
+    private static boolean conflictsWithAny(final PendingCommit commit, final List<PendingCommit> others) {
+        for (final PendingCommit other : others) {
+            if (commit.snapshot.conflictsWith(other.snapshot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void commitGroup(final List<PendingCommit> group) {
+        if (group.isEmpty()) {
+            return;
+        } else if (group.size() == 1) {
+            commitAlone(group.get(0));
+            return;
+        }
+
+        LOG.debug("Committing {} transactions as a group", group.size());
+        try {
+            final ModifiableDataTreeManager.ConfigSnapshot groupSnapshot = group.get(0).snapshot.newGroupSnapshot();
+            for (final PendingCommit commit : group) {
+                commit.snapshot.replayTo(groupSnapshot);
+            }
+            groupSnapshot.validate();
+            groupSnapshot.commitDirectly();
+        } catch (DataValidationFailedException | WriterRegistry.Reverter.RevertSuccessException e) {
+            // Nothing was applied (or it was reverted), members can be retried as if there was no grouping
+            LOG.debug("Group commit of {} transactions failed, committing them one by one", group.size(), e);
+            group.forEach(CommitSequencer::commitAlone);
+            return;
+        } catch (TranslationException e) {
+            // Device might have been modified already (e.g. failed revert or mapping context update), retrying
+            // individual transactions would apply them again
+            LOG.warn("Group commit of {} transactions failed", group.size(), e);
+            group.forEach(commit -> commit.fail(e));
+            return;
+        }
+
+        committedGroups.incrementAndGet();
+        groupedTransactions.addAndGet(group.size());
+        group.forEach(PendingCommit::complete);
+    }
+
+    private static void commitAlone(final PendingCommit commit) {
+        try {
+            commit.snapshot.revalidate();
+            commit.snapshot.commitDirectly();
+            commit.complete();
+        } catch (DataValidationFailedException | TranslationException e) {
+            commit.fail(e);
+        }
+    }
+
+    /**
+     * @return number of groups (of at least 2 transactions) committed so far
+     */
+    public long getCommittedGroups() {
+        return committedGroups.get();
+    }
+
+    /**
+     * @return number of transactions committed as part of a group so far
+     */
+    public long getGroupedTransactions() {
+        return groupedTransactions.get();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxBatchSize", maxBatchSize)
+                .add("windowNanos", windowNanos)
+                .add("committedGroups", getCommittedGroups())
+                .add("groupedTransactions", getGroupedTransactions())
+                .toString();
+    }
+
+    private static final class PendingCommit {
+        private final ModifiableDataTreeManager.ConfigSnapshot snapshot;
+        private final SettableFuture<Void> result = SettableFuture.create();
+
+        private PendingCommit(final ModifiableDataTreeManager.ConfigSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private void complete() {
+            result.set(null);
+        }
+
+        private void fail(final Exception cause) {
+            result.setException(cause);
+        }
+
+        private void await() throws DataValidationFailedException, TranslationException {
+            try {
+                // Commit is already in progress, its result has to be delivered even if interrupted
+                Uninterruptibles.getUninterruptibly(result);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof DataValidationFailedException) {
+                    throw (DataValidationFailedException) cause;
+                } else if (cause instanceof TranslationException) {
+                    throw (TranslationException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Unexpected commit failure", cause);
+            }
+        }
+    }
+}
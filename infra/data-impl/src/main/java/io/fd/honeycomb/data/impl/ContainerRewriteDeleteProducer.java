@@ -29,7 +29,6 @@ import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
-import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,19 +37,21 @@ class ContainerRewriteDeleteProducer extends DelegatingRewriteDeleteProducer imp
     private static final Logger LOG = LoggerFactory.getLogger(ContainerRewriteDeleteProducer.class);
 
     private final SchemaContext ctx;
+    private final SchemaIndex schemaIndex;
 
     ContainerRewriteDeleteProducer(@Nonnull final NormalizedNodeRewriteDeleteRegistry baseRewriteProducer,
-                                   @Nonnull final SchemaContext ctx) {
+                                   @Nonnull final SchemaContext ctx,
+                                   @Nonnull final SchemaIndex schemaIndex) {
         super(baseRewriteProducer);
         this.ctx = ctx;
+        this.schemaIndex = schemaIndex;
     }
 
     @Override
     public Collection<NormalizedNodeUpdate> normalizedUpdates(@Nonnull final YangInstanceIdentifier topLevelIdentifier,
                                                               @Nonnull final Map.Entry<YangInstanceIdentifier.PathArgument, DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> entry) {
         final ContainerSchemaNode containerSchemaNode =
-                (ContainerSchemaNode) SchemaContextUtil
-                        .findDataSchemaNode(ctx, getSchemaPath(topLevelIdentifier, entry));
+                (ContainerSchemaNode) schemaIndex.findDataSchemaNode(ctx, getSchemaPath(topLevelIdentifier, entry));
 
         if (containerSchemaNode.isPresenceContainer()) {
             LOG.debug("Processing {} as presence container", topLevelIdentifier);
@@ -18,6 +18,8 @@ package io.fd.honeycomb.data.impl;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.fd.honeycomb.data.DataModification;
 import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.ReadableDataManager;
@@ -25,6 +27,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
@@ -33,6 +37,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataChangeListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -48,7 +53,11 @@ import org.slf4j.LoggerFactory;
 public class DataBroker implements DOMDataBroker, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataBroker.class);
+    // Commits transactions submitted in transaction chains, idle daemon threads are released, so no need to shut down
+    private static final Executor CHAIN_COMMIT_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("honeycomb-tx-chain-commit-%d").build());
     private final TransactionFactory transactionFactory;
+    private final Map<Class<? extends DOMDataBrokerExtension>, DOMDataBrokerExtension> extensions;
 
     /**
      * Creates DataBroker instance.
@@ -56,7 +65,19 @@ public class DataBroker implements DOMDataBroker, Closeable {
      * @param transactionFactory transaction producing factory
      */
     public DataBroker(final TransactionFactory transactionFactory) {
+        this(transactionFactory, Collections.emptyMap());
+    }
+
+    /**
+     * Creates DataBroker instance supporting provided extensions.
+     *
+     * @param transactionFactory transaction producing factory
+     * @param extensions         supported extensions, keyed by extension type
+     */
+    public DataBroker(final TransactionFactory transactionFactory,
+                      @Nonnull final Map<Class<? extends DOMDataBrokerExtension>, DOMDataBrokerExtension> extensions) {
         this.transactionFactory = transactionFactory;
+        this.extensions = ImmutableMap.copyOf(extensions);
     }
 
     @Override
@@ -87,13 +108,14 @@ public class DataBroker implements DOMDataBroker, Closeable {
 
     @Override
     public DOMTransactionChain createTransactionChain(final TransactionChainListener listener) {
-        throw new UnsupportedOperationException("Not supported");
+        LOG.trace("DataBroker({}).createTransactionChain()", this);
+        return transactionFactory.createTransactionChain(listener);
     }
 
     @Nonnull
     @Override
     public Map<Class<? extends DOMDataBrokerExtension>, DOMDataBrokerExtension> getSupportedExtensions() {
-        return Collections.emptyMap();
+        return extensions;
     }
 
     /**
@@ -107,6 +129,21 @@ public class DataBroker implements DOMDataBroker, Closeable {
         return new DataBroker(new MainPipelineTxFactory(configDataTree, operationalDataTree));
     }
 
+    /**
+     * Create DataBroker for a modifiable config DT, but only readable Operational, supporting data tree change
+     * listeners for config data
+     */
+    @Nonnull
+    public static DataBroker create(@Nonnull final ModifiableDataManager configDataTree,
+                                    @Nonnull final ReadableDataManager operationalDataTree,
+                                    @Nonnull final DOMDataTreeChangeService configChangeService) {
+        checkNotNull(operationalDataTree, "operationalDataTree should not be null");
+        checkNotNull(configDataTree, "configDataTree should not be null");
+        checkNotNull(configChangeService, "configChangeService should not be null");
+        return new DataBroker(new MainPipelineTxFactory(configDataTree, operationalDataTree),
+            Collections.singletonMap(DOMDataTreeChangeService.class, configChangeService));
+    }
+
     /**
      * Create DataBroker for modifiable operational DT, but no support for config
      */
@@ -116,6 +153,19 @@ public class DataBroker implements DOMDataBroker, Closeable {
         return new DataBroker(new ContextPipelineTxFactory(operationalDataTree));
     }
 
+    /**
+     * Create DataBroker for modifiable operational DT, but no support for config, supporting data tree change
+     * listeners for operational data
+     */
+    @Nonnull
+    public static DataBroker create(@Nonnull final ModifiableDataManager operationalDataTree,
+                                    @Nonnull final DOMDataTreeChangeService operationalChangeService) {
+        checkNotNull(operationalDataTree, "operationalDataTree should not be null");
+        checkNotNull(operationalChangeService, "operationalChangeService should not be null");
+        return new DataBroker(new ContextPipelineTxFactory(operationalDataTree),
+            Collections.singletonMap(DOMDataTreeChangeService.class, operationalChangeService));
+    }
+
     @Override
     public void close() throws IOException {
         // NOOP
@@ -131,6 +181,10 @@ public class DataBroker implements DOMDataBroker, Closeable {
         DOMDataReadWriteTransaction newReadWriteTransaction();
 
         DOMDataWriteTransaction newWriteOnlyTransaction();
+
+        default DOMTransactionChain createTransactionChain(TransactionChainListener listener) {
+            throw new UnsupportedOperationException("Not supported");
+        }
     }
 
     /**
@@ -148,7 +202,7 @@ public class DataBroker implements DOMDataBroker, Closeable {
 
         @Override
         public DOMDataReadOnlyTransaction newReadOnlyTransaction() {
-            return ReadOnlyTransaction.create(configDataTree.newModification(), operationalDataTree);
+            return ReadOnlyTransaction.create(configDataTree.newSnapshot(), operationalDataTree);
         }
 
         @Override
@@ -163,6 +217,16 @@ public class DataBroker implements DOMDataBroker, Closeable {
         public DOMDataWriteTransaction newWriteOnlyTransaction() {
             return WriteTransaction.createConfigOnly(configDataTree.newModification());
         }
+
+        @Override
+        public DOMTransactionChain createTransactionChain(final TransactionChainListener listener) {
+            if (!(configDataTree instanceof ModifiableDataTreeManager)) {
+                throw new UnsupportedOperationException("Transaction chains are not supported by " + configDataTree);
+            }
+            return new TransactionChain((ModifiableDataTreeManager) configDataTree, listener,
+                modification -> ReadOnlyTransaction.create(modification, operationalDataTree),
+                WriteTransaction::createConfigOnly, CHAIN_COMMIT_EXECUTOR);
+        }
     }
 
     /**
@@ -192,6 +256,17 @@ public class DataBroker implements DOMDataBroker, Closeable {
         public DOMDataWriteTransaction newWriteOnlyTransaction() {
             return WriteTransaction.createOperationalOnly(operationalDataTree.newModification());
         }
+
+        @Override
+        public DOMTransactionChain createTransactionChain(final TransactionChainListener listener) {
+            if (!(operationalDataTree instanceof ModifiableDataTreeManager)) {
+                throw new UnsupportedOperationException(
+                    "Transaction chains are not supported by " + operationalDataTree);
+            }
+            return new TransactionChain((ModifiableDataTreeManager) operationalDataTree, listener,
+                ReadOnlyTransaction::createOperationalOnly, WriteTransaction::createOperationalOnly,
+                CHAIN_COMMIT_EXECUTOR);
+        }
     }
 }
 
@@ -16,6 +16,7 @@
 
 package io.fd.honeycomb.data.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.util.concurrent.Futures.immediateCheckedFuture;
 
@@ -28,13 +29,17 @@ import io.fd.honeycomb.data.DataModification;
 import io.fd.honeycomb.data.ReadableDataManager;
 import io.fd.honeycomb.translate.MappingContext;
 import io.fd.honeycomb.translate.TranslationException;
-import io.fd.honeycomb.translate.util.RWUtils;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.TransactionMappingContext;
 import io.fd.honeycomb.translate.util.write.TransactionWriteContext;
 import io.fd.honeycomb.translate.write.DataObjectUpdate;
-import io.fd.honeycomb.translate.write.WriteContext;
 import io.fd.honeycomb.translate.write.registry.WriterRegistry;
+import java.util.AbstractMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
@@ -47,6 +52,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,8 +70,11 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
     private final WriterRegistry writerRegistry;
     private final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker;
     // TODO HONEYCOMB-161 what to use instead of deprecated BindingNormalizedNodeSerializer ?
-    private final BindingNormalizedNodeSerializer serializer;
+    private final BindingIdentifierCache identifierCache;
     private final SchemaContext schema;
+    @Nullable
+    private final ForkJoinPool conversionPool;
+    private final int parallelConversionThreshold;
 
     /**
      * Creates configuration data tree instance.
@@ -73,22 +83,63 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
      * @param dataTree       data tree for configuration data representation
      * @param writerRegistry service for translation between Java Binding Data and data provider, capable of performing
      * @param contextBroker BA broker providing full access to mapping context data
+     * @deprecated use {@link #ModifiableDataTreeDelegator(BindingIdentifierCache, DataTree, SchemaContext,
+     * WriterRegistry, org.opendaylight.controller.md.sal.binding.api.DataBroker)}
      */
+    @Deprecated
     public ModifiableDataTreeDelegator(@Nonnull final BindingNormalizedNodeSerializer serializer,
                                        @Nonnull final DataTree dataTree,
                                        @Nonnull final SchemaContext schema,
                                        @Nonnull final WriterRegistry writerRegistry,
                                        @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker) {
-        super(dataTree);
+        this(BindingIdentifierCache.forSerializer(serializer), dataTree, schema, writerRegistry, contextBroker);
+    }
+
+    /**
+     * Creates configuration data tree instance using provided identifier cache for BI to BA translation.
+     *
+     * @param identifierCache cache of identifier translations, wrapping the serializer
+     */
+    public ModifiableDataTreeDelegator(@Nonnull final BindingIdentifierCache identifierCache,
+                                       @Nonnull final DataTree dataTree,
+                                       @Nonnull final SchemaContext schema,
+                                       @Nonnull final WriterRegistry writerRegistry,
+                                       @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker) {
+        this(identifierCache, dataTree, schema, writerRegistry, contextBroker, null, 0, null);
+    }
+
+    /**
+     * Creates configuration data tree instance converting large commits from BI to BA in parallel and committing
+     * concurrent transactions as groups.
+     *
+     * @param conversionPool              pool used to convert updates from BI to BA, null to disable parallel
+     *                                    conversion
+     * @param parallelConversionThreshold minimal number of updates in a commit, for which the conversion is
+     *                                    performed in parallel
+     * @param commitSequencer             sequencer committing concurrent transactions as groups (writers are invoked
+     *                                    once per group), null to disable group commit
+     */
+    public ModifiableDataTreeDelegator(@Nonnull final BindingIdentifierCache identifierCache,
+                                       @Nonnull final DataTree dataTree,
+                                       @Nonnull final SchemaContext schema,
+                                       @Nonnull final WriterRegistry writerRegistry,
+                                       @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker,
+                                       @Nullable final ForkJoinPool conversionPool,
+                                       final int parallelConversionThreshold,
+                                       @Nullable final CommitSequencer commitSequencer) {
+        super(dataTree, commitSequencer);
         this.contextBroker = checkNotNull(contextBroker, "contextBroker should not be null");
-        this.serializer = checkNotNull(serializer, "serializer should not be null");
+        this.identifierCache = checkNotNull(identifierCache, "identifierCache should not be null");
         this.writerRegistry = checkNotNull(writerRegistry, "writerRegistry should not be null");
         this.schema = checkNotNull(schema, "schema should not be null");
+        checkArgument(parallelConversionThreshold >= 0, "parallelConversionThreshold should not be negative");
+        this.conversionPool = conversionPool;
+        this.parallelConversionThreshold = parallelConversionThreshold;
     }
 
     @Override
-    public DataModification newModification() {
-        return new DelegatingConfigSnapshot(super.newModification());
+    protected DataModification newModification(@Nonnull final DataTreeSnapshot base) {
+        return new DelegatingConfigSnapshot(super.newModification(base), base.newModification());
     }
 
     private final class DelegatingConfigSnapshot extends ModifiableDataTreeManager.ConfigSnapshot {
@@ -100,8 +151,11 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
          *                              To be used later while invoking writers to provide them with before state
          *                              (state without current modifications).
          *                              It must be captured as close as possible to when current modification started.
+         * @param modification          modification of the same data tree snapshot as untouchedModification
          */
-        DelegatingConfigSnapshot(final DataModification untouchedModification) {
+        DelegatingConfigSnapshot(final DataModification untouchedModification,
+                                 final DataTreeModification modification) {
+            super(modification);
             this.untouchedModification = untouchedModification;
         }
 
@@ -127,7 +181,7 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
             final WriterRegistry.DataObjectUpdates baUpdates = toBindingAware(modificationDiff.getUpdates());
             LOG.debug("ConfigDataTree.modify() extracted updates={}", baUpdates);
 
-            WriteContext ctx = getTransactionWriteContext();
+            final TransactionWriteContext ctx = getTransactionWriteContext();
             try {
                 writerRegistry.update(baUpdates, ctx);
 
@@ -135,6 +189,8 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
                     ((TransactionMappingContext) ctx.getMappingContext()).submit();
                 // Blocking on context data update
                 contextUpdateResult.checkedGet();
+                // All changes are applied, e.g. cached operational data affected by writers can be dropped
+                ctx.invokeAfterCommitActions();
 
             } catch (WriterRegistry.BulkUpdateException e) {
                 LOG.warn("Failed to apply all changes", e);
@@ -180,7 +236,7 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
             final DOMDataReadOnlyTransaction beforeTx = ReadOnlyTransaction.create(this, EMPTY_OPERATIONAL);
             // After Tx == before partial update
             final DOMDataReadOnlyTransaction afterTx = ReadOnlyTransaction.create(untouchedModification, EMPTY_OPERATIONAL);
-            return new TransactionWriteContext(serializer, beforeTx, afterTx, affectedMappingContext);
+            return new TransactionWriteContext(identifierCache, beforeTx, afterTx, affectedMappingContext);
         }
 
         private TransactionWriteContext getTransactionWriteContext() {
@@ -190,49 +246,90 @@ public final class ModifiableDataTreeDelegator extends ModifiableDataTreeManager
             final DOMDataReadOnlyTransaction afterTx = ReadOnlyTransaction.create(this, EMPTY_OPERATIONAL);
             final TransactionMappingContext mappingContext = new TransactionMappingContext(
                 contextBroker.newReadWriteTransaction());
-            return new TransactionWriteContext(serializer, beforeTx, afterTx, mappingContext);
+            return new TransactionWriteContext(identifierCache, beforeTx, afterTx, mappingContext);
         }
 
         private WriterRegistry.DataObjectUpdates toBindingAware(
                 final Map<YangInstanceIdentifier, NormalizedNodeUpdate> biNodes) {
-            return ModifiableDataTreeDelegator.toBindingAware(biNodes, serializer);
+            return ModifiableDataTreeDelegator.toBindingAware(biNodes, identifierCache, conversionPool,
+                    parallelConversionThreshold);
         }
     }
 
     @VisibleForTesting
     static WriterRegistry.DataObjectUpdates toBindingAware(
             final Map<YangInstanceIdentifier, NormalizedNodeUpdate> biNodes,
-            final BindingNormalizedNodeSerializer serializer) {
+            final BindingIdentifierCache identifierCache) {
+        return toBindingAware(biNodes, identifierCache, null, 0);
+    }
 
+    /**
+     * Transform BI updates into BA. Conversions are performed in provided pool if the number of updates reaches
+     * the threshold, the result is the same as for sequential conversion.
+     */
+    @VisibleForTesting
+    static WriterRegistry.DataObjectUpdates toBindingAware(
+            final Map<YangInstanceIdentifier, NormalizedNodeUpdate> biNodes,
+            final BindingIdentifierCache identifierCache,
+            @Nullable final ForkJoinPool conversionPool,
+            final int parallelConversionThreshold) {
+
+        final List<Map.Entry<InstanceIdentifier<?>, DataObjectUpdate>> baUpdates;
+        if (conversionPool != null && biNodes.size() >= parallelConversionThreshold) {
+            LOG.debug("Converting {} updates to BA in parallel", biNodes.size());
+            // Parallel stream started from within the pool is executed by the pool's workers
+            baUpdates = conversionPool.submit(() -> biNodes.entrySet().parallelStream()
+                    .map(biEntry -> toBindingAwareUpdate(biEntry, identifierCache))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()))
+                    .join();
+        } else {
+            baUpdates = biNodes.entrySet().stream()
+                    .map(biEntry -> toBindingAwareUpdate(biEntry, identifierCache))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        // Multimaps are filled sequentially, they are not thread safe
         final Multimap<InstanceIdentifier<?>, DataObjectUpdate> dataObjectUpdates = HashMultimap.create();
         final Multimap<InstanceIdentifier<?>, DataObjectUpdate.DataObjectDelete> dataObjectDeletes =
                 HashMultimap.create();
-
-        for (Map.Entry<YangInstanceIdentifier, NormalizedNodeUpdate> biEntry : biNodes.entrySet()) {
-            final InstanceIdentifier<?> unkeyedIid =
-                    RWUtils.makeIidWildcarded(serializer.fromYangInstanceIdentifier(biEntry.getKey()));
-
-            NormalizedNodeUpdate normalizedNodeUpdate = biEntry.getValue();
-            final DataObjectUpdate dataObjectUpdate = toDataObjectUpdate(normalizedNodeUpdate, serializer);
-            if (dataObjectUpdate != null) {
-                if (dataObjectUpdate instanceof DataObjectUpdate.DataObjectDelete) {
-                    dataObjectDeletes.put(unkeyedIid, (DataObjectUpdate.DataObjectDelete) dataObjectUpdate);
-                } else {
-                    dataObjectUpdates.put(unkeyedIid, dataObjectUpdate);
-                }
+        for (Map.Entry<InstanceIdentifier<?>, DataObjectUpdate> baUpdate : baUpdates) {
+            final DataObjectUpdate dataObjectUpdate = baUpdate.getValue();
+            if (dataObjectUpdate instanceof DataObjectUpdate.DataObjectDelete) {
+                dataObjectDeletes.put(baUpdate.getKey(), (DataObjectUpdate.DataObjectDelete) dataObjectUpdate);
+            } else {
+                dataObjectUpdates.put(baUpdate.getKey(), dataObjectUpdate);
             }
         }
         return new WriterRegistry.DataObjectUpdates(dataObjectUpdates, dataObjectDeletes);
     }
 
+    /**
+     * @return update keyed by wildcarded identifier or null if there is no data before nor after
+     */
+    @Nullable
+    private static Map.Entry<InstanceIdentifier<?>, DataObjectUpdate> toBindingAwareUpdate(
+            final Map.Entry<YangInstanceIdentifier, NormalizedNodeUpdate> biEntry,
+            final BindingIdentifierCache identifierCache) {
+        // Translated just once, the same identifier is used for both the update and the registry key
+        final InstanceIdentifier<?> baId = identifierCache.fromYangInstanceIdentifier(biEntry.getKey());
+        checkNotNull(baId, "Unable to transform instance identifier: %s into BA", biEntry.getKey());
+        final InstanceIdentifier<?> unkeyedIid = identifierCache.makeIidWildcarded(baId);
+
+        final DataObjectUpdate dataObjectUpdate =
+                toDataObjectUpdate(baId, biEntry.getValue(), identifierCache.getSerializer());
+        return dataObjectUpdate == null
+                ? null
+                : new AbstractMap.SimpleImmutableEntry<>(unkeyedIid, dataObjectUpdate);
+    }
+
     @Nullable
     private static DataObjectUpdate toDataObjectUpdate(
+            final InstanceIdentifier<?> baId,
             final NormalizedNodeUpdate normalizedNodeUpdate,
             final BindingNormalizedNodeSerializer serializer) {
 
-        InstanceIdentifier<?> baId = serializer.fromYangInstanceIdentifier(normalizedNodeUpdate.getId());
-        checkNotNull(baId, "Unable to transform instance identifier: %s into BA", normalizedNodeUpdate.getId());
-
         DataObject dataObjectBefore = getDataObject(serializer,
                 normalizedNodeUpdate.getDataBefore(), normalizedNodeUpdate.getId());
         DataObject dataObjectAfter =
@@ -16,6 +16,7 @@
 
 package io.fd.honeycomb.data.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.util.concurrent.Futures.immediateCheckedFuture;
 import static org.apache.commons.lang3.builder.ToStringStyle.MULTI_LINE_STYLE;
@@ -24,8 +25,12 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.DataModification;
+import io.fd.honeycomb.data.ReadableDataManager;
 import io.fd.honeycomb.translate.TranslationException;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.builder.RecursiveToStringStyle;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
@@ -35,6 +40,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,31 +53,91 @@ public class ModifiableDataTreeManager implements ModifiableDataManager {
     private static final Logger LOG = LoggerFactory.getLogger(ModifiableDataTreeManager.class);
 
     private final DataTree dataTree;
+    @Nullable
+    private final CommitSequencer commitSequencer;
 
     public ModifiableDataTreeManager(@Nonnull final DataTree dataTree) {
+        this(dataTree, null);
+    }
+
+    /**
+     * @param commitSequencer sequencer committing concurrent modifications as groups, null to commit each
+     *                        modification on its own
+     */
+    public ModifiableDataTreeManager(@Nonnull final DataTree dataTree,
+                                     @Nullable final CommitSequencer commitSequencer) {
         this.dataTree = checkNotNull(dataTree, "dataTree should not be null");
+        this.commitSequencer = commitSequencer;
     }
 
     @Override
     public DataModification newModification() {
-        return new ConfigSnapshot();
+        return newModification(dataTree.takeSnapshot());
+    }
+
+    /**
+     * Creates modification based on the state of a previous modification, which does not have to be committed yet.
+     * No further changes to the previous modification are allowed after this call. Once the previous modification
+     * is committed, the new one can be committed as well.
+     *
+     * @param previous modification created by this manager
+     */
+    @Nonnull
+    public final DataModification newChainedModification(@Nonnull final DataModification previous) {
+        checkArgument(previous instanceof ConfigSnapshot, "Unable to chain modification %s", previous);
+        return newModification(((ConfigSnapshot) previous).sealedModification());
+    }
+
+    /**
+     * Creates modification of provided snapshot of the data tree.
+     */
+    protected DataModification newModification(@Nonnull final DataTreeSnapshot base) {
+        return new ConfigSnapshot(base.newModification());
+    }
+
+    /**
+     * Reads straight from an immutable snapshot of committed data, no modification is created.
+     */
+    @Override
+    public final ReadableDataManager newSnapshot() {
+        return new ReadOnlySnapshot(dataTree.takeSnapshot());
     }
 
     @Override
     public final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(@Nonnull final YangInstanceIdentifier path) {
-        return newModification().read(path);
+        return immediateCheckedFuture(dataTree.takeSnapshot().readNode(path));
+    }
+
+    /**
+     * Read-only view of a committed data tree snapshot. Snapshots are immutable, so no synchronization is necessary.
+     */
+    private static final class ReadOnlySnapshot implements ReadableDataManager {
+        private final DataTreeSnapshot snapshot;
+
+        private ReadOnlySnapshot(final DataTreeSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+                @Nonnull final YangInstanceIdentifier path) {
+            return immediateCheckedFuture(snapshot.readNode(path));
+        }
     }
 
     protected class ConfigSnapshot implements DataModification {
         private final DataTreeModification modification;
+        // Operations to be replayed in case of group commit, null if group commit is disabled
+        @Nullable
+        private final List<Operation> operations;
+        private boolean ready = false;
         private boolean validated = false;
 
-        ConfigSnapshot() {
-            this(dataTree.takeSnapshot().newModification());
-        }
-
         protected ConfigSnapshot(final DataTreeModification modification) {
             this.modification = modification;
+            this.operations = commitSequencer == null
+                    ? null
+                    : new ArrayList<>();
         }
 
         @Override
@@ -87,16 +153,26 @@ public class ModifiableDataTreeManager implements ModifiableDataManager {
         @Override
         public final void delete(final YangInstanceIdentifier path) {
             modification.delete(path);
+            record(Operation.Type.DELETE, path, null);
         }
 
         @Override
         public final void merge(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
             modification.merge(path, data);
+            record(Operation.Type.MERGE, path, data);
         }
 
         @Override
         public final void write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
             modification.write(path, data);
+            record(Operation.Type.WRITE, path, data);
+        }
+
+        private void record(final Operation.Type type, final YangInstanceIdentifier path,
+                            final NormalizedNode<?, ?> data) {
+            if (operations != null) {
+                operations.add(new Operation(type, path, data));
+            }
         }
 
         @Override
@@ -104,18 +180,88 @@ public class ModifiableDataTreeManager implements ModifiableDataManager {
             if(!validated) {
                 validate();
             }
+            if (commitSequencer != null) {
+                commitSequencer.commit(this);
+            } else {
+                commitDirectly();
+            }
+        }
+
+        /**
+         * Seal the modification, no further changes are allowed. Can be invoked repeatedly.
+         */
+        private synchronized void ready() {
+            if (!ready) {
+                modification.ready();
+                ready = true;
+            }
+        }
+
+        /**
+         * @return sealed modification, usable as a base of chained modifications
+         */
+        final DataTreeSnapshot sealedModification() {
+            ready();
+            return modification;
+        }
+
+        /**
+         * Commit validated modification on its own, bypassing the commit sequencer.
+         */
+        final void commitDirectly() throws DataValidationFailedException, TranslationException {
             final DataTreeCandidate candidate = dataTree.prepare(modification);
             processCandidate(candidate);
             dataTree.commit(candidate);
         }
 
+        /**
+         * Validate already validated modification again, against current state of the data tree.
+         */
+        final void revalidate() throws DataValidationFailedException {
+            dataTree.validate(modification);
+        }
+
+        /**
+         * @return new snapshot to hold modifications of a group of transactions
+         */
+        final ConfigSnapshot newGroupSnapshot() {
+            return (ConfigSnapshot) newModification();
+        }
+
+        /**
+         * Apply all the operations of this snapshot to a different snapshot.
+         */
+        final void replayTo(final ConfigSnapshot target) {
+            for (final Operation operation : recordedOperations()) {
+                operation.applyTo(target);
+            }
+        }
+
+        /**
+         * @return true if both snapshots modify the same node or one modifies a node nested in the other's node
+         */
+        final boolean conflictsWith(final ConfigSnapshot other) {
+            for (final Operation operation : recordedOperations()) {
+                for (final Operation otherOperation : other.recordedOperations()) {
+                    if (operation.path.contains(otherOperation.path) || otherOperation.path.contains(operation.path)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private List<Operation> recordedOperations() {
+            return checkNotNull(operations, "Operations are recorded only if group commit is enabled");
+        }
+
         protected void processCandidate(final DataTreeCandidate candidate) throws TranslationException {
             // NOOP
         }
 
         @Override
         public final void validate() throws DataValidationFailedException {
-            modification.ready();
+            ready();
             dataTree.validate(modification);
             validated = true;
         }
@@ -132,7 +278,42 @@ public class ModifiableDataTreeManager implements ModifiableDataManager {
                     ) + ", validated=" + validated + '}';
         }
     }
-}
 
+    /**
+     * Write, merge or delete performed on a {@link ConfigSnapshot}.
+     */
+    private static final class Operation {
+
+        private enum Type {
+            WRITE, MERGE, DELETE
+        }
 
+        private final Type type;
+        private final YangInstanceIdentifier path;
+        @Nullable
+        private final NormalizedNode<?, ?> data;
 
+        private Operation(final Type type, final YangInstanceIdentifier path,
+                          @Nullable final NormalizedNode<?, ?> data) {
+            this.type = type;
+            this.path = path;
+            this.data = data;
+        }
+
+        private void applyTo(final DataModification target) {
+            switch (type) {
+                case WRITE:
+                    target.write(path, data);
+                    break;
+                case MERGE:
+                    target.merge(path, data);
+                    break;
+                case DELETE:
+                    target.delete(path);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected operation type " + type);
+            }
+        }
+    }
+}
@@ -18,10 +18,7 @@ package io.fd.honeycomb.data.impl;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -33,9 +30,9 @@ import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
 import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 
 /**
@@ -49,11 +46,13 @@ final class Modification {
     private final Object parentNode;
     private final Object schemaNode;
     private final boolean updateParentNode;
+    private final SchemaIndex schemaIndex;
 
     private Modification(final YangInstanceIdentifier id,
                          final DataTreeCandidateNode dataCandidate,
                          final Object parentNode,
                          final Object schemaNode,
+                         final SchemaIndex schemaIndex,
                          final boolean updateParentNode) {
         this.id = id;
         this.dataCandidate = dataCandidate;
@@ -61,19 +60,25 @@ final class Modification {
         this.schemaNode = schemaNode;
         // controls process of updating parent node while moving down the schema tree:
         this.updateParentNode = updateParentNode;
+        this.schemaIndex = schemaIndex;
     }
 
     Modification(final YangInstanceIdentifier id,
                  final DataTreeCandidateNode dataCandidate,
                  final Object parentNode,
-                 final Object schemaNode) {
-        this(id, dataCandidate, parentNode, schemaNode, true);
+                 final Object schemaNode,
+                 final SchemaIndex schemaIndex) {
+        this(id, dataCandidate, parentNode, schemaNode, schemaIndex, true);
     }
 
+    /**
+     * Create root modification, schema of all the nested modifications is resolved using provided index.
+     */
     Modification(final YangInstanceIdentifier id,
                  final DataTreeCandidateNode dataCandidate,
-                 final Object schemaNode) {
-        this(id, dataCandidate, schemaNode, schemaNode);
+                 final SchemaContext ctx,
+                 final SchemaIndex schemaIndex) {
+        this(id, dataCandidate, ctx, ctx, schemaIndex);
     }
 
     List<Modification> getChildNodes() {
@@ -120,38 +125,6 @@ final class Modification {
         return dataCandidate.getDataAfter().isPresent();
     }
 
-    private AugmentationSchema findAugmentation(Object currentNode,
-                                                final YangInstanceIdentifier.AugmentationIdentifier identifier) {
-        if (currentNode != null) {
-            // check if identifier points to some augmentation of currentNode
-            if (currentNode instanceof AugmentationTarget) {
-                Optional<AugmentationSchema> augmentationSchema =
-                    ((AugmentationTarget) currentNode).getAvailableAugmentations().stream()
-                        .filter(aug -> identifier.equals(new YangInstanceIdentifier.AugmentationIdentifier(
-                            aug.getChildNodes().stream()
-                                .map(SchemaNode::getQName)
-                                .collect(Collectors.toSet()))))
-                        .findFirst();
-                if (augmentationSchema.isPresent()) {
-                    return augmentationSchema.get();
-                }
-            }
-
-            // continue search:
-            Collection<DataSchemaNode> childNodes = Collections.emptyList();
-            if (currentNode instanceof DataNodeContainer) {
-                childNodes = ((DataNodeContainer) currentNode).getChildNodes();
-            } else if (currentNode instanceof ChoiceSchemaNode) {
-                childNodes = ((ChoiceSchemaNode) currentNode).getCases().stream()
-                    .flatMap(cas -> cas.getChildNodes().stream()).collect(Collectors.toList());
-            }
-            return childNodes.stream().map(n -> findAugmentation(n, identifier)).filter(n -> n != null).findFirst()
-                .orElse(null);
-        } else {
-            return null;
-        }
-    }
-
     Stream<Modification> streamChildren() {
         return dataCandidate.getChildNodes().stream()
             .map(child -> {
@@ -163,13 +136,13 @@ final class Modification {
                 if (updateParentNode) {
                     if (schemaNode instanceof AugmentationSchema) {
                         // child nodes would not have nested augmentations, so we stop moving parentNode:
-                        return new Modification(childId, child, parentNode, schemaChild, false);
+                        return new Modification(childId, child, parentNode, schemaChild, schemaIndex, false);
                     } else {
                         // update parent node:
-                        return new Modification(childId, child, schemaNode, schemaChild, true);
+                        return new Modification(childId, child, schemaNode, schemaChild, schemaIndex, true);
                     }
                 }
-                return new Modification(childId, child, parentNode, schemaChild, updateParentNode);
+                return new Modification(childId, child, parentNode, schemaChild, schemaIndex, updateParentNode);
             });
     }
 
@@ -182,13 +155,8 @@ final class Modification {
         if (identifier instanceof YangInstanceIdentifier.AugmentationIdentifier) {
             if (schemaNode instanceof AugmentationTarget) {
                 // Find matching augmentation
-                found = ((AugmentationTarget) schemaNode).getAvailableAugmentations().stream()
-                    .filter(aug -> identifier.equals(new YangInstanceIdentifier.AugmentationIdentifier(
-                        aug.getChildNodes().stream()
-                            .map(SchemaNode::getQName)
-                            .collect(Collectors.toSet()))))
-                    .findFirst()
-                    .orElse(null);
+                found = schemaIndex.getAugmentation((AugmentationTarget) schemaNode,
+                    (YangInstanceIdentifier.AugmentationIdentifier) identifier);
 
                 if (found == null) {
                     // An augment cannot change other augment, but all augments only change their targets (data nodes).
@@ -203,8 +171,8 @@ final class Modification {
                     // we need to address AugmentationSchema node directly so we can't simply do
                     // found = schemaNode;
                     //
-                    found =
-                        findAugmentation(parentNode, (YangInstanceIdentifier.AugmentationIdentifier) identifier);
+                    found = schemaIndex.findAugmentation(parentNode,
+                        (YangInstanceIdentifier.AugmentationIdentifier) identifier);
                 }
             }
         } else if (schemaNode instanceof DataNodeContainer) {
@@ -214,17 +182,11 @@ final class Modification {
                 ((SchemaNode) schemaNode).getQName().equals(identifier.getNodeType())) {
                 found = schemaNode;
             } else {
-                found = ((DataNodeContainer) schemaNode).getDataChildByName(identifier.getNodeType());
+                found = schemaIndex.getDataChild(schemaNode, identifier);
             }
         } else if (schemaNode instanceof ChoiceSchemaNode) {
             // For choices, iterate through all the cases
-            final Optional<DataSchemaNode> maybeChild = ((ChoiceSchemaNode) schemaNode).getCases().stream()
-                    .flatMap(cas -> cas.getChildNodes().stream())
-                    .filter(child -> child.getQName().equals(identifier.getNodeType()))
-                    .findFirst();
-            if (maybeChild.isPresent()) {
-                found = maybeChild.get();
-            }
+            found = schemaIndex.getDataChild(schemaNode, identifier);
             // Special handling for leaf-list nodes. Basically the same as is for list mixin nodes
         } else if (schemaNode instanceof LeafListSchemaNode &&
             ((SchemaNode) schemaNode).getQName().equals(identifier.getNodeType())) {
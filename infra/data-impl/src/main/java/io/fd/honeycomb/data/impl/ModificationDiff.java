@@ -20,14 +20,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType.DELETE;
 import static org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType.WRITE;
 
-import com.google.common.collect.ImmutableMap;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MixinNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
@@ -66,73 +66,79 @@ final class ModificationDiff {
         return updates;
     }
 
-    private ModificationDiff merge(final ModificationDiff other) {
-        if (this == EMPTY_DIFF) {
-            return other;
-        }
-
-        if (other == EMPTY_DIFF) {
-            return this;
-        }
-
-        return new ModificationDiff(join(updates, other.updates));
-    }
-
-    private static Map<YangInstanceIdentifier, NormalizedNodeUpdate> join(
-            Map<YangInstanceIdentifier, NormalizedNodeUpdate> first,
-            Map<YangInstanceIdentifier, NormalizedNodeUpdate> second) {
-        final Map<YangInstanceIdentifier, NormalizedNodeUpdate> merged = new HashMap<>();
-        merged.putAll(first);
-        merged.putAll(second);
-        return merged;
-    }
-
-    private static ModificationDiff create(Modification modification) {
-        return new ModificationDiff(ImmutableMap.of(modification.getId(), NormalizedNodeUpdate.create(modification)));
-    }
-
     @Override
     public String toString() {
         return "ModificationDiff{updates=" + updates + '}';
     }
 
+    /**
+     * Builds {@link ModificationDiff} in a single pass over the candidate, accumulating all the updates into a single
+     * map.
+     */
     static final class ModificationDiffBuilder {
         private NormalizedNodeRewriteDeleteRegistry registry;
         private SchemaContext ctx;
+        private SchemaIndex schemaIndex;
 
         ModificationDiffBuilder setCtx(final SchemaContext ctx) {
             this.ctx = ctx;
-            registry = new NormalizedNodeRewriteDeleteRegistry(ctx);
+            // index is shared by all the builders for the same context, so schema lookups are performed just once
+            schemaIndex = SchemaIndex.forContext(ctx);
+            registry = new NormalizedNodeRewriteDeleteRegistry(ctx, schemaIndex);
             return this;
         }
 
         ModificationDiff build(@Nonnull final DataTreeCandidateNode currentCandidate) {
             checkNotNull(currentCandidate, "Data tree candidate cannot be null");
-            checkNotNull(ctx, "Schema ctx cannot be null");
-
-            return recursivelyFromCandidateRoot(currentCandidate, ctx);
+            checkNotNull(schemaIndex, "Schema ctx cannot be null");
+
+            final Map<YangInstanceIdentifier, NormalizedNodeUpdate> updates = new HashMap<>();
+            // Root node is not processed for modifications, since it's the artificial data root, that has no child
+            // leaves but always is marked as SUBTREE_MODIFIED
+            collectChildren(new Modification(YangInstanceIdentifier.EMPTY, currentCandidate, ctx, schemaIndex).getChildNodes(),
+                    updates);
+            return updates.isEmpty()
+                    ? EMPTY_DIFF
+                    : new ModificationDiff(updates);
         }
 
         /**
-         * Produce an aggregated diff from a candidate node recursively. MixinNodes are ignored as modifications and so
+         * Collect updates from a candidate node recursively. MixinNodes are ignored as modifications and so
          * are complex nodes which direct leaves were not modified.
          */
-        @Nonnull
-        ModificationDiff recursivelyFromCandidate(@Nonnull final Modification modification) {
+        private void collect(@Nonnull final Modification modification,
+                             @Nonnull final Map<YangInstanceIdentifier, NormalizedNodeUpdate> updates) {
+            // Children are resolved just once per node, resolving their schema is not cheap
+            final List<Modification> children = modification.getChildNodes();
+
             // recursively process child nodes for exact modifications
-            return recursivelyChildrenFromCandidate(modification)
-                    // also add modification on current level, if elligible
-                    .merge(isModification(modification)
-                            ? ModificationDiff.create(modification)
-                            // Modification that writes only non-presence container to override nested nodes wont have
-                            // child nodes(in data tree candidate) so logic before will not detected such change, so checking directly
-                            : isNonPresenceOverride(modification)
-                                    ? detectUnderDisappearedNonPresenceContainer(modification)
-                                    : EMPTY_DIFF);
+            collectChildren(children, updates);
+
+            // also add modification on current level, if elligible
+            if (isModification(modification, children)) {
+                updates.put(modification.getId(), NormalizedNodeUpdate.create(modification));
+            } else if (isNonPresenceOverride(modification, children)) {
+                // Modification that writes only non-presence container to override nested nodes wont have
+                // child nodes(in data tree candidate) so logic before will not detected such change, so checking directly
+                detectUnderDisappearedNonPresenceContainer(modification, updates);
+            }
         }
 
-        private ModificationDiff detectUnderDisappearedNonPresenceContainer(
-                @Nonnull final Modification modification) {
+        /**
+         * Process all non-leaf child nodes recursively.
+         */
+        private void collectChildren(@Nonnull final List<Modification> children,
+                                     @Nonnull final Map<YangInstanceIdentifier, NormalizedNodeUpdate> updates) {
+            for (final Modification child : children) {
+                if (!child.is(LeafSchemaNode.class)) {
+                    collect(child, updates);
+                }
+            }
+        }
+
+        private void detectUnderDisappearedNonPresenceContainer(
+                @Nonnull final Modification modification,
+                @Nonnull final Map<YangInstanceIdentifier, NormalizedNodeUpdate> updates) {
             final com.google.common.base.Optional<NormalizedNode<?, ?>> dataBefore = modification.getDataBefore();
 
             // is disappear case
@@ -144,69 +150,56 @@ final class ModificationDiff {
                     final AbstractImmutableDataContainerNode<YangInstanceIdentifier.PathArgument> parentContainerNode =
                             (AbstractImmutableDataContainerNode) parentData;
 
-                    final Map<YangInstanceIdentifier, NormalizedNodeUpdate> updates =
-                            parentContainerNode.getChildren().entrySet().stream()
-                                    .flatMap(entry -> registry.normalizedUpdates(modification.getId(), entry).stream())
-                                    .collect(Collectors.toMap(NormalizedNodeUpdate::getId, update -> update));
-
-                    return new ModificationDiff(updates);
+                    for (final Map.Entry<YangInstanceIdentifier.PathArgument,
+                            DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> entry
+                            : parentContainerNode.getChildren().entrySet()) {
+                        registry.normalizedUpdates(modification.getId(), entry)
+                                .forEach(update -> updates.put(update.getId(), update));
+                    }
                 }
             }
-            return EMPTY_DIFF;
-        }
-
-        /**
-         * Same as {@link #recursivelyFromCandidate(Modification)} but does not process the root node for modifications,
-         * since it's the artificial data root, that has no child leaves but always is marked as SUBTREE_MODIFIED.
-         */
-        @Nonnull
-        ModificationDiff recursivelyFromCandidateRoot(@Nonnull final DataTreeCandidateNode currentCandidate,
-                                                      @Nonnull final SchemaContext ctx) {
-            return recursivelyChildrenFromCandidate(
-                    new Modification(YangInstanceIdentifier.EMPTY, currentCandidate, ctx));
         }
 
         /**
          * Check whether current node was modified. {@link MixinNode}s are ignored
          * and only nodes which direct leaves(or choices) are modified are considered a modification.
          */
-        private Boolean isModification(@Nonnull final Modification modification) {
+        private boolean isModification(@Nonnull final Modification modification,
+                                       @Nonnull final List<Modification> children) {
             // APPEAR/DISAPPEAR are not valid modifications, but some of the children can be modified
             // aka. list entry added to nested list under non-presence container, which would be resolved as APPEAR for
             // that container, but MERGE for nested list
             if (modification.isMixin() && !modification.is(AugmentationSchema.class)) {
                 return false;
             } else {
-                return isCurrentModified(modification);
+                return isCurrentModified(modification, children);
             }
         }
 
-        private Boolean isCurrentModified(@Nonnull final Modification modification) {
+        private boolean isCurrentModified(@Nonnull final Modification modification,
+                                          @Nonnull final List<Modification> children) {
             // First check if it's an empty presence node
-            final boolean emptyPresenceNode = isEmptyPresenceNode(modification);
+            boolean modified = isEmptyPresenceNode(modification, children);
 
             // Check if there are any modified leaves and if so, consider current node as modified
-            final Boolean directLeavesModified = emptyPresenceNode
-                    || modification.streamChildren()
-                    // Checking leaf or leaf-lists children for direct modification, which means that leafs of leaf lists
-                    // trigger a modification on parent node
-                    .filter(child -> child.is(LeafSchemaNode.class) || child.is(LeafListSchemaNode.class))
-                    // For some reason, we get modifications on unmodified list keys
-                    // and that messes up our modifications collection here, so we need to skip
-                    .filter(Modification::isBeforeAndAfterDifferent)
-                    .filter(child -> VALID_MODIFICATIONS.contains(child.getModificationType()))
-                    .findFirst()
-                    .isPresent();
+            for (int i = 0; !modified && i < children.size(); i++) {
+                final Modification child = children.get(i);
+                // Checking leaf or leaf-lists children for direct modification, which means that leafs of leaf lists
+                // trigger a modification on parent node
+                modified = (child.is(LeafSchemaNode.class) || child.is(LeafListSchemaNode.class))
+                        // For some reason, we get modifications on unmodified list keys
+                        // and that messes up our modifications collection here, so we need to skip
+                        && child.isBeforeAndAfterDifferent()
+                        && VALID_MODIFICATIONS.contains(child.getModificationType());
+            }
 
             // Also as fallback check choices (choices do not exist in BA world and if anything within a choice was modified,
             // consider its parent as being modified)
-            final boolean modified = directLeavesModified
-                    || modification.streamChildren()
-                    .filter(child -> child.is(ChoiceSchemaNode.class))
-                    // Recursively check each choice if there was any change to it
-                    .filter(this::isCurrentModified)
-                    .findFirst()
-                    .isPresent();
+            for (int i = 0; !modified && i < children.size(); i++) {
+                final Modification child = children.get(i);
+                // Recursively check each choice if there was any change to it
+                modified = child.is(ChoiceSchemaNode.class) && isCurrentModified(child, child.getChildNodes());
+            }
 
             if (modified) {
                 LOG.debug("Modification detected as {} at {}",
@@ -220,37 +213,27 @@ final class ModificationDiff {
          * Check if new data are empty but still to be considered as a modification, meaning it's presence has a meaning
          * e.g. containers with presence statement.
          */
-        private static boolean isEmptyPresenceNode(@Nonnull final Modification modification) {
+        private static boolean isEmptyPresenceNode(@Nonnull final Modification modification,
+                                                   @Nonnull final List<Modification> children) {
             return modification.is(ContainerSchemaNode.class)
                     && ((ContainerSchemaNode) modification.getSchemaNode()).isPresenceContainer()
-                    && modification.getChildNodes().isEmpty()
+                    && children.isEmpty()
                     && VALID_MODIFICATIONS.contains(modification.getModificationType());
         }
 
         /**
          * Checks whether node is non-presence container but with changed nested data
          */
-        private static boolean isNonPresenceOverride(@Nonnull final Modification modification) {
+        private static boolean isNonPresenceOverride(@Nonnull final Modification modification,
+                                                     @Nonnull final List<Modification> children) {
             return modification.is(ContainerSchemaNode.class)// must be container
                     && !((ContainerSchemaNode) modification.getSchemaNode()).isPresenceContainer()
                     // must be non-presence
-                    && modification.getChildNodes().isEmpty() // is override to empty
+                    && children.isEmpty() // is override to empty
                     && modification.isBeforeAndAfterDifferent()// to detect that it is modification
                     &&
                     modification.getDataBefore().isPresent(); // to ensure the case when overriding previously existing
         }
-
-        /**
-         * Process all non-leaf child nodes recursively, creating aggregated {@link ModificationDiff}.
-         */
-        private ModificationDiff recursivelyChildrenFromCandidate(@Nonnull final Modification modification) {
-            // recursively process child nodes for specific modifications
-            return modification.streamChildren()
-                    .filter(child -> !child.is(LeafSchemaNode.class))
-                    .map(this::recursivelyFromCandidate)
-                    .reduce(ModificationDiff::merge)
-                    .orElse(EMPTY_DIFF);
-        }
     }
 
 }
@@ -48,11 +48,11 @@ final class NormalizedNodeRewriteDeleteRegistry implements RewriteDeleteProducer
     private final RewriteDeleteProducer caseDeleteProducer;
     private final RewriteDeleteProducer augmentationDeleteProducer;
 
-    NormalizedNodeRewriteDeleteRegistry(@Nonnull final SchemaContext ctx) {
+    NormalizedNodeRewriteDeleteRegistry(@Nonnull final SchemaContext ctx, @Nonnull final SchemaIndex schemaIndex) {
         leafDeleteProducer = new LeafRewriteDeleteProducer();
         leafListDeleteProducer = new LeafListRewriteDeleteProducer();
         listDeleteProducer = new ListRewriteDeleteProducer();
-        containerDeleteProducer = new ContainerRewriteDeleteProducer(this, ctx);
+        containerDeleteProducer = new ContainerRewriteDeleteProducer(this, ctx, schemaIndex);
         choiceDeleteProducer = new ChoiceRewriteDeleteProducer(this);
         caseDeleteProducer = new CaseRewriteDeleteProducer(this);
         augmentationDeleteProducer = new AugmentationRewriteDeleteProducer(this);
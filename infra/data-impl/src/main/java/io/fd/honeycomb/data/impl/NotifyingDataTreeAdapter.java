@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adapter for a DataTree that notifies registered {@link DOMDataTreeChangeListener}s about each successful commit.
+ *
+ * Registered paths are indexed in a prefix tree. Committed candidates are dispatched on a dedicated thread by walking
+ * the prefix tree together with the candidate, so only the subtrees that are both modified and listened to are
+ * visited, regardless of the total number of registered listeners. Listeners are notified in the order of commits
+ * and receive current data of their subtree (if any) right after registration.
+ *
+ * Same as in other DOM data stores, a path argument without predicates in place of a list (or leaf-list) entry
+ * (e.g. {@code /list/list} as produced by the binding codec for wildcarded binding identifiers) matches all
+ * the entries, listener of such path is notified separately for each entry.
+ */
+public final class NotifyingDataTreeAdapter implements DataTree, DOMDataTreeChangeService, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotifyingDataTreeAdapter.class);
+
+    private final DataTree delegate;
+    private final LogicalDatastoreType datastoreType;
+    // Single thread keeps the order of notifications, the prefix tree is accessed only from this thread
+    private final ExecutorService dispatcher;
+    private final RegistrationNode registrationTree = new RegistrationNode();
+
+    /**
+     * @param delegate      backing data tree that actually handles all the operations
+     * @param datastoreType type of the datastore the data tree represents
+     */
+    public NotifyingDataTreeAdapter(@Nonnull final DataTree delegate,
+                                    @Nonnull final LogicalDatastoreType datastoreType) {
+        this(delegate, datastoreType, Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("honeycomb-" + datastoreType.name().toLowerCase() + "-change-dispatcher")
+                .build()));
+    }
+
+    /**
+     * Creates adapter notifying listeners directly in the committing thread, so that all the listeners have processed
+     * a commit before it returns. Meant for listeners maintaining their own view of the data (e.g. in-memory indexes),
+     * that have to be consistent with the data tree right after the commit. Listeners have to be fast, they block
+     * all the commits.
+     *
+     * @param delegate      backing data tree that actually handles all the operations
+     * @param datastoreType type of the datastore the data tree represents
+     */
+    public static NotifyingDataTreeAdapter createSynchronous(@Nonnull final DataTree delegate,
+                                                             @Nonnull final LogicalDatastoreType datastoreType) {
+        return new NotifyingDataTreeAdapter(delegate, datastoreType, MoreExecutors.newDirectExecutorService());
+    }
+
+    @VisibleForTesting
+    NotifyingDataTreeAdapter(@Nonnull final DataTree delegate,
+                             @Nonnull final LogicalDatastoreType datastoreType,
+                             @Nonnull final ExecutorService dispatcher) {
+        this.delegate = checkNotNull(delegate, "delegate should not be null");
+        this.datastoreType = checkNotNull(datastoreType, "datastoreType should not be null");
+        this.dispatcher = checkNotNull(dispatcher, "dispatcher should not be null");
+    }
+
+    @Override
+    public DataTreeSnapshot takeSnapshot() {
+        return delegate.takeSnapshot();
+    }
+
+    @Override
+    public void setSchemaContext(final SchemaContext schemaContext) {
+        delegate.setSchemaContext(schemaContext);
+    }
+
+    @Override
+    public synchronized void commit(final DataTreeCandidate candidate) {
+        // synchronized to keep the order of notifications the same as the order of commits and to make sure
+        // initial data of a new registration are consistent with the notifications that follow
+        delegate.commit(candidate);
+        try {
+            dispatcher.execute(() -> dispatch(candidate));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to dispatch committed candidate, {} is closed", this, e);
+        }
+    }
+
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return delegate.getRootPath();
+    }
+
+    @Override
+    public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+        delegate.validate(modification);
+    }
+
+    @Override
+    public DataTreeCandidate prepare(final DataTreeModification modification) {
+        return delegate.prepare(modification);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <L extends DOMDataTreeChangeListener> ListenerRegistration<L> registerDataTreeChangeListener(
+            @Nonnull final DOMDataTreeIdentifier treeId, @Nonnull final L listener) {
+        checkArgument(treeId.getDatastoreType() == datastoreType, "Unable to register listener for %s, only %s is"
+                + " supported", treeId.getDatastoreType(), datastoreType);
+        final YangInstanceIdentifier path = treeId.getRootIdentifier();
+        final Registration<L> registration = new Registration<>(listener, path);
+        final List<DataTreeCandidate> initialData = new ArrayList<>();
+        final Optional<NormalizedNode<?, ?>> root = delegate.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY);
+        if (root.isPresent()) {
+            collectInitialData(root.get(), YangInstanceIdentifier.EMPTY, path.getPathArguments(), 0, initialData);
+        }
+        dispatcher.execute(() -> {
+            registrationTree.add(registration);
+            initialData.forEach(registration::notifyListener);
+        });
+        return registration;
+    }
+
+    private static void collectInitialData(final NormalizedNode<?, ?> node, final YangInstanceIdentifier nodePath,
+                                           final List<YangInstanceIdentifier.PathArgument> path, final int offset,
+                                           final List<DataTreeCandidate> initialData) {
+        if (offset == path.size()) {
+            initialData.add(DataTreeCandidates.fromNormalizedNode(nodePath, node));
+            return;
+        }
+
+        final YangInstanceIdentifier.PathArgument pathArgument = path.get(offset);
+        if (isWildcard(pathArgument, node)) {
+            for (final NormalizedNode<?, ?> entry : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                collectInitialData(entry, nodePath.node(entry.getIdentifier()), path, offset + 1, initialData);
+            }
+        } else {
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(node, pathArgument);
+            if (child.isPresent()) {
+                collectInitialData(child.get(), nodePath.node(pathArgument), path, offset + 1, initialData);
+            }
+        }
+    }
+
+    /**
+     * @return true if the path argument stands for any entry of the list (or leaf-list) node
+     */
+    private static boolean isWildcard(final YangInstanceIdentifier.PathArgument pathArgument,
+                                      final NormalizedNode<?, ?> node) {
+        return pathArgument instanceof YangInstanceIdentifier.NodeIdentifier
+                && (node instanceof MapNode || node instanceof OrderedMapNode || node instanceof LeafSetNode)
+                && node.getIdentifier().equals(pathArgument);
+    }
+
+    private void dispatch(final DataTreeCandidate candidate) {
+        dispatch(registrationTree, candidate, candidate.getRootPath().getPathArguments(), 0);
+    }
+
+    private static void dispatch(final RegistrationNode node, final DataTreeCandidate candidate,
+                                 final List<YangInstanceIdentifier.PathArgument> rootPath, final int offset) {
+        if (offset == rootPath.size()) {
+            dispatch(node, candidate.getRootPath(), candidate.getRootNode());
+            return;
+        }
+        // Listeners registered above the candidate root get the whole candidate
+        node.notifyListeners(candidate);
+        final YangInstanceIdentifier.PathArgument pathArgument = rootPath.get(offset);
+        final RegistrationNode child = node.children.get(pathArgument);
+        if (child != null) {
+            dispatch(child, candidate, rootPath, offset + 1);
+        }
+        if (pathArgument instanceof YangInstanceIdentifier.NodeIdentifierWithPredicates
+                || pathArgument instanceof YangInstanceIdentifier.NodeWithValue) {
+            final RegistrationNode wildcardChild =
+                    node.children.get(new YangInstanceIdentifier.NodeIdentifier(pathArgument.getNodeType()));
+            if (wildcardChild != null) {
+                dispatch(wildcardChild, candidate, rootPath, offset + 1);
+            }
+        }
+    }
+
+    private static void dispatch(final RegistrationNode node, final YangInstanceIdentifier path,
+                                 final DataTreeCandidateNode candidateNode) {
+        if (candidateNode.getModificationType() == ModificationType.UNMODIFIED) {
+            // nothing changed in the whole subtree
+            return;
+        }
+        if (!node.registrations.isEmpty()) {
+            node.notifyListeners(DataTreeCandidates.newDataTreeCandidate(path, candidateNode));
+        }
+        // Iterating a copy, listeners might (un)register in synchronous mode, modifying the prefix tree
+        for (final Map.Entry<YangInstanceIdentifier.PathArgument, RegistrationNode> child
+                : ImmutableList.copyOf(node.children.entrySet())) {
+            if (isWildcard(child.getKey(), candidateNode)) {
+                for (final DataTreeCandidateNode entryCandidate : candidateNode.getChildNodes()) {
+                    dispatch(child.getValue(), path.node(entryCandidate.getIdentifier()), entryCandidate);
+                }
+                continue;
+            }
+            final DataTreeCandidateNode childCandidate = candidateNode.getModifiedChild(child.getKey());
+            if (childCandidate != null) {
+                dispatch(child.getValue(), path.node(child.getKey()), childCandidate);
+            }
+        }
+    }
+
+    private static boolean isWildcard(final YangInstanceIdentifier.PathArgument pathArgument,
+                                      final DataTreeCandidateNode candidateNode) {
+        final Optional<NormalizedNode<?, ?>> data = candidateNode.getDataAfter().or(candidateNode.getDataBefore());
+        return data.isPresent() && isWildcard(pathArgument, data.get());
+    }
+
+    @Override
+    public void close() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Node of the registration prefix tree, holding registrations of a single path.
+     */
+    private static final class RegistrationNode {
+        private final Map<YangInstanceIdentifier.PathArgument, RegistrationNode> children = new HashMap<>();
+        private final Set<Registration<?>> registrations = new HashSet<>();
+
+        private void add(final Registration<?> registration) {
+            RegistrationNode node = this;
+            for (final YangInstanceIdentifier.PathArgument pathArgument : registration.path.getPathArguments()) {
+                node = node.children.computeIfAbsent(pathArgument, arg -> new RegistrationNode());
+            }
+            node.registrations.add(registration);
+        }
+
+        private void remove(final Registration<?> registration) {
+            remove(registration, registration.path.getPathArguments().iterator());
+        }
+
+        private void remove(final Registration<?> registration,
+                            final Iterator<YangInstanceIdentifier.PathArgument> path) {
+            if (!path.hasNext()) {
+                registrations.remove(registration);
+                return;
+            }
+            final YangInstanceIdentifier.PathArgument pathArgument = path.next();
+            final RegistrationNode child = children.get(pathArgument);
+            if (child != null) {
+                child.remove(registration, path);
+                if (child.registrations.isEmpty() && child.children.isEmpty()) {
+                    // prune empty branches, so that they are not visited anymore
+                    children.remove(pathArgument);
+                }
+            }
+        }
+
+        private void notifyListeners(final DataTreeCandidate candidate) {
+            // Iterating a copy, listeners might (un)register in synchronous mode, modifying the registrations
+            for (final Registration<?> registration : ImmutableList.copyOf(registrations)) {
+                registration.notifyListener(candidate);
+            }
+        }
+    }
+
+    private final class Registration<L extends DOMDataTreeChangeListener> extends AbstractListenerRegistration<L> {
+        private final YangInstanceIdentifier path;
+
+        private Registration(final L listener, final YangInstanceIdentifier path) {
+            super(listener);
+            this.path = path;
+        }
+
+        private void notifyListener(final DataTreeCandidate candidate) {
+            if (isClosed()) {
+                return;
+            }
+            try {
+                getInstance().onDataTreeChanged(Collections.singletonList(candidate));
+            } catch (RuntimeException e) {
+                LOG.warn("Listener {} failed to process data change of {}", getInstance(), path, e);
+            }
+        }
+
+        @Override
+        protected void removeRegistration() {
+            try {
+                dispatcher.execute(() -> {
+                    // prefix tree is accessed by the committing thread in the synchronous mode
+                    synchronized (NotifyingDataTreeAdapter.this) {
+                        registrationTree.remove(this);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Unable to remove registration {}, {} is closed", this, NotifyingDataTreeAdapter.this, e);
+            }
+        }
+    }
+}
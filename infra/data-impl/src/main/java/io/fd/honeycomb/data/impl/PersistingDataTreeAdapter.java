@@ -18,17 +18,31 @@ package io.fd.honeycomb.data.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
-import io.fd.honeycomb.translate.util.JsonUtils;
+import io.fd.honeycomb.translate.util.persist.DataJournal;
+import io.fd.honeycomb.translate.util.persist.PersistedDataFormat;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -43,14 +57,31 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Adapter for a DataTree that stores current state of data in backing DataTree on each successful commit.
- * Uses JSON format.
+ * Uses JSON format by default, see {@link PersistedDataFormat} for alternatives.
+ *
+ * In journaled mode, only the delta of each commit is appended to a journal next to the persisted file and the full
+ * data are persisted just once per a configured number of commits (compaction).
+ *
+ * In asynchronous mode, commits only enqueue the snapshot of current data and a dedicated thread persists them.
+ * If the thread falls behind, only the latest enqueued snapshot is persisted. Commits never wait for the thread,
+ * older snapshots are dropped when too many of them are pending. Pending data are flushed on {@link #close()}.
+ * Statistics of the persisting thread can be exposed over JMX, see {@link PersistingDataTreeAdapterMXBean}.
  */
-public class PersistingDataTreeAdapter implements DataTree {
+public class PersistingDataTreeAdapter implements DataTree, PersistingDataTreeAdapterMXBean, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(PersistingDataTreeAdapter.class);
 
+    /**
+     * Default number of commits journaled before full data are persisted again.
+     */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
     private final DataTree delegateDependency;
-    private final JsonPersister persister;
+    private final DataPersister persister;
+    @Nullable
+    private final JournalPersister journalPersister;
+    @Nullable
+    private final AsyncPersister asyncPersister;
 
     /**
      * Create new Persisting DataTree adapter
@@ -63,13 +94,81 @@ public class PersistingDataTreeAdapter implements DataTree {
     public PersistingDataTreeAdapter(@Nonnull final DataTree delegate,
                                      @Nonnull final SchemaService schemaService,
                                      @Nonnull final Path persistPath) {
-        this(delegate, new JsonPersister(persistPath, schemaService));
+        this(delegate, schemaService, persistPath, PersistedDataFormat.Json);
+    }
+
+    /**
+     * Create new Persisting DataTree adapter
+     *
+     * @param delegate backing data tree that actually handles all the operations
+     * @param persistPath path to a file (existing or not) to be used as storage for persistence. Full control over
+     *                    a file at peristPath is expected
+     * @param schemaService schemaContext provier
+     * @param format format of persisted data
+     */
+    public PersistingDataTreeAdapter(@Nonnull final DataTree delegate,
+                                     @Nonnull final SchemaService schemaService,
+                                     @Nonnull final Path persistPath,
+                                     @Nonnull final PersistedDataFormat format) {
+        this(delegate, new DataPersister(persistPath, schemaService, format));
+    }
+
+    /**
+     * Create new journaled Persisting DataTree adapter
+     *
+     * @param delegate backing data tree that actually handles all the operations
+     * @param persistPath path to a file (existing or not) to be used as storage for persistence. Journal is stored
+     *                    next to it, see {@link DataJournal#journalPathFor(Path)}
+     * @param schemaService schemaContext provier
+     * @param format format of persisted data
+     * @param compactionThreshold number of commits journaled before full data are persisted again
+     */
+    public PersistingDataTreeAdapter(@Nonnull final DataTree delegate,
+                                     @Nonnull final SchemaService schemaService,
+                                     @Nonnull final Path persistPath,
+                                     @Nonnull final PersistedDataFormat format,
+                                     final int compactionThreshold) {
+        this(delegate, new DataPersister(persistPath, schemaService, format),
+                new JournalPersister(DataJournal.forSnapshot(persistPath), compactionThreshold),
+                null);
     }
 
     public PersistingDataTreeAdapter(final DataTree delegate,
-                                     final JsonPersister persister) {
+                                     final DataPersister persister) {
+        this(delegate, persister, null, null);
+    }
+
+    @VisibleForTesting
+    PersistingDataTreeAdapter(final DataTree delegate,
+                              final DataPersister persister,
+                              @Nullable final JournalPersister journalPersister,
+                              @Nullable final AsyncPersister asyncPersister) {
+        checkArgument(journalPersister == null || asyncPersister == null,
+                "Journaled and asynchronous persistence cannot be combined");
         this.delegateDependency = checkNotNull(delegate, "delegate is null");
         this.persister = persister;
+        this.journalPersister = journalPersister;
+        this.asyncPersister = asyncPersister;
+    }
+
+    /**
+     * Create new asynchronous Persisting DataTree adapter. Adapter has to be closed to flush pending data.
+     *
+     * @param delegate backing data tree that actually handles all the operations
+     * @param persistPath path to a file (existing or not) to be used as storage for persistence. Full control over
+     *                    a file at peristPath is expected
+     * @param schemaService schemaContext provier
+     * @param format format of persisted data
+     * @param queueDepth maximum number of snapshots waiting for persistence. Oldest pending snapshot is dropped when
+     *                   the queue is full
+     */
+    public static PersistingDataTreeAdapter createAsync(@Nonnull final DataTree delegate,
+                                                        @Nonnull final SchemaService schemaService,
+                                                        @Nonnull final Path persistPath,
+                                                        @Nonnull final PersistedDataFormat format,
+                                                        final int queueDepth) {
+        final DataPersister persister = new DataPersister(persistPath, schemaService, format);
+        return new PersistingDataTreeAdapter(delegate, persister, null, new AsyncPersister(persister, queueDepth));
     }
 
     @Override
@@ -85,35 +184,386 @@ public class PersistingDataTreeAdapter implements DataTree {
     @Override
     public void commit(final DataTreeCandidate dataTreeCandidate) {
         LOG.trace("Commit detected");
+        if (asyncPersister != null) {
+            synchronized (this) {
+                delegateDependency.commit(dataTreeCandidate);
+            }
+            // Outside of the lock, enqueue does not wait for the persisting thread anyway. Snapshot is taken by the
+            // async persister, so the order of enqueued snapshots is the same as the order of commits
+            asyncPersister.enqueue(delegateDependency::takeSnapshot);
+            LOG.debug("Delegate commit successful. Data enqueued for persistence");
+            return;
+        }
+        commitAndPersist(dataTreeCandidate);
+    }
+
+    private synchronized void commitAndPersist(final DataTreeCandidate dataTreeCandidate) {
+        // synchronized to keep the order of persisted data (journal records) the same as the order of commits
         delegateDependency.commit(dataTreeCandidate);
         LOG.debug("Delegate commit successful. Persisting data");
 
-        // FIXME doing full read and full write might not be the fastest way of persisting data here
-        final DataTreeSnapshot dataTreeSnapshot = delegateDependency.takeSnapshot();
+        if (journalPersister != null && journalPersister.tryAppend(dataTreeCandidate)) {
+            LOG.debug("Commit journaled");
+            return;
+        }
 
-        // TODO this can be handled in background by a dedicated thread + a limited blocking queue
-        // TODO enable configurable granularity for persists. Maybe doing write on every modification is too much
-        // and we could do bulk persist
+        final DataTreeSnapshot dataTreeSnapshot = delegateDependency.takeSnapshot();
         persister.persistCurrentData(dataTreeSnapshot.readNode(YangInstanceIdentifier.EMPTY));
+
+        if (journalPersister != null) {
+            // Full data persisted, journaled deltas are no longer needed. If this is interrupted, the journal is
+            // left stamped with the previous snapshot and ignored during restoration
+            journalPersister.reset(persister.getPersistedSize(), persister.getPersistedChecksum());
+        }
+    }
+
+    /**
+     * Flush data waiting for persistence (in asynchronous mode) and stop the persisting thread.
+     */
+    @Override
+    public void close() {
+        if (asyncPersister != null) {
+            asyncPersister.close();
+        }
+    }
+
+    @Override
+    public int getPersistQueueDepth() {
+        return asyncPersister == null
+                ? 0
+                : asyncPersister.getQueueDepth();
+    }
+
+    /**
+     * @return time between the commit and persistence of the last persisted data, always 0 in synchronous mode
+     */
+    public long getPersistLag(@Nonnull final TimeUnit unit) {
+        return asyncPersister == null
+                ? 0
+                : unit.convert(asyncPersister.getLastPersistLagNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public long getPersistLagMillis() {
+        return getPersistLag(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getPersistedSnapshots() {
+        return asyncPersister == null
+                ? 0
+                : asyncPersister.getPersistedSnapshots();
+    }
+
+    @Override
+    public long getCoalescedSnapshots() {
+        return asyncPersister == null
+                ? 0
+                : asyncPersister.getCoalescedSnapshots();
+    }
+
+    /**
+     * Appends commit deltas into a journal until compaction threshold is reached.
+     */
+    @VisibleForTesting
+    static class JournalPersister {
+
+        private final DataJournal journal;
+        private final int compactionThreshold;
+        // Starting at threshold forces compaction on first commit, folding any journal left from previous run
+        // (already replayed during restoration) into the persisted data
+        private int journaledCommits;
+
+        JournalPersister(final DataJournal journal, final int compactionThreshold) {
+            checkArgument(compactionThreshold > 0, "compactionThreshold should be positive, but was %s",
+                    compactionThreshold);
+            this.journal = checkNotNull(journal, "journal is null");
+            this.compactionThreshold = compactionThreshold;
+            this.journaledCommits = compactionThreshold;
+        }
+
+        /**
+         * @return true if the candidate was journaled, false if compaction is required instead
+         */
+        boolean tryAppend(final DataTreeCandidate candidate) {
+            if (journaledCommits >= compactionThreshold) {
+                LOG.debug("Compaction threshold reached for {}", journal);
+                return false;
+            }
+
+            try {
+                journal.append(candidate);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to journal current modification", e);
+            } catch (IllegalArgumentException e) {
+                // Nothing was appended, the record is assembled before writing it. Persisting full data instead
+                LOG.warn("Unable to journal current modification into {}, compacting instead", journal, e);
+                return false;
+            }
+            journaledCommits++;
+            return true;
+        }
+
+        void reset() {
+            reset(-1, 0);
+        }
+
+        /**
+         * @param snapshotSize     size of the persisted data, negative if unknown (the persisted file is scanned)
+         * @param snapshotChecksum checksum of the persisted data
+         */
+        void reset(final long snapshotSize, final long snapshotChecksum) {
+            try {
+                if (snapshotSize < 0) {
+                    journal.restart();
+                } else {
+                    journal.restart(snapshotSize, snapshotChecksum);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to restart journal " + journal, e);
+            }
+            journaledCommits = 0;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("journal", journal)
+                    .add("compactionThreshold", compactionThreshold)
+                    .toString();
+        }
     }
 
+    /**
+     * Persists enqueued snapshots in a dedicated thread. Snapshots enqueued while the previous one was being
+     * persisted are coalesced, only the latest of them is persisted.
+     *
+     * Enqueuing never blocks. If the queue is full, the oldest pending snapshot is dropped, since it is superseded by
+     * the new one anyway. If the persisting thread is no longer running (e.g. it was interrupted or failed with an
+     * error), it is restarted by the next enqueue or by {@link #close()}.
+     */
     @VisibleForTesting
-    static class JsonPersister {
+    static class AsyncPersister implements AutoCloseable {
+
+        // Marks the end of data to persist
+        private static final PendingSnapshot SHUTDOWN = new PendingSnapshot(null, 0);
+
+        private final DataPersister persister;
+        private final int queueDepth;
+        // One slot more than queueDepth, reserved for SHUTDOWN
+        private final BlockingQueue<PendingSnapshot> queue;
+        // Guarded by this
+        private Thread writer;
+        private boolean closed;
+        // Metrics
+        private volatile long lastPersistLagNanos;
+        private final AtomicLong persistedSnapshots = new AtomicLong();
+        private final AtomicLong coalescedSnapshots = new AtomicLong();
+
+        AsyncPersister(final DataPersister persister, final int queueDepth) {
+            checkArgument(queueDepth > 0, "queueDepth should be positive, but was %s", queueDepth);
+            this.persister = checkNotNull(persister, "persister is null");
+            this.queueDepth = queueDepth;
+            this.queue = new ArrayBlockingQueue<>(queueDepth + 1);
+            this.writer = startWriter();
+        }
+
+        private Thread startWriter() {
+            final Thread thread = new Thread(this::persistPending, "honeycomb-persister");
+            // Does not block JVM exit on its own, pending data are flushed by close()
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+
+        private void ensureWriterRunning() {
+            if (!writer.isAlive()) {
+                LOG.warn("Persisting thread for {} is not running, restarting it", persister);
+                writer = startWriter();
+            }
+        }
+
+        /**
+         * Enqueue snapshot for persistence. Does not block, drops the oldest pending snapshot if the queue is full.
+         *
+         * @param snapshot provides snapshot of current data. Invoked while holding the lock of this persister, so that
+         *                 snapshots are enqueued in the order they were taken
+         */
+        synchronized void enqueue(final Supplier<DataTreeSnapshot> snapshot) {
+            checkState(!closed, "%s already closed", this);
+            ensureWriterRunning();
+            // Only this method and close add to the queue (holding the lock), so the check cannot be outdated
+            // by anything else than the writer taking snapshots out of the queue
+            if (queue.size() >= queueDepth && queue.poll() != null) {
+                coalescedSnapshots.incrementAndGet();
+            }
+            queue.add(new PendingSnapshot(snapshot.get(), System.nanoTime()));
+        }
+
+        int getQueueDepth() {
+            return queue.size();
+        }
+
+        long getLastPersistLagNanos() {
+            return lastPersistLagNanos;
+        }
+
+        long getPersistedSnapshots() {
+            return persistedSnapshots.get();
+        }
+
+        long getCoalescedSnapshots() {
+            return coalescedSnapshots.get();
+        }
+
+        private void persistPending() {
+            final List<PendingSnapshot> pending = new ArrayList<>();
+            while (true) {
+                try {
+                    pending.add(queue.take());
+                } catch (InterruptedException e) {
+                    LOG.warn("Persisting thread for {} interrupted, pending data will be persisted once it is "
+                            + "restarted", persister);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                queue.drainTo(pending);
+
+                PendingSnapshot latest = null;
+                boolean shutdown = false;
+                for (final PendingSnapshot pendingSnapshot : pending) {
+                    if (pendingSnapshot == SHUTDOWN) {
+                        shutdown = true;
+                    } else {
+                        latest = pendingSnapshot;
+                    }
+                }
+
+                if (latest != null) {
+                    persist(latest, pending.size() - (shutdown ? 2 : 1));
+                }
+                pending.clear();
+
+                if (shutdown) {
+                    LOG.debug("Persisting thread for {} stopped", persister);
+                    return;
+                }
+            }
+        }
+
+        private void persist(final PendingSnapshot pendingSnapshot, final int coalesced) {
+            try {
+                persister.persistCurrentData(pendingSnapshot.snapshot.readNode(YangInstanceIdentifier.EMPTY));
+            } catch (RuntimeException e) {
+                // Nobody to report to, next commit will attempt to persist the data again
+                LOG.error("Unable to persist data by {}", persister, e);
+                return;
+            }
+            lastPersistLagNanos = System.nanoTime() - pendingSnapshot.enqueuedNanos;
+            persistedSnapshots.incrementAndGet();
+            coalescedSnapshots.addAndGet(coalesced);
+            LOG.debug("Data persisted by {} {}ms after commit, {} snapshot(s) coalesced, {} pending", persister,
+                    TimeUnit.NANOSECONDS.toMillis(lastPersistLagNanos), coalesced, queue.size());
+        }
+
+        @Override
+        public void close() {
+            Thread flushingWriter;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                ensureWriterRunning();
+                // Slot reserved for the marker, never blocks
+                queue.add(SHUTDOWN);
+                flushingWriter = writer;
+            }
+            try {
+                while (true) {
+                    flushingWriter.join();
+                    synchronized (this) {
+                        if (queue.isEmpty()) {
+                            return;
+                        }
+                        // Writer stopped before reaching the marker
+                        ensureWriterRunning();
+                        flushingWriter = writer;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while flushing data by " + persister, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("persister", persister)
+                    .add("queueDepth", queue.size())
+                    .add("persistedSnapshots", persistedSnapshots)
+                    .add("coalescedSnapshots", coalescedSnapshots)
+                    .toString();
+        }
+
+        private static final class PendingSnapshot {
+            private final DataTreeSnapshot snapshot;
+            private final long enqueuedNanos;
+
+            private PendingSnapshot(final DataTreeSnapshot snapshot, final long enqueuedNanos) {
+                this.snapshot = snapshot;
+                this.enqueuedNanos = enqueuedNanos;
+            }
+        }
+    }
+
+    @VisibleForTesting
+    static class DataPersister {
+
+        private static final String TMP_SUFFIX = ".tmp";
 
         private final Path path;
         private final SchemaService schemaServiceDependency;
+        private final PersistedDataFormat format;
+        // Stamp of the data persisted by the last persistCurrentData, size is negative if nothing was persisted
+        private long persistedSize = -1;
+        private long persistedChecksum;
 
-        JsonPersister(final Path persistPath, final SchemaService schemaService) {
+        DataPersister(final Path persistPath, final SchemaService schemaService) {
+            this(persistPath, schemaService, PersistedDataFormat.Json);
+        }
+
+        DataPersister(final Path persistPath, final SchemaService schemaService, final PersistedDataFormat format) {
             this.path = testPersistPath(checkNotNull(persistPath, "persistPath is null"));
             this.schemaServiceDependency = checkNotNull(schemaService, "schemaService is null");
+            this.format = checkNotNull(format, "format is null");
         }
 
         void persistCurrentData(final Optional<NormalizedNode<?, ?>> currentRoot) {
+            persistedSize = -1;
             if (currentRoot.isPresent()) {
-                try (OutputStream outputStream = Files.newOutputStream(path, StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING)) {
-                    LOG.trace("Persisting current data: {} into: {}", currentRoot.get(), path);
-                    JsonUtils.writeJsonRoot(currentRoot.get(), schemaServiceDependency.getGlobalContext(), outputStream);
+                // Write into a temporary file first, so that the persisted data are never left half written
+                final Path tmpPath = path.resolveSibling(path.getFileName() + TMP_SUFFIX);
+                long checksum;
+                try {
+                    checksum = write(currentRoot.get(), tmpPath, format);
+                } catch (IllegalArgumentException e) {
+                    if (format == PersistedDataFormat.Json) {
+                        throw e;
+                    }
+                    // Data not supported by the format (e.g. anyxml nodes in binary format). Format is detected
+                    // during restoration, so it can differ between commits
+                    LOG.warn("Unable to persist current data into {} as {}, persisting as {} instead", path, format,
+                            PersistedDataFormat.Json, e);
+                    checksum = write(currentRoot.get(), tmpPath, PersistedDataFormat.Json);
+                }
+
+                try {
+                    final long size = Files.size(tmpPath);
+                    Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    persistedSize = size;
+                    persistedChecksum = checksum;
                     LOG.trace("Data persisted successfully in {}", path);
                 } catch (IOException e) {
                     throw new IllegalStateException("Unable to persist current data", e);
@@ -123,6 +573,38 @@ public class PersistingDataTreeAdapter implements DataTree {
             }
         }
 
+        /**
+         * @return CRC32 checksum of the written file, so that the journal does not need to read it again
+         */
+        private long write(final NormalizedNode<?, ?> root, final Path tmpPath,
+                           final PersistedDataFormat dataFormat) {
+            final CRC32 crc = new CRC32();
+            try (OutputStream outputStream = new BufferedOutputStream(new CheckedOutputStream(
+                    Files.newOutputStream(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
+                    crc))) {
+                LOG.trace("Persisting current data: {} into: {} as {}", root, path, dataFormat);
+                dataFormat.write(root, schemaServiceDependency.getGlobalContext(), outputStream);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to persist current data", e);
+            }
+            return crc.getValue();
+        }
+
+        /**
+         * @return size of the data persisted by the last {@link #persistCurrentData(Optional)}, negative if it
+         * persisted nothing
+         */
+        long getPersistedSize() {
+            return persistedSize;
+        }
+
+        /**
+         * @return CRC32 checksum of the data persisted by the last {@link #persistCurrentData(Optional)}
+         */
+        long getPersistedChecksum() {
+            return persistedChecksum;
+        }
+
         /**
          * Test whether file at persistPath exists and is readable or create it along with its parent structure.
          */
@@ -148,6 +630,7 @@ public class PersistingDataTreeAdapter implements DataTree {
         public String toString() {
             return MoreObjects.toStringHelper(this)
                     .add("path", path)
+                    .add("format", format)
                     .toString();
         }
     }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+/**
+ * Persistence statistics of {@link PersistingDataTreeAdapter}, exposed over JMX.
+ */
+public interface PersistingDataTreeAdapterMXBean {
+
+    /**
+     * @return number of snapshots waiting for persistence, always 0 in synchronous mode
+     */
+    int getPersistQueueDepth();
+
+    /**
+     * @return time in milliseconds between the commit and persistence of the last persisted data, always 0 in
+     * synchronous mode
+     */
+    long getPersistLagMillis();
+
+    /**
+     * @return number of snapshots persisted by the persisting thread, always 0 in synchronous mode
+     */
+    long getPersistedSnapshots();
+
+    /**
+     * @return number of snapshots skipped, because a newer one was enqueued before they were persisted
+     */
+    long getCoalescedSnapshots();
+}
@@ -40,12 +40,13 @@ final class ReadOnlyTransaction implements DOMDataReadOnlyTransaction {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReadOnlyTransaction.class);
 
+    // Volatile instead of synchronized reads, backing data managers are safe to be read concurrently
     @Nullable
-    private ReadableDataManager operationalData;
+    private volatile ReadableDataManager operationalData;
     @Nullable
-    private ReadableDataManager configSnapshot;
+    private volatile ReadableDataManager configSnapshot;
 
-    private boolean closed = false;
+    private volatile boolean closed = false;
 
     /**
      * @param configData config data tree manager. Null if config reads are not to be supported
@@ -58,26 +59,24 @@ final class ReadOnlyTransaction implements DOMDataReadOnlyTransaction {
     }
 
     @Override
-    public synchronized void close() {
+    public void close() {
         closed = true;
         configSnapshot = null;
         operationalData = null;
     }
 
     @Override
-    public synchronized CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
             final LogicalDatastoreType store,
             final YangInstanceIdentifier path) {
         LOG.debug("ReadOnlyTransaction.read(), store={}, path={}", store, path);
+        // Take the reference before checking closed flag, close() sets the flag before clearing the references
+        final ReadableDataManager data = store == LogicalDatastoreType.OPERATIONAL
+                ? operationalData
+                : configSnapshot;
         checkState(!closed, "Transaction has been closed");
-
-        if (store == LogicalDatastoreType.OPERATIONAL) {
-            checkArgument(operationalData != null, "%s reads not supported", store);
-            return operationalData.read(path);
-        } else {
-            checkArgument(configSnapshot != null, "%s reads not supported", store);
-            return configSnapshot.read(path);
-        }
+        checkArgument(data != null, "%s reads not supported", store);
+        return data.read(path);
     }
 
     @Override
@@ -24,19 +24,34 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
-import io.fd.honeycomb.data.ReadableDataManager;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.fd.honeycomb.data.StreamingReadableDataManager;
 import io.fd.honeycomb.translate.MappingContext;
 import io.fd.honeycomb.translate.ModificationCache;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.TransactionMappingContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -49,6 +64,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
@@ -61,13 +78,16 @@ import org.slf4j.LoggerFactory;
 /**
  * ReadableDataTree implementation for operational data.
  */
-public final class ReadableDataTreeDelegator implements ReadableDataManager {
+public final class ReadableDataTreeDelegator implements StreamingReadableDataManager {
     private static final Logger LOG = LoggerFactory.getLogger(ReadableDataTreeDelegator.class);
 
     private final BindingNormalizedNodeSerializer serializer;
+    private final BindingIdentifierCache identifierCache;
     private final ReaderRegistry readerRegistry;
     private final SchemaContext globalContext;
     private final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker;
+    @Nullable
+    private final BoundedReadExecutor readExecutor;
 
     /**
      * Creates operational data tree instance.
@@ -76,14 +96,45 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
      * @param globalContext  service for obtaining top level context data from all yang modules.
      * @param readerRegistry service responsible for translation between DataObjects and data provider.
      * @param contextBroker BA broker for context data
+     * @deprecated use {@link #ReadableDataTreeDelegator(BindingIdentifierCache, SchemaContext, ReaderRegistry,
+     * org.opendaylight.controller.md.sal.binding.api.DataBroker)}
      */
+    @Deprecated
     public ReadableDataTreeDelegator(@Nonnull BindingNormalizedNodeSerializer serializer,
                                      @Nonnull final SchemaContext globalContext,
                                      @Nonnull final ReaderRegistry readerRegistry,
                                      @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker) {
+        this(BindingIdentifierCache.forSerializer(serializer), globalContext, readerRegistry, contextBroker);
+    }
+
+    /**
+     * Creates operational data tree instance using provided identifier cache for BI to BA translation.
+     *
+     * @param identifierCache cache of identifier translations, wrapping the serializer
+     */
+    public ReadableDataTreeDelegator(@Nonnull final BindingIdentifierCache identifierCache,
+                                     @Nonnull final SchemaContext globalContext,
+                                     @Nonnull final ReaderRegistry readerRegistry,
+                                     @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker) {
+        this(identifierCache, globalContext, readerRegistry, contextBroker, null);
+    }
+
+    /**
+     * Creates operational data tree instance invoking the readers using provided executor. Caller of
+     * {@link #read(YangInstanceIdentifier)} is then not blocked until the readers finish.
+     *
+     * @param readExecutor executor invoking the readers. Null if readers are to be invoked by the caller of read
+     */
+    public ReadableDataTreeDelegator(@Nonnull final BindingIdentifierCache identifierCache,
+                                     @Nonnull final SchemaContext globalContext,
+                                     @Nonnull final ReaderRegistry readerRegistry,
+                                     @Nonnull final org.opendaylight.controller.md.sal.binding.api.DataBroker contextBroker,
+                                     @Nullable final BoundedReadExecutor readExecutor) {
+        this.readExecutor = readExecutor;
         this.contextBroker = checkNotNull(contextBroker, "contextBroker should not be null");
         this.globalContext = checkNotNull(globalContext, "globalContext should not be null");
-        this.serializer = checkNotNull(serializer, "serializer should not be null");
+        this.identifierCache = checkNotNull(identifierCache, "identifierCache should not be null");
+        this.serializer = identifierCache.getSerializer();
         this.readerRegistry = checkNotNull(readerRegistry, "reader should not be null");
     }
 
@@ -91,43 +142,180 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
     public CheckedFuture<Optional<NormalizedNode<?, ?>>,
             org.opendaylight.controller.md.sal.common.api.data.ReadFailedException> read(
             @Nonnull final YangInstanceIdentifier yangInstanceIdentifier) {
+        return read(yangInstanceIdentifier, Collections.emptyMap());
+    }
 
-        try (TransactionMappingContext mappingContext = new TransactionMappingContext(contextBroker.newReadWriteTransaction());
-            ReadContext ctx = new ReadContextImpl(mappingContext)) {
+    /**
+     * Reads data just like {@link #read(YangInstanceIdentifier)}, but reads only requested ranges of the lists
+     * (see {@link ReadContext#getListReadRange}).
+     *
+     * @param listReadRanges ranges of list entries to be read, keyed by identifiers of the lists as provided to
+     *                       {@link io.fd.honeycomb.translate.read.ListReader#readList} (wildcarded list identifiers
+     *                       with keys of parent lists). Lists without a range are read whole
+     */
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>,
+            org.opendaylight.controller.md.sal.common.api.data.ReadFailedException> read(
+            @Nonnull final YangInstanceIdentifier yangInstanceIdentifier,
+            @Nonnull final Map<InstanceIdentifier<?>, ListReadRange> listReadRanges) {
+        return read(yangInstanceIdentifier, null, listReadRanges);
+    }
 
-            final Optional<NormalizedNode<?, ?>> value;
-            if (checkNotNull(yangInstanceIdentifier).equals(YangInstanceIdentifier.EMPTY)) {
+    /**
+     * Reads data just like {@link #read(YangInstanceIdentifier, Map)}, but skips readers of subtrees excluded by
+     * provided filter (see {@link ReadContext#getReadFilter}).
+     *
+     * @param readFilter     requested part of the data tree, null if all the data are to be read
+     * @param listReadRanges ranges of list entries to be read, see {@link #read(YangInstanceIdentifier, Map)}
+     */
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>,
+            org.opendaylight.controller.md.sal.common.api.data.ReadFailedException> read(
+            @Nonnull final YangInstanceIdentifier yangInstanceIdentifier,
+            @Nullable final ReadFilter readFilter,
+            @Nonnull final Map<InstanceIdentifier<?>, ListReadRange> listReadRanges) {
+        checkNotNull(yangInstanceIdentifier, "yangInstanceIdentifier should not be null");
+        final Map<InstanceIdentifier<?>, ListReadRange> ranges =
+                ImmutableMap.copyOf(checkNotNull(listReadRanges, "listReadRanges should not be null"));
+        final ListenableFuture<Optional<NormalizedNode<?, ?>>> result = readExecutor == null
+                ? readAsync(yangInstanceIdentifier, readFilter, ranges)
+                : readExecutor.submit(() -> readAsync(yangInstanceIdentifier, readFilter, ranges));
+        return Futures.makeChecked(result, e -> toReadFailedException(yangInstanceIdentifier, e));
+    }
+
+    /**
+     * Invokes readers on current thread, but does not wait for the mapping context updates to be submitted.
+     */
+    private ListenableFuture<Optional<NormalizedNode<?, ?>>> readAsync(
+            final YangInstanceIdentifier yangInstanceIdentifier,
+            @Nullable final ReadFilter readFilter,
+            final Map<InstanceIdentifier<?>, ListReadRange> listReadRanges) {
+        // Most reads do not update the mapping context, transactions are opened only when needed
+        final TransactionMappingContext mappingContext = new TransactionMappingContext(contextBroker);
+        final Optional<NormalizedNode<?, ?>> value;
+        try (ReadContext ctx = new ReadContextImpl(mappingContext, readFilter, listReadRanges)) {
+            if (yangInstanceIdentifier.equals(YangInstanceIdentifier.EMPTY)) {
                 value = readRoot(ctx);
             } else {
                 value = readNode(yangInstanceIdentifier, ctx);
             }
+        } catch (ReadFailedException e) {
+            mappingContext.close();
+            return Futures.immediateFailedFuture(
+                new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException("Failed to read data", e));
+        } catch (RuntimeException e) {
+            mappingContext.close();
+            throw e;
+        }
+
+        // Submit context mapping updates, the read completes once they are committed
+        final SettableFuture<Optional<NormalizedNode<?, ?>>> result = SettableFuture.create();
+        Futures.addCallback(mappingContext.submit(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(@Nullable final Void ignored) {
+                result.set(value);
+            }
 
-            // Submit context mapping updates
-            final CheckedFuture<Void, TransactionCommitFailedException> contextUpdateResult =
-                ((TransactionMappingContext) ctx.getMappingContext()).submit();
-            // Blocking on context data update
-            contextUpdateResult.checkedGet();
+            @Override
+            public void onFailure(@Nonnull final Throwable cause) {
+                // Context write failed. This should not happen, but if it does, there's not much that can be done here
+                // ... try to read again
+                final String msg = "Error while updating mapping context data";
+                LOG.error(msg, cause);
+                result.setException(
+                    new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(msg, cause));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Writes root lists into the writer entry by entry, as they are read. Readers are invoked using the read executor
+     * (if any) while the caller waits, so that streamed reads are bounded and have a deadline just like the others.
+     */
+    @Override
+    public void read(@Nonnull final YangInstanceIdentifier yangInstanceIdentifier,
+                     @Nonnull final NormalizedNodeStreamWriter writer)
+            throws org.opendaylight.controller.md.sal.common.api.data.ReadFailedException {
+        checkNotNull(yangInstanceIdentifier, "yangInstanceIdentifier should not be null");
+        checkNotNull(writer, "writer should not be null");
+        if (readExecutor == null) {
+            readInto(yangInstanceIdentifier, writer);
+            return;
+        }
 
-            return Futures.immediateCheckedFuture(value);
+        try {
+            readExecutor.execute(() -> {
+                readInto(yangInstanceIdentifier, writer);
+                return null;
+            });
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            throw toReadFailedException(yangInstanceIdentifier, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(
+                "Interrupted while reading " + yangInstanceIdentifier, e);
+        }
+    }
 
+    /**
+     * Invokes readers on current thread, writing root lists into the writer entry by entry, as they are read.
+     */
+    private void readInto(final YangInstanceIdentifier yangInstanceIdentifier,
+                          final NormalizedNodeStreamWriter writer)
+            throws org.opendaylight.controller.md.sal.common.api.data.ReadFailedException {
+        final TransactionMappingContext mappingContext = new TransactionMappingContext(contextBroker);
+        try (ReadContext ctx = new ReadContextImpl(mappingContext, null, Collections.emptyMap())) {
+            if (yangInstanceIdentifier.equals(YangInstanceIdentifier.EMPTY)) {
+                streamRoot(ctx, writer);
+            } else {
+                // Nested lists are not streamed, the node is read as a whole
+                final Optional<NormalizedNode<?, ?>> value = readNode(yangInstanceIdentifier, ctx);
+                if (value.isPresent()) {
+                    NormalizedNodeWriter.forStreamWriter(writer).write(value.get());
+                }
+            }
         } catch (ReadFailedException e) {
-            return Futures.immediateFailedCheckedFuture(
-                new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException("Failed to read data", e));
+            mappingContext.close();
+            throw new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException("Failed to read data", e);
+        } catch (IOException | UncheckedIOException e) {
+            mappingContext.close();
+            throw new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(
+                "Failed to write " + yangInstanceIdentifier, e instanceof UncheckedIOException ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            mappingContext.close();
+            throw e;
+        }
+
+        try {
+            mappingContext.submit().checkedGet();
         } catch (TransactionCommitFailedException e) {
-            // Context write failed. This should not happen, but if it does, there's not much that can be done here
-            // ... try to read again
             final String msg = "Error while updating mapping context data";
             LOG.error(msg, e);
-            return Futures.immediateFailedCheckedFuture(
-                new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(msg, e)
-            );
+            throw new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(msg, e);
         }
     }
 
+    private static org.opendaylight.controller.md.sal.common.api.data.ReadFailedException toReadFailedException(
+            final YangInstanceIdentifier yangInstanceIdentifier, final Exception e) {
+        final Throwable cause = e instanceof ExecutionException
+                ? e.getCause()
+                : e;
+        if (cause instanceof org.opendaylight.controller.md.sal.common.api.data.ReadFailedException) {
+            return (org.opendaylight.controller.md.sal.common.api.data.ReadFailedException) cause;
+        } else if (cause instanceof TimeoutException) {
+            return new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(
+                "Read of " + yangInstanceIdentifier + " timed out", cause);
+        } else if (cause instanceof RejectedExecutionException) {
+            return new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(
+                "Too many concurrent reads, read of " + yangInstanceIdentifier + " rejected", cause);
+        }
+        return new org.opendaylight.controller.md.sal.common.api.data.ReadFailedException(
+            "Failed to read " + yangInstanceIdentifier, cause);
+    }
+
     private Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier yangInstanceIdentifier,
                                                     final ReadContext ctx) throws ReadFailedException {
         LOG.debug("OperationalDataTree.readNode(), yangInstanceIdentifier={}", yangInstanceIdentifier);
-        final InstanceIdentifier<?> path = serializer.fromYangInstanceIdentifier(yangInstanceIdentifier);
+        final InstanceIdentifier<?> path = identifierCache.fromYangInstanceIdentifier(yangInstanceIdentifier);
         checkNotNull(path, "Invalid instance identifier %s. Cannot create BA equivalent.", yangInstanceIdentifier);
         LOG.debug("OperationalDataTree.readNode(), path={}", path);
 
@@ -153,7 +341,7 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
                 readerRegistry.readAll(ctx);
 
         for (final InstanceIdentifier<? extends DataObject> instanceIdentifier : dataObjects.keySet()) {
-            final YangInstanceIdentifier rootElementId = serializer.toYangInstanceIdentifier(instanceIdentifier);
+            final YangInstanceIdentifier rootElementId = identifierCache.toYangInstanceIdentifier(instanceIdentifier);
             final NormalizedNode<?, ?> node =
                     wrapDataObjects(rootElementId, instanceIdentifier, dataObjects.get(instanceIdentifier));
             dataNodeBuilder.withChild((DataContainerChild<?, ?>) node);
@@ -161,6 +349,18 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
         return Optional.<NormalizedNode<?, ?>>of(dataNodeBuilder.build());
     }
 
+    private void streamRoot(final ReadContext ctx, final NormalizedNodeStreamWriter writer)
+            throws ReadFailedException, IOException {
+        LOG.debug("OperationalDataTree.streamRoot()");
+
+        writer.startContainerNode(new YangInstanceIdentifier.NodeIdentifier(SchemaContext.NAME),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        final RootNodeStreamer streamer = new RootNodeStreamer(writer);
+        readerRegistry.readAll(ctx, streamer);
+        streamer.endCurrentNode();
+        writer.endNode();
+    }
+
     private NormalizedNode<?, ?> wrapDataObjects(final YangInstanceIdentifier yangInstanceIdentifier,
                                                  final InstanceIdentifier<? extends DataObject> instanceIdentifier,
                                                  final Collection<? extends DataObject> dataObjects) {
@@ -217,13 +417,85 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
         };
     }
 
+    /**
+     * Writes root DataObjects into stream writer as they are read, wrapping entries of root lists in list nodes.
+     */
+    private final class RootNodeStreamer implements BiConsumer<InstanceIdentifier<? extends DataObject>, DataObject> {
+
+        private final NormalizedNodeStreamWriter writer;
+        private final NormalizedNodeWriter nodeWriter;
+        private InstanceIdentifier<? extends DataObject> currentId;
+        private boolean listStarted;
+        private int currentNodeEntries;
+
+        private RootNodeStreamer(final NormalizedNodeStreamWriter writer) {
+            this.writer = writer;
+            this.nodeWriter = NormalizedNodeWriter.forStreamWriter(writer);
+        }
+
+        @Override
+        public void accept(final InstanceIdentifier<? extends DataObject> instanceIdentifier,
+                           final DataObject dataObject) {
+            try {
+                if (!instanceIdentifier.equals(currentId)) {
+                    endCurrentNode();
+                    startNode(instanceIdentifier);
+                }
+                Preconditions.checkState(listStarted || currentNodeEntries == 0, "Singleton list was expected");
+                currentNodeEntries++;
+                nodeWriter.write(toNormalizedNodeFunction(instanceIdentifier).apply(dataObject));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void startNode(final InstanceIdentifier<? extends DataObject> instanceIdentifier) throws IOException {
+            currentId = instanceIdentifier;
+            currentNodeEntries = 0;
+            final YangInstanceIdentifier rootElementId = identifierCache.toYangInstanceIdentifier(instanceIdentifier);
+            final DataSchemaNode schemaNode =
+                    globalContext.getDataChildByName(rootElementId.getLastPathArgument().getNodeType());
+            listStarted = schemaNode instanceof ListSchemaNode;
+            if (listStarted) {
+                startListNode((ListSchemaNode) schemaNode, writer);
+            }
+        }
+
+        private void endCurrentNode() throws IOException {
+            if (listStarted) {
+                writer.endNode();
+                listStarted = false;
+            }
+        }
+    }
+
+    private static void startListNode(final ListSchemaNode listSchema, final NormalizedNodeStreamWriter writer)
+            throws IOException {
+        final YangInstanceIdentifier.NodeIdentifier listId =
+                new YangInstanceIdentifier.NodeIdentifier(listSchema.getQName());
+        if (listSchema.getKeyDefinition().isEmpty()) {
+            writer.startUnkeyedList(listId, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (listSchema.isUserOrdered()) {
+            writer.startOrderedMapNode(listId, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startMapNode(listId, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+    }
+
     private static final class ReadContextImpl implements ReadContext {
 
         private final ModificationCache ctx = new ModificationCache();
         private final MappingContext mappingContext;
+        @Nullable
+        private final ReadFilter readFilter;
+        private final Map<InstanceIdentifier<?>, ListReadRange> listReadRanges;
 
-        private ReadContextImpl(final MappingContext mappingContext) {
+        private ReadContextImpl(final MappingContext mappingContext,
+                                @Nullable final ReadFilter readFilter,
+                                final Map<InstanceIdentifier<?>, ListReadRange> listReadRanges) {
             this.mappingContext = mappingContext;
+            this.readFilter = readFilter;
+            this.listReadRanges = listReadRanges;
         }
 
         @Nonnull
@@ -238,6 +510,18 @@ public final class ReadableDataTreeDelegator implements ReadableDataManager {
             return mappingContext;
         }
 
+        @Nullable
+        @Override
+        public ListReadRange getListReadRange(@Nonnull final InstanceIdentifier<?> listId) {
+            return listReadRanges.get(listId);
+        }
+
+        @Nullable
+        @Override
+        public ReadFilter getReadFilter() {
+            return readFilter;
+        }
+
         @Override
         public void close() {
             // Make sure to clear the storage in case some customizer stored a reference to it to prevent memory leaks
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.MapMaker;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+
+/**
+ * Memoized schema lookups used while processing modifications. Resolved child schema nodes and augmentations
+ * are indexed by parent schema node and path argument, so every lookup is performed just once per schema context.
+ *
+ * Single instance per {@link SchemaContext} is shared by all the {@link ModificationDiff}s and
+ * {@link NormalizedNodeRewriteDeleteRegistry}s created for that context. Schema nodes are compared by identity.
+ * The index does not reference its schema context, lookups that need the context take it as an argument.
+ */
+final class SchemaIndex {
+
+    private static final LoadingCache<SchemaContext, SchemaIndex> INDEXES = CacheBuilder.newBuilder()
+            // weak keys are compared by identity. Index is dropped together with its schema context, so it must not
+            // reference the context (otherwise the value would keep its own weak key reachable)
+            .weakKeys()
+            .build(new CacheLoader<SchemaContext, SchemaIndex>() {
+                @Override
+                public SchemaIndex load(@Nonnull final SchemaContext ctx) {
+                    return new SchemaIndex();
+                }
+            });
+
+    // Marks negative results of augmentation lookups, since null cannot be stored in concurrent maps
+    private static final Object NOT_FOUND = new Object();
+
+    // Per schema node lookups are keyed weakly by the node (MapMaker with weak keys compares keys by identity).
+    // The schema context itself is a parent node too, so strong keys would keep the context reachable.
+    private final Map<Object, Map<QName, DataSchemaNode>> children = new MapMaker().weakKeys().makeMap();
+    private final Map<AugmentationTarget, Map<YangInstanceIdentifier.AugmentationIdentifier, AugmentationSchema>>
+            augmentations = new MapMaker().weakKeys().makeMap();
+    private final Map<Object, Map<YangInstanceIdentifier.AugmentationIdentifier, Object>> nestedAugmentations =
+            new MapMaker().weakKeys().makeMap();
+    private final Map<SchemaPath, Optional<DataSchemaNode>> dataSchemaNodes = new ConcurrentHashMap<>();
+
+    @VisibleForTesting
+    SchemaIndex() {
+    }
+
+    /**
+     * Get index shared by all consumers of provided schema context.
+     */
+    @Nonnull
+    static SchemaIndex forContext(@Nonnull final SchemaContext ctx) {
+        return INDEXES.getUnchecked(checkNotNull(ctx, "ctx should not be null"));
+    }
+
+    /**
+     * Find child data schema node of a {@link DataNodeContainer} or of any case of a {@link ChoiceSchemaNode}.
+     *
+     * @return child schema node or null if there is no such child
+     */
+    @Nullable
+    DataSchemaNode getDataChild(@Nonnull final Object schemaNode,
+                                @Nonnull final YangInstanceIdentifier.PathArgument identifier) {
+        final Map<QName, DataSchemaNode> nodeChildren = nodeMap(children, schemaNode);
+        // keyed by node type, so that e.g. keyed identifiers do not inflate the index
+        DataSchemaNode found = nodeChildren.get(identifier.getNodeType());
+        if (found == null) {
+            found = resolveDataChild(schemaNode, identifier);
+            if (found == null) {
+                // not cached, invalid lookups end with an error anyway
+                return null;
+            }
+            nodeChildren.putIfAbsent(identifier.getNodeType(), found);
+        }
+        return found;
+    }
+
+    private static <K, V> Map<K, V> nodeMap(final Map<Object, Map<K, V>> index, final Object schemaNode) {
+        Map<K, V> nodeMap = index.get(schemaNode);
+        if (nodeMap == null) {
+            nodeMap = new ConcurrentHashMap<>();
+            final Map<K, V> previous = index.putIfAbsent(schemaNode, nodeMap);
+            if (previous != null) {
+                nodeMap = previous;
+            }
+        }
+        return nodeMap;
+    }
+
+    private static DataSchemaNode resolveDataChild(final Object schemaNode,
+                                                   final YangInstanceIdentifier.PathArgument identifier) {
+        if (schemaNode instanceof DataNodeContainer) {
+            return ((DataNodeContainer) schemaNode).getDataChildByName(identifier.getNodeType());
+        } else if (schemaNode instanceof ChoiceSchemaNode) {
+            // For choices, iterate through all the cases
+            for (final ChoiceCaseNode caseNode : ((ChoiceSchemaNode) schemaNode).getCases()) {
+                for (final DataSchemaNode child : caseNode.getChildNodes()) {
+                    if (child.getQName().equals(identifier.getNodeType())) {
+                        return child;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find augmentation directly available for provided augmentation target.
+     *
+     * @return augmentation identified by provided identifier or null if the target has no such augmentation
+     */
+    @Nullable
+    AugmentationSchema getAugmentation(@Nonnull final AugmentationTarget target,
+                                       @Nonnull final YangInstanceIdentifier.AugmentationIdentifier identifier) {
+        Map<YangInstanceIdentifier.AugmentationIdentifier, AugmentationSchema> targetAugmentations =
+                augmentations.get(target);
+        if (targetAugmentations == null) {
+            targetAugmentations = indexAugmentations(target);
+            augmentations.putIfAbsent(target, targetAugmentations);
+        }
+        return targetAugmentations.get(identifier);
+    }
+
+    private static Map<YangInstanceIdentifier.AugmentationIdentifier, AugmentationSchema> indexAugmentations(
+            final AugmentationTarget target) {
+        return Collections.unmodifiableMap(target.getAvailableAugmentations().stream()
+                .collect(Collectors.toMap(SchemaIndex::augmentationIdentifier, aug -> aug, (first, second) -> first)));
+    }
+
+    private static YangInstanceIdentifier.AugmentationIdentifier augmentationIdentifier(final AugmentationSchema aug) {
+        return new YangInstanceIdentifier.AugmentationIdentifier(aug.getChildNodes().stream()
+                .map(SchemaNode::getQName)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Find augmentation anywhere in the schema subtree of provided schema node (including the node itself).
+     *
+     * @return augmentation identified by provided identifier or null if there is no such augmentation in the subtree
+     */
+    @Nullable
+    AugmentationSchema findAugmentation(@Nullable final Object schemaNode,
+                                        @Nonnull final YangInstanceIdentifier.AugmentationIdentifier identifier) {
+        if (schemaNode == null) {
+            return null;
+        }
+
+        final Map<YangInstanceIdentifier.AugmentationIdentifier, Object> nodeAugmentations =
+                nodeMap(nestedAugmentations, schemaNode);
+        Object found = nodeAugmentations.get(identifier);
+        if (found == null) {
+            // Not using computeIfAbsent, the search is recursive and would modify the map from within the computation
+            final AugmentationSchema augmentation = searchAugmentation(schemaNode, identifier);
+            found = augmentation == null
+                    ? NOT_FOUND
+                    : augmentation;
+            nodeAugmentations.putIfAbsent(identifier, found);
+        }
+        return found == NOT_FOUND
+                ? null
+                : (AugmentationSchema) found;
+    }
+
+    private AugmentationSchema searchAugmentation(final Object schemaNode,
+                                                  final YangInstanceIdentifier.AugmentationIdentifier identifier) {
+        // check if identifier points to some augmentation of schemaNode
+        if (schemaNode instanceof AugmentationTarget) {
+            final AugmentationSchema augmentation = getAugmentation((AugmentationTarget) schemaNode, identifier);
+            if (augmentation != null) {
+                return augmentation;
+            }
+        }
+
+        // continue search:
+        Collection<DataSchemaNode> childNodes = Collections.emptyList();
+        if (schemaNode instanceof DataNodeContainer) {
+            childNodes = ((DataNodeContainer) schemaNode).getChildNodes();
+        } else if (schemaNode instanceof ChoiceSchemaNode) {
+            childNodes = ((ChoiceSchemaNode) schemaNode).getCases().stream()
+                    .flatMap(cas -> cas.getChildNodes().stream()).collect(Collectors.toList());
+        }
+        for (final DataSchemaNode childNode : childNodes) {
+            final AugmentationSchema augmentation = findAugmentation(childNode, identifier);
+            if (augmentation != null) {
+                return augmentation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find data schema node by its absolute schema path.
+     *
+     * @param ctx schema context this index was created for
+     * @return data schema node or null if there is no such node
+     */
+    @Nullable
+    DataSchemaNode findDataSchemaNode(@Nonnull final SchemaContext ctx, @Nonnull final SchemaPath schemaPath) {
+        Optional<DataSchemaNode> found = dataSchemaNodes.get(schemaPath);
+        if (found == null) {
+            final SchemaNode schemaNode = SchemaContextUtil.findDataSchemaNode(ctx, schemaPath);
+            found = schemaNode instanceof DataSchemaNode
+                    ? Optional.of((DataSchemaNode) schemaNode)
+                    : Optional.empty();
+            dataSchemaNodes.putIfAbsent(schemaPath, found);
+        }
+        return found.orElse(null);
+    }
+}
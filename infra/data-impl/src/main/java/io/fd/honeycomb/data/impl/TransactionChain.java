@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.fd.honeycomb.data.DataModification;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.common.api.TransactionStatus;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transaction chain on top of {@link ModifiableDataTreeManager}. Every transaction is based on the modification of
+ * the previously submitted transaction, so it sees its changes even before they are committed. Submitted
+ * transactions are committed asynchronously, one after another in the order of submission, which allows clients to
+ * pipeline transactions without waiting for each submit.
+ *
+ * Only a single write transaction can be open at a time. Once a transaction fails, all the transactions submitted
+ * after it fail as well and the chain cannot be used anymore.
+ */
+final class TransactionChain implements DOMTransactionChain {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionChain.class);
+
+    private final ModifiableDataTreeManager dataManager;
+    private final TransactionChainListener listener;
+    private final Function<DataModification, DOMDataReadOnlyTransaction> readTxFactory;
+    private final Function<DataModification, WriteTransaction> writeTxFactory;
+    private final Executor commitExecutor;
+
+    // Modification of the last submitted transaction, null if it is already committed
+    @GuardedBy("this")
+    @Nullable
+    private DataModification lastSubmitted;
+    @GuardedBy("this")
+    @Nullable
+    private DOMDataWriteTransaction openTransaction;
+    @GuardedBy("this")
+    private ListenableFuture<Void> lastCommit = Futures.immediateFuture(null);
+    @GuardedBy("this")
+    private boolean closed;
+    @GuardedBy("this")
+    private boolean failed;
+
+    /**
+     * @param readTxFactory  creates read-only transaction reading from provided modification
+     * @param writeTxFactory creates write transaction modifying provided modification
+     * @param commitExecutor executor committing submitted transactions
+     */
+    TransactionChain(@Nonnull final ModifiableDataTreeManager dataManager,
+                     @Nonnull final TransactionChainListener listener,
+                     @Nonnull final Function<DataModification, DOMDataReadOnlyTransaction> readTxFactory,
+                     @Nonnull final Function<DataModification, WriteTransaction> writeTxFactory,
+                     @Nonnull final Executor commitExecutor) {
+        this.dataManager = checkNotNull(dataManager, "dataManager should not be null");
+        this.listener = checkNotNull(listener, "listener should not be null");
+        this.readTxFactory = checkNotNull(readTxFactory, "readTxFactory should not be null");
+        this.writeTxFactory = checkNotNull(writeTxFactory, "writeTxFactory should not be null");
+        this.commitExecutor = checkNotNull(commitExecutor, "commitExecutor should not be null");
+    }
+
+    @Override
+    public synchronized DOMDataReadOnlyTransaction newReadOnlyTransaction() {
+        LOG.trace("TransactionChain({}).newReadOnlyTransaction()", this);
+        checkUsable();
+        return readTxFactory.apply(nextModification());
+    }
+
+    @Override
+    public synchronized DOMDataReadWriteTransaction newReadWriteTransaction() {
+        LOG.trace("TransactionChain({}).newReadWriteTransaction()", this);
+        checkUsable();
+        final DataModification modification = nextModification();
+        final ChainedWriteTransaction writeTx = new ChainedWriteTransaction(modification);
+        openTransaction = writeTx;
+        return new ReadWriteTransaction(readTxFactory.apply(modification), writeTx);
+    }
+
+    @Override
+    public synchronized DOMDataWriteTransaction newWriteOnlyTransaction() {
+        LOG.trace("TransactionChain({}).newWriteOnlyTransaction()", this);
+        checkUsable();
+        final ChainedWriteTransaction writeTx = new ChainedWriteTransaction(nextModification());
+        openTransaction = writeTx;
+        return writeTx;
+    }
+
+    private void checkUsable() {
+        checkState(!closed, "Transaction chain %s is closed", this);
+        checkState(!failed, "Transaction chain %s failed", this);
+        checkState(openTransaction == null, "Transaction %s is still open in chain %s", openTransaction, this);
+    }
+
+    private DataModification nextModification() {
+        return lastSubmitted == null
+                ? dataManager.newModification()
+                : dataManager.newChainedModification(lastSubmitted);
+    }
+
+    @Override
+    public synchronized void close() {
+        LOG.trace("TransactionChain({}).close()", this);
+        if (closed) {
+            return;
+        }
+        checkState(openTransaction == null, "Transaction %s is still open in chain %s", openTransaction, this);
+        closed = true;
+        // Report success once all submitted transactions are committed, failure is reported as soon as it happens
+        Futures.addCallback(lastCommit, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(@Nullable final Void result) {
+                listener.onTransactionChainSuccessful(TransactionChain.this);
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Throwable cause) {
+                // already reported
+            }
+        });
+    }
+
+    private synchronized CheckedFuture<Void, TransactionCommitFailedException> submit(
+            final ChainedWriteTransaction transaction) {
+        checkState(openTransaction == transaction, "Transaction %s is not open in chain %s", transaction, this);
+        openTransaction = null;
+        transaction.submitted = true;
+        if (failed) {
+            return Futures.immediateFailedCheckedFuture(
+                    new TransactionCommitFailedException("Transaction chain " + this + " failed"));
+        }
+        lastSubmitted = transaction.modification;
+
+        final ListenableFuture<Void> previousCommit = lastCommit;
+        final SettableFuture<Void> commit = SettableFuture.create();
+        lastCommit = commit;
+        previousCommit.addListener(() -> commit(transaction, previousCommit, commit), commitExecutor);
+        return Futures.makeChecked(commit, TransactionChain::toCommitFailedException);
+    }
+
+    private void commit(final ChainedWriteTransaction transaction, final ListenableFuture<Void> previousCommit,
+                        final SettableFuture<Void> commit) {
+        try {
+            previousCommit.get();
+            // WriteTransaction commits synchronously
+            transaction.delegate.submit().checkedGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onCommitFailed(transaction, commit, e);
+            return;
+        } catch (ExecutionException e) {
+            // Previous transaction failed, the chain is already failed
+            commit.setException(e.getCause());
+            return;
+        } catch (TransactionCommitFailedException | RuntimeException e) {
+            onCommitFailed(transaction, commit, e);
+            return;
+        }
+
+        synchronized (this) {
+            if (lastSubmitted == transaction.modification) {
+                // No need to chain following transactions anymore, the data tree is up to date
+                lastSubmitted = null;
+            }
+        }
+        commit.set(null);
+    }
+
+    private void onCommitFailed(final ChainedWriteTransaction transaction, final SettableFuture<Void> commit,
+                                final Exception cause) {
+        LOG.warn("Transaction {} in chain {} failed", transaction, this, cause);
+        synchronized (this) {
+            failed = true;
+        }
+        commit.setException(cause);
+        listener.onTransactionChainFailed(this, transaction, cause);
+    }
+
+    private synchronized boolean cancel(final ChainedWriteTransaction transaction) {
+        if (openTransaction != transaction) {
+            // already submitted or cancelled
+            return false;
+        }
+        openTransaction = null;
+        return transaction.delegate.cancel();
+    }
+
+    private static TransactionCommitFailedException toCommitFailedException(final Exception e) {
+        final Throwable cause = e instanceof ExecutionException
+                ? e.getCause()
+                : e;
+        return cause instanceof TransactionCommitFailedException
+                ? (TransactionCommitFailedException) cause
+                : new TransactionCommitFailedException("Failed to commit transaction in chain", cause);
+    }
+
+    /**
+     * Write transaction enqueuing its commit in the chain instead of committing right away.
+     */
+    private final class ChainedWriteTransaction implements DOMDataWriteTransaction {
+
+        private final DataModification modification;
+        private final WriteTransaction delegate;
+        // delegate stays new until the commit is dequeued, so modifications after submit have to be prevented here
+        private volatile boolean submitted;
+
+        private ChainedWriteTransaction(final DataModification modification) {
+            this.modification = modification;
+            this.delegate = writeTxFactory.apply(modification);
+        }
+
+        @Override
+        public void put(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                        final NormalizedNode<?, ?> data) {
+            checkNotSubmitted();
+            delegate.put(store, path, data);
+        }
+
+        @Override
+        public void merge(final LogicalDatastoreType store, final YangInstanceIdentifier path,
+                          final NormalizedNode<?, ?> data) {
+            checkNotSubmitted();
+            delegate.merge(store, path, data);
+        }
+
+        @Override
+        public void delete(final LogicalDatastoreType store, final YangInstanceIdentifier path) {
+            checkNotSubmitted();
+            delegate.delete(store, path);
+        }
+
+        private void checkNotSubmitted() {
+            checkState(!submitted, "Transaction was submitted");
+        }
+
+        @Override
+        public boolean cancel() {
+            return TransactionChain.this.cancel(this);
+        }
+
+        @Override
+        public CheckedFuture<Void, TransactionCommitFailedException> submit() {
+            return TransactionChain.this.submit(this);
+        }
+
+        @Override
+        @Deprecated
+        public ListenableFuture<RpcResult<TransactionStatus>> commit() {
+            throw new UnsupportedOperationException("deprecated");
+        }
+
+        @Override
+        public Object getIdentifier() {
+            return this;
+        }
+    }
+}
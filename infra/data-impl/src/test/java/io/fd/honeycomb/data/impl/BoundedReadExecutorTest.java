@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BoundedReadExecutorTest {
+
+    private BoundedReadExecutor executor;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = new BoundedReadExecutor(1, 1, 200, TimeUnit.MILLISECONDS);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        assertEquals("value", executor.submit(() -> Futures.immediateFuture("value")).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final ListenableFuture<String> result = executor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Futures.immediateFuture("value");
+        });
+
+        assertFailedWith(result, TimeoutException.class);
+        // thread of timed out read is released
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTooManyReads() throws Exception {
+        // first read occupies the only thread, second one the queue
+        executor.submit(this::blockingRead);
+        executor.submit(this::blockingRead);
+        assertFailedWith(executor.submit(this::blockingRead), RejectedExecutionException.class);
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        assertEquals("value", executor.execute(() -> "value"));
+    }
+
+    @Test
+    public void testExecuteTimeout() throws Exception {
+        final AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // simulates read finishing its work after being interrupted
+                    Thread.sleep(50);
+                    stopped.set(true);
+                }
+                return "value";
+            });
+            fail("Read should have timed out");
+        } catch (TimeoutException e) {
+            // caller is released only after the read stopped
+            assertTrue(stopped.get());
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testExecuteTooManyReads() throws Exception {
+        executor.submit(this::blockingRead);
+        executor.submit(this::blockingRead);
+        executor.execute(() -> "value");
+    }
+
+    private ListenableFuture<String> blockingRead() throws InterruptedException {
+        release.await();
+        return Futures.immediateFuture("value");
+    }
+
+    private static void assertFailedWith(final ListenableFuture<?> result, final Class<? extends Exception> cause)
+            throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Read should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(cause.isInstance(e.getCause()));
+        }
+    }
+}
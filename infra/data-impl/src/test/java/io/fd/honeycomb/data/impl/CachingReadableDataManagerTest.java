@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.fd.honeycomb.data.ReadableDataManager;
+import io.fd.honeycomb.data.StreamingReadableDataManager;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CachingReadableDataManagerTest extends ModificationBaseTest {
+
+    private static final QName OTHER_CONTAINER_QNAME = QName.create("urn:other", "2017-01-01", "other-container");
+
+    @Mock
+    private ReadableDataManager delegate;
+    private FakeTicker ticker;
+    private CachingReadableDataManager cache;
+    private YangInstanceIdentifier topContainerId;
+    private YangInstanceIdentifier stringLeafId;
+    private YangInstanceIdentifier otherContainerId;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        ticker = new FakeTicker();
+        topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        stringLeafId = topContainerId.node(STRING_LEAF_QNAME);
+        otherContainerId = YangInstanceIdentifier.of(OTHER_CONTAINER_QNAME);
+        when(delegate.read(topContainerId)).thenReturn(Futures.immediateCheckedFuture(
+                Optional.of(getTopContainer("value"))));
+        when(delegate.read(otherContainerId)).thenReturn(Futures.immediateCheckedFuture(
+                Optional.of(Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(OTHER_CONTAINER_QNAME))
+                        .build())));
+        // other container is not cached
+        cache = new CachingReadableDataManager(delegate, 1000, ImmutableMap.of(otherContainerId, 0L),
+                TimeUnit.MILLISECONDS, 10, ticker);
+    }
+
+    @Test
+    public void testCachedRead() throws Exception {
+        assertEquals(getTopContainer("value"), cache.read(topContainerId).checkedGet().get());
+        assertEquals(getTopContainer("value"), cache.read(topContainerId).checkedGet().get());
+
+        verify(delegate).read(topContainerId);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testReadFromAncestor() throws Exception {
+        cache.read(topContainerId).checkedGet();
+
+        assertEquals(ImmutableNodes.leafNode(STRING_LEAF_QNAME, "value"), cache.read(stringLeafId).checkedGet().get());
+        assertFalse(cache.read(topContainerId.node(PRESENCE_CONTAINER_QNAME)).checkedGet().isPresent());
+        verify(delegate, times(0)).read(stringLeafId);
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testExpiredRead() throws Exception {
+        cache.read(topContainerId).checkedGet();
+        ticker.advance(1001, TimeUnit.MILLISECONDS);
+        cache.read(topContainerId).checkedGet();
+
+        verify(delegate, times(2)).read(topContainerId);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testSubtreeTtl() throws Exception {
+        cache.read(otherContainerId).checkedGet();
+        cache.read(otherContainerId).checkedGet();
+
+        verify(delegate, times(2)).read(otherContainerId);
+    }
+
+    @Test
+    public void testSubtreeTtlNotServedFromAncestor() throws Exception {
+        cache = new CachingReadableDataManager(delegate, 1000,
+                ImmutableMap.of(stringLeafId, 0L), TimeUnit.MILLISECONDS, 10, ticker);
+        when(delegate.read(stringLeafId)).thenReturn(Futures.immediateCheckedFuture(
+                Optional.of(ImmutableNodes.leafNode(STRING_LEAF_QNAME, "fresh"))));
+
+        cache.read(topContainerId).checkedGet();
+        assertEquals(ImmutableNodes.leafNode(STRING_LEAF_QNAME, "fresh"), cache.read(stringLeafId).checkedGet().get());
+        cache.read(stringLeafId).checkedGet();
+
+        verify(delegate, times(2)).read(stringLeafId);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testInvalidatedByConfigCommit() throws Exception {
+        cache = new CachingReadableDataManager(delegate, 1000, Collections.emptyMap(), TimeUnit.MILLISECONDS, 10,
+                ticker);
+        final NotifyingDataTreeAdapter configDataTree = new NotifyingDataTreeAdapter(getDataTree(),
+                LogicalDatastoreType.CONFIGURATION, MoreExecutors.newDirectExecutorService());
+        configDataTree.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.EMPTY), cache);
+
+        cache.read(topContainerId).checkedGet();
+        cache.read(otherContainerId).checkedGet();
+        addNodeToTree(configDataTree, getTopContainer("updated"), topContainerId);
+        cache.read(topContainerId).checkedGet();
+        cache.read(otherContainerId).checkedGet();
+
+        // only data of the modified module are read again
+        verify(delegate, times(2)).read(topContainerId);
+        verify(delegate, times(1)).read(otherContainerId);
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void testStreamedReadFromCache() throws Exception {
+        final NormalizedNodeStreamWriter writer = mock(NormalizedNodeStreamWriter.class);
+        cache.read(topContainerId).checkedGet();
+        cache.read(stringLeafId, writer);
+
+        verify(writer).leafNode(new YangInstanceIdentifier.NodeIdentifier(STRING_LEAF_QNAME), "value");
+        verify(delegate, times(1)).read(topContainerId);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testStreamedReadDelegated() throws Exception {
+        final StreamingReadableDataManager streamingDelegate = mock(StreamingReadableDataManager.class);
+        when(streamingDelegate.read(topContainerId)).thenReturn(Futures.immediateCheckedFuture(
+                Optional.of(getTopContainer("value"))));
+        cache = new CachingReadableDataManager(streamingDelegate, 1000, Collections.emptyMap(),
+                TimeUnit.MILLISECONDS, 10, ticker);
+        final NormalizedNodeStreamWriter writer = mock(NormalizedNodeStreamWriter.class);
+
+        cache.read(topContainerId, writer);
+        verify(streamingDelegate).read(topContainerId, writer);
+
+        // result of streamed read is not cached
+        cache.read(topContainerId).checkedGet();
+        verify(streamingDelegate).read(topContainerId);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testStreamedReadOfNonStreamingDelegate() throws Exception {
+        when(delegate.read(stringLeafId)).thenReturn(Futures.immediateCheckedFuture(
+                Optional.of(ImmutableNodes.leafNode(STRING_LEAF_QNAME, "fresh"))));
+        final NormalizedNodeStreamWriter writer = mock(NormalizedNodeStreamWriter.class);
+        cache.read(stringLeafId, writer);
+
+        verify(delegate).read(stringLeafId);
+        verify(writer).leafNode(new YangInstanceIdentifier.NodeIdentifier(STRING_LEAF_QNAME), "fresh");
+    }
+
+    @Test
+    public void testToSchemaPath() throws Exception {
+        final YangInstanceIdentifier listEntryId = YangInstanceIdentifier.builder()
+                .node(TOP_CONTAINER_QNAME)
+                .node(NESTED_LIST_QNAME)
+                .nodeWithKey(NESTED_LIST_QNAME, NAME_LEAF_QNAME, "entry")
+                .build();
+        assertEquals(YangInstanceIdentifier.of(TOP_CONTAINER_QNAME).node(NESTED_LIST_QNAME),
+                CachingReadableDataManager.toSchemaPath(listEntryId));
+    }
+
+    private static final class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(final long time, final TimeUnit timeUnit) {
+            nanos += timeUnit.toNanos(time);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.hamcrest.CoreMatchers.anyOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import io.fd.honeycomb.data.DataModification;
+import io.fd.honeycomb.translate.TranslationException;
+import io.fd.honeycomb.translate.write.registry.WriterRegistry;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+public class CommitSequencerTest extends ModificationBaseTest {
+
+    private ExecutorService executor;
+    private DataTree dataTree;
+    private AtomicInteger processedCandidates;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        dataTree = getDataTree();
+        processedCandidates = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testNonConflictingCommitsGrouped() throws Exception {
+        // window long enough for both transactions to join the batch, the full batch ends it
+        final CommitSequencer sequencer = new CommitSequencer(2, 10, TimeUnit.SECONDS);
+        final ModifiableDataTreeManager manager = new CountingManager(dataTree, sequencer);
+
+        final YangInstanceIdentifier topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        final YangInstanceIdentifier presenceId = YangInstanceIdentifier.of(PRESENCE_CONTAINER_QNAME);
+        final NormalizedNode<?, ?> presence = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(PRESENCE_CONTAINER_QNAME))
+                .build();
+
+        final Future<?> first = submit(manager, topContainerId, getTopContainer("first"));
+        final Future<?> second = submit(manager, presenceId, presence);
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, sequencer.getCommittedGroups());
+        assertEquals(2, sequencer.getGroupedTransactions());
+        // writers would be invoked just once
+        assertEquals(1, processedCandidates.get());
+        assertEquals(getTopContainer("first"), dataTree.takeSnapshot().readNode(topContainerId).get());
+        assertEquals(presence, dataTree.takeSnapshot().readNode(presenceId).get());
+    }
+
+    @Test
+    public void testConflictingCommitsNotGrouped() throws Exception {
+        final CommitSequencer sequencer = new CommitSequencer(2, 10, TimeUnit.SECONDS);
+        final ModifiableDataTreeManager manager = new CountingManager(dataTree, sequencer);
+
+        final YangInstanceIdentifier topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        final Future<?> first = submit(manager, topContainerId, getTopContainer("first"));
+        final Future<?> second = submit(manager, topContainerId, getTopContainer("second"));
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, sequencer.getCommittedGroups());
+        assertEquals(2, processedCandidates.get());
+        final NormalizedNode<?, ?> topContainer = dataTree.takeSnapshot().readNode(topContainerId).get();
+        assertThat(topContainer, anyOf(is(getTopContainer("first")), is(getTopContainer("second"))));
+    }
+
+    @Test
+    public void testSingleCommit() throws Exception {
+        final CommitSequencer sequencer = new CommitSequencer(2, 0, TimeUnit.MILLISECONDS);
+        final ModifiableDataTreeManager manager = new CountingManager(dataTree, sequencer);
+
+        final YangInstanceIdentifier topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        final DataModification modification = manager.newModification();
+        modification.write(topContainerId, getTopContainer("single"));
+        modification.validate();
+        modification.commit();
+
+        assertEquals(0, sequencer.getCommittedGroups());
+        assertEquals(1, processedCandidates.get());
+        assertTrue(dataTree.takeSnapshot().readNode(topContainerId).isPresent());
+    }
+
+    @Test
+    public void testGroupRetriedAfterRevert() throws Exception {
+        final CommitSequencer sequencer = new CommitSequencer(2, 10, TimeUnit.SECONDS);
+        final ModifiableDataTreeManager manager = new FailingManager(dataTree, sequencer,
+                new WriterRegistry.Reverter.RevertSuccessException(Collections.emptySet()));
+
+        final Future<?> first = submit(manager, YangInstanceIdentifier.of(TOP_CONTAINER_QNAME),
+                getTopContainer("first"));
+        final Future<?> second = submit(manager, YangInstanceIdentifier.of(PRESENCE_CONTAINER_QNAME),
+                Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(PRESENCE_CONTAINER_QNAME))
+                        .build());
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        // failed group + both transactions one by one
+        assertEquals(3, processedCandidates.get());
+        assertEquals(0, sequencer.getCommittedGroups());
+    }
+
+    @Test
+    public void testGroupFailedOnContextUpdateFailure() throws Exception {
+        final CommitSequencer sequencer = new CommitSequencer(2, 10, TimeUnit.SECONDS);
+        final TranslationException contextFailure =
+                new TranslationException("Error while updating mapping context data");
+        final ModifiableDataTreeManager manager = new FailingManager(dataTree, sequencer, contextFailure);
+
+        final YangInstanceIdentifier topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        final Future<?> first = submit(manager, topContainerId, getTopContainer("first"));
+        final Future<?> second = submit(manager, YangInstanceIdentifier.of(PRESENCE_CONTAINER_QNAME),
+                Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(PRESENCE_CONTAINER_QNAME))
+                        .build());
+        assertFailedWith(contextFailure, first);
+        assertFailedWith(contextFailure, second);
+
+        // writers already modified the device, members must not be applied again
+        assertEquals(1, processedCandidates.get());
+        assertEquals(0, sequencer.getCommittedGroups());
+        assertFalse(dataTree.takeSnapshot().readNode(topContainerId).isPresent());
+    }
+
+    private static void assertFailedWith(final Exception expected, final Future<?> commit) throws Exception {
+        try {
+            commit.get(5, TimeUnit.SECONDS);
+            fail("Commit failure expected");
+        } catch (ExecutionException e) {
+            assertSame(expected, e.getCause());
+        }
+    }
+
+    private Future<?> submit(final ModifiableDataTreeManager manager, final YangInstanceIdentifier id,
+                             final NormalizedNode<?, ?> data) {
+        return executor.submit(() -> {
+            final DataModification modification = manager.newModification();
+            modification.write(id, data);
+            modification.validate();
+            modification.commit();
+            return null;
+        });
+    }
+
+    private class CountingManager extends ModifiableDataTreeManager {
+
+        private CountingManager(final DataTree dataTree, final CommitSequencer commitSequencer) {
+            super(dataTree, commitSequencer);
+        }
+
+        void process(final DataTreeCandidate candidate) throws TranslationException {
+            processedCandidates.incrementAndGet();
+        }
+
+        @Override
+        protected DataModification newModification(final DataTreeSnapshot base) {
+            return new ConfigSnapshot(base.newModification()) {
+                @Override
+                protected void processCandidate(final DataTreeCandidate candidate) throws TranslationException {
+                    process(candidate);
+                }
+            };
+        }
+    }
+
+    /**
+     * Fails the first processed candidate with provided exception.
+     */
+    private final class FailingManager extends CountingManager {
+
+        private final TranslationException failure;
+
+        private FailingManager(final DataTree dataTree, final CommitSequencer commitSequencer,
+                               final TranslationException failure) {
+            super(dataTree, commitSequencer);
+            this.failure = failure;
+        }
+
+        @Override
+        void process(final DataTreeCandidate candidate) throws TranslationException {
+            if (processedCandidates.getAndIncrement() == 0) {
+                throw failure;
+            }
+        }
+    }
+}
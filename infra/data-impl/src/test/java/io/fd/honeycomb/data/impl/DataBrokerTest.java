@@ -16,8 +16,10 @@
 
 package io.fd.honeycomb.data.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -36,6 +38,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataBrokerExtension;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataChangeListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
@@ -53,6 +56,7 @@ public class DataBrokerTest {
     public void setUp() {
         initMocks(this);
         when(confiDataTree.newModification()).thenReturn(configSnapshot);
+        when(confiDataTree.newSnapshot()).thenReturn(configSnapshot);
         broker = DataBroker.create(confiDataTree, operationalData);
     }
 
@@ -82,8 +86,10 @@ public class DataBrokerTest {
         final YangInstanceIdentifier path = mock(YangInstanceIdentifier.class);
         readTx.read(LogicalDatastoreType.CONFIGURATION, path);
 
-        // verify that read transactions use config snapshot
+        // verify that read transactions use read-only config snapshot
         verify(configSnapshot).read(path);
+        verify(confiDataTree).newSnapshot();
+        verify(confiDataTree, never()).newModification();
     }
 
     @Test(expected = UnsupportedOperationException.class)
@@ -107,6 +113,14 @@ public class DataBrokerTest {
         assertTrue(supportedExtensions.isEmpty());
     }
 
+    @Test
+    public void testGetSupportedExtensionsWithChangeService() {
+        final DOMDataTreeChangeService changeService = mock(DOMDataTreeChangeService.class);
+        final Map<Class<? extends DOMDataBrokerExtension>, DOMDataBrokerExtension> supportedExtensions =
+                DataBroker.create(confiDataTree, operationalData, changeService).getSupportedExtensions();
+        assertEquals(changeService, supportedExtensions.get(DOMDataTreeChangeService.class));
+    }
+
     public static class DataBrokerForContextTest {
 
         @Mock
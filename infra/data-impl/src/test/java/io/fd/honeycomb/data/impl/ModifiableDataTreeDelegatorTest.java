@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -39,7 +40,9 @@ import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import io.fd.honeycomb.data.DataModification;
+import io.fd.honeycomb.data.ReadableDataManager;
 import io.fd.honeycomb.translate.TranslationException;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.write.DataObjectUpdate;
 import io.fd.honeycomb.translate.write.WriteContext;
 import io.fd.honeycomb.translate.write.registry.WriterRegistry;
@@ -47,6 +50,8 @@ import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -98,7 +103,8 @@ public class ModifiableDataTreeDelegatorTest extends ModificationBaseTest {
         final Map.Entry<InstanceIdentifier<?>, DataObject> parsed = new AbstractMap.SimpleEntry<>(DEFAULT_ID, DEFAULT_DATA_OBJECT);
         when(serializer.fromNormalizedNode(any(YangInstanceIdentifier.class), any(NormalizedNode.class))).thenReturn(parsed);
 
-        configDataTree = new ModifiableDataTreeDelegator(serializer, dataTree, getSchemaCtx(), writer, contextBroker);
+        configDataTree = new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                dataTree, getSchemaCtx(), writer, contextBroker);
     }
 
     @Test
@@ -118,6 +124,18 @@ public class ModifiableDataTreeDelegatorTest extends ModificationBaseTest {
         assertEquals(dataTree.takeSnapshot().readNode(TOP_CONTAINER_ID), normalizedNodeOptional);
     }
 
+    @Test
+    public void testReadFromSnapshot() throws Exception {
+        final ContainerNode topContainer = getTopContainer("topContainer");
+        addNodeToTree(dataTree, topContainer, TOP_CONTAINER_ID);
+        final ReadableDataManager snapshot = configDataTree.newSnapshot();
+
+        // snapshot is not affected by later commits
+        addNodeToTree(dataTree, getTopContainer("updated"), TOP_CONTAINER_ID);
+        assertEquals(topContainer, snapshot.read(TOP_CONTAINER_ID).checkedGet().get());
+        assertEquals(getTopContainer("updated"), configDataTree.read(TOP_CONTAINER_ID).checkedGet().get());
+    }
+
     @Test
     public void testCommitSuccessful() throws Exception {
         final MapNode nestedList = getNestedList("listEntry", "listValue");
@@ -133,6 +151,22 @@ public class ModifiableDataTreeDelegatorTest extends ModificationBaseTest {
         assertEquals(nestedList, dataTree.takeSnapshot().readNode(NESTED_LIST_ID).get());
     }
 
+    @Test
+    public void testCommitInvokesAfterCommitActions() throws Exception {
+        final Runnable afterCommit = mock(Runnable.class);
+        doAnswer(invocation -> {
+            ((WriteContext) invocation.getArguments()[1]).afterCommit(afterCommit);
+            return null;
+        }).when(writer).update(any(WriterRegistry.DataObjectUpdates.class), any(WriteContext.class));
+
+        final DataModification dataModification = configDataTree.newModification();
+        dataModification.write(NESTED_LIST_ID, getNestedList("listEntry", "listValue"));
+        dataModification.validate();
+        dataModification.commit();
+
+        verify(afterCommit).run();
+    }
+
     private static DataObject mockDataObject(final String name, final Class<? extends DataObject> classToMock) {
         final DataObject dataBefore = mock(classToMock, name);
         doReturn(classToMock).when(dataBefore).getImplementedInterface();
@@ -199,6 +233,23 @@ public class ModifiableDataTreeDelegatorTest extends ModificationBaseTest {
 
     @Test
     public void testToBindingAware() throws Exception {
+        assertToBindingAware(biNodes ->
+                ModifiableDataTreeDelegator.toBindingAware(biNodes, new BindingIdentifierCache(serializer)));
+    }
+
+    @Test
+    public void testToBindingAwareParallel() throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertToBindingAware(biNodes -> ModifiableDataTreeDelegator
+                    .toBindingAware(biNodes, new BindingIdentifierCache(serializer), pool, 1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertToBindingAware(
+            final Function<Map<YangInstanceIdentifier, NormalizedNodeUpdate>, WriterRegistry.DataObjectUpdates> toBa) {
         when(serializer.fromNormalizedNode(any(YangInstanceIdentifier.class), eq(null))).thenReturn(null);
 
         final Map<YangInstanceIdentifier, NormalizedNodeUpdate> biNodes = new HashMap<>();
@@ -228,8 +279,7 @@ public class ModifiableDataTreeDelegatorTest extends ModificationBaseTest {
         final DataObject3 do3A = mockDataObject(yid3, iid3, nn3A, DataObject3.class);;
         biNodes.put(yid3, NormalizedNodeUpdate.create(yid3, nn3B, nn3A));
 
-        final WriterRegistry.DataObjectUpdates dataObjectUpdates =
-                ModifiableDataTreeDelegator.toBindingAware(biNodes, serializer);
+        final WriterRegistry.DataObjectUpdates dataObjectUpdates = toBa.apply(biNodes);
 
         assertThat(dataObjectUpdates.getDeletes().size(), is(1));
         assertThat(dataObjectUpdates.getDeletes().keySet(), hasItem(((InstanceIdentifier<?>) iid1)));
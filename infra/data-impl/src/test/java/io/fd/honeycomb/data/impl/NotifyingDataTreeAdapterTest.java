@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class NotifyingDataTreeAdapterTest extends ModificationBaseTest {
+
+    private NotifyingDataTreeAdapter dataTree;
+    private YangInstanceIdentifier topContainerId;
+    private YangInstanceIdentifier stringLeafId;
+    private YangInstanceIdentifier presenceId;
+
+    @Before
+    public void setUp() throws Exception {
+        // notifications are dispatched on the committing thread
+        dataTree = NotifyingDataTreeAdapter.createSynchronous(getDataTree(), LogicalDatastoreType.CONFIGURATION);
+        topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        stringLeafId = topContainerId.node(STRING_LEAF_QNAME);
+        presenceId = YangInstanceIdentifier.of(PRESENCE_CONTAINER_QNAME);
+    }
+
+    @Test
+    public void testNotifyMatchingSubtrees() throws Exception {
+        final DOMDataTreeChangeListener topContainerListener = register(topContainerId);
+        final DOMDataTreeChangeListener stringLeafListener = register(stringLeafId);
+        final DOMDataTreeChangeListener presenceListener = register(presenceId);
+
+        addNodeToTree(dataTree, getTopContainer("value"), topContainerId);
+
+        final DataTreeCandidate topContainerCandidate = getCandidate(topContainerListener);
+        assertEquals(topContainerId, topContainerCandidate.getRootPath());
+        assertEquals(ModificationType.WRITE, topContainerCandidate.getRootNode().getModificationType());
+        assertEquals(getTopContainer("value"), topContainerCandidate.getRootNode().getDataAfter().get());
+
+        final DataTreeCandidate stringLeafCandidate = getCandidate(stringLeafListener);
+        assertEquals(stringLeafId, stringLeafCandidate.getRootPath());
+        assertEquals(ImmutableNodes.leafNode(STRING_LEAF_QNAME, "value"),
+                stringLeafCandidate.getRootNode().getDataAfter().get());
+
+        verify(presenceListener, never()).onDataTreeChanged(any());
+    }
+
+    @Test
+    public void testInitialData() throws Exception {
+        addNodeToTree(dataTree, getTopContainer("initial"), topContainerId);
+
+        final DOMDataTreeChangeListener listener = register(topContainerId);
+        final DataTreeCandidate candidate = getCandidate(listener);
+        assertEquals(topContainerId, candidate.getRootPath());
+        assertEquals(getTopContainer("initial"), candidate.getRootNode().getDataAfter().get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWildcardedList() throws Exception {
+        addNodeToTree(dataTree, Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER_QNAME))
+                .withChild(getNestedList("first", "text"))
+                .build(), topContainerId);
+
+        // all the entries of nested-list
+        final YangInstanceIdentifier wildcardId =
+                NESTED_LIST_ID.node(new YangInstanceIdentifier.NodeIdentifier(NESTED_LIST_QNAME));
+        final DOMDataTreeChangeListener listener = register(wildcardId);
+        final DataTreeCandidate initial = getCandidate(listener);
+        assertEquals(NESTED_LIST_ID.node(getNestedListEntry("first", "text").getIdentifier()), initial.getRootPath());
+        assertEquals(getNestedListEntry("first", "text"), initial.getRootNode().getDataAfter().get());
+
+        final MapEntryNode second = getNestedListEntry("second", "text");
+        addNodeToTree(dataTree, second, NESTED_LIST_ID.node(second.getIdentifier()));
+
+        final ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener, times(2)).onDataTreeChanged(captor.capture());
+        final DataTreeCandidate candidate = (DataTreeCandidate) captor.getValue().iterator().next();
+        assertEquals(NESTED_LIST_ID.node(second.getIdentifier()), candidate.getRootPath());
+        assertEquals(ModificationType.WRITE, candidate.getRootNode().getModificationType());
+        assertEquals(second, candidate.getRootNode().getDataAfter().get());
+    }
+
+    @Test
+    public void testClosedRegistration() throws Exception {
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        final ListenerRegistration<DOMDataTreeChangeListener> registration = dataTree.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, topContainerId), listener);
+        registration.close();
+
+        addNodeToTree(dataTree, getTopContainer("value"), topContainerId);
+        verify(listener, never()).onDataTreeChanged(any());
+    }
+
+    @Test
+    public void testRegistrationClosedByListener() throws Exception {
+        // two of them, so that the registrations are modified while being iterated regardless of their order
+        final DOMDataTreeChangeListener firstClosingListener = registerClosing(topContainerId);
+        final DOMDataTreeChangeListener secondClosingListener = registerClosing(topContainerId);
+        final DOMDataTreeChangeListener stringLeafListener = register(stringLeafId);
+        final DOMDataTreeChangeListener presenceListener = register(presenceId);
+
+        addNodeToTree(dataTree, getTopContainer("first"), topContainerId);
+        addNodeToTree(dataTree, getTopContainer("second"), topContainerId);
+
+        verify(firstClosingListener).onDataTreeChanged(any());
+        verify(secondClosingListener).onDataTreeChanged(any());
+        verify(stringLeafListener, times(2)).onDataTreeChanged(any());
+        verify(presenceListener, never()).onDataTreeChanged(any());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedDatastore() throws Exception {
+        dataTree.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.OPERATIONAL, topContainerId),
+                mock(DOMDataTreeChangeListener.class));
+    }
+
+    private DOMDataTreeChangeListener register(final YangInstanceIdentifier path) {
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        dataTree.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, path), listener);
+        return listener;
+    }
+
+    private DOMDataTreeChangeListener registerClosing(final YangInstanceIdentifier path) {
+        final AtomicReference<ListenerRegistration<?>> registration = new AtomicReference<>();
+        final DOMDataTreeChangeListener listener = mock(DOMDataTreeChangeListener.class);
+        doAnswer(invocation -> {
+            registration.get().close();
+            return null;
+        }).when(listener).onDataTreeChanged(any());
+        registration.set(dataTree.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, path), listener));
+        return listener;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataTreeCandidate getCandidate(final DOMDataTreeChangeListener listener) {
+        final ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(listener).onDataTreeChanged(captor.capture());
+        final Collection<DataTreeCandidate> candidates = captor.getValue();
+        assertEquals(1, candidates.size());
+        return candidates.iterator().next();
+    }
+}
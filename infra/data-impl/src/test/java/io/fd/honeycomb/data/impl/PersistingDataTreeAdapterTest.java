@@ -16,9 +16,13 @@
 
 package io.fd.honeycomb.data.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -28,18 +32,29 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.util.JmxUtils;
+import io.fd.honeycomb.translate.util.persist.DataJournal;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 
 public class PersistingDataTreeAdapterTest {
@@ -51,7 +66,9 @@ public class PersistingDataTreeAdapterTest {
     @Mock
     private DataTreeSnapshot snapshot;
     @Mock
-    private PersistingDataTreeAdapter.JsonPersister persister;
+    private PersistingDataTreeAdapter.DataPersister persister;
+    @Mock
+    private PersistingDataTreeAdapter.JournalPersister journalPersister;
 
     private Path tmpPersistFile;
 
@@ -90,6 +107,219 @@ public class PersistingDataTreeAdapterTest {
         verify(persister).persistCurrentData(any(Optional.class));
     }
 
+    @Test
+    public void testJournal() throws Exception {
+        persistingDataTreeAdapter = new PersistingDataTreeAdapter(delegatingDataTree, persister, journalPersister, null);
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(journalPersister.tryAppend(candidate)).thenReturn(true);
+        persistingDataTreeAdapter.commit(candidate);
+        verify(delegatingDataTree).commit(candidate);
+        verify(journalPersister).tryAppend(candidate);
+        verify(persister, times(0)).persistCurrentData(any(Optional.class));
+        verify(journalPersister, times(0)).reset(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testJournalCompaction() throws Exception {
+        persistingDataTreeAdapter = new PersistingDataTreeAdapter(delegatingDataTree, persister, journalPersister, null);
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(journalPersister.tryAppend(candidate)).thenReturn(false);
+        when(snapshot.readNode(any())).thenReturn(Optional.absent());
+        when(persister.getPersistedSize()).thenReturn(10L);
+        when(persister.getPersistedChecksum()).thenReturn(42L);
+        persistingDataTreeAdapter.commit(candidate);
+        verify(persister).persistCurrentData(any(Optional.class));
+        // stamp computed while persisting is reused, persisted file is not scanned again
+        verify(journalPersister).reset(10L, 42L);
+    }
+
+    @Test
+    public void testJournalPersisterThreshold() throws Exception {
+        final DataJournal journal = DataJournal.forSnapshot(tmpPersistFile);
+        final PersistingDataTreeAdapter.JournalPersister journalPersister =
+                new PersistingDataTreeAdapter.JournalPersister(journal, 2);
+        final DataTreeCandidateNode rootNode = mock(DataTreeCandidateNode.class);
+        when(rootNode.getModificationType()).thenReturn(ModificationType.SUBTREE_MODIFIED);
+        when(rootNode.getChildNodes()).thenReturn(Collections.emptyList());
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(candidate.getRootPath()).thenReturn(YangInstanceIdentifier.EMPTY);
+        when(candidate.getRootNode()).thenReturn(rootNode);
+
+        // First commit is always compacted
+        assertFalse(journalPersister.tryAppend(candidate));
+        journalPersister.reset();
+        assertTrue(journalPersister.tryAppend(candidate));
+        assertTrue(journalPersister.tryAppend(candidate));
+        assertFalse(journalPersister.tryAppend(candidate));
+    }
+
+    @Test
+    public void testJournalPersisterUnsupportedData() throws Exception {
+        final DataJournal journal = DataJournal.forSnapshot(tmpPersistFile);
+        final PersistingDataTreeAdapter.JournalPersister journalPersister =
+                new PersistingDataTreeAdapter.JournalPersister(journal, 10);
+        journalPersister.reset();
+        final long journalSize = Files.size(journal.getPath());
+
+        final QName leafName = QName.create("namespace", "leaf");
+        final DataTreeCandidateNode rootNode = mock(DataTreeCandidateNode.class);
+        when(rootNode.getModificationType()).thenReturn(ModificationType.WRITE);
+        // value of a type unknown to the binary codec
+        when(rootNode.getDataAfter())
+                .thenReturn(Optional.<NormalizedNode<?, ?>>of(ImmutableNodes.leafNode(leafName, new Object())));
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(candidate.getRootPath()).thenReturn(YangInstanceIdentifier.of(leafName));
+        when(candidate.getRootNode()).thenReturn(rootNode);
+
+        // Full data are persisted instead, journal is left untouched
+        assertFalse(journalPersister.tryAppend(candidate));
+        assertEquals(journalSize, Files.size(journal.getPath()));
+    }
+
+    @Test
+    public void testAsyncPersist() throws Exception {
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 10);
+        persistingDataTreeAdapter = new PersistingDataTreeAdapter(delegatingDataTree, persister, null, asyncPersister);
+        when(snapshot.readNode(any())).thenReturn(Optional.absent());
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        persistingDataTreeAdapter.commit(candidate);
+        verify(delegatingDataTree).commit(candidate);
+
+        persistingDataTreeAdapter.close();
+        verify(persister).persistCurrentData(any(Optional.class));
+        assertEquals(0, persistingDataTreeAdapter.getPersistQueueDepth());
+        assertEquals(1, asyncPersister.getPersistedSnapshots());
+    }
+
+    @Test
+    public void testAsyncPersistCoalescing() throws Exception {
+        final CountDownLatch persisting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            persisting.countDown();
+            release.await();
+            return null;
+        }).when(persister).persistCurrentData(any(Optional.class));
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 10);
+
+        final DataTreeSnapshot first = mock(DataTreeSnapshot.class);
+        when(first.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> first);
+        // Writer is blocked persisting first snapshot, the rest queues up
+        persisting.await();
+        final DataTreeSnapshot second = mock(DataTreeSnapshot.class);
+        final DataTreeSnapshot third = mock(DataTreeSnapshot.class);
+        when(third.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> second);
+        asyncPersister.enqueue(() -> third);
+        assertEquals(2, asyncPersister.getQueueDepth());
+
+        release.countDown();
+        asyncPersister.close();
+        verify(first).readNode(YangInstanceIdentifier.EMPTY);
+        verify(second, times(0)).readNode(any());
+        verify(third).readNode(YangInstanceIdentifier.EMPTY);
+        assertEquals(2, asyncPersister.getPersistedSnapshots());
+        assertEquals(1, asyncPersister.getCoalescedSnapshots());
+    }
+
+    @Test
+    public void testAsyncPersistStatisticsOverJmx() throws Exception {
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 10);
+        persistingDataTreeAdapter = new PersistingDataTreeAdapter(delegatingDataTree, persister, null, asyncPersister);
+        when(snapshot.readNode(any())).thenReturn(Optional.absent());
+        persistingDataTreeAdapter.commit(mock(DataTreeCandidate.class));
+        persistingDataTreeAdapter.close();
+
+        final String name = tmpPersistFile.toString();
+        final ObjectName objectName = JmxUtils.registerMXBean(persistingDataTreeAdapter,
+                PersistingDataTreeAdapter.class.getSimpleName(), name);
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(0, server.getAttribute(objectName, "PersistQueueDepth"));
+            assertEquals(1L, server.getAttribute(objectName, "PersistedSnapshots"));
+            assertEquals(0L, server.getAttribute(objectName, "CoalescedSnapshots"));
+        } finally {
+            JmxUtils.unregisterMXBean(PersistingDataTreeAdapter.class.getSimpleName(), name);
+        }
+    }
+
+    @Test
+    public void testAsyncPersistQueueFull() throws Exception {
+        final CountDownLatch persisting = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            persisting.countDown();
+            release.await();
+            return null;
+        }).when(persister).persistCurrentData(any(Optional.class));
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 1);
+
+        final DataTreeSnapshot first = mock(DataTreeSnapshot.class);
+        when(first.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> first);
+        persisting.await();
+        // Writer is blocked, but enqueue does not wait for it. Older pending snapshot is dropped instead
+        final DataTreeSnapshot second = mock(DataTreeSnapshot.class);
+        final DataTreeSnapshot third = mock(DataTreeSnapshot.class);
+        when(third.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> second);
+        asyncPersister.enqueue(() -> third);
+        assertEquals(1, asyncPersister.getQueueDepth());
+        assertEquals(1, asyncPersister.getCoalescedSnapshots());
+
+        release.countDown();
+        asyncPersister.close();
+        verify(second, times(0)).readNode(any());
+        verify(third).readNode(YangInstanceIdentifier.EMPTY);
+        assertEquals(2, asyncPersister.getPersistedSnapshots());
+    }
+
+    @Test
+    public void testAsyncPersistWriterRestarted() throws Exception {
+        final CountDownLatch persisting = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            persisting.countDown();
+            // Kills the persisting thread
+            throw new Error("testing errors");
+        }).doNothing().when(persister).persistCurrentData(any(Optional.class));
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 10);
+
+        final DataTreeSnapshot first = mock(DataTreeSnapshot.class);
+        when(first.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> first);
+        persisting.await();
+        final DataTreeSnapshot second = mock(DataTreeSnapshot.class);
+        when(second.readNode(any())).thenReturn(Optional.absent());
+        asyncPersister.enqueue(() -> second);
+
+        // Data left by the dead thread are flushed by a new one
+        asyncPersister.close();
+        verify(second).readNode(YangInstanceIdentifier.EMPTY);
+        assertEquals(0, asyncPersister.getQueueDepth());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAsyncPersistAfterClose() throws Exception {
+        final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                new PersistingDataTreeAdapter.AsyncPersister(persister, 10);
+        asyncPersister.close();
+        asyncPersister.enqueue(() -> snapshot);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsyncAndJournalNotCombined() throws Exception {
+        try (final PersistingDataTreeAdapter.AsyncPersister asyncPersister =
+                     new PersistingDataTreeAdapter.AsyncPersister(persister, 10)) {
+            new PersistingDataTreeAdapter(delegatingDataTree, persister, journalPersister, asyncPersister);
+        }
+    }
+
     @Test
     public void testTakeSnapshot() throws Exception {
         persistingDataTreeAdapter.takeSnapshot();
@@ -123,20 +353,20 @@ public class PersistingDataTreeAdapterTest {
     @Test(expected = IllegalStateException.class)
     public void testPersistFailure() throws Exception {
         doThrow(IOException.class).when(schemaService).getGlobalContext();
-        final PersistingDataTreeAdapter.JsonPersister jsonPersister =
-                new PersistingDataTreeAdapter.JsonPersister(tmpPersistFile, schemaService);
+        final PersistingDataTreeAdapter.DataPersister dataPersister =
+                new PersistingDataTreeAdapter.DataPersister(tmpPersistFile, schemaService);
         // Nothing
-        jsonPersister.persistCurrentData(Optional.absent());
+        dataPersister.persistCurrentData(Optional.absent());
         // Exception
-        jsonPersister.persistCurrentData(Optional.of(ImmutableNodes.leafNode(QName.create("namespace", "leaf"), "value")));
+        dataPersister.persistCurrentData(Optional.of(ImmutableNodes.leafNode(QName.create("namespace", "leaf"), "value")));
     }
 
     @Test
     public void testPersisterCreateFile() throws Exception {
         // Delete to test file creation
         Files.delete(tmpPersistFile);
-        final PersistingDataTreeAdapter.JsonPersister jsonPersister =
-                new PersistingDataTreeAdapter.JsonPersister(tmpPersistFile, schemaService);
+        final PersistingDataTreeAdapter.DataPersister dataPersister =
+                new PersistingDataTreeAdapter.DataPersister(tmpPersistFile, schemaService);
         assertTrue(Files.exists(tmpPersistFile));
    }
 }
\ No newline at end of file
@@ -61,6 +61,12 @@ public class ReadOnlyTransactionTest {
         verify(operationalData).read(path);
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testReadAfterClose() {
+        readOnlyTx.close();
+        readOnlyTx.read(LogicalDatastoreType.CONFIGURATION, mock(YangInstanceIdentifier.class));
+    }
+
     @Test
     public void testGetIdentifier() {
         assertNotNull(readOnlyTx.getIdentifier());
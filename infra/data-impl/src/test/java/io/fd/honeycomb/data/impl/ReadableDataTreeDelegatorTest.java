@@ -23,10 +23,13 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -39,9 +42,15 @@ import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
@@ -49,6 +58,7 @@ import org.mockito.Mock;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadOnlyTransaction;
 import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
@@ -59,8 +69,13 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -94,7 +109,8 @@ public class ReadableDataTreeDelegatorTest {
     @Before
     public void setUp() {
         initMocks(this);
-        operationalData = new ReadableDataTreeDelegator(serializer, globalContext, reader, contextBroker);
+        operationalData = new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                globalContext, reader, contextBroker);
         doReturn(schemaNode).when(globalContext).getDataChildByName(any(QName.class));
 
         doReturn(domDataReadOnlyTransaction).when(netconfMonitoringBroker).newReadOnlyTransaction();
@@ -147,6 +163,93 @@ public class ReadableDataTreeDelegatorTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    public void testReadWithoutContextUpdate() throws Exception {
+        final YangInstanceIdentifier yangId = mock(YangInstanceIdentifier.class);
+        doReturn(id).when(serializer).fromYangInstanceIdentifier(yangId);
+        doReturn(Optional.absent()).when(reader).read(same(id), any(ReadContext.class));
+
+        operationalData.read(yangId).checkedGet();
+
+        // nothing was written into mapping context, so there is nothing to commit
+        verify(contextBroker, never()).newReadWriteTransaction();
+    }
+
+    @Test
+    public void testReadNodeWithExecutor() throws Exception {
+        final BoundedReadExecutor readExecutor = new BoundedReadExecutor(1, 1, 5, TimeUnit.SECONDS);
+        try {
+            operationalData = new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer), globalContext,
+                    reader, contextBroker, readExecutor);
+            final YangInstanceIdentifier yangId = mock(YangInstanceIdentifier.class);
+            doReturn(id).when(serializer).fromYangInstanceIdentifier(yangId);
+            doReturn(Optional.absent()).when(reader).read(same(id), any(ReadContext.class));
+
+            final Optional<NormalizedNode<?, ?>> result = operationalData.read(yangId).checkedGet();
+            verify(reader).read(same(id), any(ReadContext.class));
+            assertFalse(result.isPresent());
+        } finally {
+            readExecutor.close();
+        }
+    }
+
+    @Test
+    public void testStreamNodeWithExecutorTimeout() throws Exception {
+        final BoundedReadExecutor readExecutor = new BoundedReadExecutor(1, 1, 100, TimeUnit.MILLISECONDS);
+        try {
+            operationalData = new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer), globalContext,
+                    reader, contextBroker, readExecutor);
+            final YangInstanceIdentifier yangId = mock(YangInstanceIdentifier.class);
+            doReturn(id).when(serializer).fromYangInstanceIdentifier(yangId);
+            final CountDownLatch release = new CountDownLatch(1);
+            doAnswer(invocation -> {
+                try {
+                    // released only by the interrupt after deadline
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.absent();
+            }).when(reader).read(same(id), any(ReadContext.class));
+            final NormalizedNodeStreamWriter writer = mock(NormalizedNodeStreamWriter.class);
+
+            try {
+                operationalData.read(yangId, writer);
+                fail("Streamed read should have timed out");
+            } catch (ReadFailedException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            verify(reader).read(same(id), any(ReadContext.class));
+            verifyZeroInteractions(writer);
+        } finally {
+            readExecutor.close();
+        }
+    }
+
+    @Test
+    public void testReadContextUpdateFailed() throws Exception {
+        final org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction ctxTransaction = mock(
+            org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction.class);
+        doReturn(ctxTransaction).when(contextBroker).newReadWriteTransaction();
+        doReturn(Futures.immediateFailedCheckedFuture(new TransactionCommitFailedException("failed")))
+            .when(ctxTransaction).submit();
+        final YangInstanceIdentifier yangId = mock(YangInstanceIdentifier.class);
+        doReturn(id).when(serializer).fromYangInstanceIdentifier(yangId);
+        // reader updates the mapping context
+        doAnswer(invocation -> {
+            ((ReadContext) invocation.getArguments()[1]).getMappingContext().delete(id);
+            return Optional.absent();
+        }).when(reader).read(same(id), any(ReadContext.class));
+
+        try {
+            operationalData.read(yangId).checkedGet();
+        } catch (ReadFailedException e) {
+            assertTrue(e.getCause() instanceof TransactionCommitFailedException);
+            return;
+        }
+        fail("ReadFailedException was expected");
+    }
+
     @Test
     public void testReadFailed() throws Exception {
         doThrow(io.fd.honeycomb.translate.read.ReadFailedException.class).when(reader).readAll(any(ReadContext.class));
@@ -197,6 +300,42 @@ public class ReadableDataTreeDelegatorTest {
         assertEquals(vppStateContainer, Iterables.getOnlyElement(rootNode.getValue()));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamRootList() throws Exception {
+        // Prepare data
+        final QName nodeQName = QName.create("namespace", "node");
+        final QName keyQName = QName.create("namespace", "key");
+        final InstanceIdentifier<DataObject> listII = InstanceIdentifier.create(DataObject.class);
+        final List<DataObject> entries = Lists.newArrayList(mock(DataObject.class), mock(DataObject.class));
+        doAnswer(invocation -> {
+            final BiConsumer<InstanceIdentifier<?>, DataObject> consumer =
+                    (BiConsumer<InstanceIdentifier<?>, DataObject>) invocation.getArguments()[1];
+            entries.forEach(entry -> consumer.accept(listII, entry));
+            return null;
+        }).when(reader).readAll(any(ReadContext.class), any(BiConsumer.class));
+
+        // Init serializer and schema
+        when(serializer.toYangInstanceIdentifier(listII)).thenReturn(YangInstanceIdentifier.of(nodeQName));
+        final MapEntryNode entry1 = ImmutableNodes.mapEntry(nodeQName, keyQName, "one");
+        final MapEntryNode entry2 = ImmutableNodes.mapEntry(nodeQName, keyQName, "two");
+        when(serializer.toNormalizedNode(listII, entries.get(0))).thenReturn(new SimpleEntry<>(null, entry1));
+        when(serializer.toNormalizedNode(listII, entries.get(1))).thenReturn(new SimpleEntry<>(null, entry2));
+        final ListSchemaNode listSchema = mock(ListSchemaNode.class);
+        doReturn(Collections.singletonList(keyQName)).when(listSchema).getKeyDefinition();
+        doReturn(nodeQName).when(listSchema).getQName();
+        doReturn(listSchema).when(globalContext).getDataChildByName(nodeQName);
+
+        // Stream root
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        operationalData.read(YangInstanceIdentifier.EMPTY, ImmutableNormalizedNodeStreamWriter.from(result));
+
+        // Check the result is an ContainerNode with the list
+        final ContainerNode rootNode = (ContainerNode) result.getResult();
+        assertEquals(SchemaContext.NAME, rootNode.getIdentifier().getNodeType());
+        final MapNode listNode = (MapNode) Iterables.getOnlyElement(rootNode.getValue());
+        assertEquals(Lists.newArrayList(entry1, entry2), Lists.newArrayList(listNode.getValue()));
+    }
 
     @Test
     public void testWrapMixin() throws Exception {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.testing.GcFinalization;
+import java.lang.ref.WeakReference;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchema;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class SchemaIndexTest extends ModificationBaseTest {
+
+    private SchemaContext ctx;
+    private SchemaIndex index;
+    private ContainerSchemaNode topContainer;
+    private ContainerSchemaNode nestedContainer;
+
+    @Before
+    public void setUp() throws Exception {
+        ctx = getSchemaCtx();
+        index = new SchemaIndex();
+        topContainer = (ContainerSchemaNode) ctx.getDataChildByName(TOP_CONTAINER_QNAME);
+        nestedContainer = (ContainerSchemaNode) topContainer.getDataChildByName(NESTED_CONTAINER_QNAME);
+    }
+
+    @Test
+    public void testSharedPerContext() throws Exception {
+        assertSame(SchemaIndex.forContext(ctx), SchemaIndex.forContext(ctx));
+        assertNotSame(SchemaIndex.forContext(ctx), SchemaIndex.forContext(getSchemaCtx()));
+    }
+
+    @Test
+    public void testDataChild() {
+        final YangInstanceIdentifier.NodeIdentifier nestedId =
+                new YangInstanceIdentifier.NodeIdentifier(NESTED_CONTAINER_QNAME);
+        assertSame(nestedContainer, index.getDataChild(topContainer, nestedId));
+        // second lookup served from the index
+        assertSame(nestedContainer, index.getDataChild(topContainer, nestedId));
+        assertNull(index.getDataChild(topContainer, new YangInstanceIdentifier.NodeIdentifier(AUG_LEAF)));
+    }
+
+    @Test
+    public void testDataChildInChoice() {
+        final DataNodeContainer withChoice = (DataNodeContainer) ctx.getDataChildByName(WITH_CHOICE_CONTAINER_QNAME);
+        final Object choice = withChoice.getDataChildByName(CHOICE_QNAME);
+        assertEquals(IN_CASE1_LEAF_QNAME,
+                index.getDataChild(choice, new YangInstanceIdentifier.NodeIdentifier(IN_CASE1_LEAF_QNAME)).getQName());
+    }
+
+    @Test
+    public void testAugmentation() {
+        final AugmentationSchema augmentation = nestedContainer.getAvailableAugmentations().iterator().next();
+        final YangInstanceIdentifier.AugmentationIdentifier augId = augmentationIdentifier(augmentation);
+
+        assertSame(augmentation, index.getAugmentation(nestedContainer, augId));
+        assertSame(augmentation, index.getAugmentation(nestedContainer, augId));
+        assertNull(index.getAugmentation(topContainer, augId));
+    }
+
+    @Test
+    public void testNestedAugmentation() {
+        final ContainerSchemaNode augContainer =
+                (ContainerSchemaNode) nestedContainer.getDataChildByName(AUG_CONTAINER);
+        final AugmentationSchema nestedAugmentation = augContainer.getAvailableAugmentations().iterator().next();
+        final YangInstanceIdentifier.AugmentationIdentifier augId = augmentationIdentifier(nestedAugmentation);
+
+        // found by walking down the schema from the top container
+        assertSame(nestedAugmentation, index.findAugmentation(topContainer, augId));
+        assertSame(nestedAugmentation, index.findAugmentation(topContainer, augId));
+        assertNull(index.findAugmentation(ctx.getDataChildByName(WITH_CHOICE_CONTAINER_QNAME), augId));
+        assertNull(index.findAugmentation(null, augId));
+    }
+
+    @Test
+    public void testDataSchemaNode() {
+        assertSame(nestedContainer,
+                index.findDataSchemaNode(ctx, SchemaPath.create(true, TOP_CONTAINER_QNAME, NESTED_CONTAINER_QNAME)));
+        assertNull(index.findDataSchemaNode(ctx, SchemaPath.create(true, TOP_CONTAINER_QNAME, AUG_LEAF)));
+    }
+
+    @Test
+    public void testContextNotRetainedByIndex() throws Exception {
+        GcFinalization.awaitClear(indexedContext());
+    }
+
+    /**
+     * Create context, fill its shared index (including lookups on the context itself, as done for root
+     * modifications) and return just a weak reference to the context.
+     */
+    private WeakReference<SchemaContext> indexedContext() throws Exception {
+        final SchemaContext otherCtx = getSchemaCtx();
+        final SchemaIndex otherIndex = SchemaIndex.forContext(otherCtx);
+        final ContainerSchemaNode otherTop = (ContainerSchemaNode) otherCtx.getDataChildByName(TOP_CONTAINER_QNAME);
+        assertSame(otherTop,
+                otherIndex.getDataChild(otherCtx, new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER_QNAME)));
+        final ContainerSchemaNode otherNested = (ContainerSchemaNode) otherIndex.getDataChild(otherTop,
+                new YangInstanceIdentifier.NodeIdentifier(NESTED_CONTAINER_QNAME));
+        final ContainerSchemaNode augContainer =
+                (ContainerSchemaNode) otherNested.getDataChildByName(AUG_CONTAINER);
+        final AugmentationSchema nestedAugmentation = augContainer.getAvailableAugmentations().iterator().next();
+        assertSame(nestedAugmentation,
+                otherIndex.findAugmentation(otherCtx, augmentationIdentifier(nestedAugmentation)));
+        assertNotNull(otherIndex.findDataSchemaNode(otherCtx, SchemaPath.create(true, TOP_CONTAINER_QNAME)));
+        return new WeakReference<>(otherCtx);
+    }
+
+    private static YangInstanceIdentifier.AugmentationIdentifier augmentationIdentifier(
+            final AugmentationSchema augmentation) {
+        return new YangInstanceIdentifier.AugmentationIdentifier(augmentation.getChildNodes().stream()
+                .map(SchemaNode::getQName)
+                .collect(Collectors.toSet()));
+    }
+}
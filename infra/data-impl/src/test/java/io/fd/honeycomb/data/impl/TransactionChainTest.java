@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.fd.honeycomb.data.DataModification;
+import io.fd.honeycomb.translate.TranslationException;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+public class TransactionChainTest extends ModificationBaseTest {
+
+    @Mock
+    private TransactionChainListener listener;
+    private DataTree dataTree;
+    private YangInstanceIdentifier topContainerId;
+    private YangInstanceIdentifier presenceId;
+    private NormalizedNode<?, ?> presence;
+    private CountDownLatch failureLatch;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        dataTree = getDataTree();
+        topContainerId = YangInstanceIdentifier.of(TOP_CONTAINER_QNAME);
+        presenceId = YangInstanceIdentifier.of(PRESENCE_CONTAINER_QNAME);
+        presence = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(PRESENCE_CONTAINER_QNAME))
+                .build();
+        failureLatch = new CountDownLatch(1);
+    }
+
+    @Test
+    public void testChainedTransactions() throws Exception {
+        final DOMTransactionChain chain =
+                DataBroker.create(new ModifiableDataTreeManager(dataTree)).createTransactionChain(listener);
+
+        final DOMDataWriteTransaction first = chain.newWriteOnlyTransaction();
+        first.put(LogicalDatastoreType.OPERATIONAL, topContainerId, getTopContainer("first"));
+        final CheckedFuture<Void, TransactionCommitFailedException> firstResult = first.submit();
+
+        // second transaction sees changes of the first one, even if it is not committed yet
+        final DOMDataReadWriteTransaction second = chain.newReadWriteTransaction();
+        assertEquals(getTopContainer("first"),
+                second.read(LogicalDatastoreType.OPERATIONAL, topContainerId).checkedGet().get());
+        second.put(LogicalDatastoreType.OPERATIONAL, presenceId, presence);
+        final CheckedFuture<Void, TransactionCommitFailedException> secondResult = second.submit();
+
+        firstResult.checkedGet();
+        secondResult.checkedGet();
+        assertEquals(getTopContainer("first"), dataTree.takeSnapshot().readNode(topContainerId).get());
+        assertEquals(presence, dataTree.takeSnapshot().readNode(presenceId).get());
+
+        chain.close();
+        verify(listener, timeout(5000)).onTransactionChainSuccessful(chain);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSingleOpenTransaction() throws Exception {
+        final DOMTransactionChain chain =
+                DataBroker.create(new ModifiableDataTreeManager(dataTree)).createTransactionChain(listener);
+        chain.newWriteOnlyTransaction();
+        chain.newWriteOnlyTransaction();
+    }
+
+    @Test
+    public void testCancelledTransaction() throws Exception {
+        final DOMTransactionChain chain =
+                DataBroker.create(new ModifiableDataTreeManager(dataTree)).createTransactionChain(listener);
+        final DOMDataWriteTransaction cancelled = chain.newWriteOnlyTransaction();
+        cancelled.put(LogicalDatastoreType.OPERATIONAL, presenceId, presence);
+        assertTrue(cancelled.cancel());
+
+        final DOMDataWriteTransaction next = chain.newWriteOnlyTransaction();
+        next.put(LogicalDatastoreType.OPERATIONAL, topContainerId, getTopContainer("next"));
+        next.submit().checkedGet();
+        assertFalse(dataTree.takeSnapshot().readNode(presenceId).isPresent());
+    }
+
+    @Test
+    public void testFailedTransaction() throws Exception {
+        final DOMTransactionChain chain =
+                DataBroker.create(new FailingManager(dataTree)).createTransactionChain(listener);
+
+        final DOMDataWriteTransaction first = chain.newWriteOnlyTransaction();
+        first.put(LogicalDatastoreType.OPERATIONAL, topContainerId, getTopContainer("first"));
+        final CheckedFuture<Void, TransactionCommitFailedException> firstResult = first.submit();
+
+        final DOMDataWriteTransaction second = chain.newWriteOnlyTransaction();
+        second.put(LogicalDatastoreType.OPERATIONAL, presenceId, presence);
+        final CheckedFuture<Void, TransactionCommitFailedException> secondResult = second.submit();
+        failureLatch.countDown();
+
+        assertCommitFailed(firstResult);
+        // following transactions fail together with the failed one
+        assertCommitFailed(secondResult);
+        verify(listener, timeout(5000)).onTransactionChainFailed(eq(chain), eq(first), any(Throwable.class));
+        assertFalse(dataTree.takeSnapshot().readNode(presenceId).isPresent());
+    }
+
+    private static void assertCommitFailed(final CheckedFuture<Void, TransactionCommitFailedException> result) {
+        try {
+            result.checkedGet();
+            fail("Commit should have failed");
+        } catch (TransactionCommitFailedException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Fails every commit, once the failure latch is released.
+     */
+    private final class FailingManager extends ModifiableDataTreeManager {
+
+        private FailingManager(final DataTree dataTree) {
+            super(dataTree);
+        }
+
+        @Override
+        protected DataModification newModification(final DataTreeSnapshot base) {
+            return new ConfigSnapshot(base.newModification()) {
+                @Override
+                protected void processCandidate(final DataTreeCandidate candidate) throws TranslationException {
+                    Uninterruptibles.awaitUninterruptibly(failureLatch);
+                    throw new TranslationException("Failing on purpose");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.benchmark.data;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import io.fd.honeycomb.benchmark.util.FileManager;
+import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
+import io.fd.honeycomb.infra.distro.data.context.ContextPipelineModule;
+import io.fd.honeycomb.translate.util.TransactionMappingContext;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.SimpleContainer;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the overhead of mapping context used by a single operational read, that does not update any mapping.
+ * Compares context backed by eagerly created read-write transaction (submitted after each read) with lazily opened
+ * transactions.
+ */
+@Timeout(time = 20)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 2, time = 10)
+@Fork(2)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+public class MappingContextReadBenchmark extends AbstractModule implements FileManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappingContextReadBenchmark.class);
+    private static final InstanceIdentifier<SimpleContainer> MAPPING_ID = InstanceIdentifier.create(SimpleContainer.class);
+
+    @Param({"true", "false"})
+    private boolean lazy;
+
+    // Infra modules to load
+    private final Module[] modules = new Module[] {
+            new io.fd.honeycomb.infra.distro.schema.YangBindingProviderModule(),
+            new io.fd.honeycomb.infra.distro.schema.SchemaModule(),
+            new ContextPipelineModule(),
+            this};
+
+    private DataBroker contextBroker;
+    private long counter = 0;
+    private HoneycombConfiguration instance;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        LOG.info("Setting up");
+        Injector injector = Guice.createInjector(modules);
+        contextBroker = injector.getInstance(Key.get(DataBroker.class,
+                Names.named(ContextPipelineModule.HONEYCOMB_CONTEXT)));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        LOG.info("Tearing down after {} executions", counter);
+        counter = 0;
+        contextBroker = null;
+        deleteFile(Paths.get(instance.peristContextPath));
+    }
+
+    @Benchmark
+    public void read() {
+        // Same lifecycle as mapping context of ReadableDataTreeDelegator.read
+        try (final TransactionMappingContext mappingContext = lazy
+                ? new TransactionMappingContext(contextBroker)
+                : new TransactionMappingContext(contextBroker.newReadWriteTransaction())) {
+            mappingContext.read(MAPPING_ID);
+            mappingContext.submit().checkedGet();
+            counter++;
+        } catch (TransactionCommitFailedException e) {
+            throw new RuntimeException("Submit failed", e);
+        }
+    }
+
+    /**
+     * Inject custom modules e.g. configuration.
+     */
+    @Override
+    protected void configure() {
+        try {
+            instance = getHoneycombConfiguration();
+            bind(HoneycombConfiguration.class).toInstance(instance);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to prepare configuration", e);
+        }
+    }
+
+    private static HoneycombConfiguration getHoneycombConfiguration() throws IOException {
+        final HoneycombConfiguration instance = new HoneycombConfiguration();
+        // Persistence is triggered by commits, so it would favor the lazy context even more
+        instance.persistContext = Optional.of(Boolean.toString(false));
+        instance.peristContextPath = FileManager.INSTANCE.createTempFile("context").toString();
+        return instance;
+    }
+}
@@ -47,11 +47,13 @@ public final class BenchmarkOutputFormatter {
     ...
 
      */
-    private static final int SCORE_POSITION = 4;
-    private static final int DATA_TYPE_POSITION = 7;
-    private static final int DS_TYPE_POSITION = 8;
-    private static final int PERSISTENCE_POSITION = 10;
-    private static final int SUBMIT_FREQUENCY_POSITION = 11;
+    // Columns are referenced by name, since parameters of other benchmarks (e.g. ModificationDiffBenchmark) are
+    // also present in the file and their position depends on all the parameters
+    private static final String SCORE_COLUMN = "Score";
+    private static final String DATA_TYPE_COLUMN = "Param: data";
+    private static final String DS_TYPE_COLUMN = "Param: dsType";
+    private static final String PERSISTENCE_COLUMN = "Param: persistence";
+    private static final String SUBMIT_FREQUENCY_COLUMN = "Param: submitFrequency";
 
     private static final Logger LOG = LoggerFactory.getLogger(BenchmarkOutputFormatter.class);
 
@@ -70,7 +72,7 @@ public final class BenchmarkOutputFormatter {
         LOG.info("Preparing benchmarking plot data from: {}", args[0]);
 
         final Reader in = new InputStreamReader(new FileInputStream(csvFile), Charsets.UTF_8);
-        final List<CSVRecord> records = CSVFormat.RFC4180.parse(in).getRecords();
+        final List<CSVRecord> records = CSVFormat.RFC4180.withFirstRecordAsHeader().parse(in).getRecords();
         writeStatistics(processSimpleContainer(records), path, "simple-container.csv");
         writeStatistics(processListContainer(records), path, "list-in-container.csv");
         writeStatistics(processComplexListContainer(records), path, "complex-list-in-container.csv");
@@ -79,25 +81,25 @@ public final class BenchmarkOutputFormatter {
     }
 
     private static boolean isConfiguration(CSVRecord record) {
-        return LogicalDatastoreType.CONFIGURATION.toString().equals(record.get(DS_TYPE_POSITION));
+        return LogicalDatastoreType.CONFIGURATION.toString().equals(record.get(DS_TYPE_COLUMN));
     }
 
     private static List<DataEntry> processSimpleContainer(final List<CSVRecord> list) {
         return list.stream().filter(
-            record -> DataProvider.SIMPLE_CONTAINER.equals(record.get(DATA_TYPE_POSITION)) && isConfiguration(record))
+            record -> DataProvider.SIMPLE_CONTAINER.equals(record.get(DATA_TYPE_COLUMN)) && isConfiguration(record))
             .map(DataEntry::parseWriteData).collect(Collectors.toList());
     }
 
     private static List<DataEntry> processListContainer(final List<CSVRecord> list) {
         return list.stream().filter(
-            record -> DataProvider.LIST_IN_CONTAINER.equals(record.get(DATA_TYPE_POSITION)) && isConfiguration(record))
+            record -> DataProvider.LIST_IN_CONTAINER.equals(record.get(DATA_TYPE_COLUMN)) && isConfiguration(record))
             .map(DataEntry::parseWriteData)
             .collect(Collectors.toList());
     }
 
     private static List<DataEntry> processComplexListContainer(final List<CSVRecord> list) {
         return list.stream().filter(
-            record -> DataProvider.COMPLEX_LIST_IN_CONTAINER.equals(record.get(DATA_TYPE_POSITION))
+            record -> DataProvider.COMPLEX_LIST_IN_CONTAINER.equals(record.get(DATA_TYPE_COLUMN))
                 && isConfiguration(record))
             .map(DataEntry::parseWriteData)
             .collect(Collectors.toList());
@@ -105,7 +107,7 @@ public final class BenchmarkOutputFormatter {
 
     private static List<DataEntry> processReadStatistics(final List<CSVRecord> list) {
         return list.stream()
-            .filter(record -> LogicalDatastoreType.OPERATIONAL.toString().equals(record.get(DS_TYPE_POSITION)))
+            .filter(record -> LogicalDatastoreType.OPERATIONAL.toString().equals(record.get(DS_TYPE_COLUMN)))
             .map(DataEntry::parseReadData)
             .collect(Collectors.toList());
     }
@@ -147,15 +149,15 @@ public final class BenchmarkOutputFormatter {
 
         static DataEntry parseWriteData(final CSVRecord record) {
             return new DataEntry(
-                "persistence=" + record.get(PERSISTENCE_POSITION) + " freq=" + record.get(SUBMIT_FREQUENCY_POSITION),
-                record.get(SCORE_POSITION)
+                "persistence=" + record.get(PERSISTENCE_COLUMN) + " freq=" + record.get(SUBMIT_FREQUENCY_COLUMN),
+                record.get(SCORE_COLUMN)
             );
         }
 
         static DataEntry parseReadData(final CSVRecord record) {
             return new DataEntry(
-                record.get(DATA_TYPE_POSITION),
-                record.get(SCORE_POSITION)
+                record.get(DATA_TYPE_COLUMN),
+                record.get(SCORE_COLUMN)
             );
         }
     }
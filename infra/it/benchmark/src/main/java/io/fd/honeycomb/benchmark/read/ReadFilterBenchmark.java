@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.benchmark.read;
+
+import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.MappingContext;
+import io.fd.honeycomb.translate.ModificationCache;
+import io.fd.honeycomb.translate.impl.read.GenericListReader;
+import io.fd.honeycomb.translate.impl.read.GenericReader;
+import io.fd.honeycomb.translate.impl.read.registry.CompositeReaderRegistryBuilder;
+import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
+import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.spi.read.ListReaderCustomizer;
+import io.fd.honeycomb.translate.spi.read.ReaderCustomizer;
+import io.fd.honeycomb.translate.util.YangDAG;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInListBuilder;
+import org.opendaylight.yangtools.concepts.Builder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to read a list with many entries, each having a nested container, with and without a read filter
+ * excluding the nested containers.
+ */
+@Timeout(time = 20)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 2, time = 10)
+@Fork(2)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadFilterBenchmark {
+
+    private static final InstanceIdentifier<ContainerWithList> CONTAINER_ID =
+            InstanceIdentifier.create(ContainerWithList.class);
+    private static final InstanceIdentifier<ListInContainer> LIST_ID = CONTAINER_ID.child(ListInContainer.class);
+    private static final InstanceIdentifier<ContainerInList> NESTED_ID = LIST_ID.child(ContainerInList.class);
+
+    @Param({"1000", "10000"})
+    private int entries;
+
+    // NONE reads everything, DEPTH skips the nested containers
+    @Param({"NONE", "DEPTH"})
+    private String filter;
+
+    private ReaderRegistry registry;
+    private ReadFilter readFilter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<ListInContainerKey> keys = new ArrayList<>(entries);
+        for (long id = 0; id < entries; id++) {
+            keys.add(new ListInContainerKey(id));
+        }
+
+        final CompositeReaderRegistryBuilder builder = new CompositeReaderRegistryBuilder(new YangDAG());
+        builder.addStructuralReader(CONTAINER_ID, ContainerWithListBuilder.class);
+        builder.add(new GenericListReader<>(LIST_ID, new ListInContainerCustomizer(keys)));
+        builder.add(new GenericReader<>(NESTED_ID, new ContainerInListCustomizer()));
+        registry = builder.build();
+
+        readFilter = "DEPTH".equals(filter)
+                ? ReadFilter.depth(2)
+                : null;
+    }
+
+    @Benchmark
+    public Optional<? extends DataObject> read() throws ReadFailedException {
+        try (ReadContext ctx = new FilteredReadContext(readFilter)) {
+            return registry.read(CONTAINER_ID, ctx);
+        }
+    }
+
+    private static final class ListInContainerCustomizer
+            implements ListReaderCustomizer<ListInContainer, ListInContainerKey, ListInContainerBuilder> {
+
+        private final List<ListInContainerKey> keys;
+
+        private ListInContainerCustomizer(final List<ListInContainerKey> keys) {
+            this.keys = keys;
+        }
+
+        @Nonnull
+        @Override
+        public List<ListInContainerKey> getAllIds(@Nonnull final InstanceIdentifier<ListInContainer> id,
+                                                  @Nonnull final ReadContext context) {
+            return keys;
+        }
+
+        @Override
+        public void merge(@Nonnull final Builder<? extends DataObject> builder,
+                          @Nonnull final List<ListInContainer> readData) {
+            ((ContainerWithListBuilder) builder).setListInContainer(readData);
+        }
+
+        @Nonnull
+        @Override
+        public ListInContainerBuilder getBuilder(@Nonnull final InstanceIdentifier<ListInContainer> id) {
+            return new ListInContainerBuilder();
+        }
+
+        @Override
+        public void readCurrentAttributes(@Nonnull final InstanceIdentifier<ListInContainer> id,
+                                          @Nonnull final ListInContainerBuilder builder,
+                                          @Nonnull final ReadContext ctx) {
+            builder.setId(id.firstKeyOf(ListInContainer.class).getId());
+        }
+    }
+
+    private static final class ContainerInListCustomizer
+            implements ReaderCustomizer<ContainerInList, ContainerInListBuilder> {
+
+        @Nonnull
+        @Override
+        public ContainerInListBuilder getBuilder(@Nonnull final InstanceIdentifier<ContainerInList> id) {
+            return new ContainerInListBuilder();
+        }
+
+        @Override
+        public void readCurrentAttributes(@Nonnull final InstanceIdentifier<ContainerInList> id,
+                                          @Nonnull final ContainerInListBuilder builder,
+                                          @Nonnull final ReadContext ctx) {
+            builder.setName("nested container " + id.firstKeyOf(ListInContainer.class).getId());
+        }
+
+        @Override
+        public void merge(@Nonnull final Builder<? extends DataObject> parentBuilder,
+                          @Nonnull final ContainerInList readValue) {
+            ((ListInContainerBuilder) parentBuilder).setContainerInList(readValue);
+        }
+    }
+
+    private static final class FilteredReadContext implements ReadContext {
+
+        private final ModificationCache modificationCache = new ModificationCache();
+        @Nullable
+        private final ReadFilter filter;
+
+        private FilteredReadContext(@Nullable final ReadFilter filter) {
+            this.filter = filter;
+        }
+
+        @Nullable
+        @Override
+        public ReadFilter getReadFilter() {
+            return filter;
+        }
+
+        @Nonnull
+        @Override
+        public ModificationCache getModificationCache() {
+            return modificationCache;
+        }
+
+        @Nonnull
+        @Override
+        public MappingContext getMappingContext() {
+            throw new UnsupportedOperationException("Mapping context is not used by benchmark readers");
+        }
+
+        @Override
+        public void close() {
+            modificationCache.close();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.data.impl;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.mdsal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.$YangModuleInfoImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInList;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to produce {@link ModificationDiff} for a candidate writing a list with many entries.
+ *
+ * Placed in the package of {@link ModificationDiff}, since it is not visible outside.
+ */
+@Timeout(time = 20)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 2, time = 10)
+@Fork(2)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModificationDiffBenchmark {
+
+    private static final QName ID_QNAME = QName.create(ListInContainer.QNAME, "id");
+    private static final QName NAME_QNAME = QName.create(ContainerInList.QNAME, "name");
+
+    @Param({"1000", "10000", "100000"})
+    private int entries;
+
+    private ModificationDiff.ModificationDiffBuilder diffBuilder;
+    private DataTreeCandidateNode candidate;
+
+    @Setup(Level.Trial)
+    public void setup() throws DataValidationFailedException {
+        final ModuleInfoBackedContext moduleInfoBackedContext = ModuleInfoBackedContext.create();
+        moduleInfoBackedContext.addModuleInfos(Collections.singleton($YangModuleInfoImpl.getInstance()));
+        final SchemaContext schemaContext = moduleInfoBackedContext.tryToCreateSchemaContext().get();
+
+        final DataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.CONFIGURATION);
+        dataTree.setSchemaContext(schemaContext);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(YangInstanceIdentifier.of(ContainerWithList.QNAME), Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(ContainerWithList.QNAME))
+                .withChild(getList(entries))
+                .build());
+        modification.ready();
+        dataTree.validate(modification);
+        candidate = dataTree.prepare(modification).getRootNode();
+
+        diffBuilder = new ModificationDiff.ModificationDiffBuilder().setCtx(schemaContext);
+    }
+
+    @Benchmark
+    public ModificationDiff diff() {
+        return diffBuilder.build(candidate);
+    }
+
+    private static MapEntryNode getListEntry(final long id) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(
+                        new YangInstanceIdentifier.NodeIdentifierWithPredicates(ListInContainer.QNAME, ID_QNAME, id))
+                .withChild(ImmutableNodes.leafNode(ID_QNAME, id))
+                .withChild(Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(ContainerInList.QNAME))
+                        .withChild(ImmutableNodes.leafNode(NAME_QNAME, "nested container " + id))
+                        .build())
+                .build();
+    }
+
+    private static OrderedMapNode getList(final int size) {
+        // list-in-container is ordered-by user
+        final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder = Builders.orderedMapBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(ListInContainer.QNAME));
+        for (long id = 0; id < size; id++) {
+            builder.withChild(getListEntry(id));
+        }
+        return builder.build();
+    }
+}
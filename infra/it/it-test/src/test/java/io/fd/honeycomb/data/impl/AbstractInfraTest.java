@@ -31,7 +31,6 @@ import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCo
 import org.opendaylight.mdsal.binding.generator.impl.ModuleInfoBackedContext;
 import org.opendaylight.mdsal.binding.generator.util.BindingRuntimeContext;
 import org.opendaylight.mdsal.binding.generator.util.JavassistUtils;
-import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yangtools.binding.data.codec.gen.impl.DataObjectSerializerGenerator;
 import org.opendaylight.yangtools.binding.data.codec.gen.impl.StreamWriterGenerator;
 import org.opendaylight.yangtools.binding.data.codec.impl.BindingNormalizedNodeCodecRegistry;
@@ -48,7 +47,7 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
  */
 abstract class AbstractInfraTest {
 
-    protected BindingNormalizedNodeSerializer serializer;
+    protected BindingToNormalizedNodeCodec serializer;
     protected SchemaContext schemaContext;
 
     @Mock
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import io.fd.honeycomb.test.model.Ids;
+import io.fd.honeycomb.translate.impl.read.GenericListReader;
+import io.fd.honeycomb.translate.impl.read.registry.CompositeReaderRegistryBuilder;
+import io.fd.honeycomb.translate.read.ListReader;
+import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
+import io.fd.honeycomb.translate.read.Reader;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
+import io.fd.honeycomb.translate.util.YangDAG;
+import io.fd.honeycomb.translate.util.read.ReflexiveListReaderCustomizer;
+import java.util.Collections;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.SimpleContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.SimpleContainerBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInListBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Tests reads filtered by {@link ReadFilter} requested via {@link ReadableDataTreeDelegator}.
+ */
+public class HoneycombFilteredReadInfraTest extends AbstractInfraTest {
+
+    private ReadableDataTreeDelegator delegator;
+
+    private Reader<SimpleContainer, SimpleContainerBuilder> simpleContainerReader =
+            HoneycombReadInfraTest.mockReader(Ids.SIMPLE_CONTAINER_ID,
+                    (id, builder, ctx) -> builder.setSimpleContainerName("simple"), SimpleContainerBuilder.class);
+
+    private Reader<ContainerWithList, ContainerWithListBuilder> containerWithListReader =
+            HoneycombReadInfraTest.mockReader(Ids.CONTAINER_WITH_LIST_ID, HoneycombReadInfraTest::noopRead,
+                    ContainerWithListBuilder.class);
+
+    private ListReader<ListInContainer, ListInContainerKey, ListInContainerBuilder> listInContainerReader =
+            new GenericListReader<>(Ids.LIST_IN_CONTAINER_ID,
+                    new ReflexiveListReaderCustomizer<ListInContainer, ListInContainerKey, ListInContainerBuilder>(
+                            ListInContainer.class, ListInContainerBuilder.class,
+                            Lists.newArrayList(new ListInContainerKey(1L), new ListInContainerKey(2L))) {
+                        @Override
+                        public void readCurrentAttributes(final InstanceIdentifier<ListInContainer> id,
+                                                          final ListInContainerBuilder builder,
+                                                          final ReadContext context) throws ReadFailedException {
+                            builder.setKey(id.firstKeyOf(ListInContainer.class));
+                        }
+                    });
+
+    private Reader<ContainerInList, ContainerInListBuilder> containerInListReader =
+            HoneycombReadInfraTest.mockReader(Ids.CONTAINER_IN_LIST_ID,
+                    (id, builder, ctx) -> builder.setName(id.firstKeyOf(ListInContainer.class).getId().toString()),
+                    ContainerInListBuilder.class);
+
+    @Override
+    void postSetup() {
+        delegator = new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer), schemaContext,
+                new CompositeReaderRegistryBuilder(new YangDAG())
+                        .add(simpleContainerReader)
+                        .add(containerWithListReader)
+                        .add(listInContainerReader)
+                        .add(containerInListReader)
+                        .build(),
+                contextBroker);
+    }
+
+    @Test
+    public void testReadAllUnfiltered() throws Exception {
+        final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> read = readRoot(null);
+
+        assertTrue(read.containsKey(Ids.SIMPLE_CONTAINER_ID));
+        for (ListInContainer entry : getContainerWithList(read).getListInContainer()) {
+            assertEquals(entry.getId().toString(), entry.getContainerInList().getName());
+        }
+    }
+
+    @Test
+    public void testRootReadersFilteredByFields() throws Exception {
+        final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> read =
+                readRoot(ReadFilter.fields(ImmutableSet.of(Ids.LIST_IN_CONTAINER_ID)));
+
+        assertFalse(read.containsKey(Ids.SIMPLE_CONTAINER_ID));
+        verify(simpleContainerReader, never()).read(any(InstanceIdentifier.class), any(ReadContext.class));
+        verify(simpleContainerReader, never())
+                .readCurrentAttributes(any(InstanceIdentifier.class), any(SimpleContainerBuilder.class),
+                        any(ReadContext.class));
+        assertEquals(2, getContainerWithList(read).getListInContainer().size());
+    }
+
+    @Test
+    public void testChildReadersFilteredByDepth() throws Exception {
+        // container-with-list (1) / list-in-container (2) / container-in-list (3)
+        final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> read =
+                readRoot(ReadFilter.depth(2));
+
+        assertTrue(read.containsKey(Ids.SIMPLE_CONTAINER_ID));
+        final ContainerWithList containerWithList = getContainerWithList(read);
+        assertEquals(2, containerWithList.getListInContainer().size());
+        for (ListInContainer entry : containerWithList.getListInContainer()) {
+            assertNull(entry.getContainerInList());
+        }
+        verify(containerInListReader, never()).read(any(InstanceIdentifier.class), any(ReadContext.class));
+        verify(containerInListReader, never())
+                .readCurrentAttributes(any(InstanceIdentifier.class), any(ContainerInListBuilder.class),
+                        any(ReadContext.class));
+    }
+
+    private Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> readRoot(
+            final ReadFilter filter) throws Exception {
+        return toBinding(delegator.read(YangInstanceIdentifier.EMPTY, filter, Collections.emptyMap())
+                .checkedGet().get());
+    }
+
+    private static ContainerWithList getContainerWithList(
+            final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> read) {
+        return (ContainerWithList) read.get(Ids.CONTAINER_WITH_LIST_ID).iterator().next();
+    }
+}
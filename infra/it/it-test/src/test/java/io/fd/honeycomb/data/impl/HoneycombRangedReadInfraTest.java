@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.fd.honeycomb.test.model.Ids;
+import io.fd.honeycomb.translate.impl.read.GenericListReader;
+import io.fd.honeycomb.translate.impl.read.registry.CompositeReaderRegistryBuilder;
+import io.fd.honeycomb.translate.read.ListReadRange;
+import io.fd.honeycomb.translate.read.ListReader;
+import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.Reader;
+import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
+import io.fd.honeycomb.translate.util.YangDAG;
+import io.fd.honeycomb.translate.util.read.ReflexiveListReaderCustomizer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.ContainerWithListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedListKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Tests reads of list ranges requested via {@link ReadableDataTreeDelegator}, using real list readers.
+ */
+public class HoneycombRangedReadInfraTest extends AbstractInfraTest {
+
+    private ReaderRegistry registry;
+    private ReadableDataTreeDelegator delegator;
+
+    private Reader<ContainerWithList, ContainerWithListBuilder> containerWithListReader =
+            HoneycombReadInfraTest.mockReader(Ids.CONTAINER_WITH_LIST_ID, HoneycombReadInfraTest::noopRead,
+                    ContainerWithListBuilder.class);
+
+    private ListReader<ListInContainer, ListInContainerKey, ListInContainerBuilder> listInContainerReader =
+            new GenericListReader<>(Ids.LIST_IN_CONTAINER_ID,
+                    new ReflexiveListReaderCustomizer<ListInContainer, ListInContainerKey, ListInContainerBuilder>(
+                            ListInContainer.class, ListInContainerBuilder.class,
+                            Lists.newArrayList(new ListInContainerKey(1L), new ListInContainerKey(2L),
+                                    new ListInContainerKey(3L))) {
+                        @Override
+                        public void readCurrentAttributes(final InstanceIdentifier<ListInContainer> id,
+                                                          final ListInContainerBuilder builder,
+                                                          final ReadContext context) throws ReadFailedException {
+                            builder.setKey(id.firstKeyOf(ListInContainer.class));
+                        }
+                    });
+
+    private Reader<ContainerInList, ContainerInListBuilder> containerInListReader =
+            HoneycombReadInfraTest.mockReader(Ids.CONTAINER_IN_LIST_ID,
+                    (id, builder, ctx) -> builder.setName(id.firstKeyOf(ListInContainer.class).getId().toString()),
+                    ContainerInListBuilder.class);
+
+    private ListReader<NestedList, NestedListKey, NestedListBuilder> nestedListReader =
+            new GenericListReader<>(Ids.NESTED_LIST_ID,
+                    new ReflexiveListReaderCustomizer<NestedList, NestedListKey, NestedListBuilder>(
+                            NestedList.class, NestedListBuilder.class,
+                            Lists.newArrayList(new NestedListKey("one"), new NestedListKey("three"),
+                                    new NestedListKey("two"))) {
+                        @Override
+                        public void readCurrentAttributes(final InstanceIdentifier<NestedList> id,
+                                                          final NestedListBuilder builder,
+                                                          final ReadContext context) throws ReadFailedException {
+                            builder.setKey(id.firstKeyOf(NestedList.class));
+                        }
+                    });
+
+    @Override
+    void postSetup() {
+        registry = new CompositeReaderRegistryBuilder(new YangDAG())
+                .add(containerWithListReader)
+                .add(listInContainerReader)
+                .add(containerInListReader)
+                .add(nestedListReader)
+                .build();
+        delegator = new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer), schemaContext, registry,
+                contextBroker);
+    }
+
+    @Test
+    public void testReadAllWithoutRanges() throws Exception {
+        final ContainerWithList read = readRoot(Collections.emptyMap());
+
+        assertEquals(Lists.newArrayList(1L, 2L, 3L), getListInContainerIds(read));
+        for (ListInContainer entry : read.getListInContainer()) {
+            assertEquals(Lists.newArrayList("one", "three", "two"), getNestedListIds(entry));
+        }
+    }
+
+    @Test
+    public void testReadAllWithRanges() throws Exception {
+        final InstanceIdentifier<NestedList> nestedListOf2 = Ids.CONTAINER_WITH_LIST_ID
+                .child(ListInContainer.class, new ListInContainerKey(2L))
+                .child(ContainerInList.class)
+                .child(NestedList.class);
+        final ContainerWithList read = readRoot(ImmutableMap.of(
+                Ids.LIST_IN_CONTAINER_ID, ListReadRange.of(1, 5),
+                nestedListOf2, ListReadRange.of(0, 1)));
+
+        assertEquals(Lists.newArrayList(2L, 3L), getListInContainerIds(read));
+        // range of the nested list applies only to the nested list of entry 2
+        assertEquals(Lists.newArrayList("one"), getNestedListIds(getEntry(read, 2L)));
+        assertEquals(Lists.newArrayList("one", "three", "two"), getNestedListIds(getEntry(read, 3L)));
+    }
+
+    @Test
+    public void testReadNodeWithRange() throws Exception {
+        final YangInstanceIdentifier containerId = serializer.toYangInstanceIdentifier(Ids.CONTAINER_WITH_LIST_ID);
+        final NormalizedNode<?, ?> node = delegator.read(containerId,
+                ImmutableMap.of(Ids.LIST_IN_CONTAINER_ID, ListReadRange.of(0, 1))).checkedGet().get();
+        final ContainerWithList read = (ContainerWithList) serializer.fromNormalizedNode(containerId, node).getValue();
+
+        assertEquals(Lists.newArrayList(1L), getListInContainerIds(read));
+    }
+
+    private ContainerWithList readRoot(final Map<InstanceIdentifier<?>, ListReadRange> ranges) throws Exception {
+        final NormalizedNode<?, ?> root = delegator.read(YangInstanceIdentifier.EMPTY, ranges).checkedGet().get();
+        return (ContainerWithList) toBinding(root).get(Ids.CONTAINER_WITH_LIST_ID).iterator().next();
+    }
+
+    private static ListInContainer getEntry(final ContainerWithList read, final long id) {
+        return read.getListInContainer().stream()
+                .filter(entry -> entry.getId() == id)
+                .findFirst()
+                .get();
+    }
+
+    // map nodes are not ordered, so ids are compared sorted
+    private static List<Long> getListInContainerIds(final ContainerWithList read) {
+        return read.getListInContainer().stream()
+                .map(ListInContainer::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> getNestedListIds(final ListInContainer entry) {
+        return entry.getContainerInList().getNestedList().stream()
+                .map(NestedList::getNestedId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
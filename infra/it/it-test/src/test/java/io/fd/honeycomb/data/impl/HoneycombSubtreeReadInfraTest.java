@@ -33,6 +33,7 @@ import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.YangDAG;
 import io.fd.honeycomb.translate.util.read.ReflexiveListReaderCustomizer;
 import java.util.stream.Collectors;
@@ -95,7 +96,8 @@ public class HoneycombSubtreeReadInfraTest extends AbstractInfraTest {
     @Test
     public void testReadAll() throws Exception {
         final ReadableDataTreeDelegator readableDataTreeDelegator =
-                new ReadableDataTreeDelegator(serializer, schemaContext, registry, contextBroker);
+                new ReadableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        schemaContext, registry, contextBroker);
         final CheckedFuture<Optional<NormalizedNode<?, ?>>, org.opendaylight.controller.md.sal.common.api.data.ReadFailedException>
                 read = readableDataTreeDelegator.read(YangInstanceIdentifier.EMPTY);
 
@@ -30,6 +30,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.fd.honeycomb.data.DataModification;
 import io.fd.honeycomb.translate.impl.write.registry.FlatWriterRegistryBuilder;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.YangDAG;
 import io.fd.honeycomb.translate.write.WriteContext;
 import io.fd.honeycomb.translate.write.WriteFailedException;
@@ -136,7 +137,8 @@ public class HoneycombWriteInfraTest extends AbstractInfraTest {
     @Test
     public void testWriteEmptyNonPresenceContainer() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-                new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+                new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         final SimpleContainer data = new SimpleContainerBuilder()
@@ -155,7 +157,8 @@ public class HoneycombWriteInfraTest extends AbstractInfraTest {
     @Test
     public void testWriteEverything() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-                new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+                new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         // Now write everything we can
@@ -247,7 +250,8 @@ public class HoneycombWriteInfraTest extends AbstractInfraTest {
     @Test
     public void testDeletes() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-                new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+                new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        dataTree, schemaContext, writerRegistry, contextBroker);
 
         DataModification dataModification = modifiableDataTreeDelegator.newModification();
         // Now write everything we can
@@ -460,7 +464,8 @@ public class HoneycombWriteInfraTest extends AbstractInfraTest {
     @Test
     public void testWriteAndDeleteInTx() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-                new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+                new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         // Now write everything we can
@@ -481,7 +486,8 @@ public class HoneycombWriteInfraTest extends AbstractInfraTest {
                 .build();
 
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-                new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+                new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                        dataTree, schemaContext, writerRegistry, contextBroker);
 
         final ContainerWithChoice containerWithChoice =
                 new ContainerWithChoiceBuilder().setContainerFromGrouping(getContainerFromGrouping()).build();
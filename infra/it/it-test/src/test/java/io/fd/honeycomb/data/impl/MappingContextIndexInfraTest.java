@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.data.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.google.common.base.Optional;
+import io.fd.honeycomb.test.model.Ids;
+import io.fd.honeycomb.translate.util.MappingContextIndex;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.binding.impl.BindingDOMDataBrokerAdapter;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.ListInContainerKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.ContainerInListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedList;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedListBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hc.test.rev150105.container.with.list.list.in.container.container.in.list.NestedListKey;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+/**
+ * Testing {@link MappingContextIndex} on top of a context data broker, same as assembled in the distribution.
+ */
+public class MappingContextIndexInfraTest extends AbstractInfraTest {
+
+    private static final InstanceIdentifier<ContainerInList> CONTAINER_IN_LIST_1 =
+            Ids.CONTAINER_WITH_LIST_ID.child(ListInContainer.class, new ListInContainerKey(1L))
+                    .child(ContainerInList.class);
+    // all the entries of nested-list in list-in-container[id=1]
+    private static final InstanceIdentifier<NestedList> NESTED_LIST_1 = CONTAINER_IN_LIST_1.child(NestedList.class);
+
+    private NotifyingDataTreeAdapter contextDataTree;
+    private DataBroker contextBindingBroker;
+    private MappingContextIndex<NestedList, NestedListKey, String> index;
+
+    @Override
+    void postSetup() {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(schemaContext);
+        contextDataTree = NotifyingDataTreeAdapter.createSynchronous(dataTree, LogicalDatastoreType.OPERATIONAL);
+        final io.fd.honeycomb.data.impl.DataBroker contextDomBroker = io.fd.honeycomb.data.impl.DataBroker.create(
+                new ModifiableDataTreeManager(contextDataTree), contextDataTree);
+        contextBindingBroker = new BindingDOMDataBrokerAdapter(contextDomBroker, serializer);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (index != null) {
+            index.close();
+        }
+        contextDataTree.close();
+    }
+
+    @Test
+    public void testInitialContent() throws Exception {
+        write(CONTAINER_IN_LIST_1, containerInList(nestedList("a", "A"), nestedList("b", "B")));
+
+        index = MappingContextIndex.create(contextBindingBroker, NESTED_LIST_1, NestedList::getNestedName);
+
+        assertEquals(2, index.size());
+        assertEquals(Optional.of("A"), index.getValue(new NestedListKey("a")));
+        assertEquals(Optional.of(new NestedListKey("b")), index.getKey("B"));
+    }
+
+    @Test
+    public void testSubmittedMappingVisible() throws Exception {
+        index = MappingContextIndex.create(contextBindingBroker, NESTED_LIST_1, NestedList::getNestedName);
+        assertEquals(0, index.size());
+
+        write(CONTAINER_IN_LIST_1.child(NestedList.class, new NestedListKey("a")), nestedList("a", "A"));
+        // visible as soon as submit returns
+        assertEquals(Optional.of("A"), index.getValue(new NestedListKey("a")));
+        assertEquals(Optional.of(new NestedListKey("a")), index.getKey("A"));
+
+        write(CONTAINER_IN_LIST_1.child(NestedList.class, new NestedListKey("a")), nestedList("a", "A2"));
+        assertEquals(Optional.of("A2"), index.getValue(new NestedListKey("a")));
+        assertFalse(index.getKey("A").isPresent());
+    }
+
+    @Test
+    public void testOtherListNotIndexed() throws Exception {
+        index = MappingContextIndex.create(contextBindingBroker, NESTED_LIST_1, NestedList::getNestedName);
+
+        write(Ids.CONTAINER_WITH_LIST_ID.child(ListInContainer.class, new ListInContainerKey(2L)),
+                new ListInContainerBuilder()
+                        .setId(2L)
+                        .setContainerInList(containerInList(nestedList("a", "A")))
+                        .build());
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testWholeListRemoved() throws Exception {
+        index = MappingContextIndex.create(contextBindingBroker, NESTED_LIST_1, NestedList::getNestedName);
+        write(CONTAINER_IN_LIST_1, containerInList(nestedList("a", "A"), nestedList("b", "B")));
+        assertEquals(2, index.size());
+
+        // removes the list together with its parent
+        final WriteTransaction tx = contextBindingBroker.newWriteOnlyTransaction();
+        tx.delete(LogicalDatastoreType.OPERATIONAL, CONTAINER_IN_LIST_1);
+        tx.submit().checkedGet();
+
+        assertEquals(0, index.size());
+        assertFalse(index.getKey("A").isPresent());
+    }
+
+    private <T extends DataObject> void write(final InstanceIdentifier<T> id, final T data) throws Exception {
+        final WriteTransaction tx = contextBindingBroker.newWriteOnlyTransaction();
+        tx.put(LogicalDatastoreType.OPERATIONAL, id, data, true);
+        tx.submit().checkedGet();
+    }
+
+    private static ContainerInList containerInList(final NestedList... nestedLists) {
+        return new ContainerInListBuilder()
+                .setName("inlist")
+                .setNestedList(Arrays.asList(nestedLists))
+                .build();
+    }
+
+    private static NestedList nestedList(final String id, final String name) {
+        return new NestedListBuilder()
+                .setNestedId(id)
+                .setNestedName(name)
+                .build();
+    }
+}
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 
 import io.fd.honeycomb.data.DataModification;
 import io.fd.honeycomb.translate.impl.write.registry.FlatWriterRegistryBuilder;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.YangDAG;
 import io.fd.honeycomb.translate.write.WriteContext;
 import io.fd.honeycomb.translate.write.Writer;
@@ -148,7 +149,8 @@ public class NestedAugmentationWriteTest extends AbstractInfraTest {
     @Test
     public void testSimpleAugmentationWrite() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-            new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+            new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                    dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         final AugTarget data = new AugTargetBuilder()
@@ -168,7 +170,8 @@ public class NestedAugmentationWriteTest extends AbstractInfraTest {
     @Test
     public void testSimpleNestedAugmentationWrite() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-            new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+            new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                    dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
 
@@ -193,7 +196,8 @@ public class NestedAugmentationWriteTest extends AbstractInfraTest {
     @Test
     public void testNestedAugmentationWrite() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-            new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+            new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                    dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         final AugTarget data = augTarget(fromAugment(FromAugment2Augment.class, fromAugment2Augment(fromAugment2())));
@@ -212,7 +216,8 @@ public class NestedAugmentationWriteTest extends AbstractInfraTest {
     @Test
     public void testNestedAugmentationListWrite() throws Exception {
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-            new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+            new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                    dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
         final List<FromAugmentEntry> entries = Arrays.asList(
@@ -250,7 +255,8 @@ public class NestedAugmentationWriteTest extends AbstractInfraTest {
     public void testListNestedAugmentationWrite() throws Exception {
         // tests augmenting list that already comes from augment
         final ModifiableDataTreeDelegator modifiableDataTreeDelegator =
-            new ModifiableDataTreeDelegator(serializer, dataTree, schemaContext, writerRegistry, contextBroker);
+            new ModifiableDataTreeDelegator(new BindingIdentifierCache(serializer),
+                    dataTree, schemaContext, writerRegistry, contextBroker);
 
         final DataModification dataModification = modifiableDataTreeDelegator.newModification();
 
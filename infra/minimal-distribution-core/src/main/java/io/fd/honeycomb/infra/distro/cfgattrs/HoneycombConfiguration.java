@@ -34,6 +34,30 @@ public class HoneycombConfiguration {
     public boolean isConfigPersistenceEnabled() {
         return persistConfig.isPresent() && Boolean.valueOf(persistConfig.get());
     }
+    public boolean isConfigJournalEnabled() {
+        return persistConfigJournal.isPresent() && Boolean.valueOf(persistConfigJournal.get());
+    }
+    public boolean isPersistAsyncEnabled() {
+        return persistAsync.isPresent() && Boolean.valueOf(persistAsync.get());
+    }
+    public boolean isCommitParallelConversionEnabled() {
+        return commitParallelConversion.isPresent() && Boolean.valueOf(commitParallelConversion.get());
+    }
+    public boolean isConfigGroupCommitEnabled() {
+        return configGroupCommit.isPresent() && Boolean.valueOf(configGroupCommit.get());
+    }
+    public boolean isOperationalAsyncReadEnabled() {
+        return operationalAsyncRead.isPresent() && Boolean.valueOf(operationalAsyncRead.get());
+    }
+    public boolean isOperationalCacheEnabled() {
+        return operationalCache.isPresent() && Boolean.valueOf(operationalCache.get());
+    }
+    public boolean isOperationalParallelRootReadEnabled() {
+        return operationalParallelRootRead.isPresent() && Boolean.valueOf(operationalParallelRootRead.get());
+    }
+    public boolean isOperationalParallelReadEnabled() {
+        return operationalParallelRead.isPresent() && Boolean.valueOf(operationalParallelRead.get());
+    }
     public boolean isContextPersistenceEnabled() {
         return persistContext.isPresent() && Boolean.valueOf(persistContext.get());
     }
@@ -44,12 +68,62 @@ public class HoneycombConfiguration {
     public String peristContextPath;
     @InjectConfig("persisted-context-restoration-type")
     public String persistedContextRestorationType;
+    @InjectConfig("persisted-context-format")
+    public Optional<String> persistedContextFormat = Optional.of("Json");
     @InjectConfig("persist-config")
     public Optional<String> persistConfig = Optional.of("true");
     @InjectConfig("persisted-config-path")
     public String peristConfigPath;
     @InjectConfig("persisted-config-restoration-type")
     public String persistedConfigRestorationType;
+    @InjectConfig("persisted-config-format")
+    public Optional<String> persistedConfigFormat = Optional.of("Json");
+    @InjectConfig("persisted-restoration-chunk-size")
+    public Optional<Integer> persistedRestorationChunkSize = Optional.of(1024 * 1024);
+    @InjectConfig("persist-config-journal")
+    public Optional<String> persistConfigJournal = Optional.of("false");
+    @InjectConfig("persisted-config-journal-compaction-threshold")
+    public Optional<Integer> persistedConfigJournalCompactionThreshold = Optional.of(1000);
+    @InjectConfig("persist-async")
+    public Optional<String> persistAsync = Optional.of("false");
+    @InjectConfig("persist-async-queue-depth")
+    public Optional<Integer> persistAsyncQueueDepth = Optional.of(16);
+    @InjectConfig("identifier-cache-size")
+    public Optional<Integer> identifierCacheSize = Optional.of(10000);
+    @InjectConfig("commit-parallel-conversion")
+    public Optional<String> commitParallelConversion = Optional.of("false");
+    @InjectConfig("commit-parallel-conversion-threshold")
+    public Optional<Integer> commitParallelConversionThreshold = Optional.of(1000);
+    @InjectConfig("config-group-commit")
+    public Optional<String> configGroupCommit = Optional.of("false");
+    @InjectConfig("config-group-commit-window-millis")
+    public Optional<Integer> configGroupCommitWindowMillis = Optional.of(1);
+    @InjectConfig("config-group-commit-max-batch-size")
+    public Optional<Integer> configGroupCommitMaxBatchSize = Optional.of(64);
+    @InjectConfig("operational-async-read")
+    public Optional<String> operationalAsyncRead = Optional.of("false");
+    @InjectConfig("operational-read-threads")
+    public Optional<Integer> operationalReadThreads = Optional.of(4);
+    @InjectConfig("operational-read-queue-depth")
+    public Optional<Integer> operationalReadQueueDepth = Optional.of(64);
+    @InjectConfig("operational-read-timeout-millis")
+    public Optional<Integer> operationalReadTimeoutMillis = Optional.of(30000);
+    @InjectConfig("operational-cache")
+    public Optional<String> operationalCache = Optional.of("false");
+    @InjectConfig("operational-cache-ttl-millis")
+    public Optional<Integer> operationalCacheTtlMillis = Optional.of(1000);
+    @InjectConfig("operational-cache-subtree-ttl-millis")
+    public Optional<String> operationalCacheSubtreeTtlMillis = Optional.of("");
+    @InjectConfig("operational-cache-max-entries")
+    public Optional<Integer> operationalCacheMaxEntries = Optional.of(1000);
+    @InjectConfig("operational-parallel-root-read")
+    public Optional<String> operationalParallelRootRead = Optional.of("false");
+    @InjectConfig("operational-root-read-threads")
+    public Optional<Integer> operationalRootReadThreads = Optional.of(4);
+    @InjectConfig("operational-parallel-read")
+    public Optional<String> operationalParallelRead = Optional.of("false");
+    @InjectConfig("operational-parallel-read-threshold")
+    public Optional<Integer> operationalParallelReadThreshold = Optional.of(16);
     @InjectConfig("notification-service-queue-depth")
     public int notificationServiceQueueDepth;
 
@@ -58,8 +132,33 @@ public class HoneycombConfiguration {
         return MoreObjects.toStringHelper(this)
                 .add("peristContextPath", peristContextPath)
                 .add("persistedContextRestorationType", persistedContextRestorationType)
+                .add("persistedContextFormat", persistedContextFormat)
                 .add("peristConfigPath", peristConfigPath)
                 .add("persistedConfigRestorationType", persistedConfigRestorationType)
+                .add("persistedConfigFormat", persistedConfigFormat)
+                .add("persistedRestorationChunkSize", persistedRestorationChunkSize)
+                .add("persistConfigJournal", persistConfigJournal)
+                .add("persistedConfigJournalCompactionThreshold", persistedConfigJournalCompactionThreshold)
+                .add("persistAsync", persistAsync)
+                .add("persistAsyncQueueDepth", persistAsyncQueueDepth)
+                .add("identifierCacheSize", identifierCacheSize)
+                .add("commitParallelConversion", commitParallelConversion)
+                .add("commitParallelConversionThreshold", commitParallelConversionThreshold)
+                .add("configGroupCommit", configGroupCommit)
+                .add("configGroupCommitWindowMillis", configGroupCommitWindowMillis)
+                .add("configGroupCommitMaxBatchSize", configGroupCommitMaxBatchSize)
+                .add("operationalAsyncRead", operationalAsyncRead)
+                .add("operationalReadThreads", operationalReadThreads)
+                .add("operationalReadQueueDepth", operationalReadQueueDepth)
+                .add("operationalReadTimeoutMillis", operationalReadTimeoutMillis)
+                .add("operationalCache", operationalCache)
+                .add("operationalCacheTtlMillis", operationalCacheTtlMillis)
+                .add("operationalCacheSubtreeTtlMillis", operationalCacheSubtreeTtlMillis)
+                .add("operationalCacheMaxEntries", operationalCacheMaxEntries)
+                .add("operationalParallelRootRead", operationalParallelRootRead)
+                .add("operationalRootReadThreads", operationalRootReadThreads)
+                .add("operationalParallelRead", operationalParallelRead)
+                .add("operationalParallelReadThreshold", operationalParallelReadThreshold)
                 .add("notificationServiceQueueDepth", notificationServiceQueueDepth)
                 .toString();
     }
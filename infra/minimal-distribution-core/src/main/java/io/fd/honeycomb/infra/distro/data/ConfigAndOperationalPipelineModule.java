@@ -21,6 +21,7 @@ import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.ReadableDataManager;
+import io.fd.honeycomb.data.impl.NotifyingDataTreeAdapter;
 import io.fd.honeycomb.data.init.DataTreeInitializer;
 import io.fd.honeycomb.infra.distro.data.config.WriterRegistryProvider;
 import io.fd.honeycomb.infra.distro.data.oper.ReadableDTDelegProvider;
@@ -31,6 +32,7 @@ import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
 import io.fd.honeycomb.translate.write.registry.WriterRegistry;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter;
 import org.opendaylight.controller.sal.core.api.Broker;
@@ -39,6 +41,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 public class ConfigAndOperationalPipelineModule extends PrivateModule {
 
     public static final String HONEYCOMB_CONFIG_NONPERSIST = "honeycomb-config-nopersist";
+    public static final String HONEYCOMB_CONFIG_PERSIST = "honeycomb-config-persist";
     public static final String HONEYCOMB_CONFIG = "honeycomb-config";
 
     protected void configure() {
@@ -53,8 +56,12 @@ public class ConfigAndOperationalPipelineModule extends PrivateModule {
                 .toProvider(DataTreeProvider.ConfigDataTreeProvider.class).in(Singleton.class);
         expose(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONFIG_NONPERSIST));
         // Persisting data tree wrapper for config
-        bind(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONFIG))
+        bind(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONFIG_PERSIST))
                 .toProvider(PersistingDataTreeProvider.ConfigPersistingDataTreeProvider.class).in(Singleton.class);
+        // Data tree wrapper notifying config data tree change listeners, on top of the persisting one
+        bind(NotifyingDataTreeAdapter.class).toProvider(NotifyingDataTreeProvider.class).in(Singleton.class);
+        bind(DOMDataTreeChangeService.class).to(NotifyingDataTreeAdapter.class);
+        bind(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONFIG)).to(NotifyingDataTreeAdapter.class);
         expose(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONFIG));
 
         // Config Data Tree manager working on top of config data tree + writer registry
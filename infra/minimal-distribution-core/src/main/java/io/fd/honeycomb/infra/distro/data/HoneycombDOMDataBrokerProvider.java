@@ -22,6 +22,7 @@ import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.ReadableDataManager;
 import io.fd.honeycomb.data.impl.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 
 public final class HoneycombDOMDataBrokerProvider extends ProviderTrait<DOMDataBroker> {
 
@@ -29,10 +30,15 @@ public final class HoneycombDOMDataBrokerProvider extends ProviderTrait<DOMDataB
     private ModifiableDataManager modDataManager;
     @Inject(optional = true)
     private ReadableDataManager readDataManager;
+    @Inject(optional = true)
+    private DOMDataTreeChangeService changeService;
 
     protected DataBroker create() {
-        return readDataManager != null
-                ? DataBroker.create(modDataManager, readDataManager)
-                : DataBroker.create(modDataManager);
+        if (readDataManager == null) {
+            return DataBroker.create(modDataManager);
+        }
+        return changeService != null
+                ? DataBroker.create(modDataManager, readDataManager, changeService)
+                : DataBroker.create(modDataManager, readDataManager);
     }
 }
@@ -20,18 +20,22 @@ import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import io.fd.honeycomb.binding.init.ProviderTrait;
 import io.fd.honeycomb.data.ModifiableDataManager;
+import io.fd.honeycomb.data.impl.CommitSequencer;
 import io.fd.honeycomb.data.impl.ModifiableDataTreeDelegator;
+import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
 import io.fd.honeycomb.infra.distro.data.context.ContextPipelineModule;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.write.registry.WriterRegistry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCodec;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
 public final class ModifiableDTDelegProvider extends ProviderTrait<ModifiableDataManager> {
 
     @Inject
-    private BindingToNormalizedNodeCodec serializer;
+    private BindingIdentifierCache identifierCache;
     @Inject
     private SchemaService schemaService;
     @Inject
@@ -42,10 +46,21 @@ public final class ModifiableDTDelegProvider extends ProviderTrait<ModifiableDat
     @Inject
     @Named(ContextPipelineModule.HONEYCOMB_CONTEXT)
     private DataBroker contextBroker;
+    @Inject
+    private HoneycombConfiguration cfgAttributes;
 
     @Override
     protected ModifiableDataTreeDelegator create() {
-        return new ModifiableDataTreeDelegator(serializer, dataTree, schemaService.getGlobalContext(),
-            registry, contextBroker);
+        // workers are daemon threads, the pool does not need to be shut down explicitly
+        final ForkJoinPool conversionPool = cfgAttributes.isCommitParallelConversionEnabled()
+            ? new ForkJoinPool()
+            : null;
+        final CommitSequencer commitSequencer = cfgAttributes.isConfigGroupCommitEnabled()
+            ? new CommitSequencer(cfgAttributes.configGroupCommitMaxBatchSize.get(),
+                cfgAttributes.configGroupCommitWindowMillis.get(), TimeUnit.MILLISECONDS)
+            : null;
+        return new ModifiableDataTreeDelegator(identifierCache, dataTree, schemaService.getGlobalContext(),
+            registry, contextBroker, conversionPool, cfgAttributes.commitParallelConversionThreshold.get(),
+            commitSequencer);
     }
 }
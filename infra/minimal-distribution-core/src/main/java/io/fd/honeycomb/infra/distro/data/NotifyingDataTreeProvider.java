@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.infra.distro.data;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import io.fd.honeycomb.binding.init.ProviderTrait;
+import io.fd.honeycomb.data.impl.NotifyingDataTreeAdapter;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+public final class NotifyingDataTreeProvider extends ProviderTrait<NotifyingDataTreeAdapter> {
+
+    @Inject
+    @Named(ConfigAndOperationalPipelineModule.HONEYCOMB_CONFIG_PERSIST)
+    private DataTree dataTree;
+
+    @Override
+    protected NotifyingDataTreeAdapter create() {
+        return new NotifyingDataTreeAdapter(dataTree, LogicalDatastoreType.CONFIGURATION);
+    }
+}
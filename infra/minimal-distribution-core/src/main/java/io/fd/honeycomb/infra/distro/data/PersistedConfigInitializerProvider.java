@@ -42,6 +42,6 @@ final class PersistedConfigInitializerProvider extends ProviderTrait<RestoringIn
     public RestoringInitializer create() {
         return new RestoringInitializer(schemaService, Paths.get(cfgAttributes.peristConfigPath), domDataBroker,
                 RestoringInitializer.RestorationType.valueOf(cfgAttributes.persistedConfigRestorationType),
-                LogicalDatastoreType.CONFIGURATION);
+                LogicalDatastoreType.CONFIGURATION, cfgAttributes.persistedRestorationChunkSize.get());
     }
 }
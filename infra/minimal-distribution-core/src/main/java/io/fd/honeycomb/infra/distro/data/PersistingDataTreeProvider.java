@@ -16,12 +16,16 @@
 
 package io.fd.honeycomb.infra.distro.data;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import io.fd.honeycomb.binding.init.ProviderTrait;
 import io.fd.honeycomb.data.impl.PersistingDataTreeAdapter;
 import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
 import io.fd.honeycomb.infra.distro.data.context.ContextPipelineModule;
+import io.fd.honeycomb.translate.util.JmxUtils;
+import io.fd.honeycomb.translate.util.persist.PersistedDataFormat;
 import java.nio.file.Paths;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
@@ -35,19 +39,50 @@ public abstract class PersistingDataTreeProvider extends ProviderTrait<DataTree>
     protected HoneycombConfiguration config;
 
     public DataTree create() {
-        return isEnabled()
-                ? new PersistingDataTreeAdapter(getDelegate(), schemaService, Paths.get(getPath()))
-                : getDelegate();
+        if (!isEnabled()) {
+            return getDelegate();
+        }
+
+        if (isJournalEnabled()) {
+            // Rejected instead of silently persisting synchronously, journal records have to be appended in the order
+            // of commits by the committing thread
+            checkArgument(!config.isPersistAsyncEnabled(),
+                    "Asynchronous persistence cannot be combined with journal (persisting %s), disable one of them",
+                    getPath());
+            return new PersistingDataTreeAdapter(getDelegate(), schemaService, Paths.get(getPath()), getFormat(),
+                    getJournalCompactionThreshold());
+        }
+
+        if (config.isPersistAsyncEnabled()) {
+            final PersistingDataTreeAdapter adapter = PersistingDataTreeAdapter.createAsync(getDelegate(),
+                    schemaService, Paths.get(getPath()), getFormat(), config.persistAsyncQueueDepth.get());
+            // Flush pending data on shutdown
+            Runtime.getRuntime().addShutdownHook(new Thread(adapter::close, "honeycomb-persister-flush"));
+            JmxUtils.registerMXBean(adapter, PersistingDataTreeAdapter.class.getSimpleName(), getPath());
+            return adapter;
+        }
+
+        return new PersistingDataTreeAdapter(getDelegate(), schemaService, Paths.get(getPath()), getFormat());
     }
 
     public abstract String getPath();
 
+    public abstract PersistedDataFormat getFormat();
+
     public abstract TreeType getType();
 
     public abstract DataTree getDelegate();
 
     protected abstract boolean isEnabled();
 
+    protected boolean isJournalEnabled() {
+        return false;
+    }
+
+    protected int getJournalCompactionThreshold() {
+        return PersistingDataTreeAdapter.DEFAULT_COMPACTION_THRESHOLD;
+    }
+
     public static final class ConfigPersistingDataTreeProvider extends PersistingDataTreeProvider {
 
         @Inject
@@ -58,6 +93,10 @@ public abstract class PersistingDataTreeProvider extends ProviderTrait<DataTree>
             return config.peristConfigPath;
         }
 
+        public PersistedDataFormat getFormat() {
+            return PersistedDataFormat.valueOf(config.persistedConfigFormat.get());
+        }
+
         public TreeType getType() {
             return TreeType.CONFIGURATION;
         }
@@ -70,6 +109,16 @@ public abstract class PersistingDataTreeProvider extends ProviderTrait<DataTree>
         protected boolean isEnabled() {
             return config.isConfigPersistenceEnabled();
         }
+
+        @Override
+        protected boolean isJournalEnabled() {
+            return config.isConfigJournalEnabled();
+        }
+
+        @Override
+        protected int getJournalCompactionThreshold() {
+            return config.persistedConfigJournalCompactionThreshold.get();
+        }
     }
 
     public static final class ContextPersistingDataTreeProvider extends PersistingDataTreeProvider {
@@ -82,6 +131,10 @@ public abstract class PersistingDataTreeProvider extends ProviderTrait<DataTree>
             return config.peristContextPath;
         }
 
+        public PersistedDataFormat getFormat() {
+            return PersistedDataFormat.valueOf(config.persistedContextFormat.get());
+        }
+
         public TreeType getType() {
             return TreeType.OPERATIONAL;
         }
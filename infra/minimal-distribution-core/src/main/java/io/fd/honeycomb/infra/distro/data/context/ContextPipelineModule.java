@@ -20,6 +20,7 @@ import com.google.inject.PrivateModule;
 import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import io.fd.honeycomb.data.ModifiableDataManager;
+import io.fd.honeycomb.data.impl.NotifyingDataTreeAdapter;
 import io.fd.honeycomb.data.init.DataTreeInitializer;
 import io.fd.honeycomb.infra.distro.data.BindingDataBrokerProvider;
 import io.fd.honeycomb.infra.distro.data.DataTreeProvider;
@@ -27,11 +28,13 @@ import io.fd.honeycomb.infra.distro.data.PersistingDataTreeProvider;
 import io.fd.honeycomb.translate.MappingContext;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
 public class ContextPipelineModule extends PrivateModule {
 
     public static final String HONEYCOMB_CONTEXT_NOPERSIST = "honeycomb-context-nopersist";
+    public static final String HONEYCOMB_CONTEXT_PERSIST = "honeycomb-context-persist";
     public static final String HONEYCOMB_CONTEXT = "honeycomb-context";
 
     @Override
@@ -45,7 +48,12 @@ public class ContextPipelineModule extends PrivateModule {
         // Persisting data tree wrapper for context
         PersistingDataTreeProvider.ContextPersistingDataTreeProvider dataTreeProvider =
                 new PersistingDataTreeProvider.ContextPersistingDataTreeProvider();
-        bind(DataTree.class).toProvider(dataTreeProvider).in(Singleton.class);
+        bind(DataTree.class).annotatedWith(Names.named(HONEYCOMB_CONTEXT_PERSIST)).toProvider(dataTreeProvider)
+                .in(Singleton.class);
+        // Data tree wrapper notifying context data tree change listeners (e.g. mapping indexes) during commit
+        bind(NotifyingDataTreeAdapter.class).toProvider(ContextNotifyingDataTreeProvider.class).in(Singleton.class);
+        bind(DOMDataTreeChangeService.class).to(NotifyingDataTreeAdapter.class);
+        bind(DataTree.class).to(NotifyingDataTreeAdapter.class);
 
         // Data Tree manager (without any delegation) on top of context data tree
         bind(ModifiableDataManager.class).toProvider(ModifiableDTMgrProvider.class).in(Singleton.class);
@@ -21,13 +21,16 @@ import io.fd.honeycomb.binding.init.ProviderTrait;
 import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.impl.DataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
 
 public final class HoneycombContextDOMDataBrokerProvider extends ProviderTrait<DOMDataBroker> {
 
     @Inject
     private ModifiableDataManager modDataManager;
+    @Inject
+    private DOMDataTreeChangeService changeService;
 
     public DataBroker create() {
-        return DataBroker.create(modDataManager);
+        return DataBroker.create(modDataManager, changeService);
     }
 }
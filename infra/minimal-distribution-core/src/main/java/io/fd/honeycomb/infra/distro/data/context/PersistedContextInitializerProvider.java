@@ -42,6 +42,6 @@ final class PersistedContextInitializerProvider extends ProviderTrait<RestoringI
     public RestoringInitializer create() {
         return new RestoringInitializer(schemaService, Paths.get(cfgAttributes.peristContextPath), domDataBroker,
                 RestoringInitializer.RestorationType.valueOf(cfgAttributes.persistedContextRestorationType),
-                LogicalDatastoreType.OPERATIONAL);
+                LogicalDatastoreType.OPERATIONAL, cfgAttributes.persistedRestorationChunkSize.get());
     }
 }
@@ -16,21 +16,41 @@
 
 package io.fd.honeycomb.infra.distro.data.oper;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import io.fd.honeycomb.binding.init.ProviderTrait;
 import io.fd.honeycomb.data.ReadableDataManager;
+import io.fd.honeycomb.data.impl.BoundedReadExecutor;
+import io.fd.honeycomb.data.impl.CachingReadableDataManager;
 import io.fd.honeycomb.data.impl.ReadableDataTreeDelegator;
+import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
 import io.fd.honeycomb.infra.distro.data.context.ContextPipelineModule;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
+import io.fd.honeycomb.translate.util.JmxUtils;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCodec;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeService;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeIdentifier;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public final class ReadableDTDelegProvider extends ProviderTrait<ReadableDataManager> {
 
     @Inject
-    private BindingToNormalizedNodeCodec serializer;
+    private BindingIdentifierCache identifierCache;
     @Inject
     private SchemaService schemaService;
     @Inject
@@ -38,10 +58,73 @@ public final class ReadableDTDelegProvider extends ProviderTrait<ReadableDataMan
     @Inject
     @Named(ContextPipelineModule.HONEYCOMB_CONTEXT)
     private DataBroker contextBroker;
+    @Inject
+    private HoneycombConfiguration cfgAttributes;
+    @Inject
+    private DOMDataTreeChangeService configChangeService;
 
     @Override
-    protected ReadableDataTreeDelegator create() {
-        return new ReadableDataTreeDelegator(serializer, schemaService.getGlobalContext(),
-                registry, contextBroker);
+    protected ReadableDataManager create() {
+        // threads are daemon threads, the executor does not need to be shut down explicitly
+        final BoundedReadExecutor readExecutor = cfgAttributes.isOperationalAsyncReadEnabled()
+                ? new BoundedReadExecutor(cfgAttributes.operationalReadThreads.get(),
+                    cfgAttributes.operationalReadQueueDepth.get(), cfgAttributes.operationalReadTimeoutMillis.get(),
+                    TimeUnit.MILLISECONDS)
+                : null;
+        final ReadableDataTreeDelegator delegator = new ReadableDataTreeDelegator(identifierCache,
+                schemaService.getGlobalContext(), registry, contextBroker, readExecutor);
+        if (!cfgAttributes.isOperationalCacheEnabled()) {
+            return delegator;
+        }
+
+        final CachingReadableDataManager cache = new CachingReadableDataManager(delegator,
+                cfgAttributes.operationalCacheTtlMillis.get(),
+                parseSubtreeTtls(cfgAttributes.operationalCacheSubtreeTtlMillis.get()), TimeUnit.MILLISECONDS,
+                cfgAttributes.operationalCacheMaxEntries.get());
+        // Config changes invalidate cached operational data
+        configChangeService.registerDataTreeChangeListener(
+                new DOMDataTreeIdentifier(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.EMPTY), cache);
+        JmxUtils.registerMXBean(cache, CachingReadableDataManager.class.getSimpleName(), "operational");
+        return cache;
+    }
+
+    /**
+     * Parses comma separated subtree=millis pairs. Subtree is a slash separated list of nodes, prefixed with module
+     * name where it differs from the parent, e.g. ietf-interfaces:interfaces-state/interface=500.
+     */
+    private Map<YangInstanceIdentifier, Long> parseSubtreeTtls(final String subtreeTtls) {
+        final Map<YangInstanceIdentifier, Long> ttls = new HashMap<>();
+        for (final String subtreeTtl : subtreeTtls.split(",")) {
+            if (subtreeTtl.trim().isEmpty()) {
+                continue;
+            }
+            final String[] pathAndTtl = subtreeTtl.split("=");
+            checkArgument(pathAndTtl.length == 2, "Invalid subtree TTL: %s, subtree=millis expected", subtreeTtl);
+            ttls.put(parseSubtree(pathAndTtl[0].trim()), Long.valueOf(pathAndTtl[1].trim()));
+        }
+        return ttls;
+    }
+
+    private YangInstanceIdentifier parseSubtree(final String subtree) {
+        final SchemaContext schemaContext = schemaService.getGlobalContext();
+        final List<YangInstanceIdentifier.PathArgument> path = new ArrayList<>();
+        QNameModule module = null;
+        for (final String node : subtree.split("/")) {
+            final int separator = node.indexOf(':');
+            if (separator != -1) {
+                final String moduleName = node.substring(0, separator);
+                module = schemaContext.getModules().stream()
+                        .filter(m -> m.getName().equals(moduleName))
+                        // modules without revision are the oldest ones
+                        .max(Comparator.comparing(Module::getRevision,
+                                Comparator.nullsFirst(Comparator.naturalOrder())))
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown module " + moduleName + " in "
+                                + subtree))
+                        .getQNameModule();
+            }
+            checkArgument(module != null, "Module name of the top level node is missing in %s", subtree);
+            path.add(new YangInstanceIdentifier.NodeIdentifier(QName.create(module, node.substring(separator + 1))));
+        }
+        return YangInstanceIdentifier.create(path);
     }
 }
@@ -16,23 +16,39 @@
 
 package io.fd.honeycomb.infra.distro.data.oper;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import io.fd.honeycomb.binding.init.ProviderTrait;
+import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
 import io.fd.honeycomb.translate.impl.read.registry.CompositeReaderRegistryBuilder;
 import io.fd.honeycomb.translate.read.ReaderFactory;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
 import io.fd.honeycomb.translate.util.YangDAG;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 public final class ReaderRegistryProvider extends ProviderTrait<ReaderRegistry> {
 
     @Inject(optional = true)
     private Set<ReaderFactory> readerFactories = new HashSet<>();
 
+    @Inject
+    private HoneycombConfiguration cfgAttributes;
+
     @Override
     protected ReaderRegistry create() {
         final CompositeReaderRegistryBuilder builder = new CompositeReaderRegistryBuilder(new YangDAG());
+        if (cfgAttributes.isOperationalParallelRootReadEnabled()) {
+            // threads are daemon threads, the executor does not need to be shut down explicitly
+            builder.setRootReadExecutor(Executors.newFixedThreadPool(cfgAttributes.operationalRootReadThreads.get(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("honeycomb-root-read-%d").build()));
+        }
+        if (cfgAttributes.isOperationalParallelReadEnabled()) {
+            // fork join pool uses daemon threads as well
+            builder.setParallelReadPool(new ForkJoinPool(), cfgAttributes.operationalParallelReadThreshold.get());
+        }
         readerFactories.stream()
             .forEach(it -> it.init(builder));
         return builder.build();
@@ -23,16 +23,16 @@ import io.fd.honeycomb.data.ModifiableDataManager;
 import io.fd.honeycomb.data.impl.ModifiableDataTreeDelegator;
 import io.fd.honeycomb.infra.distro.data.ConfigAndOperationalPipelineModule;
 import io.fd.honeycomb.infra.distro.data.context.ContextPipelineModule;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.write.NoopWriterRegistry;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
-import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCodec;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
 public final class ModifiableDTDelegInitProvider extends ProviderTrait<ModifiableDataManager> {
 
     @Inject
-    private BindingToNormalizedNodeCodec serializer;
+    private BindingIdentifierCache identifierCache;
     @Inject
     @Named(ConfigAndOperationalPipelineModule.HONEYCOMB_CONFIG_NONPERSIST)
     private DataTree dataTree;
@@ -44,7 +44,7 @@ public final class ModifiableDTDelegInitProvider extends ProviderTrait<Modifiabl
 
     @Override
     public ModifiableDataTreeDelegator create() {
-        return new ModifiableDataTreeDelegator(serializer, dataTree, schemaService.getGlobalContext(),
+        return new ModifiableDataTreeDelegator(identifierCache, dataTree, schemaService.getGlobalContext(),
                 new NoopWriterRegistry(), contextBroker);
     }
 }
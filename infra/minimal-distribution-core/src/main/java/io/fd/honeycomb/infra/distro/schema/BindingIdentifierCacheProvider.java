@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.infra.distro.schema;
+
+import com.google.inject.Inject;
+import io.fd.honeycomb.binding.init.ProviderTrait;
+import io.fd.honeycomb.infra.distro.cfgattrs.HoneycombConfiguration;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
+import io.fd.honeycomb.translate.util.JmxUtils;
+import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCodec;
+
+public final class BindingIdentifierCacheProvider extends ProviderTrait<BindingIdentifierCache> {
+
+    @Inject
+    private BindingToNormalizedNodeCodec serializer;
+    @Inject
+    private HoneycombConfiguration cfgAttributes;
+
+    @Override
+    protected BindingIdentifierCache create() {
+        final BindingIdentifierCache cache =
+                new BindingIdentifierCache(serializer, cfgAttributes.identifierCacheSize.get());
+        JmxUtils.registerMXBean(cache, BindingIdentifierCache.class.getSimpleName(), "default");
+        return cache;
+    }
+}
@@ -18,6 +18,7 @@ package io.fd.honeycomb.infra.distro.schema;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import org.opendaylight.controller.md.sal.binding.impl.BindingToNormalizedNodeCodec;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.mdsal.binding.generator.impl.ModuleInfoBackedContext;
@@ -28,6 +29,8 @@ public class SchemaModule extends AbstractModule {
         bind(ModuleInfoBackedContext.class).toProvider(ModuleInfoBackedCtxProvider.class).in(Singleton.class);
         bind(SchemaService.class).toProvider(SchemaServiceProvider.class).in(Singleton.class);
         bind(BindingToNormalizedNodeCodec.class).toProvider(SerializerProvider.class).in(Singleton.class);
+        // Identifier translations shared by config and operational data tree managers
+        bind(BindingIdentifierCache.class).toProvider(BindingIdentifierCacheProvider.class).in(Singleton.class);
     }
 
 }
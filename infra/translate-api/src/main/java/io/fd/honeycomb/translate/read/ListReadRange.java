@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.read;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * Range of list entries to be read, instead of the whole list. Identified by offset of the first entry and maximal
+ * number of entries, applied to the ordered list of IDs provided by list reader.
+ */
+@Beta
+public final class ListReadRange {
+
+    private final int offset;
+    private final int limit;
+
+    private ListReadRange(final int offset, final int limit) {
+        checkArgument(offset >= 0, "offset should not be negative, but was %s", offset);
+        checkArgument(limit >= 0, "limit should not be negative, but was %s", limit);
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * @param offset number of entries to be skipped
+     * @param limit  maximal number of entries to be read
+     */
+    public static ListReadRange of(final int offset, final int limit) {
+        return new ListReadRange(offset, limit);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Selects entries in this range from provided list.
+     *
+     * @return new list with entries in this range, empty if the list is shorter than offset
+     */
+    @Nonnull
+    public <T> List<T> apply(@Nonnull final List<T> entries) {
+        final int from = Math.min(offset, entries.size());
+        // long arithmetic, offset + limit might overflow
+        final int to = (int) Math.min((long) offset + limit, entries.size());
+        return new ArrayList<>(entries.subList(from, to));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ListReadRange that = (ListReadRange) o;
+        return offset == that.offset && limit == that.limit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, limit);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("offset", offset)
+                .add("limit", limit)
+                .toString();
+    }
+}
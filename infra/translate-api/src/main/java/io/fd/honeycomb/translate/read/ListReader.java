@@ -19,6 +19,7 @@ package io.fd.honeycomb.translate.read;
 import com.google.common.annotations.Beta;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -36,7 +37,7 @@ public interface ListReader
         <D extends DataObject & Identifiable<K>, K extends Identifier<D>, B extends Builder<D>> extends Reader<D, B> {
 
     /**
-     * Read all elements in this list.
+     * Read all elements in this list, or the range of elements requested by {@link ReadContext#getListReadRange}.
      *
      * @param id Wildcarded identifier of list managed by this reader
      * @param ctx Read context
@@ -48,12 +49,50 @@ public interface ListReader
     List<D> readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx)
             throws ReadFailedException;
 
+    /**
+     * Read all elements in this list, passing them to the consumer one by one, as they are read. Allows processing
+     * of large lists without keeping all the entries in memory.
+     *
+     * Default implementation reads all the entries first, readers able to read entries one by one should override it.
+     *
+     * @param id Wildcarded identifier of list managed by this reader
+     * @param ctx Read context
+     * @param entryConsumer consumer of the read entries, invoked in the order of the entries
+     *
+     * @throws ReadFailedException if read was unsuccessful
+     */
+    default void readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx,
+                          @Nonnull final Consumer<? super D> entryConsumer) throws ReadFailedException {
+        readList(id, ctx).forEach(entryConsumer);
+    }
+
     /**
      * Get IDs for all entries in the list.
      */
     List<K> getAllIds(@Nonnull InstanceIdentifier<D> id, @Nonnull ReadContext ctx)
             throws ReadFailedException;
 
+    /**
+     * Get IDs for entries of the list in provided range.
+     *
+     * Default implementation selects the range from all the IDs.
+     */
+    default List<K> getIds(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ListReadRange range,
+                           @Nonnull final ReadContext ctx) throws ReadFailedException {
+        return range.apply(getAllIds(id, ctx));
+    }
+
+    /**
+     * Get IDs for entries to be read by {@link #readList}, respecting range requested in read context, if any.
+     */
+    default List<K> getRequestedIds(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx)
+            throws ReadFailedException {
+        final ListReadRange range = ctx.getListReadRange(id);
+        return range == null
+                ? getAllIds(id, ctx)
+                : getIds(id, range, ctx);
+    }
+
     /**
      * Merge read data into provided parent builder.
      */
@@ -17,10 +17,33 @@
 package io.fd.honeycomb.translate.read;
 
 import io.fd.honeycomb.translate.ModificationContext;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 /**
  * Context providing information about current state of DataTree to readers
  */
 public interface ReadContext extends ModificationContext {
 
+    /**
+     * Get range of list entries requested to be read, instead of the whole list.
+     *
+     * @param listId Wildcarded identifier of the list, as provided to {@link ListReader#readList}
+     * @return requested range, or null if all the entries are to be read
+     */
+    @Nullable
+    default ListReadRange getListReadRange(@Nonnull final InstanceIdentifier<?> listId) {
+        return null;
+    }
+
+    /**
+     * Get filter of the data requested by current read. Readers should skip reading of the excluded subtrees.
+     *
+     * @return requested filter, or null if all the data are to be read
+     */
+    @Nullable
+    default ReadFilter getReadFilter() {
+        return null;
+    }
 }
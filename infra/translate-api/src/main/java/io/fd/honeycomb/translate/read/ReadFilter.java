@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.read;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Descriptor of the part of data tree requested by a read (e.g. RESTCONF depth and fields parameters or NETCONF subtree
+ * filters), allowing readers to skip reading of the excluded subtrees.
+ * <p/>
+ * Filtering is done on the level of nodes handled by readers (containers, lists, augmentations), leaves are always
+ * read together with their parent. Nodes are included if:
+ * <ul>
+ * <li>their depth (number of path arguments in their identifier) does not exceed maximal depth, and</li>
+ * <li>no fields are requested or the node is an ancestor or a descendant of any of the requested fields.</li>
+ * </ul>
+ */
+@Beta
+public final class ReadFilter {
+
+    private final int maxDepth;
+    private final Set<InstanceIdentifier<?>> fields;
+
+    private ReadFilter(final int maxDepth, final Set<InstanceIdentifier<?>> fields) {
+        checkArgument(maxDepth > 0, "maxDepth should be positive, but was %s", maxDepth);
+        this.maxDepth = maxDepth;
+        this.fields = ImmutableSet.copyOf(checkNotNull(fields, "fields should not be null").stream()
+                .map(ReadFilter::wildcarded)
+                .iterator());
+    }
+
+    /**
+     * @param maxDepth maximal depth of the nodes to be read, counted from the root of data tree
+     * @param fields   identifiers of the requested subtrees, empty if all subtrees are requested
+     */
+    public static ReadFilter of(final int maxDepth, @Nonnull final Set<InstanceIdentifier<?>> fields) {
+        return new ReadFilter(maxDepth, fields);
+    }
+
+    /**
+     * @param maxDepth maximal depth of the nodes to be read, counted from the root of data tree
+     */
+    public static ReadFilter depth(final int maxDepth) {
+        return new ReadFilter(maxDepth, ImmutableSet.of());
+    }
+
+    /**
+     * @param fields identifiers of the requested subtrees
+     */
+    public static ReadFilter fields(@Nonnull final Set<InstanceIdentifier<?>> fields) {
+        return new ReadFilter(Integer.MAX_VALUE, fields);
+    }
+
+    /**
+     * Checks whether node identified by id should be read.
+     *
+     * @param id keyed or wildcarded identifier of the node
+     * @return true if the node is to be read
+     */
+    public boolean isIncluded(@Nonnull final InstanceIdentifier<?> id) {
+        if (Iterables.size(id.getPathArguments()) > maxDepth) {
+            return false;
+        }
+        if (fields.isEmpty()) {
+            return true;
+        }
+        final InstanceIdentifier<?> wildcardedId = wildcarded(id);
+        for (InstanceIdentifier<?> field : fields) {
+            if (field.contains(wildcardedId) || wildcardedId.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public Set<InstanceIdentifier<?>> getFields() {
+        return fields;
+    }
+
+    private static InstanceIdentifier<?> wildcarded(final InstanceIdentifier<?> id) {
+        final List<InstanceIdentifier.PathArgument> wildcardedArgs = new ArrayList<>();
+        for (InstanceIdentifier.PathArgument arg : id.getPathArguments()) {
+            wildcardedArgs.add(arg instanceof InstanceIdentifier.IdentifiableItem
+                    ? new InstanceIdentifier.Item<>(arg.getType())
+                    : arg);
+        }
+        return InstanceIdentifier.create(wildcardedArgs);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("maxDepth", maxDepth)
+                .add("fields", fields)
+                .toString();
+    }
+}
@@ -88,4 +88,13 @@ public interface Reader<D extends DataObject, B extends Builder<D>> extends Subt
      * Merge read data into provided parent builder.
      */
     void merge(@Nonnull final Builder<? extends DataObject> parentBuilder, @Nonnull final D readValue);
+
+    /**
+     * Check whether this reader can be invoked concurrently from multiple threads.
+     *
+     * @return true if this reader is thread-safe
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
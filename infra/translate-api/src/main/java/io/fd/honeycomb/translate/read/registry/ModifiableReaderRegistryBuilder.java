@@ -48,4 +48,11 @@ public interface ModifiableReaderRegistryBuilder
     <D extends DataObject & Identifiable<K>,K extends Identifier<D>> void addStructuralListReader(@Nonnull InstanceIdentifier<D> id,
                                                                                                   @Nonnull Class<? extends Builder<D>> builderType,
                                                                                                   @Nonnull List<K> staticKeys);
+
+    /**
+     * Overrides minimal number of list entries or child readers of a reader to be read in parallel. Applies only if
+     * parallel reads are enabled and the reader (with all its children) is thread-safe.
+     * Integer.MAX_VALUE effectively disables parallel reads for the reader.
+     */
+    void setParallelReadThreshold(@Nonnull InstanceIdentifier<?> id, int threshold);
 }
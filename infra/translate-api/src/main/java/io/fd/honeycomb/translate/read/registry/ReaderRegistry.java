@@ -21,6 +21,7 @@ import com.google.common.base.Optional;
 import com.google.common.collect.Multimap;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
@@ -44,6 +45,23 @@ public interface ReaderRegistry extends InitRegistry {
     Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> readAll(@Nonnull final ReadContext ctx)
             throws ReadFailedException;
 
+    /**
+     * Performs read on all registered root readers and passes the read DataObjects to the consumer one by one, as
+     * they are read. Allows processing of large root lists without keeping all the entries in memory.
+     *
+     * DataObjects are passed in the same order as in {@link #readAll(ReadContext)}, all DataObjects of a single
+     * root identifier are passed consecutively. Default implementation reads all the data first.
+     *
+     * @param ctx Read context
+     * @param consumer consumer of root identifiers and DataObjects read for them
+     * @throws ReadFailedException if read was unsuccessful
+     */
+    default void readAll(@Nonnull final ReadContext ctx,
+                         @Nonnull final BiConsumer<InstanceIdentifier<? extends DataObject>, DataObject> consumer)
+            throws ReadFailedException {
+        readAll(ctx).entries().forEach(entry -> consumer.accept(entry.getKey(), entry.getValue()));
+    }
+
     /**
      * Reads data identified by id.
      *
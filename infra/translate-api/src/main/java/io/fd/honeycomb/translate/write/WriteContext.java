@@ -47,4 +47,18 @@ public interface WriteContext extends ModificationContext {
      */
     <T extends DataObject> Optional<T> readAfter(@Nonnull final InstanceIdentifier<T> currentId);
 
+    /**
+     * Register an action to be invoked once all the changes of current transaction are successfully committed,
+     * e.g. invalidation of cached operational data affected by the changes. Actions are not invoked if the
+     * transaction fails.
+     *
+     * <p>Default implementation, kept for implementations not aware of commits, invokes the action immediately.
+     * Data read after the action, but before the commit, might then be cached without the changes.
+     *
+     * @param action action to be invoked after commit
+     */
+    default void afterCommit(@Nonnull final Runnable action) {
+        action.run();
+    }
+
 }
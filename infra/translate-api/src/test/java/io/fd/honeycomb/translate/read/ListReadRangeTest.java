@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.read;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+
+public class ListReadRangeTest {
+
+    private final List<Integer> entries = Lists.newArrayList(0, 1, 2, 3, 4);
+
+    @Test
+    public void testApply() throws Exception {
+        assertEquals(Lists.newArrayList(1, 2), ListReadRange.of(1, 2).apply(entries));
+    }
+
+    @Test
+    public void testApplyBeyondEnd() throws Exception {
+        assertEquals(Lists.newArrayList(3, 4), ListReadRange.of(3, Integer.MAX_VALUE).apply(entries));
+        assertTrue(ListReadRange.of(10, 2).apply(entries).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeOffset() throws Exception {
+        ListReadRange.of(-1, 2);
+    }
+}
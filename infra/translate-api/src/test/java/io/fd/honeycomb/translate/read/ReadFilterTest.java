@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.read;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.binding.ChildOf;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class ReadFilterTest {
+
+    private static final InstanceIdentifier<Root> ROOT_ID = InstanceIdentifier.create(Root.class);
+    private static final InstanceIdentifier<Child1> CHILD1_ID = ROOT_ID.child(Child1.class);
+    private static final InstanceIdentifier<Child2> CHILD2_ID = ROOT_ID.child(Child2.class);
+    private static final InstanceIdentifier<Nested> NESTED_ID = CHILD1_ID.child(Nested.class);
+
+    @Test
+    public void testDepth() throws Exception {
+        final ReadFilter filter = ReadFilter.depth(2);
+        assertTrue(filter.isIncluded(ROOT_ID));
+        assertTrue(filter.isIncluded(CHILD1_ID));
+        assertFalse(filter.isIncluded(NESTED_ID));
+    }
+
+    @Test
+    public void testFields() throws Exception {
+        final ReadFilter filter = ReadFilter.fields(Collections.singleton(NESTED_ID));
+        // ancestors of requested field are read as well
+        assertTrue(filter.isIncluded(ROOT_ID));
+        assertTrue(filter.isIncluded(CHILD1_ID));
+        assertTrue(filter.isIncluded(NESTED_ID));
+        assertFalse(filter.isIncluded(CHILD2_ID));
+    }
+
+    @Test
+    public void testFieldsSubtree() throws Exception {
+        final ReadFilter filter = ReadFilter.fields(Collections.singleton(CHILD1_ID));
+        assertTrue(filter.isIncluded(NESTED_ID));
+        assertFalse(filter.isIncluded(CHILD2_ID));
+    }
+
+    private interface Root extends DataObject {
+    }
+
+    private interface Child1 extends DataObject, ChildOf<Root> {
+    }
+
+    private interface Child2 extends DataObject, ChildOf<Root> {
+    }
+
+    private interface Nested extends DataObject, ChildOf<Child1> {
+    }
+}
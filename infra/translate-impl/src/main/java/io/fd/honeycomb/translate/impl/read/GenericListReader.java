@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
@@ -28,6 +29,7 @@ import io.fd.honeycomb.translate.spi.read.ListReaderCustomizer;
 import io.fd.honeycomb.translate.util.RWUtils;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -69,11 +71,18 @@ public class GenericListReader<C extends DataObject & Identifiable<K>, K extends
     @Nonnull
     public List<C> readList(@Nonnull final InstanceIdentifier<C> id,
                             @Nonnull final ReadContext ctx) throws ReadFailedException {
+        final List<C> allEntries = new ArrayList<>();
+        readList(id, ctx, allEntries::add);
+        return allEntries;
+    }
+
+    @Override
+    public void readList(@Nonnull final InstanceIdentifier<C> id, @Nonnull final ReadContext ctx,
+                         @Nonnull final Consumer<? super C> entryConsumer) throws ReadFailedException {
         LOG.trace("{}: Reading all list entries", this);
-        final List<K> allIds = getAllIds(id, ctx);
+        final List<K> allIds = getRequestedIds(id, ctx);
         LOG.debug("{}: Reading list entries for: {}", this, allIds);
 
-        final ArrayList<C> allEntries = new ArrayList<>(allIds.size());
         for (K key : allIds) {
             final InstanceIdentifier.IdentifiableItem<C, K> currentBdItem = RWUtils.getCurrentIdItem(id, key);
             final InstanceIdentifier<C> keyedId = RWUtils.replaceLastInId(id, currentBdItem);
@@ -81,10 +90,9 @@ public class GenericListReader<C extends DataObject & Identifiable<K>, K extends
             if (read.isPresent()) {
                 final DataObject singleItem = read.get();
                 checkArgument(getManagedDataObjectType().getTargetType().isAssignableFrom(singleItem.getClass()));
-                allEntries.add(getManagedDataObjectType().getTargetType().cast(singleItem));
+                entryConsumer.accept(getManagedDataObjectType().getTargetType().cast(singleItem));
             }
         }
-        return allEntries;
     }
 
     @Override
@@ -96,6 +104,15 @@ public class GenericListReader<C extends DataObject & Identifiable<K>, K extends
         return allIds;
     }
 
+    @Override
+    public List<K> getIds(@Nonnull final InstanceIdentifier<C> id, @Nonnull final ListReadRange range,
+                          @Nonnull final ReadContext ctx) throws ReadFailedException {
+        LOG.trace("{}: Getting list ids in range {}", this, range);
+        final List<K> ids = ((ListReaderCustomizer<C, K, B>) customizer).getIds(id, range, ctx);
+        LOG.debug("{}: List ids in range {}: {}", this, range, ids);
+        return ids;
+    }
+
     @Override
     public void merge(@Nonnull final Builder<? extends DataObject> builder, @Nonnull final List<C> readData) {
         ((ListReaderCustomizer<C, K, B>) customizer).merge(builder, readData);
@@ -104,6 +121,13 @@ public class GenericListReader<C extends DataObject & Identifiable<K>, K extends
     public static <C extends DataObject & Identifiable<K>,K extends Identifier<C>, B extends Builder<C>> Reader<C, B> createReflexive(
             final InstanceIdentifier<C> id, Class<B> builderClass,
             final List<K> staticKeys) {
-        return new GenericListReader<>(id, new ReflexiveListReaderCustomizer<>(id.getTargetType(), builderClass, staticKeys));
+        return new GenericListReader<>(id,
+                new ReflexiveListReaderCustomizer<C, K, B>(id.getTargetType(), builderClass, staticKeys) {
+                    @Override
+                    public boolean isThreadSafe() {
+                        // plain reflexive customizer keeps no state, static keys are not modified
+                        return true;
+                    }
+                });
     }
 }
@@ -80,8 +80,19 @@ public class GenericReader<C extends DataObject, B extends Builder<C>>
         return customizer.isPresent(id, built, ctx);
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return customizer.isThreadSafe();
+    }
+
     public static <C extends DataObject, B extends Builder<C>> Reader<C, B> createReflexive(
             final InstanceIdentifier<C> id, Class<B> builderClass) {
-        return new GenericReader<>(id, new ReflexiveReaderCustomizer<>(id.getTargetType(), builderClass));
+        return new GenericReader<>(id, new ReflexiveReaderCustomizer<C, B>(id.getTargetType(), builderClass) {
+            @Override
+            public boolean isThreadSafe() {
+                // plain reflexive customizer keeps no state
+                return true;
+            }
+        });
     }
 }
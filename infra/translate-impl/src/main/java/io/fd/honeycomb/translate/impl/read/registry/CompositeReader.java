@@ -29,14 +29,19 @@ import io.fd.honeycomb.translate.read.Initializer;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.util.RWUtils;
 import io.fd.honeycomb.translate.util.read.AbstractGenericReader;
 import io.fd.honeycomb.translate.util.read.DelegatingReader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -54,12 +59,19 @@ class CompositeReader<D extends DataObject, B extends Builder<D>>
 
     private final Reader<D, B> delegate;
     private final ImmutableMap<Class<?>, Reader<? extends DataObject, ? extends Builder<?>>> childReaders;
+    private final boolean childReadersThreadSafe;
+    // Null if children (and list entries) are to be read sequentially
+    @Nullable
+    private final ParallelReads parallelReads;
 
     private CompositeReader(final Reader<D, B> reader,
-                            final ImmutableMap<Class<?>, Reader<? extends DataObject, ? extends Builder<?>>> childReaders) {
+                            final ImmutableMap<Class<?>, Reader<? extends DataObject, ? extends Builder<?>>> childReaders,
+                            @Nullable final ParallelReads parallelReads) {
         super(reader.getManagedDataObjectType());
         this.delegate = reader;
         this.childReaders = childReaders;
+        this.childReadersThreadSafe = childReaders.values().stream().allMatch(Reader::isThreadSafe);
+        this.parallelReads = parallelReads;
     }
 
     @VisibleForTesting
@@ -109,27 +121,78 @@ class CompositeReader<D extends DataObject, B extends Builder<D>>
         return nextReader.read(id, ctx);
     }
 
-    @SuppressWarnings("unchecked")
     private void readChildren(final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx, final B builder)
             throws ReadFailedException {
         LOG.debug("{}: Reading children: {}", this, childReaders.keySet());
-        for (Reader child : childReaders.values()) {
-            final InstanceIdentifier childId = appendTypeToId(id, child.getManagedDataObjectType());
-
-            LOG.debug("{}: Reading child from: {}", this, child);
-            if (child instanceof ListReader) {
-                final List<? extends DataObject> list = ((ListReader) child).readList(childId, ctx);
-                // Dont set empty lists
-                if (!list.isEmpty()) {
-                    ((ListReader) child).merge(builder, list);
-                }
-            } else {
-                final Optional<? extends DataObject> read = child.read(childId, ctx);
-                if (read.isPresent()) {
-                    child.merge(builder, read.get());
-                }
+        final Collection<Reader<? extends DataObject, ? extends Builder<?>>> children = getRequestedChildren(id, ctx);
+        if (isParallelReadApplicable(children.size(), childReadersThreadSafe)) {
+            final ReadContext concurrentCtx = ConcurrentReadContext.of(ctx);
+            final List<ParallelReads.ReadTask<Consumer<B>>> childReads = children.stream()
+                    .map(child -> (ParallelReads.ReadTask<Consumer<B>>) () -> readChild(id, child, concurrentCtx))
+                    .collect(Collectors.toList());
+            // Builder is not thread-safe, children are merged afterwards in the order of child readers
+            for (Consumer<B> merge : readInParallel(childReads)) {
+                merge.accept(builder);
             }
+        } else {
+            for (Reader<? extends DataObject, ? extends Builder<?>> child : children) {
+                readChild(id, child, ctx).accept(builder);
+            }
+        }
+    }
+
+    /**
+     * Returns child readers, whose subtrees are not excluded by read filter in the context.
+     */
+    private Collection<Reader<? extends DataObject, ? extends Builder<?>>> getRequestedChildren(
+            final InstanceIdentifier<D> id, final ReadContext ctx) {
+        final ReadFilter filter = ctx.getReadFilter();
+        if (filter == null) {
+            return childReaders.values();
         }
+        final List<Reader<? extends DataObject, ? extends Builder<?>>> children = childReaders.values().stream()
+                .filter(child -> filter.isIncluded(appendTypeToId(id, child.getManagedDataObjectType())))
+                .collect(Collectors.toList());
+        LOG.trace("{}: Children requested by {}: {}", this, filter, children);
+        return children;
+    }
+
+    /**
+     * Reads child data.
+     *
+     * @return action merging the child data into builder of current node
+     */
+    @SuppressWarnings("unchecked")
+    private Consumer<B> readChild(final InstanceIdentifier<D> id, final Reader child, final ReadContext ctx)
+            throws ReadFailedException {
+        final InstanceIdentifier childId = appendTypeToId(id, child.getManagedDataObjectType());
+
+        LOG.debug("{}: Reading child from: {}", this, child);
+        if (child instanceof ListReader) {
+            final List<? extends DataObject> list = ((ListReader) child).readList(childId, ctx);
+            // Dont set empty lists
+            return list.isEmpty()
+                    ? builder -> { }
+                    : builder -> ((ListReader) child).merge(builder, list);
+        } else {
+            final Optional<? extends DataObject> read = child.read(childId, ctx);
+            return read.isPresent()
+                    ? builder -> child.merge(builder, read.get())
+                    : builder -> { };
+        }
+    }
+
+    boolean isParallelReadApplicable(final int reads, final boolean threadSafe) {
+        return parallelReads != null && threadSafe && parallelReads.isApplicable(reads);
+    }
+
+    <T> List<T> readInParallel(final List<ParallelReads.ReadTask<T>> reads) throws ReadFailedException {
+        return parallelReads.readAll(reads);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return delegate.isThreadSafe() && childReadersThreadSafe;
     }
 
     @Override
@@ -151,10 +214,23 @@ class CompositeReader<D extends DataObject, B extends Builder<D>>
     static <D extends DataObject, B extends Builder<D>> Reader<D, B> createForReader(
             @Nonnull final Reader<D, B> reader,
             @Nonnull final ImmutableMap<Class<?>, Reader<?, ? extends Builder<?>>> childReaders) {
+        return createForReader(reader, childReaders, null);
+    }
+
+    /**
+     * Wrap a Reader as a Composite Reader, reading its children and list entries in parallel, if they are
+     * thread-safe.
+     *
+     * @param parallelReads parallel read support, null if all the reads are to be sequential
+     */
+    static <D extends DataObject, B extends Builder<D>> Reader<D, B> createForReader(
+            @Nonnull final Reader<D, B> reader,
+            @Nonnull final ImmutableMap<Class<?>, Reader<?, ? extends Builder<?>>> childReaders,
+            @Nullable final ParallelReads parallelReads) {
 
         return (reader instanceof ListReader)
-                ? new CompositeListReader<>((ListReader) reader, childReaders)
-                : new CompositeReader<>(reader, childReaders);
+                ? new CompositeListReader<>((ListReader) reader, childReaders, parallelReads)
+                : new CompositeReader<>(reader, childReaders, parallelReads);
     }
 
     @SuppressWarnings("unchecked")
@@ -182,8 +258,9 @@ class CompositeReader<D extends DataObject, B extends Builder<D>>
         private final ListReader<D, K, B> delegate;
 
         private CompositeListReader(final ListReader<D, K, B> reader,
-                                    final ImmutableMap<Class<?>, Reader<? extends DataObject, ? extends Builder<?>>> childReaders) {
-            super(reader, childReaders);
+                                    final ImmutableMap<Class<?>, Reader<? extends DataObject, ? extends Builder<?>>> childReaders,
+                                    @Nullable final ParallelReads parallelReads) {
+            super(reader, childReaders, parallelReads);
             this.delegate = reader;
         }
 
@@ -196,22 +273,55 @@ class CompositeReader<D extends DataObject, B extends Builder<D>>
         public List<D> readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx)
                 throws ReadFailedException {
             LOG.trace("{}: Reading all list entries", this);
-            final List<K> allIds = delegate.getAllIds(id, ctx);
+            final List<K> allIds = getRequestedIds(id, ctx);
             LOG.debug("{}: Reading list entries for: {}", this, allIds);
 
-            // Override read list in order to perform readCurrent + readChildren here
             final ArrayList<D> allEntries = new ArrayList<>(allIds.size());
-            for (K key : allIds) {
-                final InstanceIdentifier.IdentifiableItem<D, K> currentBdItem = RWUtils.getCurrentIdItem(id, key);
-                final InstanceIdentifier<D> keyedId = RWUtils.replaceLastInId(id, currentBdItem);
-                final Optional<D> read = readCurrent(keyedId, ctx);
-                if (read.isPresent()) {
-                    final DataObject singleItem = read.get();
-                    checkArgument(getManagedDataObjectType().getTargetType().isAssignableFrom(singleItem.getClass()));
-                    allEntries.add(getManagedDataObjectType().getTargetType().cast(singleItem));
+            readEntries(id, allIds, ctx, allEntries::add);
+            return allEntries;
+        }
+
+        @Override
+        public void readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx,
+                             @Nonnull final Consumer<? super D> entryConsumer) throws ReadFailedException {
+            LOG.trace("{}: Reading all list entries", this);
+            final List<K> allIds = getRequestedIds(id, ctx);
+            LOG.debug("{}: Streaming list entries for: {}", this, allIds);
+            readEntries(id, allIds, ctx, entryConsumer);
+        }
+
+        private void readEntries(final InstanceIdentifier<D> id, final List<K> allIds, final ReadContext ctx,
+                                 final Consumer<? super D> entryConsumer) throws ReadFailedException {
+            // Override read list in order to perform readCurrent + readChildren here
+            if (isParallelReadApplicable(allIds.size(), isThreadSafe())) {
+                // Entries read in parallel are all kept in memory until the slowest one is read
+                final ReadContext concurrentCtx = ConcurrentReadContext.of(ctx);
+                final List<Optional<D>> entries = readInParallel(allIds.stream()
+                        .map(key -> (ParallelReads.ReadTask<Optional<D>>) () -> readEntry(id, key, concurrentCtx))
+                        .collect(Collectors.toList()));
+                for (Optional<D> read : entries) {
+                    acceptEntry(read, entryConsumer);
+                }
+            } else {
+                for (K key : allIds) {
+                    acceptEntry(readEntry(id, key, ctx), entryConsumer);
                 }
             }
-            return allEntries;
+        }
+
+        private Optional<D> readEntry(final InstanceIdentifier<D> id, final K key, final ReadContext ctx)
+                throws ReadFailedException {
+            final InstanceIdentifier.IdentifiableItem<D, K> currentBdItem = RWUtils.getCurrentIdItem(id, key);
+            final InstanceIdentifier<D> keyedId = RWUtils.replaceLastInId(id, currentBdItem);
+            return readCurrent(keyedId, ctx);
+        }
+
+        private void acceptEntry(final Optional<D> read, final Consumer<? super D> entryConsumer) {
+            if (read.isPresent()) {
+                final DataObject singleItem = read.get();
+                checkArgument(getManagedDataObjectType().getTargetType().isAssignableFrom(singleItem.getClass()));
+                entryConsumer.accept(getManagedDataObjectType().getTargetType().cast(singleItem));
+            }
         }
 
         @Override
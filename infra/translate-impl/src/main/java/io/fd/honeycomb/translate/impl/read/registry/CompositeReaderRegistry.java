@@ -28,14 +28,24 @@ import io.fd.honeycomb.translate.read.Initializer;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
 import io.fd.honeycomb.translate.util.RWUtils;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -54,6 +64,8 @@ public final class CompositeReaderRegistry implements ReaderRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(CompositeReaderRegistry.class);
 
     private final Map<Class<? extends DataObject>, Reader<? extends DataObject, ? extends Builder<?>>> rootReaders;
+    @Nullable
+    private final ExecutorService rootReadExecutor;
 
     /**
      * Create new {@link CompositeReaderRegistry}.
@@ -61,7 +73,20 @@ public final class CompositeReaderRegistry implements ReaderRegistry {
      * @param rootReaders List of delegate readers
      */
     public CompositeReaderRegistry(@Nonnull final List<Reader<? extends DataObject, ? extends Builder<?>>> rootReaders) {
+        this(rootReaders, null);
+    }
+
+    /**
+     * Create new {@link CompositeReaderRegistry} reading root readers concurrently in {@link #readAll(ReadContext)}.
+     *
+     * @param rootReaders      List of delegate readers
+     * @param rootReadExecutor executor reading the root readers. Null if root readers are to be read one after
+     *                         another by the calling thread
+     */
+    public CompositeReaderRegistry(@Nonnull final List<Reader<? extends DataObject, ? extends Builder<?>>> rootReaders,
+                                   @Nullable final ExecutorService rootReadExecutor) {
         this.rootReaders = RWUtils.uniqueLinkedIndex(checkNotNull(rootReaders), RWUtils.MANAGER_CLASS_FUNCTION);
+        this.rootReadExecutor = rootReadExecutor;
     }
 
     @VisibleForTesting
@@ -75,29 +100,123 @@ public final class CompositeReaderRegistry implements ReaderRegistry {
         @Nonnull final ReadContext ctx) throws ReadFailedException {
 
         LOG.debug("Reading from all delegates: {}", this);
-        LOG.trace("Reading from all delegates: {}", rootReaders.values());
+        final Collection<Reader<? extends DataObject, ? extends Builder<?>>> requestedReaders =
+                getRequestedRootReaders(ctx);
+        LOG.trace("Reading from all delegates: {}", requestedReaders);
+
+        if (rootReadExecutor != null && requestedReaders.size() > 1) {
+            return readAllConcurrently(requestedReaders, ctx);
+        }
 
         final Multimap<InstanceIdentifier<? extends DataObject>, DataObject> objects = LinkedListMultimap.create();
-        for (Reader<? extends DataObject, ? extends Builder<?>> rootReader : rootReaders.values()) {
-            LOG.debug("Reading from delegate: {}", rootReader);
+        for (Reader<? extends DataObject, ? extends Builder<?>> rootReader : requestedReaders) {
+            objects.putAll(rootReader.getManagedDataObjectType(), readRoot(rootReader, ctx));
+        }
+        return objects;
+    }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readAll(@Nonnull final ReadContext ctx,
+                        @Nonnull final BiConsumer<InstanceIdentifier<? extends DataObject>, DataObject> consumer)
+            throws ReadFailedException {
+        final Collection<Reader<? extends DataObject, ? extends Builder<?>>> requestedReaders =
+                getRequestedRootReaders(ctx);
+        if (rootReadExecutor != null && requestedReaders.size() > 1) {
+            // concurrent root reads need to be merged first
+            ReaderRegistry.super.readAll(ctx, consumer);
+            return;
+        }
+
+        LOG.debug("Streaming from all delegates: {}", this);
+        for (Reader<? extends DataObject, ? extends Builder<?>> rootReader : requestedReaders) {
+            final InstanceIdentifier<? extends DataObject> rootId = rootReader.getManagedDataObjectType();
+            LOG.debug("Streaming from delegate: {}", rootReader);
             if (rootReader instanceof ListReader) {
-                final List<? extends DataObject> listEntries =
-                        ((ListReader) rootReader).readList(rootReader.getManagedDataObjectType(), ctx);
-                if (!listEntries.isEmpty()) {
-                    objects.putAll(rootReader.getManagedDataObjectType(), listEntries);
-                }
+                ((ListReader) rootReader).readList(rootId, ctx,
+                        (Consumer<DataObject>) entry -> consumer.accept(rootId, entry));
             } else {
-                final Optional<? extends DataObject> read = rootReader.read(rootReader.getManagedDataObjectType(), ctx);
+                final Optional<? extends DataObject> read = rootReader.read(rootId, ctx);
                 if (read.isPresent()) {
-                    objects.putAll(rootReader.getManagedDataObjectType(), Collections.singletonList(read.get()));
+                    consumer.accept(rootId, read.get());
                 }
             }
         }
+    }
+
+    /**
+     * Get root readers of the subtrees included in the filter requested by read context (all if there is no filter).
+     */
+    private Collection<Reader<? extends DataObject, ? extends Builder<?>>> getRequestedRootReaders(
+            final ReadContext ctx) {
+        final ReadFilter filter = ctx.getReadFilter();
+        if (filter == null) {
+            return rootReaders.values();
+        }
+        final List<Reader<? extends DataObject, ? extends Builder<?>>> requested = rootReaders.values().stream()
+                .filter(rootReader -> filter.isIncluded(rootReader.getManagedDataObjectType()))
+                .collect(Collectors.toList());
+        LOG.trace("Root readers requested by {}: {}", filter, requested);
+        return requested;
+    }
 
+    /**
+     * Reads all the provided root readers concurrently, results are merged in the same order as in sequential read.
+     */
+    private Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> readAllConcurrently(
+            final Collection<Reader<? extends DataObject, ? extends Builder<?>>> requestedReaders,
+            final ReadContext ctx) throws ReadFailedException {
+        final ReadContext concurrentCtx = ConcurrentReadContext.of(ctx);
+        final List<Future<List<? extends DataObject>>> results = new ArrayList<>(requestedReaders.size());
+        for (Reader<? extends DataObject, ? extends Builder<?>> rootReader : requestedReaders) {
+            results.add(rootReadExecutor.submit(() -> readRoot(rootReader, concurrentCtx)));
+        }
+
+        final Multimap<InstanceIdentifier<? extends DataObject>, DataObject> objects = LinkedListMultimap.create();
+        final Iterator<Future<List<? extends DataObject>>> resultIterator = results.iterator();
+        try {
+            for (Reader<? extends DataObject, ? extends Builder<?>> rootReader : requestedReaders) {
+                objects.putAll(rootReader.getManagedDataObjectType(), getResult(rootReader, resultIterator.next()));
+            }
+        } finally {
+            // no need to finish remaining reads if one of them failed
+            results.forEach(result -> result.cancel(true));
+        }
         return objects;
     }
 
+    private static List<? extends DataObject> getResult(final Reader<? extends DataObject, ? extends Builder<?>> rootReader,
+                                                        final Future<List<? extends DataObject>> result)
+            throws ReadFailedException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadFailedException(rootReader.getManagedDataObjectType(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ReadFailedException) {
+                throw (ReadFailedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ReadFailedException(rootReader.getManagedDataObjectType(), cause);
+        }
+    }
+
+    private static List<? extends DataObject> readRoot(final Reader<? extends DataObject, ? extends Builder<?>> rootReader,
+                                                       final ReadContext ctx) throws ReadFailedException {
+        LOG.debug("Reading from delegate: {}", rootReader);
+
+        if (rootReader instanceof ListReader) {
+            return ((ListReader) rootReader).readList(rootReader.getManagedDataObjectType(), ctx);
+        } else {
+            final Optional<? extends DataObject> read = rootReader.read(rootReader.getManagedDataObjectType(), ctx);
+            return read.isPresent()
+                    ? Collections.singletonList(read.get())
+                    : Collections.emptyList();
+        }
+    }
 
     @Override
     public void initAll(@Nonnull final DataBroker broker, @Nonnull final ReadContext ctx) throws InitFailedException {
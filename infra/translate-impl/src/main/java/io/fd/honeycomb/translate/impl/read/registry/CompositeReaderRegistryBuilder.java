@@ -23,6 +23,7 @@ import io.fd.honeycomb.translate.impl.read.GenericListReader;
 import io.fd.honeycomb.translate.impl.read.GenericReader;
 import io.fd.honeycomb.translate.read.InitReader;
 import io.fd.honeycomb.translate.read.Initializer;
+import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.read.registry.ModifiableReaderRegistryBuilder;
 import io.fd.honeycomb.translate.read.registry.ReaderRegistry;
@@ -30,10 +31,15 @@ import io.fd.honeycomb.translate.read.registry.ReaderRegistryBuilder;
 import io.fd.honeycomb.translate.util.AbstractSubtreeManagerRegistryBuilderBuilder;
 import io.fd.honeycomb.translate.util.YangDAG;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -50,10 +56,48 @@ public final class CompositeReaderRegistryBuilder
 
     private static final Logger LOG = LoggerFactory.getLogger(CompositeReaderRegistryBuilder.class);
 
+    @Nullable
+    private ExecutorService rootReadExecutor;
+    @Nullable
+    private ForkJoinPool parallelReadPool;
+    private int parallelReadThreshold;
+    private final Map<InstanceIdentifier<?>, Integer> parallelReadThresholds = new HashMap<>();
+
     public CompositeReaderRegistryBuilder(@Nonnull final YangDAG yangDAG) {
         super(yangDAG);
     }
 
+    /**
+     * Makes the built registry read root readers concurrently using provided executor, when reading all the data.
+     * Readers are invoked from multiple threads at once, so the executor should be set only if all the root readers
+     * are safe to be used that way.
+     *
+     * @param rootReadExecutor executor reading root readers, null to read them sequentially
+     */
+    public void setRootReadExecutor(@Nullable final ExecutorService rootReadExecutor) {
+        this.rootReadExecutor = rootReadExecutor;
+    }
+
+    /**
+     * Makes readers of the built registry read list entries and sibling child readers in parallel using provided
+     * pool. Only readers declaring themselves {@link Reader#isThreadSafe() thread-safe} (including all their
+     * children) are read in parallel, the rest is read sequentially.
+     *
+     * @param parallelReadPool pool reading list entries and child readers, null to read them sequentially
+     * @param threshold        default minimal number of list entries or child readers to be read in parallel
+     */
+    public void setParallelReadPool(@Nullable final ForkJoinPool parallelReadPool, final int threshold) {
+        checkArgument(threshold > 1, "threshold should be greater than 1, but was %s", threshold);
+        this.parallelReadPool = parallelReadPool;
+        this.parallelReadThreshold = threshold;
+    }
+
+    @Override
+    public void setParallelReadThreshold(@Nonnull final InstanceIdentifier<?> id, final int threshold) {
+        checkArgument(threshold > 1, "threshold should be greater than 1, but was %s", threshold);
+        parallelReadThresholds.put(id, threshold);
+    }
+
     @Override
     protected Reader<? extends DataObject, ? extends Builder<?>> getSubtreeHandler(@Nonnull final Set<InstanceIdentifier<?>> handledChildren,
                                                                                    @Nonnull final Reader<? extends DataObject, ? extends Builder<?>> reader) {
@@ -108,7 +152,7 @@ public final class CompositeReaderRegistryBuilder
         orderedRootReaders.sort((reader1, reader2) -> readerOrder.indexOf(reader1.getManagedDataObjectType())
                 - readerOrder.indexOf(reader2.getManagedDataObjectType()));
 
-        return new CompositeReaderRegistry(orderedRootReaders);
+        return new CompositeReaderRegistry(orderedRootReaders, rootReadExecutor);
     }
 
     private Reader<? extends DataObject, ? extends Builder<?>> toCompositeReader(
@@ -125,8 +169,19 @@ public final class CompositeReaderRegistryBuilder
         }
 
         final ImmutableMap<Class<?>, Reader<?, ? extends Builder<?>>> childReadersMap = childReadersMapB.build();
-        return childReadersMap.isEmpty()
-                ? mappedReaders.get(instanceIdentifier)
-                : CompositeReader.createForReader(mappedReaders.get(instanceIdentifier), childReadersMap);
+        final Reader<? extends DataObject, ? extends Builder<?>> reader = mappedReaders.get(instanceIdentifier);
+        final ParallelReads parallelReads = getParallelReads(instanceIdentifier);
+        // List readers are wrapped also without children, to read their entries in parallel
+        return childReadersMap.isEmpty() && (parallelReads == null || !(reader instanceof ListReader))
+                ? reader
+                : CompositeReader.createForReader(reader, childReadersMap, parallelReads);
+    }
+
+    @Nullable
+    private ParallelReads getParallelReads(final InstanceIdentifier<?> id) {
+        if (parallelReadPool == null) {
+            return null;
+        }
+        return new ParallelReads(parallelReadPool, parallelReadThresholds.getOrDefault(id, parallelReadThreshold));
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.impl.read.registry;
+
+import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.MappingContext;
+import io.fd.honeycomb.translate.ModificationCache;
+import io.fd.honeycomb.translate.read.ListReadRange;
+import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFilter;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Read context shared by readers invoked concurrently within a single read. {@link ModificationCache} is thread-safe
+ * so it is shared as is, access to the {@link MappingContext} is serialized.
+ *
+ * Closing this context does nothing, the wrapped context is owned and closed by the caller.
+ */
+@ThreadSafe
+final class ConcurrentReadContext implements ReadContext {
+
+    private final ReadContext delegate;
+    private final MappingContext mappingContext;
+
+    private ConcurrentReadContext(final ReadContext delegate) {
+        this.delegate = delegate;
+        this.mappingContext = new SynchronizedMappingContext(delegate.getMappingContext());
+    }
+
+    /**
+     * @return context safe to be used from multiple threads, wrapping provided context unless it already is safe
+     */
+    static ReadContext of(@Nonnull final ReadContext ctx) {
+        return ctx instanceof ConcurrentReadContext
+                ? ctx
+                : new ConcurrentReadContext(ctx);
+    }
+
+    @Nonnull
+    @Override
+    public ModificationCache getModificationCache() {
+        return delegate.getModificationCache();
+    }
+
+    @Nonnull
+    @Override
+    public MappingContext getMappingContext() {
+        return mappingContext;
+    }
+
+    @Nullable
+    @Override
+    public ListReadRange getListReadRange(@Nonnull final InstanceIdentifier<?> listId) {
+        return delegate.getListReadRange(listId);
+    }
+
+    @Nullable
+    @Override
+    public ReadFilter getReadFilter() {
+        return delegate.getReadFilter();
+    }
+
+    @Override
+    public void close() {
+        // closed by the owner of delegate
+    }
+
+    private static final class SynchronizedMappingContext implements MappingContext {
+
+        private final MappingContext delegate;
+
+        private SynchronizedMappingContext(final MappingContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized <T extends DataObject> Optional<T> read(@Nonnull final InstanceIdentifier<T> currentId) {
+            return delegate.read(currentId);
+        }
+
+        @Override
+        public synchronized void delete(final InstanceIdentifier<?> path) {
+            delegate.delete(path);
+        }
+
+        @Override
+        public synchronized <T extends DataObject> void merge(final InstanceIdentifier<T> path, final T data) {
+            delegate.merge(path, data);
+        }
+
+        @Override
+        public synchronized <T extends DataObject> void put(final InstanceIdentifier<T> path, final T data) {
+            delegate.put(path, data);
+        }
+
+        @Override
+        public void close() {
+            // closed by the owner of delegate
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.impl.read.registry;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import io.fd.honeycomb.translate.read.ReadFailedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Fork-join based execution of independent reads (list entries or sibling child readers) of a single reader.
+ *
+ * Nested parallel reads (e.g. children of list entries being read in parallel) are forked in the same pool, so the
+ * threads waiting for their subtasks help with their execution instead of blocking.
+ *
+ * Reads typically block on I/O, so each read is executed as {@link ForkJoinPool.ManagedBlocker}, letting the pool
+ * compensate for blocked workers and keep its parallelism.
+ */
+final class ParallelReads {
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * @param pool      pool executing the reads
+     * @param threshold minimal number of reads to be executed in parallel, smaller batches are read sequentially
+     */
+    ParallelReads(@Nonnull final ForkJoinPool pool, final int threshold) {
+        checkArgument(threshold > 1, "threshold should be greater than 1, but was %s", threshold);
+        this.pool = checkNotNull(pool, "pool should not be null");
+        this.threshold = threshold;
+    }
+
+    /**
+     * @return true if given number of reads should be executed in parallel
+     */
+    boolean isApplicable(final int reads) {
+        return reads >= threshold;
+    }
+
+    /**
+     * Executes all the reads in parallel and waits for their completion.
+     *
+     * @return results in the same order as provided reads
+     * @throws ReadFailedException failure of the first failed read, in the order of provided reads
+     */
+    <T> List<T> readAll(@Nonnull final List<ReadTask<T>> reads) throws ReadFailedException {
+        final List<ReadForkJoinTask<T>> tasks = reads.stream()
+                .map(ReadForkJoinTask::new)
+                .collect(Collectors.toList());
+        if (ForkJoinTask.getPool() == pool) {
+            // nested parallel read, already running in the pool
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        final List<T> results = new ArrayList<>(tasks.size());
+        for (ReadForkJoinTask<T> task : tasks) {
+            if (task.failure != null) {
+                throw task.failure;
+            }
+            results.add(task.getRawResult());
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("threshold", threshold)
+                .toString();
+    }
+
+    /**
+     * Single read executed in parallel with the others.
+     */
+    @FunctionalInterface
+    interface ReadTask<T> {
+        T read() throws ReadFailedException;
+    }
+
+    private static final class ReadForkJoinTask<T> extends ForkJoinTask<T> implements ForkJoinPool.ManagedBlocker {
+
+        private final ReadTask<T> read;
+        private T result;
+        // ReadFailedException is checked, so it is kept here instead of failing the task
+        private ReadFailedException failure;
+        private boolean finished;
+
+        private ReadForkJoinTask(final ReadTask<T> read) {
+            this.read = read;
+        }
+
+        @Override
+        public T getRawResult() {
+            return result;
+        }
+
+        @Override
+        protected void setRawResult(final T value) {
+            this.result = value;
+        }
+
+        @Override
+        protected boolean exec() {
+            try {
+                ForkJoinPool.managedBlock(this);
+            } catch (InterruptedException e) {
+                // not thrown by block(), reads are not interruptible
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading", e);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                result = read.read();
+            } catch (ReadFailedException e) {
+                failure = e;
+            }
+            finished = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return finished;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.google.common.collect.Iterables;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.util.RWUtils;
 import io.fd.honeycomb.translate.util.ReflectionUtils;
@@ -81,6 +82,12 @@ class SubtreeReader<D extends DataObject, B extends Builder<D>> implements Deleg
     public Optional<? extends DataObject> read(
             @Nonnull final InstanceIdentifier<? extends DataObject> id,
             @Nonnull final ReadContext ctx) throws ReadFailedException {
+        final ReadFilter filter = ctx.getReadFilter();
+        if (filter != null && !filter.isIncluded(id)) {
+            LOG.debug("{}: Subtree node {} excluded by {}, skipping read", this, id, filter);
+            return Optional.absent();
+        }
+
         final InstanceIdentifier<?> wildcarded = RWUtils.makeIidWildcarded(id);
 
         // Reading entire subtree and filtering if is current reader responsible
@@ -19,11 +19,13 @@ package io.fd.honeycomb.translate.impl.read;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.spi.read.ListReaderCustomizer;
 import java.util.List;
@@ -123,6 +125,19 @@ public abstract class AbstractListReaderTest {
                 .readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), any(ReadContext.class));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testReadListRange() throws Exception {
+        final ListReadRange range = ListReadRange.of(1, 1);
+        when(ctx.getListReadRange(DATA_OBJECT_ID)).thenReturn(range);
+        when(customizer.getIds(DATA_OBJECT_ID, range, ctx)).thenReturn(keys.subList(1, 2));
+
+        assertEquals(1, reader.readList(DATA_OBJECT_ID, ctx).size());
+
+        verify(customizer, never()).getAllIds(DATA_OBJECT_ID, ctx);
+        verify(customizer).readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), any(ReadContext.class));
+    }
+
     static class TestingData implements DataObject, Identifiable<TestingData.TestingKey> {
 
         @Override
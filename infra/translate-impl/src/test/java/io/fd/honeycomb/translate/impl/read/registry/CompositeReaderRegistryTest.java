@@ -20,6 +20,7 @@ import static io.fd.honeycomb.translate.util.DataObjects.DataObject3;
 import static io.fd.honeycomb.translate.util.DataObjects.DataObject3.DataObject31;
 import static io.fd.honeycomb.translate.util.DataObjects.DataObject4;
 import static io.fd.honeycomb.translate.util.DataObjects.DataObject4.DataObject41;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
@@ -30,9 +31,16 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
 import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -95,6 +103,44 @@ public class CompositeReaderRegistryTest {
         inOrder.verify(reader41).read(any(InstanceIdentifier.class), any(ReadContext.class));
     }
 
+    @Test
+    public void testReadAllConcurrently() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            reg = new CompositeReaderRegistry(Lists.newArrayList(rootReader3, rootReader4), executor);
+            final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> objects = reg.readAll(ctx);
+
+            // Merged in the same order as read sequentially
+            assertEquals(Lists.newArrayList(DataObject3.IID, DataObject4.IID), Lists.newArrayList(objects.keySet()));
+            verify(reader31).read(any(InstanceIdentifier.class), any(ReadContext.class));
+            verify(reader41).read(any(InstanceIdentifier.class), any(ReadContext.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadAllFiltered() throws Exception {
+        when(ctx.getReadFilter()).thenReturn(ReadFilter.fields(ImmutableSet.of(DataObject4.IID)));
+        final Multimap<InstanceIdentifier<? extends DataObject>, ? extends DataObject> objects = reg.readAll(ctx);
+
+        // Root readers of excluded subtrees are not invoked at all
+        assertEquals(Lists.newArrayList(DataObject4.IID), Lists.newArrayList(objects.keySet()));
+        verify(rootReader3, times(0)).read(any(InstanceIdentifier.class), any(ReadContext.class));
+        verify(reader31, times(0)).read(any(InstanceIdentifier.class), any(ReadContext.class));
+        verify(rootReader4).read(any(InstanceIdentifier.class), any(ReadContext.class));
+    }
+
+    @Test
+    public void testStreamAllFiltered() throws Exception {
+        when(ctx.getReadFilter()).thenReturn(ReadFilter.fields(ImmutableSet.of(DataObject4.IID)));
+        final List<InstanceIdentifier<?>> streamed = new ArrayList<>();
+        reg.readAll(ctx, (id, dataObject) -> streamed.add(id));
+
+        assertEquals(Lists.newArrayList(DataObject4.IID), streamed);
+        verify(rootReader3, times(0)).read(any(InstanceIdentifier.class), any(ReadContext.class));
+    }
+
     @Test
     public void testReadSingleRoot() throws Exception {
         reg.read(DataObject3.IID, ctx);
@@ -21,9 +21,11 @@ import static io.fd.honeycomb.translate.util.DataObjects.DataObject4.DataObject4
 import static io.fd.honeycomb.translate.util.DataObjects.DataObjectK;
 import static io.fd.honeycomb.translate.util.DataObjects.DataObjectKey;
 import static io.fd.honeycomb.translate.impl.read.registry.CompositeReaderRegistryTest.mockReader;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,11 +33,14 @@ import static org.mockito.Mockito.when;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
+import io.fd.honeycomb.translate.read.ReadFilter;
 import io.fd.honeycomb.translate.read.Reader;
 import io.fd.honeycomb.translate.util.DataObjects;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -71,6 +76,15 @@ public class CompositeReaderTest {
         verify(reader41).read(DataObject41.IID, ctx);
     }
 
+    @Test
+    public void testReadCurrentFiltered() throws Exception {
+        // child is below requested depth
+        when(ctx.getReadFilter()).thenReturn(ReadFilter.depth(1));
+        compositeReader.read(DataObject4.IID, ctx);
+        verify(reader4).readCurrentAttributes(eq(DataObject4.IID), any(Builder.class), eq(ctx));
+        verify(reader41, never()).read(any(InstanceIdentifier.class), any(ReadContext.class));
+    }
+
     @Test
     public void testReadJustChild() throws Exception {
         // Delegating read to child
@@ -106,6 +120,62 @@ public class CompositeReaderTest {
                 .readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), any(ReadContext.class));
     }
 
+    @Test
+    public void testListRange() throws Exception {
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>> readerK =
+                mockListReader(DataObjectK.class, Lists.newArrayList(new DataObjectKey(), new DataObjectKey()));
+        final ListReadRange range = ListReadRange.of(0, 1);
+        when(ctx.getListReadRange(DataObjectK.IID)).thenReturn(range);
+        when(readerK.getIds(DataObjectK.IID, range, ctx)).thenReturn(Lists.newArrayList(new DataObjectKey()));
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>
+                compositeReaderK = (ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>)
+                CompositeReader.createForReader(readerK, ImmutableMap.of());
+
+        compositeReaderK.readList(DataObjectK.IID, ctx);
+
+        verify(readerK, never()).getAllIds(DataObjectK.IID, ctx);
+        verify(readerK).readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), eq(ctx));
+    }
+
+    @Test
+    public void testListInParallel() throws Exception {
+        final Reader<DataObjectK.DataObjectK1, Builder<DataObjectK.DataObjectK1>> readerK1 =
+                mockReader(DataObjectK.DataObjectK1.class);
+        when(readerK1.isThreadSafe()).thenReturn(true);
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>> readerK = mockListReader(DataObjectK.class,
+                Lists.newArrayList(new DataObjectKey(), new DataObjectKey(), new DataObjectKey()));
+        when(readerK.isThreadSafe()).thenReturn(true);
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>
+                compositeReaderK = (ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>)
+                CompositeReader.createForReader(readerK, ImmutableMap.of(DataObject41.class, readerK1),
+                        new ParallelReads(new ForkJoinPool(2), 2));
+
+        assertEquals(3, compositeReaderK.readList(DataObjectK.IID, ctx).size());
+
+        // entries are read with context shared by concurrent reads
+        verify(readerK, times(3))
+                .readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), any(ReadContext.class));
+        verify(readerK, never()).readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), eq(ctx));
+    }
+
+    @Test
+    public void testListNotThreadSafe() throws Exception {
+        // child reader is not thread-safe, so the entries are read sequentially
+        final Reader<DataObjectK.DataObjectK1, Builder<DataObjectK.DataObjectK1>> readerK1 =
+                mockReader(DataObjectK.DataObjectK1.class);
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>> readerK = mockListReader(DataObjectK.class,
+                Lists.newArrayList(new DataObjectKey(), new DataObjectKey(), new DataObjectKey()));
+        when(readerK.isThreadSafe()).thenReturn(true);
+        final ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>
+                compositeReaderK = (ListReader<DataObjectK, DataObjectKey, Builder<DataObjectK>>)
+                CompositeReader.createForReader(readerK, ImmutableMap.of(DataObject41.class, readerK1),
+                        new ParallelReads(new ForkJoinPool(2), 2));
+
+        compositeReaderK.readList(DataObjectK.IID, ctx);
+
+        verify(readerK, times(3)).readCurrentAttributes(any(InstanceIdentifier.class), any(Builder.class), eq(ctx));
+    }
+
     @SuppressWarnings("unchecked")
     static <D extends DataObject & Identifiable<K>, K extends Identifier<D>, B extends Builder<D>> ListReader<D, K, B> mockListReader(
             final Class<D> dataType, List<K> keys)
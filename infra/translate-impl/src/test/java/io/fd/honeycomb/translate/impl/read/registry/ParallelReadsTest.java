@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.impl.read.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.util.DataObjects;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelReadsTest {
+
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testBlockedReadCompensated() throws Exception {
+        final ParallelReads parallelReads = new ParallelReads(pool, 2);
+        // both reads block until the other one is running, single worker would never finish them without compensation
+        final CountDownLatch running = new CountDownLatch(2);
+        final ParallelReads.ReadTask<Boolean> read = () -> {
+            running.countDown();
+            try {
+                return running.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+
+        assertEquals(Lists.newArrayList(true, true), parallelReads.readAll(Lists.newArrayList(read, read)));
+    }
+
+    @Test(expected = ReadFailedException.class)
+    public void testReadFailure() throws Exception {
+        final ParallelReads parallelReads = new ParallelReads(pool, 2);
+        final List<ParallelReads.ReadTask<String>> reads = Lists.newArrayList(() -> "ok", () -> {
+            throw new ReadFailedException(DataObjects.DataObject4.IID);
+        });
+        parallelReads.readAll(reads);
+    }
+
+    @Test
+    public void testIsApplicable() throws Exception {
+        final ParallelReads parallelReads = new ParallelReads(pool, 3);
+        assertFalse(parallelReads.isApplicable(2));
+        assertTrue(parallelReads.isApplicable(3));
+    }
+}
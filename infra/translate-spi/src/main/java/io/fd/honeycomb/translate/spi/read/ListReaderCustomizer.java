@@ -17,6 +17,7 @@
 package io.fd.honeycomb.translate.spi.read;
 
 import com.google.common.annotations.Beta;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
 import java.util.Collections;
@@ -50,6 +51,21 @@ public interface ListReaderCustomizer<O extends DataObject & Identifiable<K>, K
     List<K> getAllIds(@Nonnull final InstanceIdentifier<O> id, @Nonnull final ReadContext context) throws
             ReadFailedException;
 
+    /**
+     * Return list with IDs of list nodes in provided range. Customizers able to retrieve just a range of IDs from
+     * the data provider should override this, default implementation selects the range from all the IDs.
+     *
+     * @param id Wildcarded ID pointing to list node managed by enclosing reader
+     * @param range Requested range of list entries
+     * @param context Read context
+     * @throws ReadFailedException if the list of IDs could not be read
+     */
+    @Nonnull
+    default List<K> getIds(@Nonnull final InstanceIdentifier<O> id, @Nonnull final ListReadRange range,
+                           @Nonnull final ReadContext context) throws ReadFailedException {
+        return range.apply(getAllIds(id, context));
+    }
+
     /**
      * Merge read data into provided parent builder.
      */
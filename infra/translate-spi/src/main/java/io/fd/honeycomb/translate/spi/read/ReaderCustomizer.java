@@ -72,4 +72,14 @@ public interface ReaderCustomizer<O extends DataObject, B extends Builder<O>> {
         // Default impl = check whether read value is empty
         return !built.equals(getBuilder(id).build());
     }
+
+    /**
+     * Check whether this customizer can be invoked concurrently from multiple threads, e.g. to read multiple list
+     * entries at once. Customizers are invoked from a single thread at a time, unless they declare otherwise.
+     *
+     * @return true if this customizer is thread-safe
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fd.honeycomb.translate.MappingContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.ReadTransaction;
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind variant of {@link RealtimeMappingContext}. Instead of committing each modification on its own,
+ * modifications are buffered and committed in a single transaction when:
+ * <ul>
+ *     <li>{@link #flush()} or {@link #close()} is invoked</li>
+ *     <li>number of buffered modifications reaches the batch size</li>
+ *     <li>the oldest buffered modification is older than the maximum delay</li>
+ * </ul>
+ *
+ * Reads see the buffered modifications, including the ones being committed. Reads of data not affected by them go
+ * straight to the context datastore, the others are executed in a transaction with the modifications applied.
+ * Modifications are committed outside of the lock guarding the buffer, so reads and new modifications do not wait
+ * for a commit in progress. Flushes are serialized, so batches are committed in the order they were buffered.
+ *
+ * Modifications of a failed commit are returned to the buffer and committed by the next flush. Failure of a flush
+ * triggered by the delay can not be reported to the caller, it is only logged. Callers that need to know whether
+ * modifications were committed should {@link #flush()}.
+ */
+@ThreadSafe
+public final class BatchingMappingContext implements MappingContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingMappingContext.class);
+
+    private final DataBroker contextBroker;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownScheduler;
+    // Held while committing a batch, acquired before this
+    private final Object flushLock = new Object();
+    // Guarded by this
+    private final List<BufferedModification> buffer = new ArrayList<>();
+    // Batch being committed, guarded by this
+    private List<BufferedModification> inFlight = Collections.emptyList();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * @param contextBroker data broker of the context datastore
+     * @param batchSize     number of buffered modifications triggering a flush
+     * @param maxDelay      maximum time a modification stays in the buffer
+     * @param timeUnit      unit of the maximum delay
+     */
+    public BatchingMappingContext(@Nonnull final DataBroker contextBroker, final int batchSize, final long maxDelay,
+                                  @Nonnull final TimeUnit timeUnit) {
+        this(contextBroker, batchSize, maxDelay, timeUnit, Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("honeycomb-mapping-context-flush-%d")
+                        .build()), true);
+    }
+
+    /**
+     * @param scheduler executor of the flushes triggered by the delay, not shut down by {@link #close()}
+     */
+    public BatchingMappingContext(@Nonnull final DataBroker contextBroker, final int batchSize, final long maxDelay,
+                                  @Nonnull final TimeUnit timeUnit,
+                                  @Nonnull final ScheduledExecutorService scheduler) {
+        this(contextBroker, batchSize, maxDelay, timeUnit, scheduler, false);
+    }
+
+    private BatchingMappingContext(@Nonnull final DataBroker contextBroker, final int batchSize, final long maxDelay,
+                                   @Nonnull final TimeUnit timeUnit,
+                                   @Nonnull final ScheduledExecutorService scheduler, final boolean ownScheduler) {
+        this.contextBroker = checkNotNull(contextBroker, "contextBroker should not be null");
+        checkArgument(batchSize > 0, "batchSize should be positive, but was %s", batchSize);
+        checkArgument(maxDelay > 0, "maxDelay should be positive, but was %s", maxDelay);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = checkNotNull(timeUnit, "timeUnit should not be null").toNanos(maxDelay);
+        this.scheduler = checkNotNull(scheduler, "scheduler should not be null");
+        this.ownScheduler = ownScheduler;
+    }
+
+    @Override
+    public synchronized <T extends DataObject> Optional<T> read(@Nonnull final InstanceIdentifier<T> currentId) {
+        if (!isAffected(currentId)) {
+            try (ReadOnlyTransaction tx = contextBroker.newReadOnlyTransaction()) {
+                return read(tx, currentId);
+            }
+        }
+
+        final ReadWriteTransaction tx = contextBroker.newReadWriteTransaction();
+        try {
+            // committed batch might be applied twice, but applying modifications is idempotent
+            inFlight.forEach(modification -> modification.apply(tx));
+            buffer.forEach(modification -> modification.apply(tx));
+            return read(tx, currentId);
+        } finally {
+            tx.cancel();
+        }
+    }
+
+    private static <T extends DataObject> Optional<T> read(final ReadTransaction tx,
+                                                           final InstanceIdentifier<T> currentId) {
+        try {
+            return tx.read(LogicalDatastoreType.OPERATIONAL, currentId).checkedGet();
+        } catch (ReadFailedException e) {
+            throw new IllegalStateException("Unable to perform read of " + currentId, e);
+        }
+    }
+
+    /**
+     * @return true if data identified by provided id might be modified by buffered modifications
+     */
+    private boolean isAffected(final InstanceIdentifier<?> id) {
+        return isAffected(inFlight, id) || isAffected(buffer, id);
+    }
+
+    private static boolean isAffected(final List<BufferedModification> modifications, final InstanceIdentifier<?> id) {
+        for (final BufferedModification modification : modifications) {
+            if (modification.path.contains(id) || id.contains(modification.path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void delete(final InstanceIdentifier<?> path) {
+        buffer(path, tx -> tx.delete(LogicalDatastoreType.OPERATIONAL, path));
+    }
+
+    @Override
+    public <T extends DataObject> void merge(final InstanceIdentifier<T> path, final T data) {
+        buffer(path, tx -> tx.merge(LogicalDatastoreType.OPERATIONAL, path, data, true));
+    }
+
+    @Override
+    public <T extends DataObject> void put(final InstanceIdentifier<T> path, final T data) {
+        buffer(path, tx -> tx.put(LogicalDatastoreType.OPERATIONAL, path, data, true));
+    }
+
+    private void buffer(final InstanceIdentifier<?> path, final Consumer<WriteTransaction> modification) {
+        final boolean batchFull;
+        synchronized (this) {
+            checkState(!closed, "%s is already closed", this);
+            buffer.add(new BufferedModification(path, modification));
+            batchFull = buffer.size() >= batchSize;
+            if (!batchFull && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flushDelayed, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        // not holding the lock, flush acquires the flush lock first
+        if (batchFull) {
+            flush();
+        }
+    }
+
+    /**
+     * Commits all the buffered modifications in a single transaction.
+     *
+     * @throws IllegalStateException if the commit fails, modifications are kept in the buffer for the next flush
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            final List<BufferedModification> batch = takeBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                final WriteTransaction tx = contextBroker.newWriteOnlyTransaction();
+                batch.forEach(modification -> modification.apply(tx));
+                tx.submit().checkedGet();
+                LOG.trace("{} modifications of mapping context committed", batch.size());
+                batchCommitted(batch, true);
+            } catch (TransactionCommitFailedException | RuntimeException e) {
+                batchCommitted(batch, false);
+                throw new IllegalStateException(
+                        "Unable to commit " + batch.size() + " modifications of mapping context", e);
+            }
+        }
+    }
+
+    /**
+     * Moves buffered modifications to the batch being committed.
+     */
+    private synchronized List<BufferedModification> takeBatch() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (buffer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        inFlight = new ArrayList<>(buffer);
+        buffer.clear();
+        return inFlight;
+    }
+
+    private synchronized void batchCommitted(final List<BufferedModification> batch, final boolean success) {
+        if (!success) {
+            // modifications of the batch precede the ones buffered during the commit
+            buffer.addAll(0, batch);
+        }
+        inFlight = Collections.emptyList();
+    }
+
+    private void flushDelayed() {
+        synchronized (this) {
+            // cleared first, so that flush does not cancel itself
+            scheduledFlush = null;
+        }
+        try {
+            flush();
+        } catch (IllegalStateException e) {
+            LOG.error("Delayed flush of mapping context failed, modifications are kept for the next flush", e);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized int getBufferedModifications() {
+        return buffer.size();
+    }
+
+    /**
+     * Flushes buffered modifications, no modifications are accepted afterwards. If the flush fails, modifications can
+     * still be committed by {@link #flush()}.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            flush();
+        } finally {
+            if (ownScheduler) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("batchSize", batchSize)
+                .add("maxDelayNanos", maxDelayNanos)
+                .add("buffered", buffer.size())
+                .toString();
+    }
+
+    private static final class BufferedModification {
+        private final InstanceIdentifier<?> path;
+        private final Consumer<WriteTransaction> modification;
+
+        private BufferedModification(final InstanceIdentifier<?> path,
+                                     final Consumer<WriteTransaction> modification) {
+            this.path = path;
+            this.modification = modification;
+        }
+
+        private void apply(final WriteTransaction tx) {
+            modification.accept(tx);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Bounded cache for translation of identifiers between Binding Independent ({@link YangInstanceIdentifier}) and
+ * Binding Aware ({@link InstanceIdentifier}) form, plus keyed to wildcarded {@link InstanceIdentifier}
+ * transformation. Identifiers are immutable, so cached translations never get stale for a single serializer.
+ *
+ * Safe for concurrent use, single instance is meant to be shared by all the consumers of a serializer.
+ */
+public final class BindingIdentifierCache implements BindingIdentifierCacheMXBean {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    // Caches reference their serializer, so values have to be weak as well, otherwise serializer would never be
+    // collected. Shared cache lives as long as some consumer holds it.
+    private static final LoadingCache<BindingNormalizedNodeSerializer, BindingIdentifierCache> SHARED =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .weakValues()
+                    .build(new CacheLoader<BindingNormalizedNodeSerializer, BindingIdentifierCache>() {
+                        @Override
+                        public BindingIdentifierCache load(@Nonnull final BindingNormalizedNodeSerializer key) {
+                            return new BindingIdentifierCache(key);
+                        }
+                    });
+
+    private final BindingNormalizedNodeSerializer serializer;
+    private final Cache<YangInstanceIdentifier, InstanceIdentifier<?>> biToBa;
+    private final Cache<InstanceIdentifier<?>, YangInstanceIdentifier> baToBi;
+    private final Cache<InstanceIdentifier<?>, InstanceIdentifier<?>> wildcarded;
+
+    public BindingIdentifierCache(@Nonnull final BindingNormalizedNodeSerializer serializer) {
+        this(serializer, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize maximum number of identifiers cached for each kind of translation
+     */
+    public BindingIdentifierCache(@Nonnull final BindingNormalizedNodeSerializer serializer, final long maximumSize) {
+        this.serializer = checkNotNull(serializer, "serializer should not be null");
+        checkArgument(maximumSize > 0, "maximumSize should be positive, but was %s", maximumSize);
+        biToBa = newCache(maximumSize);
+        baToBi = newCache(maximumSize);
+        wildcarded = newCache(maximumSize);
+    }
+
+    /**
+     * Provides cache shared by all the consumers of provided serializer, that have no cache instance injected.
+     *
+     * @return default sized cache, same instance for the same serializer while referenced by some consumer
+     */
+    @Nonnull
+    public static BindingIdentifierCache forSerializer(@Nonnull final BindingNormalizedNodeSerializer serializer) {
+        return SHARED.getUnchecked(checkNotNull(serializer, "serializer should not be null"));
+    }
+
+    private static <K, V> Cache<K, V> newCache(final long maximumSize) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Nonnull
+    public BindingNormalizedNodeSerializer getSerializer() {
+        return serializer;
+    }
+
+    /**
+     * Cached version of {@link BindingNormalizedNodeSerializer#fromYangInstanceIdentifier(YangInstanceIdentifier)}.
+     *
+     * @return BA identifier or null if the identifier has no BA equivalent (such results are not cached)
+     */
+    @Nullable
+    public InstanceIdentifier<?> fromYangInstanceIdentifier(@Nonnull final YangInstanceIdentifier id) {
+        InstanceIdentifier<?> baId = biToBa.getIfPresent(id);
+        if (baId == null) {
+            baId = serializer.fromYangInstanceIdentifier(id);
+            if (baId != null) {
+                biToBa.put(id, baId);
+            }
+        }
+        return baId;
+    }
+
+    /**
+     * Cached version of {@link BindingNormalizedNodeSerializer#toYangInstanceIdentifier(InstanceIdentifier)}.
+     */
+    @Nonnull
+    public YangInstanceIdentifier toYangInstanceIdentifier(@Nonnull final InstanceIdentifier<?> id) {
+        YangInstanceIdentifier biId = baToBi.getIfPresent(id);
+        if (biId == null) {
+            biId = checkNotNull(serializer.toYangInstanceIdentifier(id),
+                    "Unable to transform instance identifier: %s into BI", id);
+            baToBi.put(id, biId);
+        }
+        return biId;
+    }
+
+    /**
+     * Cached version of {@link RWUtils#makeIidWildcarded(InstanceIdentifier)}.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <D extends DataObject> InstanceIdentifier<D> makeIidWildcarded(@Nonnull final InstanceIdentifier<D> id) {
+        if (!hasKeys(id)) {
+            // nothing to transform, not worth a cache entry
+            return id;
+        }
+        InstanceIdentifier<?> wildcardedId = wildcarded.getIfPresent(id);
+        if (wildcardedId == null) {
+            wildcardedId = RWUtils.makeIidWildcarded(id);
+            wildcarded.put(id, wildcardedId);
+        }
+        return (InstanceIdentifier<D>) wildcardedId;
+    }
+
+    private static boolean hasKeys(final InstanceIdentifier<?> id) {
+        for (final InstanceIdentifier.PathArgument pathArgument : id.getPathArguments()) {
+            if (pathArgument instanceof InstanceIdentifier.IdentifiableItem) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return hit/miss statistics of BI to BA translation
+     */
+    @Nonnull
+    public CacheStats getBiToBaStats() {
+        return biToBa.stats();
+    }
+
+    /**
+     * @return hit/miss statistics of BA to BI translation
+     */
+    @Nonnull
+    public CacheStats getBaToBiStats() {
+        return baToBi.stats();
+    }
+
+    /**
+     * @return hit/miss statistics of keyed to wildcarded identifier transformation
+     */
+    @Nonnull
+    public CacheStats getWildcardedStats() {
+        return wildcarded.stats();
+    }
+
+    @Override
+    public long getBiToBaHitCount() {
+        return getBiToBaStats().hitCount();
+    }
+
+    @Override
+    public long getBiToBaMissCount() {
+        return getBiToBaStats().missCount();
+    }
+
+    @Override
+    public long getBaToBiHitCount() {
+        return getBaToBiStats().hitCount();
+    }
+
+    @Override
+    public long getBaToBiMissCount() {
+        return getBaToBiStats().missCount();
+    }
+
+    @Override
+    public long getWildcardedHitCount() {
+        return getWildcardedStats().hitCount();
+    }
+
+    @Override
+    public long getWildcardedMissCount() {
+        return getWildcardedStats().missCount();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("biToBaHitRate", getBiToBaStats().hitRate())
+                .add("baToBiHitRate", getBaToBiStats().hitRate())
+                .add("wildcardedHitRate", getWildcardedStats().hitRate())
+                .toString();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util;
+
+/**
+ * Hit/miss statistics of {@link BindingIdentifierCache}, exposed over JMX.
+ */
+public interface BindingIdentifierCacheMXBean {
+
+    /**
+     * @return number of BI to BA translations served from the cache
+     */
+    long getBiToBaHitCount();
+
+    /**
+     * @return number of BI to BA translations delegated to the serializer
+     */
+    long getBiToBaMissCount();
+
+    /**
+     * @return number of BA to BI translations served from the cache
+     */
+    long getBaToBiHitCount();
+
+    /**
+     * @return number of BA to BI translations delegated to the serializer
+     */
+    long getBaToBiMissCount();
+
+    /**
+     * @return number of wildcarded identifiers served from the cache
+     */
+    long getWildcardedHitCount();
+
+    /**
+     * @return number of wildcarded identifiers computed, identifiers without keys are not counted
+     */
+    long getWildcardedMissCount();
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.management.ManagementFactory;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exposes runtime statistics of Honeycomb components as MXBeans in the platform MBean server, named
+ * {@value #DOMAIN}:type=&lt;type&gt;,name=&lt;name&gt;.
+ */
+public final class JmxUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JmxUtils.class);
+
+    public static final String DOMAIN = "io.fd.honeycomb";
+
+    private JmxUtils() {}
+
+    /**
+     * Register provided MXBean, replacing any bean registered under the same name. Failures are only logged,
+     * statistics are not worth failing the component for.
+     *
+     * @param mxBean instance of an interface annotated with {@link javax.management.MXBean} or named *MXBean
+     * @param type   type of the component, e.g. its simple class name
+     * @param name   name of the component instance, any characters are allowed
+     * @return name the bean was registered under, null if the registration failed
+     */
+    @Nullable
+    public static ObjectName registerMXBean(@Nonnull final Object mxBean, @Nonnull final String type,
+                                            @Nonnull final String name) {
+        checkNotNull(mxBean, "mxBean should not be null");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = objectName(type, name);
+            if (server.isRegistered(objectName)) {
+                LOG.debug("Replacing MXBean {}", objectName);
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(mxBean, objectName);
+            LOG.debug("MXBean {} registered for {}", objectName, mxBean);
+            return objectName;
+        } catch (JMException e) {
+            LOG.warn("Unable to register MXBean for {}", mxBean, e);
+            return null;
+        }
+    }
+
+    /**
+     * Unregister MXBean registered by {@link #registerMXBean(Object, String, String)}, if any.
+     */
+    public static void unregisterMXBean(@Nonnull final String type, @Nonnull final String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = objectName(type, name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Unable to unregister MXBean of type {} named {}", type, name, e);
+        }
+    }
+
+    @Nonnull
+    public static ObjectName objectName(@Nonnull final String type, @Nonnull final String name)
+            throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + checkNotNull(type, "type should not be null")
+                + ",name=" + ObjectName.quote(checkNotNull(name, "name should not be null")));
+    }
+}
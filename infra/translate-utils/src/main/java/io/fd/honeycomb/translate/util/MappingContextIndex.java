@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Optional;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Identifiable;
+import org.opendaylight.yangtools.yang.binding.Identifier;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bidirectional in-memory index of a keyed list stored in the context datastore, e.g. name to index mappings of a
+ * naming context. Lookups in both directions are plain hash map hits, with no datastore read and no BA/BI
+ * conversion.
+ *
+ * The index is populated and kept up to date by a data tree change listener registered on the context
+ * {@link DataBroker}, so it reflects committed context data only. Honeycomb notifies context listeners during the
+ * commit, so mappings written through any {@link io.fd.honeycomb.translate.MappingContext} are visible in the index
+ * as soon as their transaction is submitted. Mappings written by a transaction still in progress have to be read
+ * from its {@link io.fd.honeycomb.translate.MappingContext}.
+ *
+ * @param <E> list entry type
+ * @param <K> list key type, e.g. name
+ * @param <V> indexed value type, e.g. index, has to be unique within the list
+ */
+@ThreadSafe
+public final class MappingContextIndex<E extends DataObject & Identifiable<K>, K extends Identifier<E>, V>
+        implements DataTreeChangeListener<E>, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappingContextIndex.class);
+
+    private final InstanceIdentifier<E> listId;
+    private final Function<E, V> valueExtractor;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final Map<V, K> keys = new ConcurrentHashMap<>();
+    private ListenerRegistration<MappingContextIndex<E, K, V>> registration;
+
+    private MappingContextIndex(@Nonnull final InstanceIdentifier<E> listId,
+                                @Nonnull final Function<E, V> valueExtractor) {
+        this.listId = checkNotNull(listId, "listId should not be null");
+        this.valueExtractor = checkNotNull(valueExtractor, "valueExtractor should not be null");
+    }
+
+    /**
+     * Creates index of a list and loads its current content.
+     *
+     * @param contextBroker  data broker of the context datastore
+     * @param listId         wildcarded identifier of the list entries, with keyed ancestors e.g.
+     *                       {@code contexts/naming-context[name=interfaces]/mappings/mapping}
+     * @param valueExtractor extracts indexed value of an entry
+     */
+    @Nonnull
+    public static <E extends DataObject & Identifiable<K>, K extends Identifier<E>, V>
+            MappingContextIndex<E, K, V> create(@Nonnull final DataBroker contextBroker,
+                                                @Nonnull final InstanceIdentifier<E> listId,
+                                                @Nonnull final Function<E, V> valueExtractor) {
+        checkNotNull(contextBroker, "contextBroker should not be null");
+        final MappingContextIndex<E, K, V> index = new MappingContextIndex<>(listId, valueExtractor);
+        index.registration = contextBroker.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL, listId), index);
+        return index;
+    }
+
+    /**
+     * @return value indexed for provided key, e.g. index of a name
+     */
+    @Nonnull
+    public Optional<V> getValue(@Nonnull final K key) {
+        return Optional.fromNullable(values.get(key));
+    }
+
+    /**
+     * @return key of the entry with provided value, e.g. name of an index
+     */
+    @Nonnull
+    public Optional<K> getKey(@Nonnull final V value) {
+        return Optional.fromNullable(keys.get(value));
+    }
+
+    /**
+     * @return true if there is an entry with provided key
+     */
+    public boolean containsKey(@Nonnull final K key) {
+        return values.containsKey(key);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public void onDataTreeChanged(@Nonnull final Collection<DataTreeModification<E>> changes) {
+        for (final DataTreeModification<E> change : changes) {
+            apply(change.getRootNode());
+        }
+    }
+
+    private void apply(final DataObjectModification<?> modification) {
+        // Listeners of a wildcarded list are notified per entry, but check the identifier anyway since modification
+        // of the whole list has the data type of its entries as well
+        if (!(modification.getIdentifier() instanceof InstanceIdentifier.IdentifiableItem)) {
+            // modification of the whole list (or its ancestor), entries are its children
+            if (modification.getModificationType() == DataObjectModification.ModificationType.DELETE) {
+                clear();
+                return;
+            }
+            modification.getModifiedChildren().forEach(this::apply);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        final DataObjectModification<E> entryModification = (DataObjectModification<E>) modification;
+        final E before = entryModification.getDataBefore();
+        final E after = entryModification.getDataAfter();
+        if (before != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    private void add(final E entry) {
+        final K key = entry.getKey();
+        final V value = valueExtractor.apply(entry);
+        if (value == null) {
+            LOG.debug("Entry {} of {} has no value, not indexed", key, listId);
+            return;
+        }
+        values.put(key, value);
+        final K previous = keys.put(value, key);
+        if (previous != null && !previous.equals(key)) {
+            LOG.warn("Value {} of {} is shared by {} and {}, only the latter is indexed", value, listId, previous, key);
+        }
+    }
+
+    private void remove(final E entry) {
+        final K key = entry.getKey();
+        final V value = values.remove(key);
+        if (value != null) {
+            keys.remove(value, key);
+        }
+    }
+
+    private void clear() {
+        values.clear();
+        keys.clear();
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+        clear();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("listId", listId)
+                .add("size", size())
+                .toString();
+    }
+}
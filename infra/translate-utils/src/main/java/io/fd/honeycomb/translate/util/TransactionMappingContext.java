@@ -16,10 +16,17 @@
 
 package io.fd.honeycomb.translate.util;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
 import io.fd.honeycomb.translate.MappingContext;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.ReadTransaction;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -29,21 +36,41 @@ import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 
 /**
  * Binding Transaction backed mapping context.
+ * <p/>
+ * If created for a {@link DataBroker}, transactions are opened lazily. Reads use a read-only transaction until the
+ * first modification, which opens a read-write transaction used for all the subsequent operations. Submit of a
+ * context without modifications does not commit anything.
  */
 public class TransactionMappingContext implements MappingContext {
 
-    private final ReadWriteTransaction readWriteTransaction;
+    @Nullable
+    private final DataBroker dataBroker;
+    private ReadOnlyTransaction readOnlyTransaction;
+    private ReadWriteTransaction readWriteTransaction;
 
     // TODO HONEYCOMB-169 make async
 
     public TransactionMappingContext(final ReadWriteTransaction readWriteTransaction) {
+        this.dataBroker = null;
         this.readWriteTransaction = readWriteTransaction;
     }
 
+    /**
+     * Creates mapping context opening transactions lazily, only if and when they are needed.
+     *
+     * @param dataBroker broker of the mapping context data
+     */
+    public TransactionMappingContext(@Nonnull final DataBroker dataBroker) {
+        this.dataBroker = checkNotNull(dataBroker, "dataBroker should not be null");
+    }
+
     @Override
     public <T extends DataObject> Optional<T> read(@Nonnull final InstanceIdentifier<T> currentId) {
+        final ReadTransaction readTransaction = readWriteTransaction != null
+                ? readWriteTransaction
+                : getReadOnlyTransaction();
         try {
-            return readWriteTransaction.read(LogicalDatastoreType.OPERATIONAL, currentId).checkedGet();
+            return readTransaction.read(LogicalDatastoreType.OPERATIONAL, currentId).checkedGet();
         } catch (ReadFailedException e) {
             throw new IllegalStateException("Unable to perform read", e);
         }
@@ -51,25 +78,56 @@ public class TransactionMappingContext implements MappingContext {
 
     @Override
     public void delete(final InstanceIdentifier<?> path) {
-        readWriteTransaction.delete(LogicalDatastoreType.OPERATIONAL, path);
+        getReadWriteTransaction().delete(LogicalDatastoreType.OPERATIONAL, path);
     }
 
     @Override
     public <T extends DataObject> void merge(final InstanceIdentifier<T> path, T data) {
-        readWriteTransaction.merge(LogicalDatastoreType.OPERATIONAL, path, data, true);
+        getReadWriteTransaction().merge(LogicalDatastoreType.OPERATIONAL, path, data, true);
     }
 
     @Override
     public <T extends DataObject> void put(final InstanceIdentifier<T> path, T data) {
-        readWriteTransaction.put(LogicalDatastoreType.OPERATIONAL, path, data, true);
+        getReadWriteTransaction().put(LogicalDatastoreType.OPERATIONAL, path, data, true);
     }
 
+    private ReadOnlyTransaction getReadOnlyTransaction() {
+        if (readOnlyTransaction == null) {
+            readOnlyTransaction = dataBroker.newReadOnlyTransaction();
+        }
+        return readOnlyTransaction;
+    }
+
+    private ReadWriteTransaction getReadWriteTransaction() {
+        if (readWriteTransaction == null) {
+            closeReadOnlyTransaction();
+            readWriteTransaction = dataBroker.newReadWriteTransaction();
+        }
+        return readWriteTransaction;
+    }
+
+    private void closeReadOnlyTransaction() {
+        if (readOnlyTransaction != null) {
+            readOnlyTransaction.close();
+            readOnlyTransaction = null;
+        }
+    }
+
+    /**
+     * Submits modifications of the mapping context, if there are any.
+     */
     public CheckedFuture<Void, TransactionCommitFailedException> submit() {
-        return readWriteTransaction.submit();
+        closeReadOnlyTransaction();
+        return readWriteTransaction == null
+                ? Futures.immediateCheckedFuture(null)
+                : readWriteTransaction.submit();
     }
 
     @Override
     public void close() {
-        readWriteTransaction.cancel();
+        closeReadOnlyTransaction();
+        if (readWriteTransaction != null) {
+            readWriteTransaction.cancel();
+        }
     }
 }
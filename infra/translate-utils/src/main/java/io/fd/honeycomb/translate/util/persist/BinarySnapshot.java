@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.io.CountingInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nonnull;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Binary alternative to JSON for persisted data tree roots. Much smaller and faster to parse, since no schema lookups
+ * or value parsing is necessary and every {@link org.opendaylight.yangtools.yang.common.QName} is stored just once.
+ *
+ * File starts with a header (magic number, version and {@link Compression} type) followed by the (optionally
+ * compressed) body: number of top level nodes, top level nodes serialized by {@link NormalizedNodeDataOutput} and
+ * CRC32 checksum of the serialized nodes.
+ */
+public final class BinarySnapshot {
+
+    // "HCBS"
+    private static final int MAGIC = 0x48434253;
+    private static final byte VERSION = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private BinarySnapshot() {}
+
+    /**
+     * Serialize top level nodes of a normalized node root structure into provided output stream.
+     *
+     * @param compression how the body should be compressed
+     * @throws IOException if serialized data cannot be written into provided output stream
+     */
+    public static void writeBinaryRoot(@Nonnull final NormalizedNode<?, ?> rootData,
+                                       @Nonnull final OutputStream outputStream,
+                                       @Nonnull final Compression compression) throws IOException {
+        checkArgument(rootData instanceof ContainerNode, "Root data should be a container, but was %s", rootData);
+        final ContainerNode root = (ContainerNode) rootData;
+
+        final DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(compression.ordinal());
+        header.flush();
+
+        final OutputStream compressed = compression.compress(outputStream);
+        final BufferedOutputStream body = new BufferedOutputStream(compressed);
+        final CRC32 crc = new CRC32();
+        final DataOutputStream checkedOutput = new DataOutputStream(new CheckedOutputStream(body, crc));
+        final NormalizedNodeDataOutput nodeOutput = new NormalizedNodeDataOutput(checkedOutput);
+
+        checkedOutput.writeInt(root.getValue().size());
+        for (final DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> child : root.getValue()) {
+            nodeOutput.writeNode(child);
+        }
+        checkedOutput.flush();
+
+        // checksum itself is not part of the checksum
+        final DataOutputStream trailer = new DataOutputStream(body);
+        trailer.writeLong(crc.getValue());
+        trailer.flush();
+        compression.finish(compressed);
+        outputStream.flush();
+    }
+
+    /**
+     * Read binary serialized normalized node root structure.
+     *
+     * @return artificial normalized node holding all the top level nodes from provided stream as children
+     * @throws IOException              if the stream cannot be read or is corrupted
+     * @throws IllegalArgumentException if content in the provided stream is not a binary snapshot
+     */
+    @Nonnull
+    public static ContainerNode readBinaryRoot(@Nonnull final SchemaContext schemaContext,
+                                               @Nonnull final InputStream inputStream) throws IOException {
+        final DataContainerNodeAttrBuilder<YangInstanceIdentifier.NodeIdentifier, ContainerNode> builder =
+                Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(schemaContext.getQName()));
+        readTopLevelNodes(inputStream, (node, serializedSize) -> builder.withChild(node));
+        return builder.build();
+    }
+
+    /**
+     * Read top level nodes from a binary snapshot file one by one, so that the entire data never have to be in
+     * memory at once. The file is memory-mapped and its checksum is verified before any node is handed out.
+     *
+     * @throws IOException              if the file cannot be read or is corrupted
+     * @throws IllegalArgumentException if the file is not a binary snapshot
+     */
+    public static <E extends Exception> void streamBinaryRoot(@Nonnull final Path path,
+                                                              @Nonnull final TopLevelNodeHandler<E> handler)
+            throws IOException, E {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkArgument(channel.size() <= Integer.MAX_VALUE, "File %s is too big to be memory-mapped", path);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            verifyChecksum(new ByteBufferInputStream(buffer.duplicate()));
+            readTopLevelNodes(new ByteBufferInputStream(buffer), handler);
+        }
+    }
+
+    /**
+     * @return true if the file at provided path starts with the binary snapshot header
+     */
+    public static boolean isBinarySnapshot(@Nonnull final Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < Integer.BYTES) {
+            return false;
+        }
+        try (final DataInputStream input = new DataInputStream(Files.newInputStream(path))) {
+            return input.readInt() == MAGIC;
+        }
+    }
+
+    private static <E extends Exception> void readTopLevelNodes(final InputStream inputStream,
+                                                                final TopLevelNodeHandler<E> handler)
+            throws IOException, E {
+        // checksum has to be read from the same buffered stream, so the checked stream must not buffer on its own
+        final BufferedInputStream body = new BufferedInputStream(openBody(inputStream));
+        final CountingInputStream countingBody = new CountingInputStream(body);
+        final CRC32 crc = new CRC32();
+        final DataInputStream checkedInput = new DataInputStream(new CheckedInputStream(countingBody, crc));
+        final NormalizedNodeDataInput nodeInput = new NormalizedNodeDataInput(checkedInput);
+
+        final int size = checkedInput.readInt();
+        for (int i = 0; i < size; i++) {
+            final long start = countingBody.getCount();
+            final NormalizedNode<?, ?> node = nodeInput.readNode();
+            checkArgument(node instanceof DataContainerChild, "Unexpected top level node %s", node);
+            handler.handle((DataContainerChild<?, ?>) node, countingBody.getCount() - start);
+        }
+
+        final long checksum = new DataInputStream(body).readLong();
+        if (checksum != crc.getValue()) {
+            throw new IOException("Binary snapshot checksum mismatch, data are corrupted");
+        }
+    }
+
+    /**
+     * Compute checksum of the body without deserializing it.
+     */
+    private static void verifyChecksum(final InputStream inputStream) throws IOException {
+        final InputStream body = openBody(inputStream);
+        final CRC32 crc = new CRC32();
+        // Last 8 bytes read are always kept in the buffer, since they might be the checksum
+        final byte[] buffer = new byte[BUFFER_SIZE + Long.BYTES];
+        int pending = 0;
+        int read;
+        while ((read = body.read(buffer, pending, buffer.length - pending)) != -1) {
+            pending += read;
+            if (pending > Long.BYTES) {
+                crc.update(buffer, 0, pending - Long.BYTES);
+                System.arraycopy(buffer, pending - Long.BYTES, buffer, 0, Long.BYTES);
+                pending = Long.BYTES;
+            }
+        }
+
+        if (pending != Long.BYTES || ByteBuffer.wrap(buffer, 0, Long.BYTES).getLong() != crc.getValue()) {
+            throw new IOException("Binary snapshot checksum mismatch, data are corrupted");
+        }
+    }
+
+    /**
+     * Read the header and return stream with (decompressed) body.
+     */
+    private static InputStream openBody(final InputStream inputStream) throws IOException {
+        final DataInputStream header = new DataInputStream(inputStream);
+        checkArgument(header.readInt() == MAGIC, "Not a binary snapshot");
+        final byte version = header.readByte();
+        checkArgument(version == VERSION, "Unsupported binary snapshot version %s", version);
+        final byte compression = header.readByte();
+        checkArgument(compression >= 0 && compression < Compression.values().length,
+                "Unsupported binary snapshot compression %s", compression);
+        return Compression.values()[compression].decompress(inputStream);
+    }
+
+    /**
+     * Compression of the snapshot body. Ordinal is stored in the header, so new types can only be appended.
+     */
+    public enum Compression {
+
+        NONE {
+            @Override
+            OutputStream compress(final OutputStream outputStream) {
+                return outputStream;
+            }
+
+            @Override
+            void finish(final OutputStream compressed) {
+                // nothing to finish
+            }
+
+            @Override
+            InputStream decompress(final InputStream inputStream) {
+                return inputStream;
+            }
+        },
+
+        /**
+         * Best compression ratio, but slow to write.
+         */
+        DEFLATE {
+            @Override
+            OutputStream compress(final OutputStream outputStream) {
+                return new DeflaterOutputStream(outputStream);
+            }
+
+            @Override
+            void finish(final OutputStream compressed) throws IOException {
+                ((DeflaterOutputStream) compressed).finish();
+            }
+
+            @Override
+            InputStream decompress(final InputStream inputStream) {
+                return new InflaterInputStream(inputStream);
+            }
+        },
+
+        /**
+         * Worse compression ratio than {@link #DEFLATE}, but compresses and decompresses several times faster.
+         */
+        LZ4 {
+            @Override
+            OutputStream compress(final OutputStream outputStream) {
+                return new LZ4BlockOutputStream(outputStream);
+            }
+
+            @Override
+            void finish(final OutputStream compressed) throws IOException {
+                ((LZ4BlockOutputStream) compressed).finish();
+            }
+
+            @Override
+            InputStream decompress(final InputStream inputStream) {
+                return new LZ4BlockInputStream(inputStream);
+            }
+        };
+
+        abstract OutputStream compress(OutputStream outputStream);
+
+        /**
+         * Write remaining compressed data into underlying stream without closing it.
+         *
+         * @param compressed stream returned by {@link #compress(OutputStream)}
+         */
+        abstract void finish(OutputStream compressed) throws IOException;
+
+        abstract InputStream decompress(InputStream inputStream);
+    }
+
+    /**
+     * Handles top level nodes streamed by {@link #streamBinaryRoot(Path, TopLevelNodeHandler)} or
+     * {@link PersistedDataFormat#stream(SchemaContext, Path, TopLevelNodeHandler)}.
+     */
+    @FunctionalInterface
+    public interface TopLevelNodeHandler<E extends Exception> {
+
+        /**
+         * @param serializedSize number of (uncompressed) bytes the node occupies in the snapshot (in compact form for
+         *                       JSON)
+         */
+        void handle(@Nonnull DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> node,
+                    long serializedSize) throws E;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining()
+                    ? buffer.get() & 0xFF
+                    : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
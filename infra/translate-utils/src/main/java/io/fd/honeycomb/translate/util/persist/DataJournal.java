@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.base.MoreObjects;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of data tree modifications. Each record holds the delta of a single {@link DataTreeCandidate} as
+ * a sequence of writes and deletes. Records are checksummed, so an incomplete record at the end of the journal (e.g.
+ * after a crash in the middle of an append) is detected and ignored while reading.
+ *
+ * Replaying the journal on top of the snapshot it was started from restores the latest data. Replaying it on top of
+ * any other snapshot does not: records older than the snapshot would undo the modifications already contained in it.
+ * Therefore the journal starts with a stamp (size and checksum) of the snapshot it was started from and is ignored
+ * while reading if the stamp does not match the current snapshot. That happens e.g. when compaction was interrupted
+ * after the new snapshot was written but before the journal was restarted. The stamp is checked by size first, so
+ * the snapshot is only scanned for its checksum if the size matches.
+ */
+public final class DataJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataJournal.class);
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TMP_SUFFIX = ".tmp";
+    // "HCJ1", identifies journal header
+    private static final int HEADER_MAGIC = 0x48434a31;
+    // record length + checksum
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final Path snapshotPath;
+
+    /**
+     * @param path path of the journal
+     * @param snapshotPath path of the snapshot the journal is applied on top of
+     */
+    public DataJournal(@Nonnull final Path path, @Nonnull final Path snapshotPath) {
+        this.path = checkNotNull(path, "path should not be null");
+        this.snapshotPath = checkNotNull(snapshotPath, "snapshotPath should not be null");
+    }
+
+    /**
+     * Create journal that belongs to a snapshot persisted at snapshotPath, see {@link #journalPathFor(Path)}.
+     */
+    @Nonnull
+    public static DataJournal forSnapshot(@Nonnull final Path snapshotPath) {
+        return new DataJournal(journalPathFor(snapshotPath), snapshotPath);
+    }
+
+    /**
+     * Get the path of a journal that belongs to a snapshot persisted at snapshotPath.
+     */
+    @Nonnull
+    public static Path journalPathFor(@Nonnull final Path snapshotPath) {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    @Nonnull
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Start a new, empty journal on top of the current snapshot. Previous journal is replaced atomically, so it is
+     * either kept whole or replaced by the new one, even if interrupted.
+     *
+     * Scans the whole snapshot to stamp the journal, prefer {@link #restart(long, long)} if the stamp is known.
+     */
+    public void restart() throws IOException {
+        restart(snapshotStamp());
+    }
+
+    /**
+     * Start a new, empty journal on top of the current snapshot, stamped with its known size and checksum. Meant
+     * to be used right after the snapshot was written, when both are computed while writing it.
+     *
+     * @param snapshotSize     size of the current snapshot in bytes
+     * @param snapshotChecksum CRC32 checksum of the current snapshot, see {@link CRC32#getValue()}
+     */
+    public void restart(final long snapshotSize, final long snapshotChecksum) throws IOException {
+        restart(new SnapshotStamp(snapshotSize, snapshotChecksum));
+    }
+
+    private void restart(final SnapshotStamp stamp) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(HEADER_MAGIC);
+        stamp.write(header);
+        header.flush();
+
+        final Path tmpPath = path.resolveSibling(path.getFileName() + TMP_SUFFIX);
+        Files.write(tmpPath, bytes.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.trace("Journal {} restarted on top of {} ({})", path, snapshotPath, stamp);
+    }
+
+    /**
+     * Append a record with all the modifications from provided candidate. Does nothing if the candidate
+     * contains no modification.
+     *
+     * @throws IllegalStateException if the journal was not started, see {@link #restart()}
+     */
+    public void append(@Nonnull final DataTreeCandidate candidate) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        collectEntries(candidate.getRootPath(), candidate.getRootNode(), entries);
+        if (entries.isEmpty()) {
+            LOG.trace("No modifications in {}, skipping journal append", candidate);
+            return;
+        }
+        checkState(Files.exists(path), "Journal %s was not started", path);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream dataOutput = new DataOutputStream(bytes);
+        final NormalizedNodeDataOutput nodeOutput = new NormalizedNodeDataOutput(dataOutput);
+        dataOutput.writeInt(entries.size());
+        for (final Entry entry : entries) {
+            dataOutput.writeByte(entry.getOperation().ordinal());
+            nodeOutput.writePath(entry.getPath());
+            if (entry.getOperation() == Operation.WRITE) {
+                nodeOutput.writeNode(entry.getData());
+            }
+        }
+        dataOutput.flush();
+        final byte[] payload = bytes.toByteArray();
+
+        // Assemble the record first and write it at once to minimize the window for incomplete records
+        final ByteArrayOutputStream record = new ByteArrayOutputStream(payload.length + RECORD_OVERHEAD);
+        final DataOutputStream recordOutput = new DataOutputStream(record);
+        recordOutput.writeInt(payload.length);
+        recordOutput.write(payload);
+        recordOutput.writeLong(checksum(payload));
+        recordOutput.flush();
+
+        Files.write(path, record.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        LOG.trace("{} modifications appended to journal {}", entries.size(), path);
+    }
+
+    /**
+     * Read all the complete records from the journal in the order they were appended.
+     *
+     * @return all journaled modifications or empty list if the journal does not exist or was not started from
+     * the current snapshot
+     */
+    @Nonnull
+    public List<Entry> read() throws IOException {
+        if (!Files.exists(path)) {
+            return Collections.emptyList();
+        }
+
+        final long journalSize = Files.size(path);
+        final List<Entry> entries = new ArrayList<>();
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            final SnapshotStamp journaledStamp;
+            try {
+                if (input.readInt() != HEADER_MAGIC) {
+                    LOG.warn("Invalid header in journal {}, ignoring the journal", path);
+                    return Collections.emptyList();
+                }
+                journaledStamp = SnapshotStamp.read(input);
+            } catch (EOFException e) {
+                LOG.warn("Incomplete header in journal {}, ignoring the journal", path);
+                return Collections.emptyList();
+            }
+
+            final long snapshotSize = snapshotSize();
+            if (journaledStamp.size != snapshotSize) {
+                // Compaction was interrupted, no need to compute the checksum of the snapshot
+                LOG.info("Journal {} was started from {}, but current snapshot {} has {} bytes. Ignoring the journal",
+                        path, journaledStamp, snapshotPath, snapshotSize);
+                return Collections.emptyList();
+            }
+            final SnapshotStamp currentStamp = snapshotStamp();
+            if (!journaledStamp.equals(currentStamp)) {
+                // Compaction was interrupted, the snapshot already contains all journaled modifications
+                LOG.info("Journal {} was started from {}, but current snapshot {} is {}. Ignoring the journal",
+                        path, journaledStamp, snapshotPath, currentStamp);
+                return Collections.emptyList();
+            }
+
+            while (true) {
+                final int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    // regular end of journal
+                    break;
+                }
+
+                if (length < 0 || length > journalSize) {
+                    LOG.warn("Invalid record length {} in journal {}, ignoring rest of the journal", length, path);
+                    break;
+                }
+
+                final byte[] payload = new byte[length];
+                final long checksum;
+                try {
+                    input.readFully(payload);
+                    checksum = input.readLong();
+                } catch (EOFException e) {
+                    LOG.warn("Incomplete record at the end of journal {}, ignoring it", path);
+                    break;
+                }
+
+                if (checksum != checksum(payload)) {
+                    LOG.warn("Corrupted record in journal {}, ignoring rest of the journal", path);
+                    break;
+                }
+                readRecord(payload, entries);
+            }
+        }
+
+        LOG.debug("{} modifications read from journal {}", entries.size(), path);
+        return entries;
+    }
+
+    /**
+     * Remove all records from the journal.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(path);
+        LOG.trace("Journal {} cleared", path);
+    }
+
+    private long snapshotSize() throws IOException {
+        return Files.exists(snapshotPath)
+                ? Files.size(snapshotPath)
+                : SnapshotStamp.MISSING.size;
+    }
+
+    private SnapshotStamp snapshotStamp() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return SnapshotStamp.MISSING;
+        }
+
+        final CRC32 crc = new CRC32();
+        long size = 0;
+        try (final InputStream input = new CheckedInputStream(Files.newInputStream(snapshotPath), crc)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+            }
+        }
+        return new SnapshotStamp(size, crc.getValue());
+    }
+
+    private static void readRecord(final byte[] payload, final List<Entry> entries) throws IOException {
+        final DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(payload));
+        final NormalizedNodeDataInput nodeInput = new NormalizedNodeDataInput(dataInput);
+        final int size = dataInput.readInt();
+        for (int i = 0; i < size; i++) {
+            final Operation operation = Operation.values()[dataInput.readByte()];
+            final YangInstanceIdentifier entryPath = nodeInput.readPath();
+            entries.add(operation == Operation.WRITE
+                    ? Entry.write(entryPath, nodeInput.readNode())
+                    : Entry.delete(entryPath));
+        }
+    }
+
+    /**
+     * Transform candidate into the minimal set of writes and deletes. Subtree modifications are not journaled as
+     * such, only the nodes that were actually written or removed in them.
+     */
+    private static void collectEntries(final YangInstanceIdentifier path, final DataTreeCandidateNode node,
+                                       final List<Entry> entries) {
+        switch (node.getModificationType()) {
+            case WRITE:
+            case APPEARED:
+                entries.add(Entry.write(path, node.getDataAfter().get()));
+                break;
+            case DELETE:
+            case DISAPPEARED:
+                entries.add(Entry.delete(path));
+                break;
+            case SUBTREE_MODIFIED:
+                for (final DataTreeCandidateNode child : node.getChildNodes()) {
+                    collectEntries(path.node(child.getIdentifier()), child, entries);
+                }
+                break;
+            default:
+                // UNMODIFIED, nothing to journal
+                break;
+        }
+    }
+
+    private static long checksum(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("path", path)
+                .add("snapshotPath", snapshotPath)
+                .toString();
+    }
+
+    /**
+     * Identifies the content of a snapshot.
+     */
+    private static final class SnapshotStamp {
+
+        private static final SnapshotStamp MISSING = new SnapshotStamp(-1, 0);
+
+        private final long size;
+        private final long checksum;
+
+        private SnapshotStamp(final long size, final long checksum) {
+            this.size = size;
+            this.checksum = checksum;
+        }
+
+        static SnapshotStamp read(final DataInputStream input) throws IOException {
+            return new SnapshotStamp(input.readLong(), input.readLong());
+        }
+
+        void write(final DataOutputStream output) throws IOException {
+            output.writeLong(size);
+            output.writeLong(checksum);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final SnapshotStamp that = (SnapshotStamp) o;
+            return size == that.size && checksum == that.checksum;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, checksum);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("size", size)
+                    .add("checksum", checksum)
+                    .toString();
+        }
+    }
+
+    public enum Operation {
+        WRITE, DELETE
+    }
+
+    /**
+     * Single journaled modification.
+     */
+    public static final class Entry {
+
+        private final Operation operation;
+        private final YangInstanceIdentifier path;
+        @Nullable
+        private final NormalizedNode<?, ?> data;
+
+        private Entry(final Operation operation, final YangInstanceIdentifier path,
+                      @Nullable final NormalizedNode<?, ?> data) {
+            this.operation = operation;
+            this.path = path;
+            this.data = data;
+        }
+
+        static Entry write(@Nonnull final YangInstanceIdentifier path, @Nonnull final NormalizedNode<?, ?> data) {
+            return new Entry(Operation.WRITE, path, data);
+        }
+
+        static Entry delete(@Nonnull final YangInstanceIdentifier path) {
+            return new Entry(Operation.DELETE, path, null);
+        }
+
+        @Nonnull
+        public Operation getOperation() {
+            return operation;
+        }
+
+        @Nonnull
+        public YangInstanceIdentifier getPath() {
+            return path;
+        }
+
+        /**
+         * @return data written by this entry or null for deletes
+         */
+        @Nullable
+        public NormalizedNode<?, ?> getData() {
+            return data;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                    .add("operation", operation)
+                    .add("path", path)
+                    .toString();
+        }
+    }
+}
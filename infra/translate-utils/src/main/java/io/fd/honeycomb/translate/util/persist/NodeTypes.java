@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+/**
+ * Type markers shared by {@link NormalizedNodeDataOutput} and {@link NormalizedNodeDataInput}.
+ */
+final class NodeTypes {
+
+    static final byte CONTAINER = 1;
+    static final byte MAP = 2;
+    static final byte ORDERED_MAP = 3;
+    static final byte MAP_ENTRY = 4;
+    static final byte UNKEYED_LIST = 5;
+    static final byte UNKEYED_LIST_ENTRY = 6;
+    static final byte LEAF = 7;
+    static final byte LEAF_SET = 8;
+    static final byte ORDERED_LEAF_SET = 9;
+    static final byte LEAF_SET_ENTRY = 10;
+    static final byte CHOICE = 11;
+    static final byte AUGMENTATION = 12;
+
+    static final byte ARG_NODE = 1;
+    static final byte ARG_NODE_WITH_PREDICATES = 2;
+    static final byte ARG_NODE_WITH_VALUE = 3;
+    static final byte ARG_AUGMENTATION = 4;
+
+    static final byte VALUE_NULL = 0;
+    static final byte VALUE_STRING = 1;
+    static final byte VALUE_BOOLEAN = 2;
+    static final byte VALUE_BYTE = 3;
+    static final byte VALUE_SHORT = 4;
+    static final byte VALUE_INT = 5;
+    static final byte VALUE_LONG = 6;
+    static final byte VALUE_BIG_INTEGER = 7;
+    static final byte VALUE_BIG_DECIMAL = 8;
+    static final byte VALUE_BINARY = 9;
+    static final byte VALUE_QNAME = 10;
+    static final byte VALUE_BITS = 11;
+    static final byte VALUE_INSTANCE_IDENTIFIER = 12;
+
+    static final long NO_REVISION = Long.MIN_VALUE;
+
+    private NodeTypes() {
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+
+/**
+ * Reads {@link NormalizedNode}s and {@link YangInstanceIdentifier}s written by {@link NormalizedNodeDataOutput}.
+ */
+public final class NormalizedNodeDataInput {
+
+    private final DataInput input;
+    private final List<QName> qnames = new ArrayList<>();
+
+    public NormalizedNodeDataInput(@Nonnull final DataInput input) {
+        this.input = checkNotNull(input, "input should not be null");
+    }
+
+    /**
+     * Read normalized node including all its children.
+     *
+     * @throws IOException              if the underlying input fails
+     * @throws IllegalArgumentException if the input does not contain a serialized normalized node
+     */
+    @Nonnull
+    public NormalizedNode<?, ?> readNode() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NodeTypes.CONTAINER:
+                return readChildren(Builders.containerBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.MAP_ENTRY:
+                return readChildren(Builders.mapEntryBuilder().withNodeIdentifier(
+                        new YangInstanceIdentifier.NodeIdentifierWithPredicates(readQName(), readKeys())));
+            case NodeTypes.ORDERED_MAP:
+                return readChildren(Builders.orderedMapBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.MAP:
+                return readChildren(Builders.mapBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.UNKEYED_LIST_ENTRY:
+                return readChildren(Builders.unkeyedListEntryBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.UNKEYED_LIST:
+                return readChildren(Builders.unkeyedListBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.LEAF:
+                return Builders.leafBuilder()
+                        .withNodeIdentifier(readNodeIdentifier())
+                        .withValue(readValue())
+                        .build();
+            case NodeTypes.LEAF_SET_ENTRY:
+                final QName leafSetEntryName = readQName();
+                final Object leafSetEntryValue = readValue();
+                return Builders.leafSetEntryBuilder()
+                        .withNodeIdentifier(
+                                new YangInstanceIdentifier.NodeWithValue<>(leafSetEntryName, leafSetEntryValue))
+                        .withValue(leafSetEntryValue)
+                        .build();
+            case NodeTypes.ORDERED_LEAF_SET:
+                return readChildren(Builders.orderedLeafSetBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.LEAF_SET:
+                return readChildren(Builders.leafSetBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.CHOICE:
+                return readChildren(Builders.choiceBuilder().withNodeIdentifier(readNodeIdentifier()));
+            case NodeTypes.AUGMENTATION:
+                return readChildren(Builders.augmentationBuilder().withNodeIdentifier(
+                        new YangInstanceIdentifier.AugmentationIdentifier(readQNames())));
+            default:
+                throw new IllegalArgumentException("Unable to deserialize node. Unknown node type: " + type);
+        }
+    }
+
+    /**
+     * Read instance identifier.
+     */
+    @Nonnull
+    public YangInstanceIdentifier readPath() throws IOException {
+        final int size = input.readInt();
+        final List<YangInstanceIdentifier.PathArgument> pathArguments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pathArguments.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(pathArguments);
+    }
+
+    private YangInstanceIdentifier.PathArgument readPathArgument() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NodeTypes.ARG_NODE:
+                return readNodeIdentifier();
+            case NodeTypes.ARG_NODE_WITH_PREDICATES:
+                return new YangInstanceIdentifier.NodeIdentifierWithPredicates(readQName(), readKeys());
+            case NodeTypes.ARG_NODE_WITH_VALUE:
+                return new YangInstanceIdentifier.NodeWithValue<>(readQName(), readValue());
+            case NodeTypes.ARG_AUGMENTATION:
+                return new YangInstanceIdentifier.AugmentationIdentifier(readQNames());
+            default:
+                throw new IllegalArgumentException("Unable to deserialize path. Unknown path argument type: " + type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private NormalizedNode<?, ?> readChildren(final DataContainerNodeBuilder builder) throws IOException {
+        final int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            builder.withChild((DataContainerChild<?, ?>) readNode());
+        }
+        return (NormalizedNode<?, ?>) builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private NormalizedNode<?, ?> readChildren(final CollectionNodeBuilder builder) throws IOException {
+        final int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            builder.withChild(readNode());
+        }
+        return (NormalizedNode<?, ?>) builder.build();
+    }
+
+    private YangInstanceIdentifier.NodeIdentifier readNodeIdentifier() throws IOException {
+        return new YangInstanceIdentifier.NodeIdentifier(readQName());
+    }
+
+    private Map<QName, Object> readKeys() throws IOException {
+        final int size = input.readInt();
+        final ImmutableMap.Builder<QName, Object> keys = ImmutableMap.builder();
+        for (int i = 0; i < size; i++) {
+            keys.put(readQName(), readValue());
+        }
+        return keys.build();
+    }
+
+    private Set<QName> readQNames() throws IOException {
+        final int size = input.readInt();
+        final ImmutableSet.Builder<QName> names = ImmutableSet.builder();
+        for (int i = 0; i < size; i++) {
+            names.add(readQName());
+        }
+        return names.build();
+    }
+
+    private QName readQName() throws IOException {
+        final int reference = input.readInt();
+        if (reference < qnames.size()) {
+            return qnames.get(reference);
+        }
+        if (reference != qnames.size()) {
+            throw new IllegalArgumentException("Unable to deserialize QName. Invalid reference: " + reference);
+        }
+
+        final URI namespace = URI.create(readString());
+        final long revision = input.readLong();
+        final QName qname = QName.create(namespace,
+                revision == NodeTypes.NO_REVISION ? null : new Date(revision),
+                readString());
+        qnames.add(qname);
+        return qname;
+    }
+
+    private Object readValue() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case NodeTypes.VALUE_NULL:
+                return null;
+            case NodeTypes.VALUE_STRING:
+                return readString();
+            case NodeTypes.VALUE_BOOLEAN:
+                return input.readBoolean();
+            case NodeTypes.VALUE_BYTE:
+                return input.readByte();
+            case NodeTypes.VALUE_SHORT:
+                return input.readShort();
+            case NodeTypes.VALUE_INT:
+                return input.readInt();
+            case NodeTypes.VALUE_LONG:
+                return input.readLong();
+            case NodeTypes.VALUE_BIG_INTEGER:
+                return new BigInteger(readString());
+            case NodeTypes.VALUE_BIG_DECIMAL:
+                return new BigDecimal(readString());
+            case NodeTypes.VALUE_BINARY:
+                final byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return bytes;
+            case NodeTypes.VALUE_QNAME:
+                return readQName();
+            case NodeTypes.VALUE_BITS:
+                final int size = input.readInt();
+                final ImmutableSet.Builder<String> bits = ImmutableSet.builder();
+                for (int i = 0; i < size; i++) {
+                    bits.add(readString());
+                }
+                return bits.build();
+            case NodeTypes.VALUE_INSTANCE_IDENTIFIER:
+                return readPath();
+            default:
+                throw new IllegalArgumentException("Unable to deserialize value. Unknown value type: " + type);
+        }
+    }
+
+    private String readString() throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+}
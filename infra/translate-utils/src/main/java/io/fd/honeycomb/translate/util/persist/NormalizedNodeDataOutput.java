@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Charsets;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedLeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+
+/**
+ * Writes {@link NormalizedNode}s and {@link YangInstanceIdentifier}s in a compact binary form readable by
+ * {@link NormalizedNodeDataInput}. Each {@link QName} is written in full only once per output, further occurrences
+ * are written as a reference.
+ */
+public final class NormalizedNodeDataOutput {
+
+    private final DataOutput output;
+    private final Map<QName, Integer> qnames = new HashMap<>();
+
+    public NormalizedNodeDataOutput(@Nonnull final DataOutput output) {
+        this.output = checkNotNull(output, "output should not be null");
+    }
+
+    /**
+     * Write normalized node including all its children.
+     *
+     * @throws IOException              if the underlying output fails
+     * @throws IllegalArgumentException if the node (or any of its children) is of unsupported type e.g. anyxml
+     */
+    public void writeNode(@Nonnull final NormalizedNode<?, ?> node) throws IOException {
+        if (node instanceof ContainerNode) {
+            writeContainer(NodeTypes.CONTAINER, node);
+        } else if (node instanceof MapEntryNode) {
+            output.writeByte(NodeTypes.MAP_ENTRY);
+            final YangInstanceIdentifier.NodeIdentifierWithPredicates identifier =
+                    ((MapEntryNode) node).getIdentifier();
+            writeQName(identifier.getNodeType());
+            writeKeys(identifier.getKeyValues());
+            writeChildren(node);
+        } else if (node instanceof OrderedMapNode) {
+            writeContainer(NodeTypes.ORDERED_MAP, node);
+        } else if (node instanceof MapNode) {
+            writeContainer(NodeTypes.MAP, node);
+        } else if (node instanceof UnkeyedListEntryNode) {
+            writeContainer(NodeTypes.UNKEYED_LIST_ENTRY, node);
+        } else if (node instanceof UnkeyedListNode) {
+            writeContainer(NodeTypes.UNKEYED_LIST, node);
+        } else if (node instanceof LeafNode) {
+            output.writeByte(NodeTypes.LEAF);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof LeafSetEntryNode) {
+            output.writeByte(NodeTypes.LEAF_SET_ENTRY);
+            writeQName(node.getNodeType());
+            writeValue(node.getValue());
+        } else if (node instanceof OrderedLeafSetNode) {
+            writeContainer(NodeTypes.ORDERED_LEAF_SET, node);
+        } else if (node instanceof LeafSetNode) {
+            writeContainer(NodeTypes.LEAF_SET, node);
+        } else if (node instanceof ChoiceNode) {
+            writeContainer(NodeTypes.CHOICE, node);
+        } else if (node instanceof AugmentationNode) {
+            output.writeByte(NodeTypes.AUGMENTATION);
+            writeQNames(((AugmentationNode) node).getIdentifier().getPossibleChildNames());
+            writeChildren(node);
+        } else {
+            throw new IllegalArgumentException("Unable to serialize node: " + node + ". Unsupported node type");
+        }
+    }
+
+    /**
+     * Write instance identifier as a sequence of its path arguments.
+     */
+    public void writePath(@Nonnull final YangInstanceIdentifier path) throws IOException {
+        final Collection<YangInstanceIdentifier.PathArgument> pathArguments = path.getPathArguments();
+        output.writeInt(pathArguments.size());
+        for (final YangInstanceIdentifier.PathArgument pathArgument : pathArguments) {
+            writePathArgument(pathArgument);
+        }
+    }
+
+    private void writePathArgument(final YangInstanceIdentifier.PathArgument pathArgument) throws IOException {
+        if (pathArgument instanceof YangInstanceIdentifier.NodeIdentifierWithPredicates) {
+            output.writeByte(NodeTypes.ARG_NODE_WITH_PREDICATES);
+            writeQName(pathArgument.getNodeType());
+            writeKeys(((YangInstanceIdentifier.NodeIdentifierWithPredicates) pathArgument).getKeyValues());
+        } else if (pathArgument instanceof YangInstanceIdentifier.NodeWithValue) {
+            output.writeByte(NodeTypes.ARG_NODE_WITH_VALUE);
+            writeQName(pathArgument.getNodeType());
+            writeValue(((YangInstanceIdentifier.NodeWithValue<?>) pathArgument).getValue());
+        } else if (pathArgument instanceof YangInstanceIdentifier.AugmentationIdentifier) {
+            output.writeByte(NodeTypes.ARG_AUGMENTATION);
+            writeQNames(((YangInstanceIdentifier.AugmentationIdentifier) pathArgument).getPossibleChildNames());
+        } else {
+            output.writeByte(NodeTypes.ARG_NODE);
+            writeQName(pathArgument.getNodeType());
+        }
+    }
+
+    private void writeContainer(final byte type, final NormalizedNode<?, ?> node) throws IOException {
+        output.writeByte(type);
+        writeQName(node.getNodeType());
+        writeChildren(node);
+    }
+
+    private void writeChildren(final NormalizedNode<?, ?> node) throws IOException {
+        final Collection<?> children = ((NormalizedNodeContainer<?, ?, ?>) node).getValue();
+        output.writeInt(children.size());
+        for (final Object child : children) {
+            writeNode((NormalizedNode<?, ?>) child);
+        }
+    }
+
+    private void writeKeys(final Map<QName, Object> keys) throws IOException {
+        output.writeInt(keys.size());
+        for (final Map.Entry<QName, Object> key : keys.entrySet()) {
+            writeQName(key.getKey());
+            writeValue(key.getValue());
+        }
+    }
+
+    private void writeQNames(final Set<QName> names) throws IOException {
+        output.writeInt(names.size());
+        for (final QName name : names) {
+            writeQName(name);
+        }
+    }
+
+    private void writeQName(final QName qname) throws IOException {
+        final Integer reference = qnames.get(qname);
+        if (reference != null) {
+            output.writeInt(reference);
+            return;
+        }
+
+        // new QName, reader recognizes definitions by reference equal to the number of QNames known so far
+        final int definition = qnames.size();
+        qnames.put(qname, definition);
+        output.writeInt(definition);
+        writeString(qname.getNamespace().toString());
+        output.writeLong(qname.getRevision() == null
+                ? NodeTypes.NO_REVISION
+                : qname.getRevision().getTime());
+        writeString(qname.getLocalName());
+    }
+
+    private void writeValue(@Nullable final Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NodeTypes.VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(NodeTypes.VALUE_STRING);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(NodeTypes.VALUE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(NodeTypes.VALUE_BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(NodeTypes.VALUE_SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(NodeTypes.VALUE_INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(NodeTypes.VALUE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(NodeTypes.VALUE_BIG_INTEGER);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(NodeTypes.VALUE_BIG_DECIMAL);
+            writeString(value.toString());
+        } else if (value instanceof byte[]) {
+            output.writeByte(NodeTypes.VALUE_BINARY);
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else if (value instanceof QName) {
+            output.writeByte(NodeTypes.VALUE_QNAME);
+            writeQName((QName) value);
+        } else if (value instanceof Set) {
+            // bits
+            output.writeByte(NodeTypes.VALUE_BITS);
+            final Set<?> bits = (Set<?>) value;
+            output.writeInt(bits.size());
+            for (final Object bit : bits) {
+                writeString(bit.toString());
+            }
+        } else if (value instanceof YangInstanceIdentifier) {
+            output.writeByte(NodeTypes.VALUE_INSTANCE_IDENTIFIER);
+            writePath((YangInstanceIdentifier) value);
+        } else {
+            throw new IllegalArgumentException("Unable to serialize value: " + value + " of type: "
+                    + value.getClass() + ". Unsupported value type");
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        // DataOutput.writeUTF is limited to 64kB
+        final byte[] bytes = value.getBytes(Charsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.opendaylight.mdsal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.yang.binding.YangModelBindingProvider;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts files with persisted data between {@link PersistedDataFormat}s.
+ *
+ * Can be also used from command line, see {@link #main(String[])}.
+ */
+public final class PersistedDataConverter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistedDataConverter.class);
+
+    private static final String USAGE = "Usage: PersistedDataConverter <source> <target> <"
+            + Arrays.stream(PersistedDataFormat.values()).map(Enum::name).collect(Collectors.joining("|"))
+            + "> [yang files...]\n"
+            + "Models are loaded from provided yang files, or from binding modules on classpath if none were provided";
+
+    private final SchemaContext schemaContext;
+
+    public PersistedDataConverter(@Nonnull final SchemaContext schemaContext) {
+        this.schemaContext = checkNotNull(schemaContext, "schemaContext should not be null");
+    }
+
+    /**
+     * Convert persisted data from source file (in any format) into target file in target format.
+     *
+     * @throws IOException if source cannot be read or target cannot be written
+     */
+    public void convert(@Nonnull final Path source,
+                        @Nonnull final Path target,
+                        @Nonnull final PersistedDataFormat targetFormat) throws IOException {
+        checkArgument(!source.equals(target), "Source and target should be different files, but both were %s",
+                source);
+        final ContainerNode data = PersistedDataFormat.read(schemaContext, source);
+        try (final OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            targetFormat.write(data, schemaContext, outputStream);
+        }
+        LOG.debug("Persisted data converted from {} into {} as {}", source, target, targetFormat);
+    }
+
+    /**
+     * Convert persisted data from command line. Arguments: source file, target file, target
+     * {@link PersistedDataFormat} and optionally yang files with the models of the persisted data.
+     * Without yang files, all the models with generated bindings present on classpath are used.
+     */
+    public static void main(final String[] args) throws Exception {
+        checkArgument(args.length >= 3, USAGE);
+        final PersistedDataFormat targetFormat;
+        try {
+            targetFormat = PersistedDataFormat.valueOf(args[2]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format " + args[2] + "\n" + USAGE, e);
+        }
+
+        final Path[] yangFiles = Arrays.stream(args, 3, args.length).map(Paths::get).toArray(Path[]::new);
+        final SchemaContext schemaContext = yangFiles.length == 0
+                ? classpathSchemaContext()
+                : yangSchemaContext(yangFiles);
+        new PersistedDataConverter(schemaContext).convert(Paths.get(args[0]), Paths.get(args[1]), targetFormat);
+    }
+
+    private static SchemaContext yangSchemaContext(final Path... yangFiles) throws IOException, ReactorException {
+        final CrossSourceStatementReactor.BuildAction buildAction = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        for (final Path yangFile : yangFiles) {
+            try (final InputStream inputStream = Files.newInputStream(yangFile)) {
+                buildAction.addSource(new YangStatementSourceImpl(inputStream));
+            }
+        }
+        return buildAction.buildEffective();
+    }
+
+    private static SchemaContext classpathSchemaContext() {
+        final ModuleInfoBackedContext moduleInfoBackedContext = ModuleInfoBackedContext.create();
+        for (final YangModelBindingProvider provider : ServiceLoader.load(YangModelBindingProvider.class)) {
+            moduleInfoBackedContext.registerModuleInfo(provider.getModuleInfo());
+        }
+        return moduleInfoBackedContext.tryToCreateSchemaContext().get();
+    }
+}
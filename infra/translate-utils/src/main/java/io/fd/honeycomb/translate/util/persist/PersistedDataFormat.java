@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import io.fd.honeycomb.translate.util.JsonUtils;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Formats of files with persisted data. Format of an existing file is detected from its content, so the format can
+ * be changed without converting previously persisted data.
+ */
+public enum PersistedDataFormat {
+
+    /**
+     * Pretty printed JSON, see {@link JsonUtils}.
+     */
+    Json {
+        @Override
+        public void write(@Nonnull final NormalizedNode<?, ?> rootData, @Nonnull final SchemaContext schemaContext,
+                          @Nonnull final OutputStream outputStream) throws IOException {
+            JsonUtils.writeJsonRoot(rootData, schemaContext, outputStream);
+        }
+    },
+
+    /**
+     * Binary, see {@link BinarySnapshot}.
+     */
+    Binary {
+        @Override
+        public void write(@Nonnull final NormalizedNode<?, ?> rootData, @Nonnull final SchemaContext schemaContext,
+                          @Nonnull final OutputStream outputStream) throws IOException {
+            BinarySnapshot.writeBinaryRoot(rootData, outputStream, BinarySnapshot.Compression.NONE);
+        }
+    },
+
+    /**
+     * Binary with deflated body, see {@link BinarySnapshot}.
+     */
+    CompressedBinary {
+        @Override
+        public void write(@Nonnull final NormalizedNode<?, ?> rootData, @Nonnull final SchemaContext schemaContext,
+                          @Nonnull final OutputStream outputStream) throws IOException {
+            BinarySnapshot.writeBinaryRoot(rootData, outputStream, BinarySnapshot.Compression.DEFLATE);
+        }
+    },
+
+    /**
+     * Binary with LZ4 compressed body, see {@link BinarySnapshot}. Bigger than {@link #CompressedBinary}, but much
+     * cheaper to write and restore.
+     */
+    Lz4CompressedBinary {
+        @Override
+        public void write(@Nonnull final NormalizedNode<?, ?> rootData, @Nonnull final SchemaContext schemaContext,
+                          @Nonnull final OutputStream outputStream) throws IOException {
+            BinarySnapshot.writeBinaryRoot(rootData, outputStream, BinarySnapshot.Compression.LZ4);
+        }
+    };
+
+    /**
+     * Serialize normalized node root structure into provided output stream.
+     */
+    public abstract void write(@Nonnull final NormalizedNode<?, ?> rootData,
+                               @Nonnull final SchemaContext schemaContext,
+                               @Nonnull final OutputStream outputStream) throws IOException;
+
+    /**
+     * Read normalized node root structure from a file persisted in any of the formats.
+     *
+     * @return artificial normalized node holding all the top level nodes from provided file as children
+     */
+    @Nonnull
+    public static ContainerNode read(@Nonnull final SchemaContext schemaContext,
+                                     @Nonnull final Path path) throws IOException {
+        final boolean binary = BinarySnapshot.isBinarySnapshot(path);
+        try (final InputStream inputStream =
+                     new BufferedInputStream(Files.newInputStream(path, StandardOpenOption.READ))) {
+            return binary
+                    ? BinarySnapshot.readBinaryRoot(schemaContext, inputStream)
+                    : JsonUtils.readJsonRoot(schemaContext, inputStream);
+        }
+    }
+
+    /**
+     * Read top level nodes from a file persisted in any of the formats one by one, so that the entire data never
+     * have to be in memory at once. Binary files are streamed by
+     * {@link BinarySnapshot#streamBinaryRoot(Path, BinarySnapshot.TopLevelNodeHandler)}, JSON files are read one top
+     * level member at a time and each member is parsed on its own.
+     *
+     * @throws IOException if the file cannot be read or is corrupted
+     */
+    public static <E extends Exception> void stream(@Nonnull final SchemaContext schemaContext,
+                                                    @Nonnull final Path path,
+                                                    @Nonnull final BinarySnapshot.TopLevelNodeHandler<E> handler)
+            throws IOException, E {
+        if (BinarySnapshot.isBinarySnapshot(path)) {
+            BinarySnapshot.streamBinaryRoot(path, handler);
+            return;
+        }
+        try (final JsonReader reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            streamJsonRoot(schemaContext, reader, handler);
+        }
+    }
+
+    private static <E extends Exception> void streamJsonRoot(final SchemaContext schemaContext,
+                                                             final JsonReader reader,
+                                                             final BinarySnapshot.TopLevelNodeHandler<E> handler)
+            throws IOException, E {
+        try {
+            reader.peek();
+        } catch (EOFException e) {
+            // empty file, nothing to restore, same as JsonUtils.readJsonRoot
+            return;
+        }
+
+        final JsonParser parser = new JsonParser();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            // only a single top level member is held in memory as JSON tree
+            final JsonObject member = new JsonObject();
+            member.add(reader.nextName(), parser.parse(reader));
+            final byte[] serialized = member.toString().getBytes(StandardCharsets.UTF_8);
+            final ContainerNode root = JsonUtils.readJsonRoot(schemaContext, new ByteArrayInputStream(serialized));
+            for (final DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?> node : root.getValue()) {
+                handler.handle(node, serialized.length);
+            }
+        }
+        reader.endObject();
+    }
+}
@@ -17,11 +17,13 @@
 package io.fd.honeycomb.translate.util.read;
 
 import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.read.ListReadRange;
 import io.fd.honeycomb.translate.read.ListReader;
 import io.fd.honeycomb.translate.read.ReadContext;
 import io.fd.honeycomb.translate.read.ReadFailedException;
 import io.fd.honeycomb.translate.read.Reader;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.concepts.Builder;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -68,6 +70,11 @@ public interface DelegatingReader<D extends DataObject, B extends Builder<D>> ex
         return getDelegate().getManagedDataObjectType();
     }
 
+    @Override
+    default boolean isThreadSafe() {
+        return getDelegate().isThreadSafe();
+    }
+
     /**
      * ListReader specific delegating trait.
      */
@@ -82,6 +89,12 @@ public interface DelegatingReader<D extends DataObject, B extends Builder<D>> ex
             return getDelegate().getAllIds(id, ctx);
         }
 
+        @Override
+        default List<K> getIds(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ListReadRange range,
+                               @Nonnull final ReadContext ctx) throws ReadFailedException {
+            return getDelegate().getIds(id, range, ctx);
+        }
+
         @Nonnull
         @Override
         default List<D> readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx)
@@ -89,6 +102,12 @@ public interface DelegatingReader<D extends DataObject, B extends Builder<D>> ex
             return getDelegate().readList(id, ctx);
         }
 
+        @Override
+        default void readList(@Nonnull final InstanceIdentifier<D> id, @Nonnull final ReadContext ctx,
+                              @Nonnull final Consumer<? super D> entryConsumer) throws ReadFailedException {
+            getDelegate().readList(id, ctx, entryConsumer);
+        }
+
         @Override
         default void merge(@Nonnull final Builder<? extends DataObject> builder,
                            @Nonnull final List<D> readData) {
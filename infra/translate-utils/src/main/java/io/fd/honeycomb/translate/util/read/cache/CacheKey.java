@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util.read.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Immutable composite key of cached data, e.g. dumps stored in {@link io.fd.honeycomb.translate.ModificationCache}.
+ * Key consists of:
+ * <ul>
+ *     <li>type of cached data</li>
+ *     <li>target type of the (wildcarded) identifier the data are cached for</li>
+ *     <li>scope, e.g. keys of parent list entries</li>
+ *     <li>params of the request producing the data</li>
+ * </ul>
+ * Parts are held by reference and compared using their equals, the hash is computed once. Unlike string keys,
+ * creating the key does not format any of its parts and different params can not alias due to a hash collision.
+ *
+ * <p>Params have to be immutable, or at least not modified once the key is created, otherwise the key changes
+ * while cached. Callers with mutable params should pass a copy of them.
+ */
+@Immutable
+public final class CacheKey {
+
+    static final Object[] NO_SCOPE = new Object[0];
+
+    private final Class<?> cachedType;
+    private final Class<?> targetType;
+    private final Object[] scope;
+    private final Object params;
+    private final int hash;
+
+    /**
+     * @param scope array owned by the key, must not be modified afterwards
+     */
+    CacheKey(@Nonnull final Class<?> cachedType, @Nonnull final Class<?> targetType, @Nonnull final Object[] scope,
+             @Nullable final Object params) {
+        this.cachedType = cachedType;
+        this.targetType = targetType;
+        this.scope = scope;
+        this.params = params;
+        this.hash = 31 * (31 * (31 * cachedType.hashCode() + targetType.hashCode()) + Arrays.hashCode(scope))
+                + Objects.hashCode(params);
+    }
+
+    /**
+     * @param cachedType type of cached data
+     * @param targetType target type of the identifier the data are cached for
+     * @param params     params of the request producing the data, null if there are none. Held by reference, so
+     *                   they must not be modified afterwards
+     * @param scope      additional parts of the key, e.g. keys of parent list entries
+     */
+    @Nonnull
+    public static CacheKey of(@Nonnull final Class<?> cachedType, @Nonnull final Class<?> targetType,
+                              @Nullable final Object params, @Nonnull final Object... scope) {
+        checkNotNull(cachedType, "cachedType should not be null");
+        checkNotNull(targetType, "targetType should not be null");
+        checkNotNull(scope, "scope should not be null");
+        return new CacheKey(cachedType, targetType, scope.length == 0
+                ? NO_SCOPE
+                : scope.clone(), params);
+    }
+
+    @Nonnull
+    public Class<?> getCachedType() {
+        return cachedType;
+    }
+
+    @Nonnull
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    @Nullable
+    public Object getParams() {
+        return params;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CacheKey that = (CacheKey) o;
+        return hash == that.hash
+                && cachedType == that.cachedType
+                && targetType == that.targetType
+                && Objects.equals(params, that.params)
+                && Arrays.equals(scope, that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return cachedType.getTypeName() + Arrays.toString(scope) + "|" + params + "|" + targetType.getTypeName();
+    }
+}
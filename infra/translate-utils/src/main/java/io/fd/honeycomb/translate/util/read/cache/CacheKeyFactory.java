@@ -31,6 +31,20 @@ public interface CacheKeyFactory<U> {
     @Nonnull
     String createKey(@Nonnull final InstanceIdentifier<?> actualContextIdentifier, @Nullable final U dumpParams);
 
+    /**
+     * Construct key accordingly to provided {@code InstanceIdentifier<?>} and dumpParams, to be used as key of
+     * {@link io.fd.honeycomb.translate.ModificationCache} or other caches. Key has to implement equals and hashCode.
+     *
+     * By default the key created by {@link #createKey(InstanceIdentifier, Object)} is used, factories should
+     * provide cheaper keys such as {@link CacheKey}. Such keys are not equal to the string keys and might reference
+     * the dumpParams, which must not be modified afterwards.
+     */
+    @Nonnull
+    default Object createCacheKey(@Nonnull final InstanceIdentifier<?> actualContextIdentifier,
+                                  @Nullable final U dumpParams) {
+        return createKey(actualContextIdentifier, dumpParams);
+    }
+
     /**
      * Returns type of data, for which is this factory creating keys
      */
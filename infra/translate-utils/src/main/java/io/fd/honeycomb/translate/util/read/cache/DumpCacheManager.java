@@ -16,15 +16,29 @@
 
 package io.fd.honeycomb.translate.util.read.cache;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.nonNull;
 
+import com.google.common.base.MoreObjects;
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.fd.honeycomb.translate.ModificationCache;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.util.JmxUtils;
 import io.fd.honeycomb.translate.util.read.cache.noop.NoopDumpPostProcessingFunction;
+import io.fd.honeycomb.translate.write.WriteContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,10 +47,26 @@ import org.slf4j.LoggerFactory;
  * Manager responsible for returning Data object dumps<br> either from cache or by invoking specified {@link
  * EntityDumpExecutor}
  *
+ * <p>Dumps are cached in {@link ModificationCache} of the current transaction. Optionally, dumps can be cached also
+ * across transactions for a limited time, see {@link DumpCacheManagerBuilder#withSharedCache(long, TimeUnit)}.
+ * Writers changing the dumped data should then invalidate the shared cache using
+ * {@link #invalidateAfterCommit(WriteContext)}.
+ *
+ * <p>Optionally, concurrent executions of the same dump can be de-duplicated, see
+ * {@link DumpCacheManagerBuilder#withSingleFlight()}. Dumps started before an invalidation are not shared with dumps
+ * requested after it, so writers should invalidate the manager also in this case.
+ *
+ * <p>Dumps are cached under keys created by {@link CacheKeyFactory#createCacheKey(InstanceIdentifier, Object)}, which
+ * are not the strings created by {@link CacheKeyFactory#createKey(InstanceIdentifier, Object)} used by previous
+ * versions. Code reading dumps from {@link ModificationCache} directly using string keys, or dumping with params
+ * modified after the dump, should use {@link DumpCacheManagerBuilder#withStringCacheKeys()}.
+ *
+ * <p>Statistics of the manager can be exposed over JMX, see {@link DumpCacheManagerBuilder#withJmxName(String)}.
+ *
  * @param <T> Type of data returned by {@code EntityDumpExecutor},and stored cache
  * @param <U> Type of dumping params
  */
-public final class DumpCacheManager<T, U> {
+public final class DumpCacheManager<T, U> implements DumpCacheManagerMXBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(DumpCacheManager.class);
 
@@ -44,12 +74,34 @@ public final class DumpCacheManager<T, U> {
     private final EntityDumpPostProcessingFunction<T> postProcessor;
     private final CacheKeyFactory<U> cacheKeyFactory;
     private final Class<?> acceptOnly;
+    private final boolean stringCacheKeys;
+    // Dumps shared across transactions, null if disabled
+    private final Cache<Object, T> sharedCache;
+    // Incremented with every invalidation, dumps started before an invalidation are neither stored in the shared cache
+    // nor joined by dumps requested after it
+    private final AtomicLong generation = new AtomicLong();
+    // Dumps in progress, null if single-flight is disabled
+    private final ConcurrentMap<Object, InFlightDump<T>> inFlightDumps;
+    private final LongAdder executedDumps = new LongAdder();
+    private final LongAdder deduplicatedDumps = new LongAdder();
+    private final LongAdder transactionCacheHits = new LongAdder();
+    private final LongAdder sharedCacheHits = new LongAdder();
 
     private DumpCacheManager(DumpCacheManagerBuilder<T, U> builder) {
         this.dumpExecutor = builder.dumpExecutor;
         this.postProcessor = builder.postProcessingFunction;
         this.cacheKeyFactory = builder.cacheKeyFactory;
         this.acceptOnly = builder.acceptOnly;
+        this.stringCacheKeys = builder.stringCacheKeys;
+        this.sharedCache = builder.sharedCacheTtl > 0
+                ? CacheBuilder.newBuilder()
+                        .expireAfterWrite(builder.sharedCacheTtl, builder.sharedCacheTtlUnit)
+                        .maximumSize(builder.sharedCacheMaximumSize)
+                        .build()
+                : null;
+        this.inFlightDumps = builder.singleFlight
+                ? new ConcurrentHashMap<>()
+                : null;
     }
 
     /**
@@ -66,7 +118,7 @@ public final class DumpCacheManager<T, U> {
                                @Nonnull final ModificationCache cache, final U dumpParams)
             throws ReadFailedException {
 
-        final String entityKey = this.cacheKeyFactory.createKey(identifier, dumpParams);
+        final Object entityKey = cacheKey(identifier, dumpParams);
         // this key binding to every log has its logic ,because every customizer have its own cache manager and if
         // there is need for debugging/fixing some complex call with a lot of data,you can get lost in those logs
         LOG.debug("Loading dump for KEY[{}]", entityKey);
@@ -74,32 +126,245 @@ public final class DumpCacheManager<T, U> {
         T dump = (T) cache.get(entityKey);
 
         if (dump == null) {
-            LOG.debug("Dump for KEY[{}] not present in cache,invoking dump executor", entityKey);
-            // binds and execute dump to be thread-save
-            dump = postProcessor.apply(dumpExecutor.executeDump(identifier, dumpParams));
-            // no need to check dump, if no data were dumped , DTO with empty list is returned
-            // no need to check if post processor is active,if it wasn't set,default no-op will be used
+            dump = getSharedDump(entityKey);
+            if (dump != null) {
+                checkAccepted(dump);
+                sharedCacheHits.increment();
+                LOG.debug("Shared instance of dump was found for KEY[{}]", entityKey);
+                // keep the same dump for the rest of the transaction, even if the shared one expires
+                cache.put(entityKey, dump);
+                return Optional.of(dump);
+            }
+
+            dump = inFlightDumps == null
+                    ? executeDump(identifier, entityKey, dumpParams, generation.get())
+                    : executeSingleFlightDump(identifier, entityKey, dumpParams);
             LOG.debug("Caching dump for KEY[{}]", entityKey);
             cache.put(entityKey, dump);
             return Optional.of(dump);
         } else {
-            // if specified, check whether data returned from cache can be used as result of this dump manager
-            // used as a secondary check if cache does not have any data of different type stored under the same key
-            checkState(acceptOnly.isInstance(dump),
-                    "This dump manager accepts only %s as data, but %s was returned from cache",
-                    acceptOnly, dump.getClass());
-
+            checkAccepted(dump);
+            transactionCacheHits.increment();
             LOG.debug("Cached instance of dump was found for KEY[{}]", entityKey);
             return Optional.of(dump);
         }
     }
 
+    private Object cacheKey(final InstanceIdentifier<?> identifier, final U dumpParams) {
+        return stringCacheKeys
+                ? cacheKeyFactory.createKey(identifier, dumpParams)
+                : cacheKeyFactory.createCacheKey(identifier, dumpParams);
+    }
+
+    private void checkAccepted(final T dump) {
+        // if specified, check whether data returned from cache can be used as result of this dump manager
+        // used as a secondary check if cache does not have any data of different type stored under the same key
+        checkState(acceptOnly.isInstance(dump),
+                "This dump manager accepts only %s as data, but %s was returned from cache",
+                acceptOnly, dump.getClass());
+    }
+
+    private T executeDump(final InstanceIdentifier<?> identifier, final Object entityKey, final U dumpParams,
+                          final long dumpGeneration) throws ReadFailedException {
+        LOG.debug("Dump for KEY[{}] not present in cache,invoking dump executor", entityKey);
+        executedDumps.increment();
+        // binds and execute dump to be thread-save
+        final T dump = postProcessor.apply(dumpExecutor.executeDump(identifier, dumpParams));
+        // no need to check dump, if no data were dumped , DTO with empty list is returned
+        // no need to check if post processor is active,if it wasn't set,default no-op will be used
+        putSharedDump(entityKey, dump, dumpGeneration);
+        return dump;
+    }
+
+    /**
+     * Executes the dump, unless the same dump is already in progress and was started after the last invalidation.
+     * In that case, waits for its result instead.
+     */
+    private T executeSingleFlightDump(final InstanceIdentifier<?> identifier, final Object entityKey,
+                                      final U dumpParams) throws ReadFailedException {
+        final InFlightDump<T> flight = new InFlightDump<>(generation.get());
+        while (true) {
+            final InFlightDump<T> inFlight = inFlightDumps.putIfAbsent(entityKey, flight);
+            if (inFlight == null) {
+                break;
+            }
+            if (inFlight.generation == flight.generation) {
+                LOG.debug("Dump for KEY[{}] already in progress, waiting for its result", entityKey);
+                deduplicatedDumps.increment();
+                return awaitDump(identifier, inFlight.result);
+            }
+            // started before an invalidation, the dump might be stale. Let it finish for its current waiters
+            // and start a new one
+            if (inFlightDumps.replace(entityKey, inFlight, flight)) {
+                break;
+            }
+        }
+
+        try {
+            final T dump = executeDump(identifier, entityKey, dumpParams, flight.generation);
+            flight.result.complete(dump);
+            return dump;
+        } catch (ReadFailedException | RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightDumps.remove(entityKey, flight);
+        }
+    }
+
+    private static <T> T awaitDump(final InstanceIdentifier<?> identifier, final CompletableFuture<T> inFlight)
+            throws ReadFailedException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadFailedException(identifier, e);
+        } catch (ExecutionException e) {
+            // failure of the shared dump is the failure of this one as well
+            final Throwable cause = e.getCause();
+            if (cause instanceof ReadFailedException) {
+                throw (ReadFailedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ReadFailedException(identifier, cause);
+        }
+    }
+
+    @Override
+    public long getExecutedDumps() {
+        return executedDumps.sum();
+    }
+
+    @Override
+    public long getDeduplicatedDumps() {
+        return deduplicatedDumps.sum();
+    }
+
+    @Override
+    public long getTransactionCacheHits() {
+        return transactionCacheHits.sum();
+    }
+
+    @Override
+    public long getSharedCacheHits() {
+        return sharedCacheHits.sum();
+    }
+
+    @Override
+    public long getSharedCacheSize() {
+        return sharedCache == null
+                ? 0
+                : sharedCache.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("acceptOnly", acceptOnly.getSimpleName())
+                .add("executedDumps", getExecutedDumps())
+                .add("deduplicatedDumps", getDeduplicatedDumps())
+                .add("transactionCacheHits", getTransactionCacheHits())
+                .add("sharedCacheHits", getSharedCacheHits())
+                .toString();
+    }
+
+    @Nullable
+    private T getSharedDump(final Object entityKey) {
+        return sharedCache == null
+                ? null
+                : sharedCache.getIfPresent(entityKey);
+    }
+
+    private void putSharedDump(final Object entityKey, final T dump, final long dumpGeneration) {
+        if (sharedCache == null) {
+            return;
+        }
+        sharedCache.put(entityKey, dump);
+        if (generation.get() != dumpGeneration) {
+            // invalidated while dumping, the dump might be stale
+            sharedCache.invalidate(entityKey);
+        }
+    }
+
+    /**
+     * Drops all the dumps shared across transactions. Dumps in progress are not joined by dumps requested from now
+     * on. Dumps cached in {@link ModificationCache} of ongoing transactions are not affected.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (sharedCache != null) {
+            sharedCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Drops shared dump of provided identifier and params. Dumps in progress are not joined by dumps requested from
+     * now on.
+     */
+    public void invalidate(@Nonnull final InstanceIdentifier<?> identifier, @Nullable final U dumpParams) {
+        generation.incrementAndGet();
+        if (sharedCache != null) {
+            sharedCache.invalidate(cacheKey(identifier, dumpParams));
+        }
+    }
+
+    private boolean isShared() {
+        return sharedCache != null || inFlightDumps != null;
+    }
+
+    /**
+     * Drops all the dumps shared across transactions, once changes of the write transaction are committed.
+     *
+     * @param writeContext context of the write transaction changing the dumped data
+     */
+    public void invalidateAfterCommit(@Nonnull final WriteContext writeContext) {
+        if (isShared()) {
+            writeContext.afterCommit(this::invalidate);
+        }
+    }
+
+    /**
+     * Drops shared dump of provided identifier and params, once changes of the write transaction are committed.
+     *
+     * @param writeContext context of the write transaction changing the dumped data
+     */
+    public void invalidateAfterCommit(@Nonnull final WriteContext writeContext,
+                                      @Nonnull final InstanceIdentifier<?> identifier,
+                                      @Nullable final U dumpParams) {
+        if (isShared()) {
+            writeContext.afterCommit(() -> invalidate(identifier, dumpParams));
+        }
+    }
+
+    private static final class InFlightDump<T> {
+        private final long generation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private InFlightDump(final long generation) {
+            this.generation = generation;
+        }
+    }
+
     public static final class DumpCacheManagerBuilder<T, U> {
 
+        /**
+         * Default maximum number of dumps shared across transactions, per dump manager.
+         */
+        public static final long DEFAULT_SHARED_CACHE_MAXIMUM_SIZE = 1000;
+
+
         private EntityDumpExecutor<T, U> dumpExecutor;
         private EntityDumpPostProcessingFunction<T> postProcessingFunction;
         private CacheKeyFactory cacheKeyFactory;
         private Class<?> acceptOnly;
+        private long sharedCacheTtl;
+        private TimeUnit sharedCacheTtlUnit;
+        private long sharedCacheMaximumSize = DEFAULT_SHARED_CACHE_MAXIMUM_SIZE;
+        private boolean singleFlight;
+        private boolean stringCacheKeys;
+        private String jmxName;
 
         public DumpCacheManagerBuilder() {
             // for cases when user does not set specific post-processor
@@ -134,6 +399,61 @@ public final class DumpCacheManager<T, U> {
             return this;
         }
 
+        /**
+         * Cache dumps also across transactions, for a limited time. Suitable for data frequently read by separate
+         * transactions (e.g. polling of interface counters), that do not need to be completely up to date.
+         *
+         * @param ttl      time to live of the shared dumps
+         * @param timeUnit unit of the time to live
+         */
+        public DumpCacheManagerBuilder<T, U> withSharedCache(final long ttl, @Nonnull final TimeUnit timeUnit) {
+            checkArgument(ttl > 0, "ttl should be positive, but was %s", ttl);
+            this.sharedCacheTtl = ttl;
+            this.sharedCacheTtlUnit = checkNotNull(timeUnit, "timeUnit should not be null");
+            return this;
+        }
+
+        /**
+         * Maximum number of dumps shared across transactions, {@link #DEFAULT_SHARED_CACHE_MAXIMUM_SIZE} by default.
+         */
+        public DumpCacheManagerBuilder<T, U> withSharedCacheMaximumSize(final long maximumSize) {
+            checkArgument(maximumSize > 0, "maximumSize should be positive, but was %s", maximumSize);
+            this.sharedCacheMaximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Concurrent callers requesting the same dump (dumps with the same cache key) share a single execution of
+         * the dump executor, instead of executing it in parallel. Suitable for dumps polled by multiple clients at
+         * the same time.
+         */
+        public DumpCacheManagerBuilder<T, U> withSingleFlight() {
+            this.singleFlight = true;
+            return this;
+        }
+
+        /**
+         * Cache dumps under string keys created by {@link CacheKeyFactory#createKey(InstanceIdentifier, Object)},
+         * as previous versions did, instead of {@link CacheKeyFactory#createCacheKey(InstanceIdentifier, Object)}.
+         * Compatibility option for code reading the dumps from {@link ModificationCache} using string keys and for
+         * mutable dump params, string keys do not reference the params.
+         */
+        public DumpCacheManagerBuilder<T, U> withStringCacheKeys() {
+            this.stringCacheKeys = true;
+            return this;
+        }
+
+        /**
+         * Expose statistics of the manager over JMX as io.fd.honeycomb:type=DumpCacheManager,name="&lt;name&gt;".
+         * Manager registered later under the same name replaces the previous one.
+         *
+         * @param name name of the manager, unique among dump managers, e.g. name of its customizer
+         */
+        public DumpCacheManagerBuilder<T, U> withJmxName(@Nonnull final String name) {
+            this.jmxName = checkNotNull(name, "name should not be null");
+            return this;
+        }
+
         public DumpCacheManager<T, U> build() {
             checkNotNull(dumpExecutor, "Dump executor cannot be null");
             checkNotNull(postProcessingFunction,
@@ -149,7 +469,11 @@ public final class DumpCacheManager<T, U> {
                                 "], or type-aware cache key factory[defined=" + nonNull(cacheKeyFactory) + "]");
             }
 
-            return new DumpCacheManager<>(this);
+            final DumpCacheManager<T, U> manager = new DumpCacheManager<>(this);
+            if (jmxName != null) {
+                JmxUtils.registerMXBean(manager, DumpCacheManager.class.getSimpleName(), jmxName);
+            }
+            return manager;
         }
     }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util.read.cache;
+
+/**
+ * Dump statistics of {@link DumpCacheManager}, exposed over JMX.
+ */
+public interface DumpCacheManagerMXBean {
+
+    /**
+     * @return number of dumps actually executed by the dump executor
+     */
+    long getExecutedDumps();
+
+    /**
+     * @return number of dumps that were not executed, because the same dump was already in progress
+     */
+    long getDeduplicatedDumps();
+
+    /**
+     * @return number of dumps served from the cache of the current transaction
+     */
+    long getTransactionCacheHits();
+
+    /**
+     * @return number of dumps served from the cache shared across transactions
+     */
+    long getSharedCacheHits();
+
+    /**
+     * @return number of dumps currently shared across transactions, always 0 if shared cache is disabled
+     */
+    long getSharedCacheSize();
+}
@@ -103,6 +103,40 @@ public final class TypeAwareIdentifierCacheKeyFactory<U> implements CacheKeyFact
                     params(dumpParams), actualContextIdentifier.getTargetType().toString());
     }
 
+    /**
+     * Creates structured key equivalent to {@link #createKey(InstanceIdentifier, Object)}, without formatting any of
+     * its parts. Keys of the additional scope are held by reference, as well as the params.
+     */
+    @Nonnull
+    @Override
+    public CacheKey createCacheKey(@Nonnull final InstanceIdentifier<?> actualContextIdentifier,
+                                   @Nullable final U dumpParams) {
+        checkNotNull(actualContextIdentifier, "Cannot construct key for null InstanceIdentifier");
+
+        // easiest case when only simple key is needed
+        if (additionalKeyTypes.isEmpty()) {
+            return new CacheKey(type, actualContextIdentifier.getTargetType(), CacheKey.NO_SCOPE, dumpParams);
+        }
+
+        final Object[] scope = new Object[additionalKeyTypes.size()];
+        int scopeSize = 0;
+        for (final InstanceIdentifier.PathArgument pathArgument : actualContextIdentifier.getPathArguments()) {
+            if (isAdditionalScope(pathArgument) && isIdentifiable(pathArgument)) {
+                if (scopeSize == scope.length) {
+                    // more keyed items than key types, not unique
+                    scopeSize++;
+                    break;
+                }
+                // identifiable item holds both type and key
+                scope[scopeSize++] = pathArgument;
+            }
+        }
+        checkArgument(scopeSize == scope.length,
+                "Unable to construct unique key, required key types : %s, provided paths : %s", additionalKeyTypes,
+                actualContextIdentifier.getPathArguments());
+        return new CacheKey(type, actualContextIdentifier.getTargetType(), scope, dumpParams);
+    }
+
     private String params(final U dumpParams) {
         if (dumpParams == null) {
             return NO_PARAMS_KEY;
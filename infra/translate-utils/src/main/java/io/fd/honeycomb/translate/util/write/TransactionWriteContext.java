@@ -16,13 +16,17 @@
 
 package io.fd.honeycomb.translate.util.write;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import io.fd.honeycomb.translate.MappingContext;
 import io.fd.honeycomb.translate.ModificationCache;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.write.WriteContext;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
@@ -33,23 +37,45 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Transaction backed WriteContext.
  */
 public final class TransactionWriteContext implements WriteContext {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionWriteContext.class);
+
     private final DOMDataReadOnlyTransaction beforeTx;
     private final DOMDataReadOnlyTransaction afterTx;
     private final ModificationCache ctx;
     private final BindingNormalizedNodeSerializer serializer;
+    private final BindingIdentifierCache identifierCache;
     private final MappingContext mappingContext;
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
 
+    /**
+     * @deprecated use {@link #TransactionWriteContext(BindingIdentifierCache, DOMDataReadOnlyTransaction,
+     * DOMDataReadOnlyTransaction, MappingContext)} with a cache shared across transactions
+     */
+    @Deprecated
     public TransactionWriteContext(final BindingNormalizedNodeSerializer serializer,
                                    final DOMDataReadOnlyTransaction beforeTx,
                                    final DOMDataReadOnlyTransaction afterTx,
                                    final MappingContext mappingContext) {
-        this.serializer = serializer;
+        this(BindingIdentifierCache.forSerializer(serializer), beforeTx, afterTx, mappingContext);
+    }
+
+    /**
+     * @param identifierCache cache of identifier translations, typically shared across transactions
+     */
+    public TransactionWriteContext(final BindingIdentifierCache identifierCache,
+                                   final DOMDataReadOnlyTransaction beforeTx,
+                                   final DOMDataReadOnlyTransaction afterTx,
+                                   final MappingContext mappingContext) {
+        this.identifierCache = identifierCache;
+        this.serializer = identifierCache.getSerializer();
         this.beforeTx = beforeTx;
         this.afterTx = afterTx;
         this.mappingContext = mappingContext;
@@ -71,7 +97,7 @@ public final class TransactionWriteContext implements WriteContext {
 
     private <T extends DataObject> Optional<T> read(final InstanceIdentifier<T> currentId,
                                                     final DOMDataReadOnlyTransaction tx) {
-        final YangInstanceIdentifier path = serializer.toYangInstanceIdentifier(currentId);
+        final YangInstanceIdentifier path = identifierCache.toYangInstanceIdentifier(currentId);
 
         final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read =
                 tx.read(LogicalDatastoreType.CONFIGURATION, path);
@@ -96,6 +122,26 @@ public final class TransactionWriteContext implements WriteContext {
         }
     }
 
+    @Override
+    public synchronized void afterCommit(@Nonnull final Runnable action) {
+        afterCommitActions.add(checkNotNull(action, "action should not be null"));
+    }
+
+    /**
+     * Invokes actions registered by writers, to be called after the changes were successfully committed. A failure
+     * of an action is logged and does not prevent the others from being invoked.
+     */
+    public synchronized void invokeAfterCommitActions() {
+        for (final Runnable action : afterCommitActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to invoke after commit action {}", action, e);
+            }
+        }
+        afterCommitActions.clear();
+    }
+
     @Nonnull
     @Override
     public ModificationCache getModificationCache() {
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -31,6 +32,7 @@ import com.google.common.base.Optional;
 import com.google.common.util.concurrent.Futures;
 import io.fd.honeycomb.translate.MappingContext;
 import io.fd.honeycomb.translate.ModificationCache;
+import io.fd.honeycomb.translate.util.BindingIdentifierCache;
 import io.fd.honeycomb.translate.util.DataObjects;
 import io.fd.honeycomb.translate.util.write.TransactionWriteContext;
 import java.util.Map;
@@ -65,7 +67,8 @@ public class TransactionWriteContextTest {
     @Before
     public void setUp() {
         initMocks(this);
-        transactionWriteContext = new TransactionWriteContext(serializer, beforeTx, afterTx, contextBroker);
+        transactionWriteContext = new TransactionWriteContext(new BindingIdentifierCache(serializer),
+                beforeTx, afterTx, contextBroker);
         yangId = YangInstanceIdentifier.builder().node(QName.create("n", "d")).build();
         when(serializer.toYangInstanceIdentifier(any(InstanceIdentifier.class))).thenReturn(yangId);
     }
@@ -132,4 +135,19 @@ public class TransactionWriteContextTest {
         transactionWriteContext.close();
         assertFalse(context.containsKey(o));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAfterCommitActions() throws Exception {
+        final Runnable failingAction = mock(Runnable.class);
+        doThrow(new IllegalStateException("test fail")).when(failingAction).run();
+        final Runnable action = mock(Runnable.class);
+        transactionWriteContext.afterCommit(failingAction);
+        transactionWriteContext.afterCommit(action);
+        verify(action, never()).run();
+
+        transactionWriteContext.invokeAfterCommitActions();
+        // failure of one action does not prevent the others from being invoked
+        verify(failingAction).run();
+        verify(action).run();
+    }
+}
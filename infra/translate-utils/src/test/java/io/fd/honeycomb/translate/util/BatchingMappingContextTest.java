@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import io.fd.honeycomb.translate.util.DataObjects.DataObject1;
+import io.fd.honeycomb.translate.util.DataObjects.DataObject2;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+
+public class BatchingMappingContextTest {
+
+    @Mock
+    private DataBroker broker;
+    @Mock
+    private ReadOnlyTransaction readTx;
+    @Mock
+    private ReadWriteTransaction readWriteTx;
+    @Mock
+    private WriteTransaction writeTx;
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ScheduledFuture<?> scheduledFlush;
+    @Mock
+    private DataObject1 data1;
+    @Mock
+    private DataObject2 data2;
+    private BatchingMappingContext ctx;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(broker.newReadOnlyTransaction()).thenReturn(readTx);
+        when(broker.newReadWriteTransaction()).thenReturn(readWriteTx);
+        when(broker.newWriteOnlyTransaction()).thenReturn(writeTx);
+        when(writeTx.submit()).thenReturn(Futures.immediateCheckedFuture(null));
+        doReturn(scheduledFlush).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        ctx = new BatchingMappingContext(broker, 2, 100, TimeUnit.MILLISECONDS, scheduler);
+    }
+
+    @Test
+    public void testFlushOnBatchSize() throws Exception {
+        ctx.put(DataObject1.IID, data1);
+        verify(broker, never()).newWriteOnlyTransaction();
+
+        ctx.merge(DataObject2.IID, data2);
+        verify(broker).newWriteOnlyTransaction();
+        verify(writeTx).put(LogicalDatastoreType.OPERATIONAL, DataObject1.IID, data1, true);
+        verify(writeTx).merge(LogicalDatastoreType.OPERATIONAL, DataObject2.IID, data2, true);
+        verify(writeTx).submit();
+        assertEquals(0, ctx.getBufferedModifications());
+    }
+
+    @Test
+    public void testFlushOnDelay() throws Exception {
+        ctx.delete(DataObject1.IID);
+
+        final ArgumentCaptor<Runnable> delayedFlush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(delayedFlush.capture(), anyLong(), any(TimeUnit.class));
+        delayedFlush.getValue().run();
+
+        verify(writeTx).delete(LogicalDatastoreType.OPERATIONAL, DataObject1.IID);
+        verify(writeTx).submit();
+    }
+
+    @Test
+    public void testFlushDelayedOnce() throws Exception {
+        ctx = new BatchingMappingContext(broker, 10, 100, TimeUnit.MILLISECONDS, scheduler);
+        ctx.put(DataObject1.IID, data1);
+        ctx.put(DataObject2.IID, data2);
+        // single flush scheduled for the whole batch
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        ctx.flush();
+        verify(scheduledFlush).cancel(false);
+        verify(writeTx).submit();
+    }
+
+    @Test
+    public void testReadNotBuffered() throws Exception {
+        when(readTx.read(LogicalDatastoreType.OPERATIONAL, DataObject2.IID))
+                .thenReturn(Futures.immediateCheckedFuture(Optional.of(data2)));
+        ctx.put(DataObject1.IID, data1);
+
+        assertSame(data2, ctx.read(DataObject2.IID).get());
+        verify(broker, never()).newReadWriteTransaction();
+    }
+
+    @Test
+    public void testReadBuffered() throws Exception {
+        when(readWriteTx.read(LogicalDatastoreType.OPERATIONAL, DataObject1.IID))
+                .thenReturn(Futures.immediateCheckedFuture(Optional.of(data1)));
+        ctx.put(DataObject1.IID, data1);
+
+        assertSame(data1, ctx.read(DataObject1.IID).get());
+        // buffered modification is applied to the transaction used for the read, but not committed
+        verify(readWriteTx).put(LogicalDatastoreType.OPERATIONAL, DataObject1.IID, data1, true);
+        verify(readWriteTx).cancel();
+        verify(broker, never()).newReadOnlyTransaction();
+        assertEquals(1, ctx.getBufferedModifications());
+    }
+
+    @Test
+    public void testFlushFailure() throws Exception {
+        when(writeTx.submit()).thenReturn(Futures.immediateFailedCheckedFuture(
+                new TransactionCommitFailedException("test fail")));
+        ctx.put(DataObject1.IID, data1);
+        try {
+            ctx.flush();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            // failed modifications are kept for the next flush
+            assertEquals(1, ctx.getBufferedModifications());
+        }
+
+        when(writeTx.submit()).thenReturn(Futures.immediateCheckedFuture(null));
+        ctx.flush();
+        verify(writeTx, times(2)).put(LogicalDatastoreType.OPERATIONAL, DataObject1.IID, data1, true);
+        assertEquals(0, ctx.getBufferedModifications());
+    }
+
+    @Test
+    public void testFlushFailureKeepsOrder() throws Exception {
+        final SettableFuture<Void> commit = SettableFuture.create();
+        when(writeTx.submit()).thenReturn(Futures.makeChecked(commit,
+                e -> new TransactionCommitFailedException("test fail", e)));
+        ctx = new BatchingMappingContext(broker, 10, 100, TimeUnit.MILLISECONDS, scheduler);
+        ctx.put(DataObject1.IID, data1);
+        final Future<?> flush = runFlush();
+
+        // buffered while the first batch is being committed
+        ctx.delete(DataObject1.IID);
+        commit.setException(new IllegalStateException("test fail"));
+        assertFlushFailed(flush);
+
+        final WriteTransaction retryTx = mock(WriteTransaction.class);
+        when(retryTx.submit()).thenReturn(Futures.immediateCheckedFuture(null));
+        when(broker.newWriteOnlyTransaction()).thenReturn(retryTx);
+        ctx.flush();
+        final InOrder inOrder = inOrder(retryTx);
+        inOrder.verify(retryTx).put(LogicalDatastoreType.OPERATIONAL, DataObject1.IID, data1, true);
+        inOrder.verify(retryTx).delete(LogicalDatastoreType.OPERATIONAL, DataObject1.IID);
+    }
+
+    @Test(timeout = 10000)
+    public void testAccessDuringFlush() throws Exception {
+        final SettableFuture<Void> commit = SettableFuture.create();
+        when(writeTx.submit()).thenReturn(Futures.makeChecked(commit,
+                e -> new TransactionCommitFailedException("test fail", e)));
+        when(readWriteTx.read(LogicalDatastoreType.OPERATIONAL, DataObject1.IID))
+                .thenReturn(Futures.immediateCheckedFuture(Optional.of(data1)));
+        ctx = new BatchingMappingContext(broker, 10, 100, TimeUnit.MILLISECONDS, scheduler);
+        ctx.put(DataObject1.IID, data1);
+        final Future<?> flush = runFlush();
+
+        // neither reads nor modifications wait for the commit, modifications being committed are visible
+        assertSame(data1, ctx.read(DataObject1.IID).get());
+        verify(readWriteTx).put(LogicalDatastoreType.OPERATIONAL, DataObject1.IID, data1, true);
+        ctx.put(DataObject2.IID, data2);
+        assertEquals(1, ctx.getBufferedModifications());
+
+        commit.set(null);
+        flush.get();
+        assertEquals(1, ctx.getBufferedModifications());
+    }
+
+    /**
+     * Starts flush in another thread, returns once the flush submitted its transaction.
+     */
+    private Future<?> runFlush() throws Exception {
+        final CountDownLatch submitted = new CountDownLatch(1);
+        final CheckedFuture<Void, TransactionCommitFailedException> commit = writeTx.submit();
+        when(writeTx.submit()).thenAnswer(invocation -> {
+            submitted.countDown();
+            return commit;
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> flush = executor.submit(ctx::flush);
+            submitted.await();
+            return flush;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void assertFlushFailed(final Future<?> flush) throws InterruptedException {
+        try {
+            flush.get();
+            fail("Flush failure expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        ctx.put(DataObject1.IID, data1);
+        ctx.close();
+
+        verify(writeTx).submit();
+        // scheduler is provided, so it is not shut down
+        verify(scheduler, never()).shutdown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterClose() throws Exception {
+        ctx.close();
+        ctx.put(DataObject1.IID, data1);
+    }
+}
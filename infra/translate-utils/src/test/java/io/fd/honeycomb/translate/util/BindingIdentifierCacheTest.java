@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.yangtools.binding.data.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+public class BindingIdentifierCacheTest {
+
+    private static final YangInstanceIdentifier YANG_ID = YangInstanceIdentifier.of(QName.create("ns", "node"));
+
+    @Mock
+    private BindingNormalizedNodeSerializer serializer;
+    private BindingIdentifierCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        cache = new BindingIdentifierCache(serializer, 2);
+    }
+
+    @Test
+    public void testForSerializer() throws Exception {
+        final BindingIdentifierCache shared = BindingIdentifierCache.forSerializer(serializer);
+        assertSame(serializer, shared.getSerializer());
+        assertSame(shared, BindingIdentifierCache.forSerializer(serializer));
+        assertNotSame(shared, BindingIdentifierCache.forSerializer(mock(BindingNormalizedNodeSerializer.class)));
+    }
+
+    @Test
+    public void testFromYangInstanceIdentifier() throws Exception {
+        when(serializer.fromYangInstanceIdentifier(YANG_ID)).thenReturn((InstanceIdentifier) DataObjects.DataObject1.IID);
+
+        assertSame(DataObjects.DataObject1.IID, cache.fromYangInstanceIdentifier(YANG_ID));
+        assertSame(DataObjects.DataObject1.IID, cache.fromYangInstanceIdentifier(YANG_ID));
+        verify(serializer, times(1)).fromYangInstanceIdentifier(YANG_ID);
+        assertEquals(1, cache.getBiToBaStats().hitCount());
+        assertEquals(1, cache.getBiToBaStats().missCount());
+    }
+
+    @Test
+    public void testUntranslatableNotCached() throws Exception {
+        assertNull(cache.fromYangInstanceIdentifier(YANG_ID));
+        assertNull(cache.fromYangInstanceIdentifier(YANG_ID));
+        verify(serializer, times(2)).fromYangInstanceIdentifier(YANG_ID);
+    }
+
+    @Test
+    public void testToYangInstanceIdentifier() throws Exception {
+        when(serializer.toYangInstanceIdentifier(DataObjects.DataObject1.IID)).thenReturn(YANG_ID);
+
+        assertSame(YANG_ID, cache.toYangInstanceIdentifier(DataObjects.DataObject1.IID));
+        assertSame(YANG_ID, cache.toYangInstanceIdentifier(DataObjects.DataObject1.IID));
+        verify(serializer, times(1)).toYangInstanceIdentifier(DataObjects.DataObject1.IID);
+        assertEquals(0.5, cache.getBaToBiStats().hitRate(), 0.0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testToYangInstanceIdentifierFailed() throws Exception {
+        cache.toYangInstanceIdentifier(DataObjects.DataObject1.IID);
+    }
+
+    @Test
+    public void testMakeIidWildcarded() throws Exception {
+        final InstanceIdentifier<DataObjects.DataObject1ChildK> keyed =
+                DataObjects.DataObject1ChildK.INTERNALLY_KEYED_IID;
+        assertEquals(DataObjects.DataObject1ChildK.IID, cache.makeIidWildcarded(keyed));
+        assertSame(cache.makeIidWildcarded(keyed), cache.makeIidWildcarded(keyed));
+        assertEquals(2, cache.getWildcardedStats().hitCount());
+    }
+
+    @Test
+    public void testMakeIidWildcardedNoKeys() throws Exception {
+        assertSame(DataObjects.DataObject1.IID, cache.makeIidWildcarded(DataObjects.DataObject1.IID));
+        // identifiers without keys bypass the cache
+        assertEquals(0, cache.getWildcardedStats().requestCount());
+    }
+
+    @Test
+    public void testMXBean() throws Exception {
+        when(serializer.fromYangInstanceIdentifier(YANG_ID)).thenReturn((InstanceIdentifier) DataObjects.DataObject1.IID);
+        cache.fromYangInstanceIdentifier(YANG_ID);
+        cache.fromYangInstanceIdentifier(YANG_ID);
+
+        final ObjectName name = JmxUtils.registerMXBean(cache, "BindingIdentifierCacheTest", "test");
+        try {
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "BiToBaHitCount"));
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "BiToBaMissCount"));
+            assertEquals(0L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "BaToBiMissCount"));
+        } finally {
+            JmxUtils.unregisterMXBean("BindingIdentifierCacheTest", "test");
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() throws Exception {
+        new BindingIdentifierCache(serializer, 0);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Test;
+
+public class JmxUtilsTest {
+
+    private static final String TYPE = "JmxUtilsTest";
+    private static final String NAME = "/var/lib/honeycomb/test:name";
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @After
+    public void tearDown() throws Exception {
+        JmxUtils.unregisterMXBean(TYPE, NAME);
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        final ObjectName objectName = JmxUtils.registerMXBean(new Counter(1), TYPE, NAME);
+        assertEquals(JmxUtils.objectName(TYPE, NAME), objectName);
+        assertEquals(1L, server.getAttribute(objectName, "Count"));
+
+        // replaced by a bean with the same name
+        JmxUtils.registerMXBean(new Counter(2), TYPE, NAME);
+        assertEquals(2L, server.getAttribute(objectName, "Count"));
+
+        JmxUtils.unregisterMXBean(TYPE, NAME);
+        assertFalse(server.isRegistered(objectName));
+    }
+
+    @Test
+    public void testRegisterInvalid() throws Exception {
+        // not an MXBean, only logged
+        assertNull(JmxUtils.registerMXBean(new Object(), TYPE, NAME));
+    }
+
+    public interface CounterMXBean {
+        long getCount();
+    }
+
+    private static final class Counter implements CounterMXBean {
+        private final long count;
+
+        private Counter(final long count) {
+            this.count = count;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Optional;
+import io.fd.honeycomb.translate.util.DataObjects.DataObject1ChildK;
+import io.fd.honeycomb.translate.util.DataObjects.DataObject1ChildKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class MappingContextIndexTest {
+
+    @Mock
+    private DataBroker contextBroker;
+    @Mock
+    private ListenerRegistration<?> registration;
+    private final Map<DataObject1ChildK, Integer> values = new HashMap<>();
+    private MappingContextIndex<DataObject1ChildK, DataObject1ChildKey, Integer> index;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        doReturn(registration).when(contextBroker).registerDataTreeChangeListener(any(), any());
+        index = MappingContextIndex.create(contextBroker, DataObject1ChildK.IID, values::get);
+        verify(contextBroker).registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL, DataObject1ChildK.IID), index);
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        final DataObject1ChildK entry = entry(new DataObject1ChildKey(), 1);
+        index.onDataTreeChanged(Collections.singleton(change(null, entry)));
+
+        assertEquals(Optional.of(1), index.getValue(entry.getKey()));
+        assertEquals(Optional.of(entry.getKey()), index.getKey(1));
+        assertFalse(index.getKey(2).isPresent());
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        final DataObject1ChildK entry = entry(new DataObject1ChildKey(), 1);
+        final DataObject1ChildK updated = entry(entry.getKey(), 2);
+        index.onDataTreeChanged(Collections.singleton(change(null, entry)));
+        index.onDataTreeChanged(Collections.singleton(change(entry, updated)));
+
+        assertEquals(Optional.of(2), index.getValue(entry.getKey()));
+        assertEquals(Optional.of(entry.getKey()), index.getKey(2));
+        // previous value is not indexed anymore
+        assertFalse(index.getKey(1).isPresent());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+        final DataObject1ChildK entry = entry(new DataObject1ChildKey(), 1);
+        index.onDataTreeChanged(Collections.singleton(change(null, entry)));
+        index.onDataTreeChanged(Collections.singleton(change(entry, null)));
+
+        assertFalse(index.containsKey(entry.getKey()));
+        assertFalse(index.getKey(1).isPresent());
+    }
+
+    @Test
+    public void testListModification() throws Exception {
+        final DataObject1ChildK entry = entry(new DataObject1ChildKey(), 1);
+        final DataObject1ChildK entry2 = entry(new DataObject1ChildKey(), 2);
+        index.onDataTreeChanged(Collections.singleton(change(listModification(
+                DataObjectModification.ModificationType.SUBTREE_MODIFIED,
+                entryModification(null, entry), entryModification(null, entry2)))));
+        assertEquals(2, index.size());
+        assertEquals(Optional.of(entry2.getKey()), index.getKey(2));
+
+        index.onDataTreeChanged(Collections.singleton(change(listModification(
+                DataObjectModification.ModificationType.DELETE))));
+        assertEquals(0, index.size());
+        assertFalse(index.getKey(1).isPresent());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        index.close();
+        verify(registration).close();
+    }
+
+    private DataObject1ChildK entry(final DataObject1ChildKey key, final int value) {
+        final DataObject1ChildK entry = mock(DataObject1ChildK.class);
+        when(entry.getKey()).thenReturn(key);
+        values.put(entry, value);
+        return entry;
+    }
+
+    private static DataTreeModification<DataObject1ChildK> change(final DataObject1ChildK before,
+                                                                  final DataObject1ChildK after) {
+        return change(entryModification(before, after));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataTreeModification<DataObject1ChildK> change(
+            final DataObjectModification<DataObject1ChildK> modification) {
+        final DataTreeModification<DataObject1ChildK> change = mock(DataTreeModification.class);
+        when(change.getRootNode()).thenReturn(modification);
+        return change;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataObjectModification<DataObject1ChildK> entryModification(final DataObject1ChildK before,
+                                                                              final DataObject1ChildK after) {
+        final DataObjectModification<DataObject1ChildK> modification = mock(DataObjectModification.class);
+        final DataObject1ChildKey key = (after != null ? after : before).getKey();
+        doReturn(new InstanceIdentifier.IdentifiableItem<>(DataObject1ChildK.class, key))
+                .when(modification).getIdentifier();
+        when(modification.getDataType()).thenReturn(DataObject1ChildK.class);
+        when(modification.getDataBefore()).thenReturn(before);
+        when(modification.getDataAfter()).thenReturn(after);
+        return modification;
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private static DataObjectModification<DataObject1ChildK> listModification(
+            final DataObjectModification.ModificationType type,
+            final DataObjectModification<DataObject1ChildK>... entries) {
+        final DataObjectModification<DataObject1ChildK> modification = mock(DataObjectModification.class);
+        doReturn(new InstanceIdentifier.Item<>(DataObject1ChildK.class)).when(modification).getIdentifier();
+        // whole list has the data type of its entries
+        when(modification.getDataType()).thenReturn(DataObject1ChildK.class);
+        when(modification.getModificationType()).thenReturn(type);
+        doReturn(Arrays.asList(entries)).when(modification).getModifiedChildren();
+        return modification;
+    }
+}
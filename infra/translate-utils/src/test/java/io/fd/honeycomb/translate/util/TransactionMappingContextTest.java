@@ -18,6 +18,8 @@ package io.fd.honeycomb.translate.util;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +30,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.binding.api.ReadWriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -98,4 +102,38 @@ public class TransactionMappingContextTest {
         verify(writeTx).cancel();
     }
 
+    @Test
+    public void testLazyReadOnly() throws Exception {
+        final DataBroker broker = mock(DataBroker.class);
+        final ReadOnlyTransaction readTx = mock(ReadOnlyTransaction.class);
+        when(broker.newReadOnlyTransaction()).thenReturn(readTx);
+        when(readTx.read(LogicalDatastoreType.OPERATIONAL, id))
+                .thenReturn(Futures.immediateCheckedFuture(Optional.of(data)));
+        ctx = new TransactionMappingContext(broker);
+
+        assertSame(data, ctx.read(id).get());
+        ctx.submit().checkedGet();
+
+        verify(readTx).close();
+        verify(broker, never()).newReadWriteTransaction();
+    }
+
+    @Test
+    public void testLazyReadWrite() throws Exception {
+        final DataBroker broker = mock(DataBroker.class);
+        when(broker.newReadWriteTransaction()).thenReturn(writeTx);
+        when(writeTx.read(LogicalDatastoreType.OPERATIONAL, id))
+                .thenReturn(Futures.immediateCheckedFuture(Optional.of(data)));
+        ctx = new TransactionMappingContext(broker);
+
+        ctx.put(id, data);
+        // modified data are read from the read-write transaction
+        assertSame(data, ctx.read(id).get());
+        ctx.submit().checkedGet();
+
+        verify(writeTx).put(LogicalDatastoreType.OPERATIONAL, id, data, true);
+        verify(writeTx).submit();
+        verify(broker, never()).newReadOnlyTransaction();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class BinarySnapshotTest {
+
+    private static final QName ROOT_QNAME = QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "data");
+    private static final QName TOP_CONTAINER = QName.create("urn:test:persist", "2017-01-01", "top-container");
+    private static final QName TOP_CONTAINER2 = QName.create(TOP_CONTAINER, "top-container2");
+    private static final QName LEAF = QName.create(TOP_CONTAINER, "string");
+
+    private SchemaContext schemaContext;
+    private Path tmpFile;
+
+    @Before
+    public void setUp() throws Exception {
+        schemaContext = mock(SchemaContext.class);
+        when(schemaContext.getQName()).thenReturn(ROOT_QNAME);
+        tmpFile = Files.createTempFile("testing-hc-persistence", "bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(tmpFile);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final ContainerNode data = getData();
+        assertEquals(data, BinarySnapshot.readBinaryRoot(schemaContext,
+                new ByteArrayInputStream(write(data, BinarySnapshot.Compression.NONE))));
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws Exception {
+        final ContainerNode data = getData();
+        assertEquals(data, BinarySnapshot.readBinaryRoot(schemaContext,
+                new ByteArrayInputStream(write(data, BinarySnapshot.Compression.DEFLATE))));
+    }
+
+    @Test
+    public void testLz4CompressedRoundTrip() throws Exception {
+        final ContainerNode data = getData();
+        assertEquals(data, BinarySnapshot.readBinaryRoot(schemaContext,
+                new ByteArrayInputStream(write(data, BinarySnapshot.Compression.LZ4))));
+    }
+
+    @Test
+    public void testLz4CompressedStream() throws Exception {
+        final ContainerNode data = getData();
+        Files.write(tmpFile, write(data, BinarySnapshot.Compression.LZ4));
+
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        BinarySnapshot.streamBinaryRoot(tmpFile, (node, serializedSize) -> nodes.add(node));
+        assertEquals(new ArrayList<>(data.getValue()), nodes);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptedData() throws Exception {
+        final byte[] bytes = write(getData(), BinarySnapshot.Compression.NONE);
+        // flip a bit in the last character of the leaf value, right before the checksum
+        bytes[bytes.length - Long.BYTES - 1] ^= 1;
+        BinarySnapshot.readBinaryRoot(schemaContext, new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        final ContainerNode data = getData();
+        Files.write(tmpFile, write(data, BinarySnapshot.Compression.DEFLATE));
+
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        BinarySnapshot.streamBinaryRoot(tmpFile, (node, serializedSize) -> {
+            assertTrue(serializedSize > 0);
+            nodes.add(node);
+        });
+        assertEquals(new ArrayList<>(data.getValue()), nodes);
+    }
+
+    @Test
+    public void testStreamCorruptedData() throws Exception {
+        final byte[] bytes = write(getData(), BinarySnapshot.Compression.NONE);
+        bytes[bytes.length - Long.BYTES - 1] ^= 1;
+        Files.write(tmpFile, bytes);
+
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        try {
+            BinarySnapshot.streamBinaryRoot(tmpFile, (node, serializedSize) -> nodes.add(node));
+            fail("Corrupted data should not be streamed");
+        } catch (IOException e) {
+            // nothing handed out before the checksum was verified
+            assertTrue(nodes.isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotBinarySnapshot() throws Exception {
+        BinarySnapshot.readBinaryRoot(schemaContext, new ByteArrayInputStream("{\"a\": 1}".getBytes()));
+    }
+
+    @Test
+    public void testIsBinarySnapshot() throws Exception {
+        assertFalse(BinarySnapshot.isBinarySnapshot(tmpFile));
+        Files.write(tmpFile, "{\"a\": 1}".getBytes());
+        assertFalse(BinarySnapshot.isBinarySnapshot(tmpFile));
+        Files.write(tmpFile, write(getData(), BinarySnapshot.Compression.DEFLATE));
+        assertTrue(BinarySnapshot.isBinarySnapshot(tmpFile));
+    }
+
+    private static byte[] write(final ContainerNode data, final BinarySnapshot.Compression compression)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinarySnapshot.writeBinaryRoot(data, bytes, compression);
+        return bytes.toByteArray();
+    }
+
+    private static ContainerNode getData() {
+        return Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(ROOT_QNAME))
+                .withChild(Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER))
+                        .withChild(ImmutableNodes.leafNode(LEAF, "value"))
+                        .build())
+                .withChild(Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER2))
+                        .withChild(ImmutableNodes.leafNode(LEAF, "value2"))
+                        .build())
+                .build();
+    }
+}
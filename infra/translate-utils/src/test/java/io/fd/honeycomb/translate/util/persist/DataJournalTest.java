@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Optional;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataJournalTest {
+
+    private static final QName TOP_CONTAINER = QName.create("urn:test:persist", "2017-01-01", "top-container");
+    private static final QName TOP_CONTAINER2 = QName.create(TOP_CONTAINER, "top-container2");
+    private static final QName LEAF = QName.create(TOP_CONTAINER, "string");
+
+    private Path snapshotPath;
+    private Path journalPath;
+    private DataJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshotPath = Files.createTempFile("testing-hc-persistence", "json");
+        journal = DataJournal.forSnapshot(snapshotPath);
+        journalPath = journal.getPath();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(journalPath);
+        Files.deleteIfExists(snapshotPath);
+    }
+
+    @Test
+    public void testReadMissingJournal() throws Exception {
+        assertTrue(journal.read().isEmpty());
+    }
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        final NormalizedNode<?, ?> leaf = ImmutableNodes.leafNode(LEAF, "value");
+        final NormalizedNode<?, ?> container = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER2))
+                .withChild(ImmutableNodes.leafNode(LEAF, "value2"))
+                .build();
+
+        // top-container/string written, top-container2 deleted
+        final DataTreeCandidateNode leafNode = candidateNode(ModificationType.WRITE, LEAF, leaf);
+        final DataTreeCandidateNode topContainer = candidateNode(ModificationType.SUBTREE_MODIFIED, TOP_CONTAINER, null,
+                leafNode);
+        final DataTreeCandidateNode topContainer2 = candidateNode(ModificationType.DELETE, TOP_CONTAINER2, null);
+        journal.restart();
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null, topContainer,
+                topContainer2)));
+
+        // top-container2 written back
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.WRITE, TOP_CONTAINER2, container))));
+
+        final List<DataJournal.Entry> entries = journal.read();
+        assertEquals(3, entries.size());
+
+        assertEquals(DataJournal.Operation.WRITE, entries.get(0).getOperation());
+        assertEquals(YangInstanceIdentifier.create(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER),
+                new YangInstanceIdentifier.NodeIdentifier(LEAF)), entries.get(0).getPath());
+        assertEquals(leaf, entries.get(0).getData());
+
+        assertEquals(DataJournal.Operation.DELETE, entries.get(1).getOperation());
+        assertEquals(YangInstanceIdentifier.of(TOP_CONTAINER2), entries.get(1).getPath());
+        assertNull(entries.get(1).getData());
+
+        assertEquals(DataJournal.Operation.WRITE, entries.get(2).getOperation());
+        assertEquals(container, entries.get(2).getData());
+    }
+
+    @Test
+    public void testUnmodifiedNotJournaled() throws Exception {
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.UNMODIFIED, TOP_CONTAINER, null))));
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAppendNotStarted() throws Exception {
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+    }
+
+    @Test
+    public void testIncompleteRecordIgnored() throws Exception {
+        journal.restart();
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        // simulate crash in the middle of an append
+        Files.write(journalPath, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        final List<DataJournal.Entry> entries = journal.read();
+        assertEquals(1, entries.size());
+        assertEquals(YangInstanceIdentifier.of(TOP_CONTAINER), entries.get(0).getPath());
+    }
+
+    @Test
+    public void testJournalOfPreviousSnapshotIgnored() throws Exception {
+        Files.write(snapshotPath, "{\"top-container\": {\"string\": \"v0\"}}".getBytes());
+        journal.restart();
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        assertEquals(1, journal.read().size());
+
+        // simulate crash during compaction, after new snapshot was persisted but before the journal was restarted
+        Files.write(snapshotPath, "{\"top-container2\": {\"string\": \"v1\"}}".getBytes());
+        assertTrue(journal.read().isEmpty());
+
+        // compaction finished after all
+        journal.restart();
+        assertTrue(journal.read().isEmpty());
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER2, null))));
+        assertEquals(YangInstanceIdentifier.of(TOP_CONTAINER2), journal.read().get(0).getPath());
+    }
+
+    @Test
+    public void testRestartWithKnownStamp() throws Exception {
+        final byte[] snapshot = "{\"top-container\": {\"string\": \"v0\"}}".getBytes();
+        Files.write(snapshotPath, snapshot);
+        final CRC32 crc = new CRC32();
+        crc.update(snapshot);
+
+        journal.restart(snapshot.length, crc.getValue());
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        assertEquals(1, journal.read().size());
+
+        // same size, different content
+        journal.restart(snapshot.length, crc.getValue() + 1);
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        assertTrue(journal.read().isEmpty());
+    }
+
+    @Test
+    public void testRestartReplacesRecords() throws Exception {
+        journal.restart();
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        journal.restart();
+        assertTrue(Files.exists(journalPath));
+        assertTrue(journal.read().isEmpty());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        journal.restart();
+        journal.append(candidate(candidateNode(ModificationType.SUBTREE_MODIFIED, null, null,
+                candidateNode(ModificationType.DELETE, TOP_CONTAINER, null))));
+        assertTrue(Files.exists(journalPath));
+        journal.clear();
+        assertTrue(journal.read().isEmpty());
+    }
+
+    private static DataTreeCandidate candidate(final DataTreeCandidateNode rootNode) {
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        when(candidate.getRootPath()).thenReturn(YangInstanceIdentifier.EMPTY);
+        when(candidate.getRootNode()).thenReturn(rootNode);
+        return candidate;
+    }
+
+    private static DataTreeCandidateNode candidateNode(final ModificationType type, final QName name,
+                                                       final NormalizedNode<?, ?> dataAfter,
+                                                       final DataTreeCandidateNode... children) {
+        final DataTreeCandidateNode node = mock(DataTreeCandidateNode.class);
+        when(node.getModificationType()).thenReturn(type);
+        if (name != null) {
+            when(node.getIdentifier()).thenReturn(new YangInstanceIdentifier.NodeIdentifier(name));
+        }
+        when(node.getDataAfter()).thenReturn(Optional.fromNullable(dataAfter));
+        when(node.getChildNodes()).thenReturn(Arrays.asList(children));
+        return node;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigInteger;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class NormalizedNodeDataOutputTest {
+
+    private static final QName ROOT_QNAME = QName.create("urn:ietf:params:xml:ns:netconf:base:1.0", "data");
+    private static final QName TOP_CONTAINER = QName.create("urn:test:persist", "2017-01-01", "top-container");
+    private static final QName LIST = QName.create(TOP_CONTAINER, "list");
+    private static final QName KEY = QName.create(TOP_CONTAINER, "name");
+    private static final QName COUNTER = QName.create(TOP_CONTAINER, "counter");
+    private static final QName ENABLED = QName.create(TOP_CONTAINER, "enabled");
+    private static final QName IDENTITY = QName.create(TOP_CONTAINER, "identity");
+    private static final QName LEAF_LIST = QName.create(TOP_CONTAINER, "leaf-list");
+
+    @Test
+    public void testNodeRoundTrip() throws Exception {
+        final ContainerNode data = Builders.containerBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(ROOT_QNAME))
+                .withChild(Builders.containerBuilder()
+                        .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TOP_CONTAINER))
+                        .withChild(Builders.mapBuilder()
+                                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(LIST))
+                                .withChild(listEntry("first", 1L))
+                                .withChild(listEntry("second", 2L))
+                                .build())
+                        .withChild(Builders.leafSetBuilder()
+                                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(LEAF_LIST))
+                                .withChildValue("a")
+                                .withChildValue("b")
+                                .build())
+                        .withChild(ImmutableNodes.leafNode(ENABLED, true))
+                        .withChild(ImmutableNodes.leafNode(IDENTITY, IDENTITY))
+                        .build())
+                .build();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new NormalizedNodeDataOutput(new DataOutputStream(bytes)).writeNode(data);
+
+        final NormalizedNode<?, ?> read = new NormalizedNodeDataInput(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).readNode();
+        assertEquals(data, read);
+    }
+
+    @Test
+    public void testPathRoundTrip() throws Exception {
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder()
+                .node(TOP_CONTAINER)
+                .node(LIST)
+                .nodeWithKey(LIST, KEY, "first")
+                .node(new YangInstanceIdentifier.AugmentationIdentifier(ImmutableSet.of(COUNTER, ENABLED)))
+                .node(COUNTER)
+                .build();
+        final YangInstanceIdentifier leafListPath = YangInstanceIdentifier.builder()
+                .node(TOP_CONTAINER)
+                .node(LEAF_LIST)
+                .node(new YangInstanceIdentifier.NodeWithValue<>(LEAF_LIST, BigInteger.TEN))
+                .build();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final NormalizedNodeDataOutput output = new NormalizedNodeDataOutput(new DataOutputStream(bytes));
+        output.writePath(path);
+        output.writePath(leafListPath);
+
+        final NormalizedNodeDataInput input =
+                new NormalizedNodeDataInput(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(path, input.readPath());
+        assertEquals(leafListPath, input.readPath());
+    }
+
+    private static MapEntryNode listEntry(final String name, final long counter) {
+        return Builders.mapEntryBuilder()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifierWithPredicates(LIST, KEY, name))
+                .withChild(ImmutableNodes.leafNode(KEY, name))
+                .withChild(ImmutableNodes.leafNode(COUNTER, counter))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.EffectiveSchemaContext;
+
+public class PersistedDataConverterTest {
+
+    private EffectiveSchemaContext schemaContext;
+    private Path jsonFile;
+    private Path binaryFile;
+    private Path convertedJsonFile;
+
+    @Before
+    public void setUp() throws Exception {
+        final CrossSourceStatementReactor.BuildAction buildAction = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        buildAction.addSource(new YangStatementSourceImpl(getClass().getResourceAsStream("/test-persistence.yang")));
+        schemaContext = buildAction.buildEffective();
+
+        jsonFile = Files.createTempFile("testing-hc-persistence", "json");
+        Files.write(jsonFile,
+                ByteStreams.toByteArray(getClass().getResourceAsStream("/expected-persisted-output.txt")));
+        binaryFile = Files.createTempFile("testing-hc-persistence", "bin");
+        convertedJsonFile = Files.createTempFile("testing-hc-persistence", "json");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(binaryFile);
+        Files.deleteIfExists(convertedJsonFile);
+    }
+
+    @Test
+    public void testConvertJsonToBinaryAndBack() throws Exception {
+        final PersistedDataConverter converter = new PersistedDataConverter(schemaContext);
+
+        converter.convert(jsonFile, binaryFile, PersistedDataFormat.CompressedBinary);
+        assertTrue(BinarySnapshot.isBinarySnapshot(binaryFile));
+        assertEquals(PersistedDataFormat.read(schemaContext, jsonFile),
+                PersistedDataFormat.read(schemaContext, binaryFile));
+
+        converter.convert(binaryFile, convertedJsonFile, PersistedDataFormat.Json);
+        assertArrayEquals(Files.readAllBytes(jsonFile), Files.readAllBytes(convertedJsonFile));
+    }
+
+    @Test
+    public void testConvertFromCommandLine() throws Exception {
+        final String yangFile = Paths.get(getClass().getResource("/test-persistence.yang").toURI()).toString();
+        PersistedDataConverter.main(new String[] {jsonFile.toString(), binaryFile.toString(),
+                PersistedDataFormat.Lz4CompressedBinary.name(), yangFile});
+        assertTrue(BinarySnapshot.isBinarySnapshot(binaryFile));
+        assertEquals(PersistedDataFormat.read(schemaContext, jsonFile),
+                PersistedDataFormat.read(schemaContext, binaryFile));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCommandLineMissingArguments() throws Exception {
+        PersistedDataConverter.main(new String[] {jsonFile.toString(), binaryFile.toString()});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCommandLineUnknownFormat() throws Exception {
+        PersistedDataConverter.main(new String[] {jsonFile.toString(), binaryFile.toString(), "Xml"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertIntoSameFile() throws Exception {
+        new PersistedDataConverter(schemaContext).convert(jsonFile, jsonFile, PersistedDataFormat.Binary);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Cisco and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at:
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.fd.honeycomb.translate.util.persist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangStatementSourceImpl;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.EffectiveSchemaContext;
+
+public class PersistedDataFormatTest {
+
+    private EffectiveSchemaContext schemaContext;
+    private Path jsonFile;
+    private Path binaryFile;
+
+    @Before
+    public void setUp() throws Exception {
+        final CrossSourceStatementReactor.BuildAction buildAction = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        buildAction.addSource(new YangStatementSourceImpl(getClass().getResourceAsStream("/test-persistence.yang")));
+        schemaContext = buildAction.buildEffective();
+
+        jsonFile = Files.createTempFile("testing-hc-persistence", "json");
+        Files.write(jsonFile,
+                ByteStreams.toByteArray(getClass().getResourceAsStream("/expected-persisted-output.txt")));
+        binaryFile = Files.createTempFile("testing-hc-persistence", "bin");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Test
+    public void testStreamJson() throws Exception {
+        assertStreamedAsRead(jsonFile);
+    }
+
+    @Test
+    public void testStreamBinary() throws Exception {
+        new PersistedDataConverter(schemaContext).convert(jsonFile, binaryFile, PersistedDataFormat.Binary);
+        assertStreamedAsRead(binaryFile);
+    }
+
+    @Test
+    public void testStreamEmptyJson() throws Exception {
+        Files.write(jsonFile, new byte[0]);
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        PersistedDataFormat.stream(schemaContext, jsonFile, (node, serializedSize) -> nodes.add(node));
+        assertTrue(nodes.isEmpty());
+    }
+
+    private void assertStreamedAsRead(final Path file) throws Exception {
+        final List<NormalizedNode<?, ?>> nodes = new ArrayList<>();
+        PersistedDataFormat.stream(schemaContext, file, (node, serializedSize) -> {
+            assertTrue(serializedSize > 0);
+            nodes.add(node);
+        });
+        // top level nodes are not ordered
+        assertEquals(new HashSet<>(PersistedDataFormat.read(schemaContext, file).getValue()), new HashSet<>(nodes));
+        assertEquals(2, nodes.size());
+    }
+}
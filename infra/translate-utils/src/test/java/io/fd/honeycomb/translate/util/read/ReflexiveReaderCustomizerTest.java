@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -47,6 +48,8 @@ public class ReflexiveReaderCustomizerTest {
         assertEquals(TestingBuilder.class, reflexReaderCustomizer.getBuilderClass());
 
         assertNotNull(reflexReaderCustomizer.getBuilder(id));
+        // subclasses might keep state, so thread-safety has to be declared explicitly
+        assertFalse(reflexReaderCustomizer.isThreadSafe());
 
         // NOOP
         final TestingBuilder builder = spy(new TestingBuilder());
@@ -18,17 +18,33 @@ package io.fd.honeycomb.translate.util.read.cache;
 
 import static io.fd.honeycomb.translate.util.read.cache.EntityDumpExecutor.NO_PARAMS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.base.Optional;
 import io.fd.honeycomb.translate.ModificationCache;
 import io.fd.honeycomb.translate.read.ReadFailedException;
+import io.fd.honeycomb.translate.util.JmxUtils;
+import io.fd.honeycomb.translate.write.WriteContext;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.yangtools.yang.binding.DataObject;
@@ -80,7 +96,7 @@ public class DumpCacheManagerTest {
     @Test
     public void testCaching() throws ReadFailedException {
         final IpDetailsReplyDump stage1Data = new IpDetailsReplyDump();
-        final String key = cacheKeyFactory.createKey(identifier, NO_PARAMS);
+        final Object key = cacheKeyFactory.createCacheKey(identifier, NO_PARAMS);
 
 
         // executor cant return null data
@@ -168,6 +184,208 @@ public class DumpCacheManagerTest {
         assertEquals(2, dump2.get().intValue());
     }
 
+    @Test
+    public void testSharedCache() throws ReadFailedException {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withSharedCache(1, TimeUnit.MINUTES)
+                        .build();
+        final IpDetailsReplyDump dump = new IpDetailsReplyDump();
+        when(executor.executeDump(identifier, NO_PARAMS)).thenReturn(dump);
+
+        assertSame(dump, manager.getDump(identifier, cache, NO_PARAMS).get());
+        // dump is reused by another transaction
+        assertSame(dump, manager.getDump(identifier, new ModificationCache(), NO_PARAMS).get());
+        verify(executor, times(1)).executeDump(identifier, NO_PARAMS);
+        assertEquals(1, manager.getSharedCacheHits());
+        assertEquals(1, manager.getSharedCacheSize());
+    }
+
+    @Test
+    public void testStringCacheKeys() throws ReadFailedException {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withStringCacheKeys()
+                        .build();
+        final IpDetailsReplyDump dump = new IpDetailsReplyDump();
+        when(executor.executeDump(identifier, NO_PARAMS)).thenReturn(dump);
+
+        manager.getDump(identifier, cache, NO_PARAMS);
+        assertSame(dump, cache.get(cacheKeyFactory.createKey(identifier, NO_PARAMS)));
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withJmxName("DumpCacheManagerTest")
+                        .build();
+        when(executor.executeDump(identifier, NO_PARAMS)).thenReturn(new IpDetailsReplyDump());
+        manager.getDump(identifier, cache, NO_PARAMS);
+        manager.getDump(identifier, cache, NO_PARAMS);
+
+        final ObjectName name = JmxUtils.objectName(DumpCacheManager.class.getSimpleName(), "DumpCacheManagerTest");
+        try {
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ExecutedDumps"));
+            assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TransactionCacheHits"));
+        } finally {
+            JmxUtils.unregisterMXBean(DumpCacheManager.class.getSimpleName(), "DumpCacheManagerTest");
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSharedCacheAcceptOnly() throws ReadFailedException {
+        final DumpCacheManager<Object, Void> manager = new DumpCacheManager.DumpCacheManagerBuilder<Object, Void>()
+                .withExecutor((InstanceIdentifier, Void) -> 3)
+                .acceptOnly(String.class)
+                .withSharedCache(1, TimeUnit.MINUTES)
+                .build();
+        manager.getDump(identifier, cache, NO_PARAMS);
+        // shared dumps are checked the same way as dumps cached by the transaction
+        manager.getDump(identifier, new ModificationCache(), NO_PARAMS);
+    }
+
+    @Test
+    public void testSharedCacheInvalidatedAfterCommit() throws ReadFailedException {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withSharedCache(1, TimeUnit.MINUTES)
+                        .build();
+        when(executor.executeDump(identifier, NO_PARAMS)).thenReturn(new IpDetailsReplyDump());
+        manager.getDump(identifier, cache, NO_PARAMS);
+
+        final WriteContext writeContext = mock(WriteContext.class);
+        manager.invalidateAfterCommit(writeContext);
+        final ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+        verify(writeContext).afterCommit(afterCommit.capture());
+
+        // not invalidated until commit
+        manager.getDump(identifier, new ModificationCache(), NO_PARAMS);
+        verify(executor, times(1)).executeDump(identifier, NO_PARAMS);
+
+        afterCommit.getValue().run();
+        manager.getDump(identifier, new ModificationCache(), NO_PARAMS);
+        verify(executor, times(2)).executeDump(identifier, NO_PARAMS);
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withSingleFlight()
+                        .build();
+        final IpDetailsReplyDump dump = new IpDetailsReplyDump();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(executor.executeDump(identifier, NO_PARAMS)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return dump;
+        });
+
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Optional<IpDetailsReplyDump>> first =
+                    pool.submit(() -> manager.getDump(identifier, new ModificationCache(), NO_PARAMS));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            final Future<Optional<IpDetailsReplyDump>> second =
+                    pool.submit(() -> manager.getDump(identifier, new ModificationCache(), NO_PARAMS));
+            // wait until the second dump joins the one in progress
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (manager.getDeduplicatedDumps() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertSame(dump, first.get(5, TimeUnit.SECONDS).get());
+            assertSame(dump, second.get(5, TimeUnit.SECONDS).get());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+        verify(executor, times(1)).executeDump(identifier, NO_PARAMS);
+        assertEquals(1, manager.getExecutedDumps());
+        assertEquals(1, manager.getDeduplicatedDumps());
+    }
+
+    @Test
+    public void testSingleFlightNotJoinedAfterInvalidation() throws Exception {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withSingleFlight()
+                        .build();
+        final IpDetailsReplyDump staleDump = new IpDetailsReplyDump();
+        final IpDetailsReplyDump freshDump = new IpDetailsReplyDump();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(executor.executeDump(identifier, NO_PARAMS)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return staleDump;
+        }).thenReturn(freshDump);
+
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Optional<IpDetailsReplyDump>> first =
+                    pool.submit(() -> manager.getDump(identifier, new ModificationCache(), NO_PARAMS));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // write committed while the first dump is in progress
+            final WriteContext writeContext = mock(WriteContext.class);
+            manager.invalidateAfterCommit(writeContext);
+            final ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+            verify(writeContext).afterCommit(afterCommit.capture());
+            afterCommit.getValue().run();
+
+            // read after the write must not see data dumped before it
+            final Future<Optional<IpDetailsReplyDump>> second =
+                    pool.submit(() -> manager.getDump(identifier, new ModificationCache(), NO_PARAMS));
+            assertSame(freshDump, second.get(5, TimeUnit.SECONDS).get());
+
+            release.countDown();
+            assertSame(staleDump, first.get(5, TimeUnit.SECONDS).get());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+        verify(executor, times(2)).executeDump(identifier, NO_PARAMS);
+        assertEquals(0, manager.getDeduplicatedDumps());
+    }
+
+    @Test
+    public void testSingleFlightFailure() throws ReadFailedException {
+        final DumpCacheManager<IpDetailsReplyDump, Void> manager =
+                new DumpCacheManager.DumpCacheManagerBuilder<IpDetailsReplyDump, Void>()
+                        .withExecutor(executor)
+                        .acceptOnly(IpDetailsReplyDump.class)
+                        .withSingleFlight()
+                        .build();
+        when(executor.executeDump(identifier, NO_PARAMS)).thenThrow(new ReadFailedException(identifier));
+        try {
+            manager.getDump(identifier, cache, NO_PARAMS);
+            fail("ReadFailedException was expected");
+        } catch (ReadFailedException e) {
+            // expected
+        }
+
+        // failed dump is not in progress anymore, so it is executed again
+        reset(executor);
+        when(executor.executeDump(identifier, NO_PARAMS)).thenReturn(new IpDetailsReplyDump());
+        assertTrue(manager.getDump(identifier, cache, NO_PARAMS).isPresent());
+    }
+
     private EntityDumpPostProcessingFunction<IpDetailsReplyDump> createPostProcessor() {
         return ipDetailsReplyDump -> {
             IpDetailsReplyDump modified = new IpDetailsReplyDump();
@@ -18,7 +18,9 @@ package io.fd.honeycomb.translate.util.read.cache;
 
 import static io.fd.honeycomb.translate.util.read.cache.EntityDumpExecutor.NO_PARAMS;
 import static io.fd.honeycomb.translate.util.read.cache.TypeAwareIdentifierCacheKeyFactory.NO_PARAMS_KEY;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableSet;
@@ -122,6 +124,42 @@ public class TypeAwareIdentifierCacheKeyFactoryTest {
         verifySimpleKey(key);
     }
 
+    @Test
+    public void createCacheKeyComplex() {
+        final TypeAwareIdentifierCacheKeyFactory<String> factory =
+                new TypeAwareIdentifierCacheKeyFactory<>(String.class, ImmutableSet.of(DataObjectParent.class));
+        final CacheKey key = factory.createCacheKey(identifierBothKeyed, "Aa");
+
+        assertEquals(key, factory.createCacheKey(identifierBothKeyed, "Aa"));
+        assertEquals(key.hashCode(), factory.createCacheKey(identifierBothKeyed, "Aa").hashCode());
+        // key of the child is not part of the key
+        assertEquals(key, factory.createCacheKey(InstanceIdentifier.create(SuperDataObject.class)
+                .child(DataObjectParent.class, parentKey)
+                .child(DataObjectChild.class, new DataObjectChildKey()), "Aa"));
+        // different parent
+        assertNotEquals(key, factory.createCacheKey(InstanceIdentifier.create(SuperDataObject.class)
+                .child(DataObjectParent.class, new DataObjectParentKey())
+                .child(DataObjectChild.class, childKey), "Aa"));
+        // params with the same hash code
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(key, factory.createCacheKey(identifierBothKeyed, "BB"));
+    }
+
+    @Test
+    public void createCacheKeySimple() {
+        final CacheKey key = simpleKeyFactory.createCacheKey(identifierBothKeyed, NO_PARAMS);
+
+        assertEquals(key, simpleKeyFactory.createCacheKey(identifierNoneKeyed, NO_PARAMS));
+        assertEquals(CacheKey.of(String.class, DataObjectChild.class, NO_PARAMS), key);
+        assertNotEquals(key, new TypeAwareIdentifierCacheKeyFactory<Void>(Integer.class)
+                .createCacheKey(identifierBothKeyed, NO_PARAMS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createCacheKeyNoneKeyedComplex() {
+        complexKeyFactory.createCacheKey(identifierNoneKeyed, NO_PARAMS);
+    }
+
     private void verifyComplexKey(final String key, final String params) {
         assertTrue(key.contains(String.class.getTypeName()));
         assertTrue(key.contains(DataObjectParent.class.getTypeName()));